@@ -2,24 +2,27 @@ package org.molgenis.api.data;
 
 import static java.util.Objects.requireNonNull;
 
+import org.molgenis.web.rsql.QueryTemplateCache;
 import org.molgenis.web.rsql.RSQLValueParser;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-@Import(RSQLValueParser.class)
+@Import({RSQLValueParser.class, QueryTemplateCache.class})
 @Configuration
 public class DataApiConfig implements WebMvcConfigurer {
   private final RSQLValueParser rsqlValueParser;
+  private final QueryTemplateCache queryTemplateCache;
 
-  public DataApiConfig(RSQLValueParser rsqlValueParser) {
+  public DataApiConfig(RSQLValueParser rsqlValueParser, QueryTemplateCache queryTemplateCache) {
     this.rsqlValueParser = requireNonNull(rsqlValueParser);
+    this.queryTemplateCache = requireNonNull(queryTemplateCache);
   }
 
   @Bean
   public QueryMapper queryMapper() {
-    return new QueryMapper(rsqlValueParser);
+    return new QueryMapper(rsqlValueParser, queryTemplateCache);
   }
 
   @Bean
@@ -0,0 +1,58 @@
+package org.molgenis.api.data;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.molgenis.data.event.EntityTypesIndexedEvent;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionListener;
+import org.molgenis.data.transaction.TransactionManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the committed transactions that changed the data or metadata of an entity type. Counts
+ * start at zero when the application starts, the epoch distinguishes counts of different runs.
+ *
+ * <p>Some responses are built from the index, which is updated by an index job after the commit. A
+ * finished index job therefore counts as another change of its entity types, so that responses
+ * built from the index before the job finished are not reused.
+ */
+@Component
+public class EntityTypeChangeCounter implements TransactionListener {
+  private final TransactionInformation transactionInformation;
+  private final ConcurrentMap<String, AtomicLong> changeCounts = new ConcurrentHashMap<>();
+  private final String epoch = UUID.randomUUID().toString();
+
+  EntityTypeChangeCounter(
+      TransactionManager transactionManager, TransactionInformation transactionInformation) {
+    this.transactionInformation = requireNonNull(transactionInformation);
+    requireNonNull(transactionManager).addTransactionListener(this);
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    transactionInformation.getDirtyRepositories().forEach(this::incrementChangeCount);
+  }
+
+  @EventListener
+  public void onEntityTypesIndexed(EntityTypesIndexedEvent entityTypesIndexedEvent) {
+    entityTypesIndexedEvent.getEntityTypeIds().forEach(this::incrementChangeCount);
+  }
+
+  private void incrementChangeCount(String entityTypeId) {
+    changeCounts.computeIfAbsent(entityTypeId, id -> new AtomicLong()).incrementAndGet();
+  }
+
+  public long getChangeCount(String entityTypeId) {
+    AtomicLong changeCount = changeCounts.get(entityTypeId);
+    return changeCount != null ? changeCount.get() : 0L;
+  }
+
+  public String getEpoch() {
+    return epoch;
+  }
+}
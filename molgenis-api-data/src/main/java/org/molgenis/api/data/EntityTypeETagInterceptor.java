@@ -0,0 +1,141 @@
+package org.molgenis.api.data;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+import static org.molgenis.data.meta.model.AttributeMetadata.ATTRIBUTE_META_DATA;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+import static org.molgenis.data.meta.model.PackageMetadata.PACKAGE;
+import static org.molgenis.data.meta.model.TagMetadata.TAG;
+import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds a weak ETag to GET responses and responds with 304 Not Modified if the If-None-Match request
+ * header contains the current ETag, without invoking the handler.
+ *
+ * <p>The ETag is derived from the {@link EntityTypeChangeCounter} change counts of the metadata
+ * entity types and, for data endpoints, of the requested entity type and all entity types it
+ * references. The current user, its authorities, the locale and the accepted media types are part
+ * of the ETag as well, since the response depends on them.
+ */
+public class EntityTypeETagInterceptor implements HandlerInterceptor {
+  private static final String ENTITY_TYPE_ID_VARIABLE = "entityTypeId";
+  private static final List<String> METADATA_ENTITY_TYPE_IDS =
+      asList(ENTITY_TYPE_META_DATA, ATTRIBUTE_META_DATA, PACKAGE, TAG);
+
+  private final EntityTypeChangeCounter changeCounter;
+  private final MetaDataService metaDataService;
+  private final boolean dataEndpoint;
+
+  /**
+   * @param dataEndpoint whether responses contain data of the requested entity type, as opposed to
+   *     only metadata
+   */
+  public EntityTypeETagInterceptor(
+      EntityTypeChangeCounter changeCounter,
+      MetaDataService metaDataService,
+      boolean dataEndpoint) {
+    this.changeCounter = requireNonNull(changeCounter);
+    this.metaDataService = requireNonNull(metaDataService);
+    this.dataEndpoint = dataEndpoint;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!request.getMethod().equals("GET")) {
+      return true;
+    }
+
+    Set<String> entityTypeIds = new TreeSet<>(METADATA_ENTITY_TYPE_IDS);
+    if (dataEndpoint) {
+      String entityTypeId = getEntityTypeId(request);
+      if (entityTypeId == null) {
+        return true;
+      }
+      // let the handler deal with unknown entity types
+      Optional<EntityType> entityType =
+          runAsSystem(() -> metaDataService.getEntityType(entityTypeId));
+      if (!entityType.isPresent()) {
+        return true;
+      }
+      addEntityTypeIds(entityType.get(), entityTypeIds);
+    }
+
+    // the ETag replaces the one computed from the buffered response body
+    ShallowEtagHeaderFilter.disableContentCaching(request);
+    String eTag = createETag(request, entityTypeIds);
+    return !new ServletWebRequest(request, response).checkNotModified(eTag);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static @Nullable @CheckForNull String getEntityTypeId(HttpServletRequest request) {
+    Map<String, String> uriTemplateVariables =
+        (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    return uriTemplateVariables != null ? uriTemplateVariables.get(ENTITY_TYPE_ID_VARIABLE) : null;
+  }
+
+  private static void addEntityTypeIds(EntityType entityType, Set<String> entityTypeIds) {
+    if (entityTypeIds.add(entityType.getId())) {
+      for (Attribute attribute : entityType.getAtomicAttributes()) {
+        EntityType refEntityType = attribute.getRefEntity();
+        if (refEntityType != null) {
+          addEntityTypeIds(refEntityType, entityTypeIds);
+        }
+      }
+    }
+  }
+
+  private String createETag(HttpServletRequest request, Set<String> entityTypeIds) {
+    StringBuilder stringBuilder = new StringBuilder(changeCounter.getEpoch());
+    entityTypeIds.forEach(
+        entityTypeId ->
+            stringBuilder
+                .append(';')
+                .append(entityTypeId)
+                .append('=')
+                .append(changeCounter.getChangeCount(entityTypeId)));
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null) {
+      stringBuilder.append(';').append(authentication.getName());
+      stringBuilder.append(';').append(getAuthorities(authentication));
+    }
+    stringBuilder.append(';').append(LocaleContextHolder.getLocale());
+    stringBuilder.append(';').append(request.getHeader(HttpHeaders.ACCEPT));
+
+    byte[] bytes = stringBuilder.toString().getBytes(UTF_8);
+    return "W/\"" + DigestUtils.md5DigestAsHex(bytes) + '"';
+  }
+
+  private static String getAuthorities(Authentication authentication) {
+    return authentication.getAuthorities().stream()
+        .map(GrantedAuthority::getAuthority)
+        .sorted()
+        .collect(joining(","));
+  }
+}
@@ -15,16 +15,24 @@ import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.util.UnexpectedEnumException;
+import org.molgenis.web.rsql.QueryTemplateCache;
 import org.molgenis.web.rsql.RSQLValueParser;
 
 public class QueryMapper {
   private final RSQLValueParser rsqlValueParser;
+  private final QueryTemplateCache queryTemplateCache;
 
-  QueryMapper(RSQLValueParser rsqlValueParser) {
+  QueryMapper(RSQLValueParser rsqlValueParser, QueryTemplateCache queryTemplateCache) {
     this.rsqlValueParser = requireNonNull(rsqlValueParser);
+    this.queryTemplateCache = requireNonNull(queryTemplateCache);
   }
 
   public <E extends Entity> org.molgenis.data.Query<E> map(Query query, Repository<E> repository) {
+    return queryTemplateCache.get(query, repository, repo -> createQuery(query, repo));
+  }
+
+  private <E extends Entity> org.molgenis.data.Query<E> createQuery(
+      Query query, Repository<E> repository) {
     QueryImpl<E> entityQuery = new QueryImpl<>(repository);
     map(query, entityQuery, repository.getEntityType());
     return entityQuery;
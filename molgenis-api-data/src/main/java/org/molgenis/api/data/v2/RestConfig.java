@@ -3,21 +3,32 @@ package org.molgenis.api.data.v2;
 import static java.util.Objects.requireNonNull;
 
 import cz.jirutka.rsql.parser.RSQLParser;
+import org.molgenis.api.data.EntityTypeChangeCounter;
+import org.molgenis.api.data.EntityTypeETagInterceptor;
 import org.molgenis.api.data.SortConverter;
+import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.web.rsql.AggregateQueryRsqlConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Import(RSQLParser.class)
 @Configuration
 public class RestConfig implements WebMvcConfigurer {
   private final RSQLParser rsqlParser;
+  private final EntityTypeChangeCounter entityTypeChangeCounter;
+  private final MetaDataService metaDataService;
 
-  RestConfig(RSQLParser rsqlParser) {
+  RestConfig(
+      RSQLParser rsqlParser,
+      EntityTypeChangeCounter entityTypeChangeCounter,
+      MetaDataService metaDataService) {
     this.rsqlParser = requireNonNull(rsqlParser);
+    this.entityTypeChangeCounter = requireNonNull(entityTypeChangeCounter);
+    this.metaDataService = requireNonNull(metaDataService);
   }
 
   @Override
@@ -27,6 +38,14 @@ public class RestConfig implements WebMvcConfigurer {
     registry.addConverter(aggregateQueryRsqlConverter());
   }
 
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry
+        .addInterceptor(
+            new EntityTypeETagInterceptor(entityTypeChangeCounter, metaDataService, true))
+        .addPathPatterns(RestControllerV2.BASE_URI + "/**");
+  }
+
   @Bean
   public AttributeFilterConverter attributeFilterConverter() {
     return new AttributeFilterConverter();
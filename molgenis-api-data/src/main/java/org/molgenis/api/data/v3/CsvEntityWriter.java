@@ -0,0 +1,33 @@
+package org.molgenis.api.data.v3;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.support.AbstractWritable.EntityWriteMode.ENTITY_IDS;
+
+import java.io.IOException;
+import java.util.List;
+import org.molgenis.data.Entity;
+import org.molgenis.data.csv.CsvWriter;
+import org.molgenis.data.meta.model.Attribute;
+
+/** Writes entities as comma separated values with the attribute names as header. */
+class CsvEntityWriter implements EntityWriter {
+  private final CsvWriter csvWriter;
+
+  CsvEntityWriter(CsvWriter csvWriter) {
+    this.csvWriter = requireNonNull(csvWriter);
+    csvWriter.setEntityWriteMode(ENTITY_IDS);
+  }
+
+  @Override
+  public void writeAttributes(List<Attribute> attributes) throws IOException {
+    csvWriter.writeAttributeNames(attributes.stream().map(Attribute::getName).collect(toList()));
+    csvWriter.flush();
+  }
+
+  @Override
+  public void writeEntities(List<Entity> entities) {
+    entities.forEach(csvWriter::add);
+    csvWriter.flush();
+  }
+}
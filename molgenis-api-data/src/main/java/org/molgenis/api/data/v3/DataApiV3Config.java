@@ -1,21 +1,44 @@
 package org.molgenis.api.data.v3;
 
+import static java.util.Objects.requireNonNull;
+
 import org.molgenis.api.convert.SelectionConverter;
 import org.molgenis.api.data.DataApiConfig;
+import org.molgenis.api.data.EntityTypeChangeCounter;
+import org.molgenis.api.data.EntityTypeETagInterceptor;
+import org.molgenis.data.meta.MetaDataService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Import(DataApiConfig.class)
 @Configuration
 public class DataApiV3Config implements WebMvcConfigurer {
+  private final EntityTypeChangeCounter entityTypeChangeCounter;
+  private final MetaDataService metaDataService;
+
+  DataApiV3Config(
+      EntityTypeChangeCounter entityTypeChangeCounter, MetaDataService metaDataService) {
+    this.entityTypeChangeCounter = requireNonNull(entityTypeChangeCounter);
+    this.metaDataService = requireNonNull(metaDataService);
+  }
+
   @Override
   public void addFormatters(FormatterRegistry registry) {
     registry.addConverter(selectionConverter());
   }
 
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry
+        .addInterceptor(
+            new EntityTypeETagInterceptor(entityTypeChangeCounter, metaDataService, true))
+        .addPathPatterns(EntityController.API_ENTITY_PATH + "/**");
+  }
+
   @Bean
   public SelectionConverter selectionConverter() {
     return new SelectionConverter();
@@ -70,6 +70,20 @@ interface DataServiceV3 {
       int size,
       int number);
 
+  /**
+   * Exports all entities matching a query without paging limits. The entity type and query are
+   * validated when this method is called, the entities are retrieved in batches while the export
+   * is written. Without a query the repository streams all entities using a database cursor,
+   * otherwise the entities are retrieved page by page ordered by identifier.
+   *
+   * @param entityTypeId entity type identifier
+   * @param query query specifying which entities to export, or null
+   * @param filter selection describing the attributes to export
+   * @return export, never null
+   * @throws UnknownRepositoryException if no repository exists for the given entity type identifier
+   */
+  EntityExport export(String entityTypeId, @Nullable @CheckForNull Query query, Selection filter);
+
   /**
    * Update one entity.
    *
@@ -5,6 +5,8 @@ import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.meta.model.AttributeMetadata.ATTRIBUTE_META_DATA;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -34,16 +36,21 @@ import org.molgenis.data.validation.EntityErrors;
 import org.molgenis.data.validation.EntityValidator;
 import org.molgenis.data.validation.RepositoryConstraintViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 class DataServiceV3Impl implements DataServiceV3 {
+  static final int EXPORT_BATCH_SIZE = 1000;
+
   private final MetaDataService metaDataService;
   private final EntityManagerV3 entityManagerV3;
   private final QueryMapper queryMapper;
   private final SortMapper sortMapper;
   private final FetchMapper fetchMapper;
   private final EntityValidator entityValidator;
+  private final TransactionTemplate readOnlyTransactionTemplate;
 
   private enum OperationType {
     READ,
@@ -56,13 +63,16 @@ class DataServiceV3Impl implements DataServiceV3 {
       QueryMapper queryMapper,
       SortMapper sortMapper,
       FetchMapper fetchMapper,
-      EntityValidator entityValidator) {
+      EntityValidator entityValidator,
+      PlatformTransactionManager transactionManager) {
     this.metaDataService = requireNonNull(metaDataService);
     this.entityManagerV3 = requireNonNull(entityManagerV3);
     this.queryMapper = requireNonNull(queryMapper);
     this.sortMapper = requireNonNull(sortMapper);
     this.fetchMapper = requireNonNull(fetchMapper);
     this.entityValidator = requireNonNull(entityValidator);
+    this.readOnlyTransactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    this.readOnlyTransactionTemplate.setReadOnly(true);
   }
 
   @Transactional
@@ -203,6 +213,120 @@ class DataServiceV3Impl implements DataServiceV3 {
     return Entities.builder().setEntities(entities).setTotal(count).build();
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public EntityExport export(
+      String entityTypeId, @Nullable @CheckForNull Query query, Selection filter) {
+    Repository<Entity> repository = getRepository(entityTypeId, OperationType.READ);
+    EntityType entityType = repository.getEntityType();
+    List<Attribute> attributes =
+        StreamSupport.stream(entityType.getAtomicAttributes().spliterator(), false)
+            .filter(attribute -> filter.hasItem(attribute.getName()))
+            .collect(toList());
+    Fetch fetch = fetchMapper.toFetch(entityType, filter, Selection.EMPTY_SELECTION);
+
+    if (query == null) {
+      return inReadOnlyTransaction(
+          entityWriter -> {
+            entityWriter.writeAttributes(attributes);
+            exportBatched(repository, fetch, entityWriter);
+          });
+    } else {
+      org.molgenis.data.Query<Entity> exportQuery = queryMapper.map(query, repository);
+      return inReadOnlyTransaction(
+          entityWriter -> {
+            entityWriter.writeAttributes(attributes);
+            exportPaged(repository, exportQuery, fetch, entityWriter);
+          });
+    }
+  }
+
+  /**
+   * The entities of an export are retrieved while the response is written, after the transaction
+   * of {@link #export} has ended, so the export retrieves them in a transaction of its own.
+   */
+  private EntityExport inReadOnlyTransaction(EntityExport entityExport) {
+    return entityWriter -> {
+      try {
+        readOnlyTransactionTemplate.executeWithoutResult(
+            status -> {
+              try {
+                entityExport.writeTo(entityWriter);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+  }
+
+  private static void exportBatched(
+      Repository<Entity> repository, @Nullable Fetch fetch, EntityWriter entityWriter)
+      throws IOException {
+    try {
+      repository.forEachBatched(
+          fetch,
+          entities -> {
+            try {
+              entityWriter.writeEntities(entities);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          },
+          EXPORT_BATCH_SIZE);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Retrieves pages ordered by identifier where each page continues after the last identifier of
+   * the previous page, so that retrieving a page does not get slower further on in the result.
+   */
+  private static void exportPaged(
+      Repository<Entity> repository,
+      org.molgenis.data.Query<Entity> query,
+      @Nullable Fetch fetch,
+      EntityWriter entityWriter)
+      throws IOException {
+    String idAttributeName = repository.getEntityType().getIdAttribute().getName();
+    if (fetch != null && !fetch.hasField(idAttributeName)) {
+      fetch.field(idAttributeName);
+    }
+
+    Object lastId = null;
+    List<Entity> entities;
+    do {
+      QueryImpl<Entity> pageQuery = new QueryImpl<>();
+      if (!query.getRules().isEmpty()) {
+        pageQuery.nest();
+        for (QueryRule rule : query.getRules()) {
+          pageQuery.addRule(rule);
+        }
+        pageQuery.unnest();
+      }
+      if (lastId != null) {
+        if (!query.getRules().isEmpty()) {
+          pageQuery.and();
+        }
+        pageQuery.gt(idAttributeName, lastId);
+      }
+      pageQuery.sort(new org.molgenis.data.Sort(idAttributeName));
+      pageQuery.pageSize(EXPORT_BATCH_SIZE);
+      if (fetch != null) {
+        pageQuery.fetch(fetch);
+      }
+
+      entities = repository.findAll(pageQuery).collect(toList());
+      if (!entities.isEmpty()) {
+        entityWriter.writeEntities(entities);
+        lastId = entities.get(entities.size() - 1).getIdValue();
+      }
+    } while (entities.size() == EXPORT_BATCH_SIZE);
+  }
+
   @Transactional
   @Override
   public void update(String entityTypeId, String entityId, Map<String, Object> requestValues) {
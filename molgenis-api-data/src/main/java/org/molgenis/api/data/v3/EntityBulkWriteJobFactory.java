@@ -0,0 +1,25 @@
+package org.molgenis.api.data.v3;
+
+import static java.util.Objects.requireNonNull;
+
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecution;
+import org.molgenis.jobs.Job;
+import org.molgenis.jobs.JobFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+class EntityBulkWriteJobFactory extends JobFactory<EntityBulkWriteJobExecution> {
+  private final EntityBulkWriteService entityBulkWriteService;
+
+  EntityBulkWriteJobFactory(EntityBulkWriteService entityBulkWriteService) {
+    this.entityBulkWriteService = requireNonNull(entityBulkWriteService);
+  }
+
+  @Override
+  public Job createJob(EntityBulkWriteJobExecution jobExecution) {
+    return progress -> {
+      entityBulkWriteService.write(jobExecution, progress);
+      return null;
+    };
+  }
+}
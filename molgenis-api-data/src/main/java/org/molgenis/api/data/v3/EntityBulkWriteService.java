@@ -0,0 +1,35 @@
+package org.molgenis.api.data.v3;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecution;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.Action;
+import org.molgenis.data.UnknownRepositoryException;
+import org.molgenis.jobs.Progress;
+
+/**
+ * Data API v3 bulk write operations. Entities are read from newline delimited JSON (NDJSON), one
+ * JSON object per line, and written asynchronously in batches.
+ */
+interface EntityBulkWriteService {
+  /**
+   * Stores the entities and schedules a job that writes them.
+   *
+   * @param entityTypeId entity type identifier
+   * @param action whether to create or update the entities
+   * @param inputStream newline delimited JSON with one entity per line
+   * @return job execution, never null
+   * @throws UnknownRepositoryException if no repository exists for the given entity type identifier
+   */
+  EntityBulkWriteJobExecution scheduleWrite(
+      String entityTypeId, Action action, InputStream inputStream) throws IOException;
+
+  /**
+   * Writes the entities of a scheduled job. Rows that cannot be written are skipped and reported
+   * in the job execution.
+   *
+   * @param jobExecution bulk write job execution
+   * @param progress progress to report to
+   */
+  void write(EntityBulkWriteJobExecution jobExecution, Progress progress) throws IOException;
+}
@@ -0,0 +1,277 @@
+package org.molgenis.api.data.v3;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.meta.model.AttributeMetadata.ATTRIBUTE_META_DATA;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecution;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionFactory;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.Action;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Repository;
+import org.molgenis.data.UnknownRepositoryException;
+import org.molgenis.data.file.FileStore;
+import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.MetadataAccessException;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.validation.EntityErrors;
+import org.molgenis.data.validation.EntityValidator;
+import org.molgenis.data.validation.RepositoryConstraintViolationException;
+import org.molgenis.jobs.JobExecutor;
+import org.molgenis.jobs.Progress;
+import org.molgenis.util.UnexpectedEnumException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes entities in batches through the repository decorator chain. Each batch is written in its
+ * own transaction. If a batch fails the entities in it are written one by one, so that only the
+ * failing rows are skipped and reported.
+ */
+@Service
+class EntityBulkWriteServiceImpl implements EntityBulkWriteService {
+  private static final Logger LOG = LoggerFactory.getLogger(EntityBulkWriteServiceImpl.class);
+
+  static final int BATCH_SIZE = 1000;
+  /** Maximum number of row errors stored in the job execution, further errors are only counted */
+  static final int MAX_REPORTED_ERRORS = 1000;
+
+  private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() {}.getType();
+
+  private final MetaDataService metaDataService;
+  private final EntityManagerV3 entityManagerV3;
+  private final EntityValidator entityValidator;
+  private final EntityBulkWriteJobExecutionFactory entityBulkWriteJobExecutionFactory;
+  private final JobExecutor jobExecutor;
+  private final FileStore fileStore;
+  private final Gson gson;
+  private final TransactionTemplate transactionTemplate;
+
+  EntityBulkWriteServiceImpl(
+      MetaDataService metaDataService,
+      EntityManagerV3 entityManagerV3,
+      EntityValidator entityValidator,
+      EntityBulkWriteJobExecutionFactory entityBulkWriteJobExecutionFactory,
+      JobExecutor jobExecutor,
+      FileStore fileStore,
+      Gson gson,
+      PlatformTransactionManager transactionManager) {
+    this.metaDataService = requireNonNull(metaDataService);
+    this.entityManagerV3 = requireNonNull(entityManagerV3);
+    this.entityValidator = requireNonNull(entityValidator);
+    this.entityBulkWriteJobExecutionFactory = requireNonNull(entityBulkWriteJobExecutionFactory);
+    this.jobExecutor = requireNonNull(jobExecutor);
+    this.fileStore = requireNonNull(fileStore);
+    this.gson = requireNonNull(gson);
+    this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public EntityBulkWriteJobExecution scheduleWrite(
+      String entityTypeId, Action action, InputStream inputStream) throws IOException {
+    if (entityTypeId.equals(ENTITY_TYPE_META_DATA) || entityTypeId.equals(ATTRIBUTE_META_DATA)) {
+      throw new MetadataAccessException();
+    }
+    if (!metaDataService.hasRepository(entityTypeId)) {
+      throw new UnknownRepositoryException(entityTypeId);
+    }
+
+    EntityBulkWriteJobExecution jobExecution = entityBulkWriteJobExecutionFactory.create();
+    String fileName = "bulk-write-" + jobExecution.getIdentifier() + ".ndjson";
+    fileStore.store(inputStream, fileName);
+
+    jobExecution.setFile(fileName);
+    jobExecution.setEntityTypeId(entityTypeId);
+    jobExecution.setAction(action);
+    jobExecutor.submit(jobExecution);
+    return jobExecution;
+  }
+
+  @Override
+  public void write(EntityBulkWriteJobExecution jobExecution, Progress progress)
+      throws IOException {
+    String entityTypeId = jobExecution.getEntityTypeId();
+    Repository<Entity> repository =
+        metaDataService
+            .getRepository(entityTypeId)
+            .orElseThrow(() -> new UnknownRepositoryException(entityTypeId));
+
+    File file = fileStore.getFileUnchecked(jobExecution.getFile());
+    try {
+      progress.setProgressMax(countRows(file));
+      write(repository, jobExecution.getAction(), file, new RowErrors(jobExecution), progress);
+    } finally {
+      fileStore.delete(jobExecution.getFile());
+    }
+  }
+
+  private void write(
+      Repository<Entity> repository,
+      Action action,
+      File file,
+      RowErrors rowErrors,
+      Progress progress)
+      throws IOException {
+    EntityType entityType = repository.getEntityType();
+    List<Row> batch = new ArrayList<>(BATCH_SIZE);
+    int nrRows = 0;
+    try (BufferedReader reader = Files.newBufferedReader(file.toPath(), UTF_8)) {
+      int lineNr = 0;
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        lineNr++;
+        if (line.isBlank()) {
+          continue;
+        }
+        nrRows++;
+        try {
+          batch.add(new Row(lineNr, toEntity(entityType, line)));
+        } catch (RuntimeException e) {
+          rowErrors.add(lineNr, e);
+        }
+        if (batch.size() == BATCH_SIZE) {
+          writeBatch(repository, action, batch, rowErrors);
+          batch.clear();
+          progress.progress(nrRows, "Processed " + nrRows + " rows");
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      writeBatch(repository, action, batch, rowErrors);
+    }
+    progress.progress(nrRows, "Processed " + nrRows + " rows, " + rowErrors.size() + " errors");
+  }
+
+  private Entity toEntity(EntityType entityType, String line) {
+    Map<String, Object> requestValues;
+    try {
+      requestValues = gson.fromJson(line, MAP_TYPE);
+    } catch (JsonParseException e) {
+      throw new IllegalArgumentException("Invalid JSON object", e);
+    }
+    if (requestValues == null) {
+      throw new IllegalArgumentException("Invalid JSON object");
+    }
+
+    Entity entity = entityManagerV3.create(entityType);
+    entityManagerV3.populate(entityType, entity, requestValues);
+    validate(entity);
+    return entity;
+  }
+
+  private void writeBatch(
+      Repository<Entity> repository, Action action, List<Row> batch, RowErrors rowErrors) {
+    try {
+      writeInTransaction(repository, action, batch.stream().map(Row::getEntity));
+    } catch (RuntimeException e) {
+      LOG.debug("Error writing batch, writing rows one by one", e);
+      for (Row row : batch) {
+        try {
+          writeInTransaction(repository, action, Stream.of(row.getEntity()));
+        } catch (RuntimeException rowException) {
+          rowErrors.add(row.getLineNr(), rowException);
+        }
+      }
+    }
+  }
+
+  /** Writes entities in a new transaction, so that a failure only rolls back these entities */
+  private void writeInTransaction(
+      Repository<Entity> repository, Action action, Stream<Entity> entities) {
+    transactionTemplate.executeWithoutResult(status -> write(repository, action, entities));
+  }
+
+  private static void write(Repository<Entity> repository, Action action, Stream<Entity> entities) {
+    switch (action) {
+      case CREATE:
+        repository.add(entities);
+        break;
+      case UPDATE:
+        repository.update(entities);
+        break;
+      default:
+        throw new UnexpectedEnumException(action);
+    }
+  }
+
+  private void validate(Entity entity) {
+    EntityErrors entityErrors = new EntityErrors(entity);
+    entityValidator.validate(entity, entityErrors);
+    if (entityErrors.hasErrors()) {
+      throw new RepositoryConstraintViolationException(entityErrors);
+    }
+  }
+
+  private static int countRows(File file) throws IOException {
+    try (Stream<String> lines = Files.lines(file.toPath(), UTF_8)) {
+      return Math.toIntExact(lines.filter(line -> !line.isBlank()).count());
+    }
+  }
+
+  private static class Row {
+    private final int lineNr;
+    private final Entity entity;
+
+    Row(int lineNr, Entity entity) {
+      this.lineNr = lineNr;
+      this.entity = requireNonNull(entity);
+    }
+
+    int getLineNr() {
+      return lineNr;
+    }
+
+    Entity getEntity() {
+      return entity;
+    }
+  }
+
+  /** Collects row errors in the job execution so that they can be retrieved with the job */
+  private static class RowErrors {
+    private final EntityBulkWriteJobExecution jobExecution;
+    private final StringBuilder errors;
+    private int nrErrors;
+
+    RowErrors(EntityBulkWriteJobExecution jobExecution) {
+      this.jobExecution = requireNonNull(jobExecution);
+      this.errors = new StringBuilder();
+      jobExecution.setNrErrors(0);
+    }
+
+    void add(int lineNr, Exception exception) {
+      nrErrors++;
+      if (nrErrors <= MAX_REPORTED_ERRORS) {
+        errors
+            .append("line ")
+            .append(lineNr)
+            .append(": ")
+            .append(exception.getLocalizedMessage())
+            .append('\n');
+        jobExecution.setErrors(errors.toString());
+      }
+      jobExecution.setNrErrors(nrErrors);
+    }
+
+    int size() {
+      return nrErrors;
+    }
+  }
+}
@@ -2,16 +2,22 @@ package org.molgenis.api.data.v3;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import org.molgenis.api.ApiController;
 import org.molgenis.api.ApiNamespace;
 import org.molgenis.api.data.v3.EntityCollection.Page;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecution;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.Action;
 import org.molgenis.api.data.v3.model.DeleteEntitiesRequest;
 import org.molgenis.api.data.v3.model.DeleteEntityRequest;
 import org.molgenis.api.data.v3.model.EntitiesResponse;
 import org.molgenis.api.data.v3.model.EntityResponse;
+import org.molgenis.api.data.v3.model.ExportEntitiesRequest;
 import org.molgenis.api.data.v3.model.ReadEntitiesRequest;
 import org.molgenis.api.data.v3.model.ReadEntityRequest;
 import org.molgenis.api.data.v3.model.ReadSubresourceRequest;
@@ -20,6 +26,7 @@ import org.molgenis.api.model.Selection;
 import org.molgenis.api.model.Sort;
 import org.molgenis.data.Entity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -32,6 +39,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -39,14 +48,24 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 public class EntityController extends ApiController {
   private static final String API_ENTITY_ID = "data";
   public static final String API_ENTITY_PATH = ApiNamespace.API_PATH + '/' + API_ENTITY_ID;
+  static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+  static final String TEXT_CSV_VALUE = "text/csv";
 
   private final DataServiceV3 dataServiceV3;
   private final EntityMapper entityMapper;
+  private final EntityBulkWriteService entityBulkWriteService;
+  private final EntityWriterFactory entityWriterFactory;
 
-  EntityController(DataServiceV3 dataServiceV3, EntityMapper entityMapper) {
+  EntityController(
+      DataServiceV3 dataServiceV3,
+      EntityMapper entityMapper,
+      EntityBulkWriteService entityBulkWriteService,
+      EntityWriterFactory entityWriterFactory) {
     super(API_ENTITY_ID, 3);
     this.dataServiceV3 = requireNonNull(dataServiceV3);
     this.entityMapper = requireNonNull(entityMapper);
+    this.entityBulkWriteService = requireNonNull(entityBulkWriteService);
+    this.entityWriterFactory = requireNonNull(entityWriterFactory);
   }
 
   @Transactional
@@ -64,6 +83,17 @@ public class EntityController extends ApiController {
     return ResponseEntity.created(location).build();
   }
 
+  /** Creates the entities in a newline delimited JSON request body of any size in a job. */
+  @Transactional
+  @PostMapping(value = "/{entityTypeId}", consumes = APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<Void> createEntities(
+      @PathVariable("entityTypeId") String entityTypeId, InputStream inputStream)
+      throws IOException {
+    EntityBulkWriteJobExecution jobExecution =
+        entityBulkWriteService.scheduleWrite(entityTypeId, Action.CREATE, inputStream);
+    return toLocationResponse(jobExecution);
+  }
+
   @Transactional(readOnly = true)
   @GetMapping("/{entityTypeId}/{entityId}")
   public EntityResponse getEntity(@Valid ReadEntityRequest entityRequest) {
@@ -126,6 +156,17 @@ public class EntityController extends ApiController {
     dataServiceV3.update(entityTypeId, entityId, entityMap);
   }
 
+  /** Updates the entities in a newline delimited JSON request body of any size in a job. */
+  @Transactional
+  @PutMapping(value = "/{entityTypeId}", consumes = APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<Void> updateEntities(
+      @PathVariable("entityTypeId") String entityTypeId, InputStream inputStream)
+      throws IOException {
+    EntityBulkWriteJobExecution jobExecution =
+        entityBulkWriteService.scheduleWrite(entityTypeId, Action.UPDATE, inputStream);
+    return toLocationResponse(jobExecution);
+  }
+
   @Transactional
   @PatchMapping("/{entityTypeId}/{entityId}")
   @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -178,4 +219,50 @@ public class EntityController extends ApiController {
 
     return entityMapper.map(entityCollection, filter, expand, size, page, entities.getTotal());
   }
+
+  /** Streams all entities matching the query as newline delimited JSON, without paging. */
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/{entityTypeId}", produces = APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportEntitiesAsNdjson(
+      @Valid ExportEntitiesRequest exportRequest, HttpServletRequest request) {
+    EntityExport entityExport = createExport(exportRequest, request);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+        .body(
+            outputStream ->
+                entityExport.writeTo(entityWriterFactory.createNdjsonWriter(outputStream)));
+  }
+
+  /** Streams all entities matching the query as comma separated values, without paging. */
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/{entityTypeId}", produces = TEXT_CSV_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportEntitiesAsCsv(
+      @Valid ExportEntitiesRequest exportRequest, HttpServletRequest request) {
+    EntityExport entityExport = createExport(exportRequest, request);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+        .body(
+            outputStream ->
+                entityExport.writeTo(entityWriterFactory.createCsvWriter(outputStream)));
+  }
+
+  private EntityExport createExport(
+      ExportEntitiesRequest exportRequest, HttpServletRequest request) {
+    // don't buffer the whole response to compute an ETag, write entities as they are retrieved
+    ShallowEtagHeaderFilter.disableContentCaching(request);
+    return dataServiceV3.export(
+        exportRequest.getEntityTypeId(),
+        exportRequest.getQ().orElse(null),
+        exportRequest.getFilter());
+  }
+
+  private ResponseEntity<Void> toLocationResponse(EntityBulkWriteJobExecution jobExecution) {
+    URI location =
+        ServletUriComponentsBuilder.fromCurrentRequestUri()
+            .replacePath(API_ENTITY_PATH)
+            .pathSegment(jobExecution.getEntityType().getId(), jobExecution.getIdentifier())
+            .build()
+            .toUri();
+    return ResponseEntity.accepted().location(location).build();
+  }
 }
@@ -0,0 +1,9 @@
+package org.molgenis.api.data.v3;
+
+import java.io.IOException;
+
+/** Export of entities that retrieves the entities while they are being written. */
+@FunctionalInterface
+interface EntityExport {
+  void writeTo(EntityWriter entityWriter) throws IOException;
+}
@@ -0,0 +1,23 @@
+package org.molgenis.api.data.v3;
+
+import java.io.IOException;
+import java.util.List;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.Attribute;
+
+/** Writes entities in a response format while they are being retrieved. */
+interface EntityWriter {
+  /**
+   * Writes the header, called once before any entities are written.
+   *
+   * @param attributes attributes to write for each entity
+   */
+  void writeAttributes(List<Attribute> attributes) throws IOException;
+
+  /**
+   * Writes a batch of entities and flushes them to the client.
+   *
+   * @param entities entities to write
+   */
+  void writeEntities(List<Entity> entities) throws IOException;
+}
@@ -0,0 +1,29 @@
+package org.molgenis.api.data.v3;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import com.google.gson.Gson;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import org.molgenis.data.csv.CsvWriter;
+import org.springframework.stereotype.Component;
+
+@Component
+class EntityWriterFactory {
+  private final Gson gson;
+
+  EntityWriterFactory(Gson gson) {
+    this.gson = requireNonNull(gson);
+  }
+
+  EntityWriter createNdjsonWriter(OutputStream outputStream) {
+    return new NdjsonEntityWriter(
+        new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8)), gson);
+  }
+
+  EntityWriter createCsvWriter(OutputStream outputStream) {
+    return new CsvEntityWriter(new CsvWriter(new OutputStreamWriter(outputStream, UTF_8)));
+  }
+}
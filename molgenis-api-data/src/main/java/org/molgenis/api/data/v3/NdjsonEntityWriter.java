@@ -0,0 +1,66 @@
+package org.molgenis.api.data.v3;
+
+import static com.google.common.collect.Streams.stream;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.util.EntityTypeUtils.isMultipleReferenceType;
+import static org.molgenis.data.util.EntityTypeUtils.isSingleReferenceType;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.Attribute;
+
+/**
+ * Writes entities as newline delimited JSON, one JSON object per entity. References are written
+ * as identifiers, dates and date times as ISO-8601 strings.
+ */
+class NdjsonEntityWriter implements EntityWriter {
+  private final Writer writer;
+  private final Gson gson;
+  private List<Attribute> attributes;
+
+  NdjsonEntityWriter(Writer writer, Gson gson) {
+    this.writer = requireNonNull(writer);
+    this.gson = requireNonNull(gson);
+  }
+
+  @Override
+  public void writeAttributes(List<Attribute> attributes) {
+    this.attributes = requireNonNull(attributes);
+  }
+
+  @Override
+  public void writeEntities(List<Entity> entities) throws IOException {
+    for (Entity entity : entities) {
+      Map<String, Object> values = new LinkedHashMap<>();
+      attributes.forEach(attribute -> values.put(attribute.getName(), getValue(entity, attribute)));
+      gson.toJson(values, writer);
+      writer.write('\n');
+    }
+    writer.flush();
+  }
+
+  private static Object getValue(Entity entity, Attribute attribute) {
+    String attributeName = attribute.getName();
+    Object value;
+    if (isSingleReferenceType(attribute)) {
+      Entity refEntity = entity.getEntity(attributeName);
+      value = refEntity != null ? refEntity.getIdValue() : null;
+    } else if (isMultipleReferenceType(attribute)) {
+      value = stream(entity.getEntities(attributeName)).map(Entity::getIdValue).collect(toList());
+    } else {
+      value = entity.get(attributeName);
+      if (value instanceof LocalDate || value instanceof Instant) {
+        value = value.toString();
+      }
+    }
+    return value;
+  }
+}
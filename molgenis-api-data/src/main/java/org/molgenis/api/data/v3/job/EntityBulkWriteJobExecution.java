@@ -0,0 +1,77 @@
+package org.molgenis.api.data.v3.job;
+
+import static org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.ACTION;
+import static org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.ENTITY_BULK_WRITE_JOB_TYPE;
+import static org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.ENTITY_TYPE_ID;
+import static org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.ERRORS;
+import static org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.FILE;
+import static org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.NR_ERRORS;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.Action;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.jobs.model.JobExecution;
+
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class EntityBulkWriteJobExecution extends JobExecution {
+  public EntityBulkWriteJobExecution(Entity entity) {
+    super(entity);
+    setType(ENTITY_BULK_WRITE_JOB_TYPE);
+  }
+
+  public EntityBulkWriteJobExecution(EntityType entityType) {
+    super(entityType);
+    setType(ENTITY_BULK_WRITE_JOB_TYPE);
+  }
+
+  public EntityBulkWriteJobExecution(String identifier, EntityType entityType) {
+    super(identifier, entityType);
+    setType(ENTITY_BULK_WRITE_JOB_TYPE);
+  }
+
+  public String getFile() {
+    return getString(FILE);
+  }
+
+  public void setFile(String file) {
+    set(FILE, file);
+  }
+
+  public String getEntityTypeId() {
+    return getString(ENTITY_TYPE_ID);
+  }
+
+  public void setEntityTypeId(String entityTypeId) {
+    set(ENTITY_TYPE_ID, entityTypeId);
+  }
+
+  public Action getAction() {
+    return Action.valueOf(getString(ACTION));
+  }
+
+  public void setAction(Action action) {
+    set(ACTION, action.toString());
+  }
+
+  @Nullable
+  @CheckForNull
+  public Integer getNrErrors() {
+    return getInt(NR_ERRORS);
+  }
+
+  public void setNrErrors(int nrErrors) {
+    set(NR_ERRORS, nrErrors);
+  }
+
+  @Nullable
+  @CheckForNull
+  public String getErrors() {
+    return getString(ERRORS);
+  }
+
+  public void setErrors(String errors) {
+    set(ERRORS, errors);
+  }
+}
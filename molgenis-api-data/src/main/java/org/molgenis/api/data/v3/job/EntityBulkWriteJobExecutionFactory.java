@@ -0,0 +1,16 @@
+package org.molgenis.api.data.v3.job;
+
+import org.molgenis.data.AbstractSystemEntityFactory;
+import org.molgenis.data.populate.EntityPopulator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EntityBulkWriteJobExecutionFactory
+    extends AbstractSystemEntityFactory<
+        EntityBulkWriteJobExecution, EntityBulkWriteJobExecutionMetadata, String> {
+  EntityBulkWriteJobExecutionFactory(
+      EntityBulkWriteJobExecutionMetadata entityBulkWriteJobExecutionMetadata,
+      EntityPopulator entityPopulator) {
+    super(EntityBulkWriteJobExecution.class, entityBulkWriteJobExecutionMetadata, entityPopulator);
+  }
+}
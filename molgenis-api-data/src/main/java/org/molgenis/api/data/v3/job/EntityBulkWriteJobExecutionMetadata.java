@@ -0,0 +1,75 @@
+package org.molgenis.api.data.v3.job;
+
+import static java.util.Arrays.stream;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.meta.AttributeType.ENUM;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.TEXT;
+import static org.molgenis.data.meta.model.Package.PACKAGE_SEPARATOR;
+import static org.molgenis.jobs.model.JobPackage.PACKAGE_JOB;
+
+import org.molgenis.data.meta.SystemEntityType;
+import org.molgenis.jobs.model.JobExecutionMetaData;
+import org.molgenis.jobs.model.JobPackage;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EntityBulkWriteJobExecutionMetadata extends SystemEntityType {
+  private static final String SIMPLE_NAME = "EntityBulkWriteJobExecution";
+  public static final String ENTITY_BULK_WRITE_JOB_EXECUTION =
+      PACKAGE_JOB + PACKAGE_SEPARATOR + SIMPLE_NAME;
+
+  public enum Action {
+    CREATE,
+    UPDATE
+  }
+
+  static final String ENTITY_BULK_WRITE_JOB_TYPE = "EntityBulkWriteJob";
+
+  public static final String FILE = "file";
+  public static final String ENTITY_TYPE_ID = "entityTypeId";
+  public static final String ACTION = "action";
+  public static final String NR_ERRORS = "nrErrors";
+  public static final String ERRORS = "errors";
+
+  private final JobExecutionMetaData jobExecutionMetaData;
+  private final JobPackage jobPackage;
+
+  EntityBulkWriteJobExecutionMetadata(
+      JobExecutionMetaData jobExecutionMetaData, JobPackage jobPackage) {
+    super(SIMPLE_NAME, PACKAGE_JOB);
+    this.jobExecutionMetaData = requireNonNull(jobExecutionMetaData);
+    this.jobPackage = requireNonNull(jobPackage);
+  }
+
+  @Override
+  public void init() {
+    setLabel("Entity bulk write job execution");
+    setExtends(jobExecutionMetaData);
+    setPackage(jobPackage);
+    setRowLevelSecured(true);
+
+    addAttribute(FILE)
+        .setLabel("File")
+        .setDescription("Stored request body with one entity per line")
+        .setNillable(false);
+    addAttribute(ENTITY_TYPE_ID)
+        .setLabel("Entity type")
+        .setDescription("Identifier of the entity type to write to")
+        .setNillable(false);
+    addAttribute(ACTION)
+        .setLabel("Action")
+        .setDataType(ENUM)
+        .setEnumOptions(stream(Action.values()).map(Action::toString).collect(toList()))
+        .setNillable(false);
+    addAttribute(NR_ERRORS)
+        .setLabel("Number of errors")
+        .setDescription("Number of rows that could not be written")
+        .setDataType(INT);
+    addAttribute(ERRORS)
+        .setLabel("Errors")
+        .setDescription("Rows that could not be written, one line number and message per line")
+        .setDataType(TEXT);
+  }
+}
@@ -0,0 +1,26 @@
+package org.molgenis.api.data.v3.model;
+
+import java.util.Optional;
+import org.molgenis.api.model.Query;
+import org.molgenis.api.model.Selection;
+
+public class ExportEntitiesRequest extends AbstractEntityTypeRequest {
+  private Selection filter;
+  private Query q;
+
+  public Selection getFilter() {
+    return filter != null ? filter : Selection.FULL_SELECTION;
+  }
+
+  public void setFilter(Selection filter) {
+    this.filter = filter;
+  }
+
+  public Optional<Query> getQ() {
+    return Optional.ofNullable(q);
+  }
+
+  public void setQ(Query q) {
+    this.q = q;
+  }
+}
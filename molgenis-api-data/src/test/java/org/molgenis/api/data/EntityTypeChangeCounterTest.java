@@ -0,0 +1,68 @@
+package org.molgenis.api.data;
+
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.event.EntityTypesIndexedEvent;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
+import org.molgenis.test.AbstractMockitoTest;
+
+class EntityTypeChangeCounterTest extends AbstractMockitoTest {
+  @Mock private TransactionManager transactionManager;
+  @Mock private TransactionInformation transactionInformation;
+  private EntityTypeChangeCounter entityTypeChangeCounter;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    entityTypeChangeCounter =
+        new EntityTypeChangeCounter(transactionManager, transactionInformation);
+  }
+
+  @Test
+  void testEntityTypeChangeCounter() {
+    assertThrows(NullPointerException.class, () -> new EntityTypeChangeCounter(null, null));
+  }
+
+  @Test
+  void testAddTransactionListener() {
+    verify(transactionManager).addTransactionListener(entityTypeChangeCounter);
+  }
+
+  @Test
+  void testAfterCommitTransaction() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(singleton("MyEntityType"));
+    entityTypeChangeCounter.afterCommitTransaction("transactionId0");
+    entityTypeChangeCounter.afterCommitTransaction("transactionId1");
+    assertEquals(2L, entityTypeChangeCounter.getChangeCount("MyEntityType"));
+  }
+
+  @Test
+  void testOnEntityTypesIndexed() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(singleton("MyEntityType"));
+    entityTypeChangeCounter.afterCommitTransaction("transactionId");
+    entityTypeChangeCounter.onEntityTypesIndexed(
+        new EntityTypesIndexedEvent(singleton("MyEntityType")));
+    assertEquals(2L, entityTypeChangeCounter.getChangeCount("MyEntityType"));
+  }
+
+  @Test
+  void testGetChangeCountUnchanged() {
+    assertEquals(0L, entityTypeChangeCounter.getChangeCount("MyEntityType"));
+  }
+
+  @Test
+  void testGetEpoch() {
+    EntityTypeChangeCounter otherEntityTypeChangeCounter =
+        new EntityTypeChangeCounter(mock(TransactionManager.class), transactionInformation);
+    assertNotEquals(entityTypeChangeCounter.getEpoch(), otherEntityTypeChangeCounter.getEpoch());
+  }
+}
@@ -0,0 +1,146 @@
+package org.molgenis.api.data;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.event.EntityTypesIndexedEvent;
+import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class EntityTypeETagInterceptorTest extends AbstractMockitoTest {
+  @Mock private TransactionInformation transactionInformation;
+  @Mock private MetaDataService metaDataService;
+  private EntityTypeChangeCounter changeCounter;
+  private EntityTypeETagInterceptor entityTypeETagInterceptor;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    changeCounter =
+        new EntityTypeChangeCounter(mock(TransactionManager.class), transactionInformation);
+    entityTypeETagInterceptor = new EntityTypeETagInterceptor(changeCounter, metaDataService, true);
+  }
+
+  @Test
+  void testPreHandleNotGet() {
+    MockHttpServletRequest request = createRequest("POST");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertAll(
+        () -> assertTrue(entityTypeETagInterceptor.preHandle(request, response, null)),
+        () -> assertNull(response.getHeader(HttpHeaders.ETAG)));
+  }
+
+  @Test
+  void testPreHandleUnknownEntityType() {
+    MockHttpServletRequest request = createRequest("GET");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertAll(
+        () -> assertTrue(entityTypeETagInterceptor.preHandle(request, response, null)),
+        () -> assertNull(response.getHeader(HttpHeaders.ETAG)));
+  }
+
+  @Test
+  void testPreHandleNotModified() {
+    mockEntityType();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertTrue(entityTypeETagInterceptor.preHandle(createRequest("GET"), response, null));
+    String eTag = response.getHeader(HttpHeaders.ETAG);
+
+    MockHttpServletRequest conditionalRequest = createRequest("GET");
+    conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+    MockHttpServletResponse conditionalResponse = new MockHttpServletResponse();
+    assertAll(
+        () -> assertTrue(eTag.startsWith("W/\"")),
+        () ->
+            assertFalse(
+                entityTypeETagInterceptor.preHandle(conditionalRequest, conditionalResponse, null)),
+        () -> assertEquals(304, conditionalResponse.getStatus()));
+  }
+
+  @Test
+  void testPreHandleReferencedEntityTypeChanged() {
+    mockEntityType();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    entityTypeETagInterceptor.preHandle(createRequest("GET"), response, null);
+    String eTag = response.getHeader(HttpHeaders.ETAG);
+
+    when(transactionInformation.getDirtyRepositories()).thenReturn(singleton("MyRefEntityType"));
+    changeCounter.afterCommitTransaction("transactionId");
+
+    MockHttpServletRequest conditionalRequest = createRequest("GET");
+    conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+    MockHttpServletResponse conditionalResponse = new MockHttpServletResponse();
+    assertAll(
+        () ->
+            assertTrue(
+                entityTypeETagInterceptor.preHandle(conditionalRequest, conditionalResponse, null)),
+        () -> assertEquals(200, conditionalResponse.getStatus()),
+        () -> assertNotEquals(eTag, conditionalResponse.getHeader(HttpHeaders.ETAG)));
+  }
+
+  @Test
+  void testPreHandleIndexedAfterCommit() {
+    mockEntityType();
+    when(transactionInformation.getDirtyRepositories()).thenReturn(singleton("MyEntityType"));
+    changeCounter.afterCommitTransaction("transactionId");
+
+    // search response built from the index before the index job for the commit finished
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    entityTypeETagInterceptor.preHandle(createRequest("GET"), response, null);
+    String eTag = response.getHeader(HttpHeaders.ETAG);
+
+    changeCounter.onEntityTypesIndexed(new EntityTypesIndexedEvent(singleton("MyEntityType")));
+
+    MockHttpServletRequest conditionalRequest = createRequest("GET");
+    conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+    MockHttpServletResponse conditionalResponse = new MockHttpServletResponse();
+    assertAll(
+        () ->
+            assertTrue(
+                entityTypeETagInterceptor.preHandle(conditionalRequest, conditionalResponse, null)),
+        () -> assertEquals(200, conditionalResponse.getStatus()),
+        () -> assertNotEquals(eTag, conditionalResponse.getHeader(HttpHeaders.ETAG)));
+  }
+
+  private void mockEntityType() {
+    EntityType refEntityType = mock(EntityType.class);
+    when(refEntityType.getId()).thenReturn("MyRefEntityType");
+    Attribute refAttribute = mock(Attribute.class);
+    when(refAttribute.getRefEntity()).thenReturn(refEntityType);
+
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getId()).thenReturn("MyEntityType");
+    when(entityType.getAtomicAttributes()).thenReturn(singletonList(refAttribute));
+    when(metaDataService.getEntityType("MyEntityType")).thenReturn(Optional.of(entityType));
+  }
+
+  private static MockHttpServletRequest createRequest(String method) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/data/MyEntityType");
+    request.setAttribute(
+        HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+        singletonMap("entityTypeId", "MyEntityType"));
+    return request;
+  }
+}
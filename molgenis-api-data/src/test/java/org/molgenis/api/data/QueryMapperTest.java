@@ -21,6 +21,7 @@ import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.test.AbstractMockitoTest;
 import org.molgenis.util.UnexpectedEnumException;
+import org.molgenis.web.rsql.QueryTemplateCache;
 import org.molgenis.web.rsql.RSQLValueParser;
 
 class QueryMapperTest extends AbstractMockitoTest {
@@ -29,12 +30,12 @@ class QueryMapperTest extends AbstractMockitoTest {
 
   @BeforeEach
   void setUpBeforeMethod() {
-    queryMapper = new QueryMapper(rsqlValueParser);
+    queryMapper = new QueryMapper(rsqlValueParser, new QueryTemplateCache());
   }
 
   @Test
   void testQueryV3Mapper() {
-    assertThrows(NullPointerException.class, () -> new QueryMapper(null));
+    assertThrows(NullPointerException.class, () -> new QueryMapper(null, null));
   }
 
   @Test
@@ -81,6 +81,7 @@ import org.molgenis.util.i18n.format.MessageFormatFactory;
 import org.molgenis.web.converter.CsvHttpMessageConverter;
 import org.molgenis.web.converter.GsonConfig;
 import org.molgenis.web.rsql.MolgenisRSQL;
+import org.molgenis.web.rsql.QueryTemplateCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -1060,7 +1061,7 @@ class RestControllerTest extends AbstractMockitoSpringContextTests {
           authenticationManager(),
           permissionService(),
           userAccountService(),
-          new MolgenisRSQL(new RSQLParser()),
+          new MolgenisRSQL(new RSQLParser(), new QueryTemplateCache()),
           new RestService(
               dataService(),
               idGenerator(),
@@ -0,0 +1,38 @@
+package org.molgenis.api.data.v3;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+import org.molgenis.data.Entity;
+import org.molgenis.data.csv.CsvWriter;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.test.AbstractMockitoTest;
+
+class CsvEntityWriterTest extends AbstractMockitoTest {
+  @Test
+  void testWriteEntities() throws IOException {
+    Attribute idAttribute = mock(Attribute.class);
+    when(idAttribute.getName()).thenReturn("id");
+    Attribute refAttribute = mock(Attribute.class);
+    when(refAttribute.getName()).thenReturn("ref");
+
+    Entity refEntity = mock(Entity.class);
+    when(refEntity.getIdValue()).thenReturn("ref0");
+    Entity entity = mock(Entity.class);
+    when(entity.get("id")).thenReturn("id0");
+    when(entity.get("ref")).thenReturn(refEntity);
+
+    StringWriter stringWriter = new StringWriter();
+    CsvEntityWriter csvEntityWriter = new CsvEntityWriter(new CsvWriter(stringWriter));
+    csvEntityWriter.writeAttributes(asList(idAttribute, refAttribute));
+    csvEntityWriter.writeEntities(singletonList(entity));
+
+    assertEquals("\"id\",\"ref\"\n\"id0\",\"ref0\"\n", stringWriter.toString());
+  }
+}
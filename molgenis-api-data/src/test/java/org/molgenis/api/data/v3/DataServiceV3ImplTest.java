@@ -2,21 +2,28 @@ package org.molgenis.api.data.v3;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.meta.AttributeType.MREF;
 import static org.molgenis.data.meta.AttributeType.STRING;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +51,9 @@ import org.molgenis.data.support.QueryImpl;
 import org.molgenis.data.validation.EntityValidator;
 import org.molgenis.data.validation.RepositoryConstraintViolationException;
 import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.validation.Errors;
 
 class DataServiceV3ImplTest extends AbstractMockitoTest {
@@ -53,6 +63,7 @@ class DataServiceV3ImplTest extends AbstractMockitoTest {
   @Mock private SortMapper sortMapper;
   @Mock private FetchMapper fetchMapper;
   @Mock private EntityValidator entityValidator;
+  @Mock private PlatformTransactionManager transactionManager;
   private DataServiceV3Impl dataServiceV3Impl;
 
   @BeforeEach
@@ -64,7 +75,8 @@ class DataServiceV3ImplTest extends AbstractMockitoTest {
             queryMapper,
             sortMapper,
             fetchMapper,
-            entityValidator);
+            entityValidator,
+            transactionManager);
   }
 
   @Test
@@ -648,6 +660,126 @@ class DataServiceV3ImplTest extends AbstractMockitoTest {
         () -> dataServiceV3Impl.findAll(entityTypeId, null, filter, expand, Sort.EMPTY_SORT, 1, 1));
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void testExport() throws IOException {
+    Repository<Entity> repository = mock(Repository.class);
+    EntityType entityType = mock(EntityType.class);
+    Attribute attribute0 = mock(Attribute.class);
+    Attribute attribute1 = mock(Attribute.class);
+    when(entityType.getAtomicAttributes()).thenReturn(asList(attribute0, attribute1));
+    when(repository.getEntityType()).thenReturn(entityType);
+    when(metaDataService.getRepository("MyEntityType")).thenReturn(Optional.of(repository));
+
+    Fetch fetch = new Fetch().field("id");
+    when(fetchMapper.toFetch(entityType, Selection.FULL_SELECTION, Selection.EMPTY_SELECTION))
+        .thenReturn(fetch);
+
+    Entity entity = mock(Entity.class);
+    doAnswer(
+            invocation -> {
+              Consumer<List<Entity>> consumer = invocation.getArgument(1);
+              consumer.accept(singletonList(entity));
+              return null;
+            })
+        .when(repository)
+        .forEachBatched(eq(fetch), any(Consumer.class), eq(DataServiceV3Impl.EXPORT_BATCH_SIZE));
+
+    EntityWriter entityWriter = mock(EntityWriter.class);
+    dataServiceV3Impl.export("MyEntityType", null, Selection.FULL_SELECTION).writeTo(entityWriter);
+
+    verify(entityWriter).writeAttributes(asList(attribute0, attribute1));
+    verify(entityWriter).writeEntities(singletonList(entity));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testExportInReadOnlyTransaction() throws IOException {
+    Repository<Entity> repository = mock(Repository.class);
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getAtomicAttributes()).thenReturn(Collections.emptyList());
+    when(repository.getEntityType()).thenReturn(entityType);
+    when(metaDataService.getRepository("MyEntityType")).thenReturn(Optional.of(repository));
+    TransactionStatus transactionStatus = mock(TransactionStatus.class);
+    when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+    EntityExport entityExport =
+        dataServiceV3Impl.export("MyEntityType", null, Selection.FULL_SELECTION);
+    verify(transactionManager, never()).getTransaction(any());
+
+    doAnswer(
+            invocation -> {
+              ArgumentCaptor<TransactionDefinition> definitionCaptor =
+                  ArgumentCaptor.forClass(TransactionDefinition.class);
+              verify(transactionManager).getTransaction(definitionCaptor.capture());
+              assertTrue(definitionCaptor.getValue().isReadOnly());
+              verify(transactionManager, never()).commit(any());
+              return null;
+            })
+        .when(repository)
+        .forEachBatched(any(), any(Consumer.class), eq(DataServiceV3Impl.EXPORT_BATCH_SIZE));
+
+    entityExport.writeTo(mock(EntityWriter.class));
+    verify(transactionManager).commit(transactionStatus);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testExportQuery() throws IOException {
+    Repository<Entity> repository = mock(Repository.class);
+    EntityType entityType = mock(EntityType.class);
+    Attribute idAttribute = mock(Attribute.class);
+    when(idAttribute.getName()).thenReturn("id");
+    when(entityType.getIdAttribute()).thenReturn(idAttribute);
+    when(entityType.getAtomicAttributes()).thenReturn(singletonList(idAttribute));
+    when(repository.getEntityType()).thenReturn(entityType);
+    when(metaDataService.getRepository("MyEntityType")).thenReturn(Optional.of(repository));
+
+    Query q = Query.builder().setOperator(Operator.MATCHES).setValue("value").build();
+    when(queryMapper.map(q, repository)).thenReturn(new QueryImpl<Entity>().eq("label", "value"));
+
+    Entity entity = mock(Entity.class);
+    Entity lastEntity = mock(Entity.class);
+    when(lastEntity.getIdValue()).thenReturn("id999");
+    List<Entity> firstPage =
+        new ArrayList<>(Collections.nCopies(DataServiceV3Impl.EXPORT_BATCH_SIZE - 1, entity));
+    firstPage.add(lastEntity);
+
+    org.molgenis.data.Query<Entity> firstPageQuery =
+        new QueryImpl<Entity>()
+            .nest()
+            .eq("label", "value")
+            .unnest()
+            .sort(new org.molgenis.data.Sort("id"))
+            .pageSize(DataServiceV3Impl.EXPORT_BATCH_SIZE);
+    org.molgenis.data.Query<Entity> secondPageQuery =
+        new QueryImpl<Entity>()
+            .nest()
+            .eq("label", "value")
+            .unnest()
+            .and()
+            .gt("id", "id999")
+            .sort(new org.molgenis.data.Sort("id"))
+            .pageSize(DataServiceV3Impl.EXPORT_BATCH_SIZE);
+    when(repository.findAll(firstPageQuery)).thenReturn(firstPage.stream());
+    when(repository.findAll(secondPageQuery)).thenReturn(Stream.of(entity));
+
+    EntityWriter entityWriter = mock(EntityWriter.class);
+    dataServiceV3Impl.export("MyEntityType", q, Selection.FULL_SELECTION).writeTo(entityWriter);
+
+    verify(entityWriter).writeAttributes(singletonList(idAttribute));
+    verify(entityWriter).writeEntities(firstPage);
+    verify(entityWriter).writeEntities(singletonList(entity));
+  }
+
+  @Test
+  void testExportUnknownRepository() {
+    when(metaDataService.getRepository("MyEntityType")).thenReturn(Optional.empty());
+    assertThrows(
+        UnknownRepositoryException.class,
+        () -> dataServiceV3Impl.export("MyEntityType", null, Selection.FULL_SELECTION));
+  }
+
   @Test
   void testUpdate() {
     @SuppressWarnings("unchecked")
@@ -0,0 +1,225 @@
+package org.molgenis.api.data.v3;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+
+import com.google.gson.Gson;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecution;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionFactory;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.Action;
+import org.molgenis.data.Entity;
+import org.molgenis.data.MolgenisDataException;
+import org.molgenis.data.Repository;
+import org.molgenis.data.UnknownRepositoryException;
+import org.molgenis.data.file.FileStore;
+import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.MetadataAccessException;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.validation.EntityValidator;
+import org.molgenis.jobs.JobExecutor;
+import org.molgenis.jobs.Progress;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+class EntityBulkWriteServiceImplTest extends AbstractMockitoTest {
+  @Mock private MetaDataService metaDataService;
+  @Mock private EntityManagerV3 entityManagerV3;
+  @Mock private EntityValidator entityValidator;
+  @Mock private EntityBulkWriteJobExecutionFactory entityBulkWriteJobExecutionFactory;
+  @Mock private JobExecutor jobExecutor;
+  @Mock private FileStore fileStore;
+  @Mock private Repository<Entity> repository;
+  @Mock private EntityType entityType;
+  @Mock private EntityBulkWriteJobExecution jobExecution;
+  @Mock private Progress progress;
+  @Mock private PlatformTransactionManager transactionManager;
+  private EntityBulkWriteServiceImpl entityBulkWriteService;
+  private File file;
+
+  @BeforeEach
+  void setUpBeforeEach() throws IOException {
+    entityBulkWriteService =
+        new EntityBulkWriteServiceImpl(
+            metaDataService,
+            entityManagerV3,
+            entityValidator,
+            entityBulkWriteJobExecutionFactory,
+            jobExecutor,
+            fileStore,
+            new Gson(),
+            transactionManager);
+    file = File.createTempFile("EntityBulkWriteServiceImplTest", ".ndjson");
+  }
+
+  @AfterEach
+  void tearDownAfterEach() throws IOException {
+    Files.deleteIfExists(file.toPath());
+  }
+
+  @Test
+  void testScheduleWrite() throws IOException {
+    when(metaDataService.hasRepository("MyEntityType")).thenReturn(true);
+    when(entityBulkWriteJobExecutionFactory.create()).thenReturn(jobExecution);
+    when(jobExecution.getIdentifier()).thenReturn("MyJobId");
+    InputStream inputStream = mock(InputStream.class);
+
+    assertSame(
+        jobExecution,
+        entityBulkWriteService.scheduleWrite("MyEntityType", Action.CREATE, inputStream));
+    verify(fileStore).store(inputStream, "bulk-write-MyJobId.ndjson");
+    verify(jobExecution).setFile("bulk-write-MyJobId.ndjson");
+    verify(jobExecution).setEntityTypeId("MyEntityType");
+    verify(jobExecution).setAction(Action.CREATE);
+    verify(jobExecutor).submit(jobExecution);
+  }
+
+  @Test
+  void testScheduleWriteUnknownRepository() {
+    InputStream inputStream = mock(InputStream.class);
+    assertThrows(
+        UnknownRepositoryException.class,
+        () -> entityBulkWriteService.scheduleWrite("MyEntityType", Action.CREATE, inputStream));
+  }
+
+  @Test
+  void testScheduleWriteMetadata() {
+    InputStream inputStream = mock(InputStream.class);
+    assertThrows(
+        MetadataAccessException.class,
+        () ->
+            entityBulkWriteService.scheduleWrite(
+                ENTITY_TYPE_META_DATA, Action.CREATE, inputStream));
+  }
+
+  @Test
+  void testWriteCreate() throws IOException {
+    Entity entity0 = mock(Entity.class);
+    Entity entity1 = mock(Entity.class);
+    setUpWrite(Action.CREATE, "{\"id\":\"0\"}\n\n{invalid\n{\"id\":\"1\"}\n", entity0, entity1);
+    List<List<Entity>> batches = captureBatches(false);
+
+    entityBulkWriteService.write(jobExecution, progress);
+
+    assertEquals(List.of(List.of(entity0, entity1)), batches);
+    verify(entityManagerV3).populate(entityType, entity0, Map.of("id", "0"));
+    verify(entityManagerV3).populate(entityType, entity1, Map.of("id", "1"));
+    verify(progress).setProgressMax(3);
+    verify(progress).progress(3, "Processed 3 rows, 1 errors");
+    verify(jobExecution).setErrors("line 3: Invalid JSON object\n");
+    verify(jobExecution).setNrErrors(1);
+    verify(fileStore).delete("bulk-write-MyJobId.ndjson");
+  }
+
+  @Test
+  void testWriteCreateBatchFails() throws IOException {
+    Entity entity0 = mock(Entity.class);
+    Entity entity1 = mock(Entity.class);
+    setUpWrite(Action.CREATE, "{\"id\":\"0\"}\n{\"id\":\"1\"}\n", entity0, entity1);
+    List<List<Entity>> batches = captureBatches(true);
+
+    entityBulkWriteService.write(jobExecution, progress);
+
+    assertEquals(List.of(List.of(entity0, entity1), List.of(entity0), List.of(entity1)), batches);
+    verify(jobExecution).setErrors("line 2: duplicate\n");
+    verify(jobExecution).setNrErrors(1);
+    verify(transactionManager, times(2)).rollback(any());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void testWriteBatchInTransaction() throws IOException {
+    Entity entity0 = mock(Entity.class);
+    setUpWrite(Action.CREATE, "{\"id\":\"0\"}\n", entity0);
+    TransactionStatus transactionStatus = mock(TransactionStatus.class);
+    when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+    doAnswer(
+            invocation -> {
+              verify(transactionManager).getTransaction(any());
+              verify(transactionManager, never()).commit(any());
+              return 1;
+            })
+        .when(repository)
+        .add(any(Stream.class));
+
+    entityBulkWriteService.write(jobExecution, progress);
+
+    ArgumentCaptor<TransactionDefinition> definitionCaptor =
+        ArgumentCaptor.forClass(TransactionDefinition.class);
+    verify(transactionManager).getTransaction(definitionCaptor.capture());
+    assertEquals(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW,
+        definitionCaptor.getValue().getPropagationBehavior());
+    verify(transactionManager).commit(transactionStatus);
+  }
+
+  @Test
+  void testWriteUpdate() throws IOException {
+    Entity entity0 = mock(Entity.class);
+    setUpWrite(Action.UPDATE, "{\"id\":\"0\"}\n", entity0);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Stream<Entity>> entitiesCaptor = ArgumentCaptor.forClass(Stream.class);
+
+    entityBulkWriteService.write(jobExecution, progress);
+
+    verify(repository).update(entitiesCaptor.capture());
+    assertEquals(List.of(entity0), entitiesCaptor.getValue().collect(toList()));
+    verify(jobExecution).setNrErrors(0);
+  }
+
+  private void setUpWrite(Action action, String content, Entity entity, Entity... entities)
+      throws IOException {
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+    when(jobExecution.getEntityTypeId()).thenReturn("MyEntityType");
+    when(jobExecution.getAction()).thenReturn(action);
+    when(jobExecution.getFile()).thenReturn("bulk-write-MyJobId.ndjson");
+    when(fileStore.getFileUnchecked("bulk-write-MyJobId.ndjson")).thenReturn(file);
+    when(metaDataService.getRepository("MyEntityType")).thenReturn(Optional.of(repository));
+    when(repository.getEntityType()).thenReturn(entityType);
+    when(entityManagerV3.create(entityType)).thenReturn(entity, entities);
+  }
+
+  /** Records the written batches, optionally failing the first batch and the last single row */
+  private List<List<Entity>> captureBatches(boolean fail) {
+    List<List<Entity>> batches = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              Stream<Entity> entities = invocation.getArgument(0);
+              List<Entity> batch = entities.collect(toList());
+              batches.add(batch);
+              if (fail && (batches.size() == 1 || batches.size() == 3)) {
+                throw new MolgenisDataException("duplicate");
+              }
+              return batch.size();
+            })
+        .when(repository)
+        .add(any(Stream.class));
+    return batches;
+  }
+}
@@ -6,6 +6,9 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Map;
@@ -13,10 +16,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.molgenis.api.data.v3.EntityCollection.Page;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecution;
+import org.molgenis.api.data.v3.job.EntityBulkWriteJobExecutionMetadata.Action;
 import org.molgenis.api.data.v3.model.DeleteEntitiesRequest;
 import org.molgenis.api.data.v3.model.DeleteEntityRequest;
 import org.molgenis.api.data.v3.model.EntitiesResponse;
 import org.molgenis.api.data.v3.model.EntityResponse;
+import org.molgenis.api.data.v3.model.ExportEntitiesRequest;
 import org.molgenis.api.data.v3.model.ReadEntitiesRequest;
 import org.molgenis.api.data.v3.model.ReadEntityRequest;
 import org.molgenis.api.data.v3.model.ReadSubresourceRequest;
@@ -26,24 +32,31 @@ import org.molgenis.api.model.Query.Operator;
 import org.molgenis.api.model.Selection;
 import org.molgenis.api.model.Sort;
 import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.test.AbstractMockitoTest;
 import org.molgenis.util.i18n.MessageSourceHolder;
 import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 class EntityControllerTest extends AbstractMockitoTest {
   @Mock private DataServiceV3 dataServiceV3;
   @Mock private EntityMapper entityMapper;
+  @Mock private EntityBulkWriteService entityBulkWriteService;
+  @Mock private EntityWriterFactory entityWriterFactory;
   @Mock private MessageSource messageSource;
   private EntityController entityController;
 
   @BeforeEach
   void setUpBeforeMethod() {
-    entityController = new EntityController(dataServiceV3, entityMapper);
+    entityController =
+        new EntityController(
+            dataServiceV3, entityMapper, entityBulkWriteService, entityWriterFactory);
     RequestContextHolder.setRequestAttributes(
         new ServletRequestAttributes(new MockHttpServletRequest()));
     MessageSourceHolder.setMessageSource(messageSource);
@@ -65,6 +78,77 @@ class EntityControllerTest extends AbstractMockitoTest {
     assertEquals(expectedResponseEntity, responseEntity);
   }
 
+  @Test
+  void testCreateEntities() throws IOException, URISyntaxException {
+    String entityTypeId = "MyEntityTypeId";
+    InputStream inputStream = mock(InputStream.class);
+    EntityBulkWriteJobExecution jobExecution = mockJobExecution();
+    when(entityBulkWriteService.scheduleWrite(entityTypeId, Action.CREATE, inputStream))
+        .thenReturn(jobExecution);
+
+    ResponseEntity<Void> expectedResponseEntity =
+        ResponseEntity.accepted()
+            .location(new URI("http://localhost/api/data/MyJobExecutionType/MyJobId"))
+            .build();
+    assertEquals(
+        expectedResponseEntity, entityController.createEntities(entityTypeId, inputStream));
+  }
+
+  @Test
+  void testUpdateEntities() throws IOException, URISyntaxException {
+    String entityTypeId = "MyEntityTypeId";
+    InputStream inputStream = mock(InputStream.class);
+    EntityBulkWriteJobExecution jobExecution = mockJobExecution();
+    when(entityBulkWriteService.scheduleWrite(entityTypeId, Action.UPDATE, inputStream))
+        .thenReturn(jobExecution);
+
+    ResponseEntity<Void> expectedResponseEntity =
+        ResponseEntity.accepted()
+            .location(new URI("http://localhost/api/data/MyJobExecutionType/MyJobId"))
+            .build();
+    assertEquals(
+        expectedResponseEntity, entityController.updateEntities(entityTypeId, inputStream));
+  }
+
+  @Test
+  void testExportEntitiesAsNdjson() throws IOException {
+    ExportEntitiesRequest exportRequest = createExportRequest();
+    EntityExport entityExport = mock(EntityExport.class);
+    when(dataServiceV3.export("MyEntityTypeId", null, Selection.FULL_SELECTION))
+        .thenReturn(entityExport);
+
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        entityController.exportEntitiesAsNdjson(exportRequest, new MockHttpServletRequest());
+    assertEquals(
+        MediaType.parseMediaType("application/x-ndjson"),
+        responseEntity.getHeaders().getContentType());
+
+    OutputStream outputStream = mock(OutputStream.class);
+    EntityWriter entityWriter = mock(EntityWriter.class);
+    when(entityWriterFactory.createNdjsonWriter(outputStream)).thenReturn(entityWriter);
+    responseEntity.getBody().writeTo(outputStream);
+    verify(entityExport).writeTo(entityWriter);
+  }
+
+  @Test
+  void testExportEntitiesAsCsv() throws IOException {
+    ExportEntitiesRequest exportRequest = createExportRequest();
+    EntityExport entityExport = mock(EntityExport.class);
+    when(dataServiceV3.export("MyEntityTypeId", null, Selection.FULL_SELECTION))
+        .thenReturn(entityExport);
+
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        entityController.exportEntitiesAsCsv(exportRequest, new MockHttpServletRequest());
+    assertEquals(
+        MediaType.parseMediaType("text/csv"), responseEntity.getHeaders().getContentType());
+
+    OutputStream outputStream = mock(OutputStream.class);
+    EntityWriter entityWriter = mock(EntityWriter.class);
+    when(entityWriterFactory.createCsvWriter(outputStream)).thenReturn(entityWriter);
+    responseEntity.getBody().writeTo(outputStream);
+    verify(entityExport).writeTo(entityWriter);
+  }
+
   @Test
   void testGetEntity() {
     String entityTypeId = "MyEntityTypeId";
@@ -215,4 +299,19 @@ class EntityControllerTest extends AbstractMockitoTest {
     molgenisQuery.eq("test", "value");
     verify(dataServiceV3).deleteAll(entityTypeId, query);
   }
+
+  private static EntityBulkWriteJobExecution mockJobExecution() {
+    EntityType jobExecutionType = mock(EntityType.class);
+    when(jobExecutionType.getId()).thenReturn("MyJobExecutionType");
+    EntityBulkWriteJobExecution jobExecution = mock(EntityBulkWriteJobExecution.class);
+    when(jobExecution.getEntityType()).thenReturn(jobExecutionType);
+    when(jobExecution.getIdentifier()).thenReturn("MyJobId");
+    return jobExecution;
+  }
+
+  private static ExportEntitiesRequest createExportRequest() {
+    ExportEntitiesRequest exportRequest = new ExportEntitiesRequest();
+    exportRequest.setEntityTypeId("MyEntityTypeId");
+    return exportRequest;
+  }
 }
@@ -0,0 +1,64 @@
+package org.molgenis.api.data.v3;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.AttributeType.DATE;
+import static org.molgenis.data.meta.AttributeType.MREF;
+import static org.molgenis.data.meta.AttributeType.STRING;
+import static org.molgenis.data.meta.AttributeType.XREF;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.test.AbstractMockitoTest;
+
+class NdjsonEntityWriterTest extends AbstractMockitoTest {
+  @Test
+  void testWriteEntities() throws IOException {
+    Attribute idAttribute = createAttribute("id", STRING);
+    Attribute refAttribute = createAttribute("ref", XREF);
+    Attribute refsAttribute = createAttribute("refs", MREF);
+    Attribute dateAttribute = createAttribute("date", DATE);
+
+    Entity refEntity0 = createRefEntity("ref0");
+    Entity refEntity1 = createRefEntity("ref1");
+    Entity entity0 = mock(Entity.class);
+    when(entity0.get("id")).thenReturn("id0");
+    when(entity0.getEntity("ref")).thenReturn(refEntity0);
+    when(entity0.getEntities("refs")).thenReturn(asList(refEntity0, refEntity1));
+    when(entity0.get("date")).thenReturn(LocalDate.of(2020, 1, 2));
+    Entity entity1 = mock(Entity.class);
+    when(entity1.get("id")).thenReturn("id1");
+
+    StringWriter stringWriter = new StringWriter();
+    NdjsonEntityWriter ndjsonEntityWriter = new NdjsonEntityWriter(stringWriter, new Gson());
+    ndjsonEntityWriter.writeAttributes(
+        asList(idAttribute, refAttribute, refsAttribute, dateAttribute));
+    ndjsonEntityWriter.writeEntities(asList(entity0, entity1));
+
+    assertEquals(
+        "{\"id\":\"id0\",\"ref\":\"ref0\",\"refs\":[\"ref0\",\"ref1\"],\"date\":\"2020-01-02\"}\n"
+            + "{\"id\":\"id1\",\"refs\":[]}\n",
+        stringWriter.toString());
+  }
+
+  private static Attribute createAttribute(String name, AttributeType type) {
+    Attribute attribute = mock(Attribute.class);
+    when(attribute.getName()).thenReturn(name);
+    when(attribute.getDataType()).thenReturn(type);
+    return attribute;
+  }
+
+  private static Entity createRefEntity(String id) {
+    Entity refEntity = mock(Entity.class);
+    when(refEntity.getIdValue()).thenReturn(id);
+    return refEntity;
+  }
+}
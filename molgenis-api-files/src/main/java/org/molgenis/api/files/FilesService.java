@@ -3,6 +3,7 @@ package org.molgenis.api.files;
 import java.util.concurrent.CompletableFuture;
 import javax.servlet.http.HttpServletRequest;
 import org.molgenis.data.file.model.FileMeta;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
@@ -14,11 +15,13 @@ public interface FilesService {
   CompletableFuture<FileMeta> upload(HttpServletRequest httpServletRequest);
 
   /**
-   * Asynchronous file download to HTTP response
+   * Asynchronous file download to HTTP response. Supports single byte range requests, conditional
+   * range requests using If-Range and conditional requests using If-None-Match.
    *
+   * @param requestHeaders HTTP request headers
    * @throws org.molgenis.data.UnknownEntityException if fileId is unknown
    */
-  ResponseEntity<StreamingResponseBody> download(String fileId);
+  ResponseEntity<StreamingResponseBody> download(String fileId, HttpHeaders requestHeaders);
 
   /**
    * Get file metadata
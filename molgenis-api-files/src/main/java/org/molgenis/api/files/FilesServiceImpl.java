@@ -3,15 +3,24 @@ package org.molgenis.api.files;
 import static java.nio.channels.Channels.newChannel;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.file.model.FileMetaMetadata.FILE_META;
+import static org.springframework.http.HttpHeaders.ACCEPT_RANGES;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpHeaders.CONTENT_RANGE;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.IF_RANGE;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
+import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 
 import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
 import javax.servlet.http.HttpServletRequest;
 import org.molgenis.data.DataService;
 import org.molgenis.data.UnknownEntityException;
@@ -19,6 +28,10 @@ import org.molgenis.data.file.BlobMetadata;
 import org.molgenis.data.file.BlobStore;
 import org.molgenis.data.file.model.FileMeta;
 import org.molgenis.data.file.model.FileMetaFactory;
+import org.molgenis.data.populate.IdGenerator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,11 +43,17 @@ class FilesServiceImpl implements FilesService {
   private final DataService dataService;
   private final BlobStore blobStore;
   private final FileMetaFactory fileMetaFactory;
+  private final IdGenerator idGenerator;
 
-  FilesServiceImpl(DataService dataService, BlobStore blobStore, FileMetaFactory fileMetaFactory) {
+  FilesServiceImpl(
+      DataService dataService,
+      BlobStore blobStore,
+      FileMetaFactory fileMetaFactory,
+      IdGenerator idGenerator) {
     this.dataService = requireNonNull(dataService);
     this.blobStore = requireNonNull(blobStore);
     this.fileMetaFactory = requireNonNull(fileMetaFactory);
+    this.idGenerator = requireNonNull(idGenerator);
   }
 
   @Transactional(readOnly = true)
@@ -70,29 +89,85 @@ class FilesServiceImpl implements FilesService {
 
   @Transactional(readOnly = true)
   @Override
-  public ResponseEntity<StreamingResponseBody> download(String fileId) {
+  public ResponseEntity<StreamingResponseBody> download(String fileId, HttpHeaders requestHeaders) {
     FileMeta fileMeta = getFileMeta(fileId);
 
-    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
-    builder.header(CONTENT_TYPE, fileMeta.getContentType());
-    builder.header(CONTENT_DISPOSITION, "attachment; filename=\"" + fileMeta.getFilename() + "\"");
+    // blobs are immutable, so the content checksum or file identifier is a strong entity tag
+    String checksum = fileMeta.getChecksum();
+    String eTag = '"' + (checksum != null ? checksum : fileId) + '"';
+    String blobId = fileMeta.getBlobId();
+    if (requestHeaders.getIfNoneMatch().contains(eTag)) {
+      return ResponseEntity.status(NOT_MODIFIED).eTag(eTag).build();
+    }
 
     Long contentLength = fileMeta.getSize();
-    if (contentLength != null) {
-      builder.contentLength(contentLength);
+    HttpRange range = contentLength != null ? getRange(requestHeaders, eTag) : null;
+    if (range == null) {
+      ResponseEntity.BodyBuilder builder = createDownloadResponseBuilder(OK, fileMeta, eTag);
+      if (contentLength != null) {
+        builder.contentLength(contentLength);
+      }
+      return builder.body(
+          outputStream -> {
+            try (ReadableByteChannel fromChannel = blobStore.newChannel(blobId)) {
+              ByteStreams.copy(fromChannel, Channels.newChannel(outputStream));
+            }
+          });
+    }
+
+    long start = range.getRangeStart(contentLength);
+    long end = range.getRangeEnd(contentLength);
+    if (start >= contentLength || start > end) {
+      return ResponseEntity.status(REQUESTED_RANGE_NOT_SATISFIABLE)
+          .header(CONTENT_RANGE, "bytes */" + contentLength)
+          .build();
+    }
+
+    long rangeLength = end - start + 1;
+    return createDownloadResponseBuilder(PARTIAL_CONTENT, fileMeta, eTag)
+        .header(CONTENT_RANGE, "bytes " + start + '-' + end + '/' + contentLength)
+        .contentLength(rangeLength)
+        .body(
+            outputStream -> {
+              try (ReadableByteChannel fromChannel =
+                  blobStore.newChannel(blobId, start, rangeLength)) {
+                ByteStreams.copy(fromChannel, Channels.newChannel(outputStream));
+              }
+            });
+  }
+
+  private static ResponseEntity.BodyBuilder createDownloadResponseBuilder(
+      HttpStatus httpStatus, FileMeta fileMeta, String eTag) {
+    return ResponseEntity.status(httpStatus)
+        .header(CONTENT_TYPE, fileMeta.getContentType())
+        .header(CONTENT_DISPOSITION, "attachment; filename=\"" + fileMeta.getFilename() + "\"")
+        .header(ACCEPT_RANGES, "bytes")
+        .eTag(eTag);
+  }
+
+  /**
+   * Returns the requested byte range or null if the complete file should be returned. The range is
+   * ignored if it is invalid, if multiple ranges are requested or if the If-Range condition does
+   * not match.
+   */
+  private static @Nullable HttpRange getRange(HttpHeaders requestHeaders, String eTag) {
+    String ifRange = requestHeaders.getFirst(IF_RANGE);
+    if (ifRange != null && !ifRange.equals(eTag)) {
+      return null;
     }
 
-    return builder.body(
-        outputStream -> {
-          try (ReadableByteChannel fromChannel = blobStore.newChannel(fileId)) {
-            ByteStreams.copy(fromChannel, Channels.newChannel(outputStream));
-          }
-        });
+    List<HttpRange> ranges;
+    try {
+      ranges = requestHeaders.getRange();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    return ranges.size() == 1 ? ranges.get(0) : null;
   }
 
   private FileMeta createFileMeta(
       HttpServletRequest httpServletRequest, BlobMetadata blobMetadata) {
-    String blobMetadataId = blobMetadata.getId();
+    String fileId = idGenerator.generateId();
 
     String uriString =
         ServletUriComponentsBuilder.fromRequestUri(httpServletRequest)
@@ -100,17 +175,18 @@ class FilesServiceImpl implements FilesService {
             .host(null)
             .port(null)
             .userInfo(null)
-            .pathSegment(blobMetadataId)
+            .pathSegment(fileId)
             .queryParam("alt", "media")
             .build()
             .toUriString();
 
     String filename = httpServletRequest.getHeader("x-molgenis-filename");
-    FileMeta fileMeta = fileMetaFactory.create(blobMetadataId);
+    FileMeta fileMeta = fileMetaFactory.create(fileId);
     fileMeta.setFilename(filename != null ? filename : "unknown");
     fileMeta.setContentType(httpServletRequest.getContentType());
     fileMeta.setSize(blobMetadata.getSize());
     fileMeta.setUrl(uriString);
+    fileMeta.setChecksum(blobMetadata.getChecksum());
     return fileMeta;
   }
 }
@@ -1,5 +1,6 @@
 package org.molgenis.api.files;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -8,9 +9,20 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.ContentDisposition.parse;
+import static org.springframework.http.HttpHeaders.ACCEPT_RANGES;
+import static org.springframework.http.HttpHeaders.CONTENT_RANGE;
+import static org.springframework.http.HttpHeaders.IF_RANGE;
+import static org.springframework.http.HttpHeaders.RANGE;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
+import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 import static org.springframework.http.MediaType.valueOf;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.concurrent.ExecutionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +33,9 @@ import org.molgenis.data.file.BlobMetadata;
 import org.molgenis.data.file.BlobStore;
 import org.molgenis.data.file.model.FileMeta;
 import org.molgenis.data.file.model.FileMetaFactory;
+import org.molgenis.data.populate.IdGenerator;
 import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
@@ -30,16 +44,18 @@ class FilesServiceImplTest extends AbstractMockitoTest {
   @Mock private DataService dataService;
   @Mock private BlobStore blobStore;
   @Mock private FileMetaFactory fileMetaFactory;
+  @Mock private IdGenerator idGenerator;
   private FilesServiceImpl filesApiServiceImpl;
 
   @BeforeEach
   void setUpBeforeMethod() {
-    filesApiServiceImpl = new FilesServiceImpl(dataService, blobStore, fileMetaFactory);
+    filesApiServiceImpl =
+        new FilesServiceImpl(dataService, blobStore, fileMetaFactory, idGenerator);
   }
 
   @Test
   void testFilesApiServiceImpl() {
-    assertThrows(NullPointerException.class, () -> new FilesServiceImpl(null, null, null));
+    assertThrows(NullPointerException.class, () -> new FilesServiceImpl(null, null, null, null));
   }
 
   @Test
@@ -66,13 +82,15 @@ class FilesServiceImplTest extends AbstractMockitoTest {
 
   @Test
   void testUpload() throws ExecutionException, InterruptedException {
-    String blobId = "MyBlobId";
-    BlobMetadata blobMetadata = when(mock(BlobMetadata.class).getId()).thenReturn(blobId).getMock();
+    BlobMetadata blobMetadata = mock(BlobMetadata.class);
     when(blobMetadata.getSize()).thenReturn(1L);
+    when(blobMetadata.getChecksum()).thenReturn("MyChecksum");
     when(blobStore.store(any())).thenReturn(blobMetadata);
 
+    String fileId = "MyFileId";
+    when(idGenerator.generateId()).thenReturn(fileId);
     FileMeta fileMeta = mock(FileMeta.class);
-    when(fileMetaFactory.create(blobId)).thenReturn(fileMeta);
+    when(fileMetaFactory.create(fileId)).thenReturn(fileMeta);
 
     MockHttpServletRequest httpServletRequest = new MockHttpServletRequest();
     httpServletRequest.setContent(new byte[] {0x00});
@@ -85,7 +103,8 @@ class FilesServiceImplTest extends AbstractMockitoTest {
     verify(fileMeta).setContentType(contentType);
     verify(fileMeta).setSize(1L);
     verify(fileMeta).setFilename(filename);
-    verify(fileMeta).setUrl("/MyBlobId?alt=media");
+    verify(fileMeta).setUrl("/MyFileId?alt=media");
+    verify(fileMeta).setChecksum("MyChecksum");
     verifyNoMoreInteractions(fileMeta);
   }
 
@@ -99,11 +118,101 @@ class FilesServiceImplTest extends AbstractMockitoTest {
     when(fileMeta.getFilename()).thenReturn(filename);
     when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
 
-    ResponseEntity<StreamingResponseBody> responseEntity = filesApiServiceImpl.download(fileId);
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, new HttpHeaders());
     assertEquals(OK, responseEntity.getStatusCode());
     assertEquals(valueOf(contentType), responseEntity.getHeaders().getContentType());
     assertEquals(
         parse("attachment; filename=\"filename\""),
         responseEntity.getHeaders().getContentDisposition());
+    assertEquals("\"MyFileId\"", responseEntity.getHeaders().getETag());
+    assertEquals("bytes", responseEntity.getHeaders().getFirst(ACCEPT_RANGES));
+  }
+
+  @Test
+  void testDownloadChecksum() throws IOException {
+    String fileId = "MyFileId";
+    String checksum = "MyChecksum";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getChecksum()).thenReturn(checksum);
+    when(fileMeta.getBlobId()).thenReturn(checksum);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+    when(blobStore.newChannel(checksum))
+        .thenReturn(Channels.newChannel(new ByteArrayInputStream(new byte[] {0, 1})));
+
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, new HttpHeaders());
+    assertEquals("\"MyChecksum\"", responseEntity.getHeaders().getETag());
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    responseEntity.getBody().writeTo(outputStream);
+    assertArrayEquals(new byte[] {0, 1}, outputStream.toByteArray());
+  }
+
+  @Test
+  void testDownloadRange() throws IOException {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getSize()).thenReturn(10L);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+    when(fileMeta.getBlobId()).thenReturn(fileId);
+    when(blobStore.newChannel(fileId, 2L, 4L))
+        .thenReturn(Channels.newChannel(new ByteArrayInputStream(new byte[] {2, 3, 4, 5})));
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.set(RANGE, "bytes=2-5");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(PARTIAL_CONTENT, responseEntity.getStatusCode());
+    assertEquals("bytes 2-5/10", responseEntity.getHeaders().getFirst(CONTENT_RANGE));
+    assertEquals(4L, responseEntity.getHeaders().getContentLength());
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    responseEntity.getBody().writeTo(outputStream);
+    assertArrayEquals(new byte[] {2, 3, 4, 5}, outputStream.toByteArray());
+  }
+
+  @Test
+  void testDownloadRangeIfRangeNotMatched() {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getSize()).thenReturn(10L);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.set(RANGE, "bytes=2-5");
+    requestHeaders.set(IF_RANGE, "\"OtherFileId\"");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(OK, responseEntity.getStatusCode());
+    assertEquals(10L, responseEntity.getHeaders().getContentLength());
+  }
+
+  @Test
+  void testDownloadRangeNotSatisfiable() {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getSize()).thenReturn(10L);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.set(RANGE, "bytes=10-");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(REQUESTED_RANGE_NOT_SATISFIABLE, responseEntity.getStatusCode());
+    assertEquals("bytes */10", responseEntity.getHeaders().getFirst(CONTENT_RANGE));
+  }
+
+  @Test
+  void testDownloadNotModified() {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.setIfNoneMatch("\"MyFileId\"");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(NOT_MODIFIED, responseEntity.getStatusCode());
   }
 }
@@ -25,6 +25,7 @@ import org.molgenis.data.security.EntityTypeIdentity;
 import org.molgenis.data.security.exception.EntityTypePermissionDeniedException;
 import org.molgenis.security.core.UserPermissionEvaluator;
 import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
@@ -138,15 +139,17 @@ class FilesControllerTest extends AbstractMockitoTest {
     String fileId = "MyId";
     @SuppressWarnings("unchecked")
     ResponseEntity<StreamingResponseBody> responseEntity = mock(ResponseEntity.class);
-    when(filesApiService.download(fileId)).thenReturn(responseEntity);
-    assertEquals(responseEntity, filesApiController.downloadFile(fileId));
+    HttpHeaders requestHeaders = new HttpHeaders();
+    when(filesApiService.download(fileId, requestHeaders)).thenReturn(responseEntity);
+    assertEquals(responseEntity, filesApiController.downloadFile(fileId, requestHeaders));
   }
 
   @Test
   void testDownloadFileNotPermitted() {
     String fileId = "MyId";
     assertThrows(
-        EntityTypePermissionDeniedException.class, () -> filesApiController.downloadFile(fileId));
+        EntityTypePermissionDeniedException.class,
+        () -> filesApiController.downloadFile(fileId, new HttpHeaders()));
   }
 
   @Test
@@ -1,14 +1,37 @@
 package org.molgenis.api.metadata.v3;
 
+import static java.util.Objects.requireNonNull;
+
 import org.molgenis.api.convert.SortConverter;
+import org.molgenis.api.data.EntityTypeChangeCounter;
+import org.molgenis.api.data.EntityTypeETagInterceptor;
+import org.molgenis.data.meta.MetaDataService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class MetadataApiConfig implements WebMvcConfigurer {
+  private final EntityTypeChangeCounter entityTypeChangeCounter;
+  private final MetaDataService metaDataService;
+
+  MetadataApiConfig(
+      EntityTypeChangeCounter entityTypeChangeCounter, MetaDataService metaDataService) {
+    this.entityTypeChangeCounter = requireNonNull(entityTypeChangeCounter);
+    this.metaDataService = requireNonNull(metaDataService);
+  }
+
   @Bean
   public SortConverter metadataSortConverter() {
     return new SortConverter();
   }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry
+        .addInterceptor(
+            new EntityTypeETagInterceptor(entityTypeChangeCounter, metaDataService, false))
+        .addPathPatterns(MetadataApiController.API_META_PATH + "/**");
+  }
 }
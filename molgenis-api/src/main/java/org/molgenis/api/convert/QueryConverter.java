@@ -2,6 +2,8 @@ package org.molgenis.api.convert;
 
 import static java.util.Objects.requireNonNull;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.RSQLParserException;
 import cz.jirutka.rsql.parser.UnknownOperatorException;
@@ -10,17 +12,30 @@ import javax.annotation.Nonnull;
 import org.molgenis.api.model.Query;
 import org.springframework.core.convert.converter.Converter;
 
+/**
+ * Converts RSQL strings to queries. Queries are immutable and independent of entity type metadata,
+ * so the result of recently converted strings is cached: clients tend to send the same few queries
+ * over and over with different page offsets.
+ */
 public class QueryConverter implements Converter<String, Query> {
+  static final int MAX_CACHE_SIZE = 1000;
+
   private final RSQLParser rsqlParser;
   private final QueryRsqlVisitor rsqlVisitor;
+  private final Cache<String, Query> queryCache;
 
   public QueryConverter(RSQLParser rsqlParser, QueryRsqlVisitor rsqlVisitor) {
     this.rsqlParser = requireNonNull(rsqlParser);
     this.rsqlVisitor = requireNonNull(rsqlVisitor);
+    this.queryCache = Caffeine.newBuilder().maximumSize(MAX_CACHE_SIZE).build();
   }
 
   @Override
   public Query convert(@Nonnull String source) {
+    return queryCache.get(source, this::parse);
+  }
+
+  private Query parse(String source) {
     Node node;
     try {
       node = rsqlParser.parse(source);
@@ -4,6 +4,7 @@ import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,6 +44,18 @@ class QueryConverterTest extends AbstractMockitoTest {
     verify(rsqlVisitor).visit(node, null);
   }
 
+  @Test
+  void testCreateQueryCached() {
+    String rsqlQuery = "item==value";
+    ComparisonNode node =
+        new ComparisonNode(new ComparisonOperator("=="), "item", singletonList("value"));
+    Query query = Query.builder().setItem("item").setOperator(Operator.EQUALS).build();
+    when(node.accept(rsqlVisitor)).thenReturn(query);
+    queryConverter.convert(rsqlQuery);
+    assertEquals(query, queryConverter.convert(rsqlQuery));
+    verify(rsqlVisitor, times(1)).visit(node, null);
+  }
+
   @Test
   void testCreateQueryParseException() {
     String rsqlQuery = "illegalQuery";
@@ -0,0 +1,43 @@
+package org.molgenis.beacon.config;
+
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.beacon.config.BeaconDatasetMetadata.BEACON_DATASET;
+import static org.molgenis.data.event.BootstrappingEvent.BootstrappingStatus.FINISHED;
+
+import org.molgenis.data.DataService;
+import org.molgenis.data.event.BootstrappingEvent;
+import org.molgenis.genomebrowser.meta.GenomeBrowserAttributes;
+import org.molgenis.genomebrowser.service.GenomeBrowserIndexService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes the positions of the entity types of all beacon datasets after bootstrapping, so that
+ * datasets that were saved before positions were indexed on save are indexed as well.
+ */
+@Component
+public class BeaconDatasetIndexInitializer {
+  private final DataService dataService;
+  private final GenomeBrowserIndexService genomeBrowserIndexService;
+
+  BeaconDatasetIndexInitializer(
+      DataService dataService, GenomeBrowserIndexService genomeBrowserIndexService) {
+    this.dataService = requireNonNull(dataService);
+    this.genomeBrowserIndexService = requireNonNull(genomeBrowserIndexService);
+  }
+
+  @EventListener
+  public void onApplicationEvent(BootstrappingEvent bootstrappingEvent) {
+    if (bootstrappingEvent.getStatus() == FINISHED) {
+      dataService.findAll(BEACON_DATASET, BeaconDataset.class).forEach(this::createIndex);
+    }
+  }
+
+  private void createIndex(BeaconDataset beaconDataset) {
+    GenomeBrowserAttributes genomeBrowserAttributes = beaconDataset.getGenomeBrowserAttributes();
+    if (genomeBrowserAttributes != null) {
+      genomeBrowserIndexService.createIndex(
+          beaconDataset.getDatasetEntityType(), genomeBrowserAttributes);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package org.molgenis.beacon.config;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.stream.Stream;
+import org.molgenis.data.AbstractRepositoryDecorator;
+import org.molgenis.data.Repository;
+import org.molgenis.genomebrowser.meta.GenomeBrowserAttributes;
+import org.molgenis.genomebrowser.service.GenomeBrowserIndexService;
+
+/** Repository decorator that indexes the positions of the entity types of beacon datasets. */
+public class BeaconDatasetRepositoryDecorator extends AbstractRepositoryDecorator<BeaconDataset> {
+  private final GenomeBrowserIndexService genomeBrowserIndexService;
+
+  public BeaconDatasetRepositoryDecorator(
+      Repository<BeaconDataset> delegateRepository,
+      GenomeBrowserIndexService genomeBrowserIndexService) {
+    super(delegateRepository);
+    this.genomeBrowserIndexService = requireNonNull(genomeBrowserIndexService);
+  }
+
+  @Override
+  public void add(BeaconDataset beaconDataset) {
+    super.add(beaconDataset);
+    createIndex(beaconDataset);
+  }
+
+  @Override
+  public Integer add(Stream<BeaconDataset> beaconDatasets) {
+    return super.add(beaconDatasets.peek(this::createIndex));
+  }
+
+  @Override
+  public void update(BeaconDataset beaconDataset) {
+    super.update(beaconDataset);
+    createIndex(beaconDataset);
+  }
+
+  @Override
+  public void update(Stream<BeaconDataset> beaconDatasets) {
+    super.update(beaconDatasets.peek(this::createIndex));
+  }
+
+  private void createIndex(BeaconDataset beaconDataset) {
+    GenomeBrowserAttributes genomeBrowserAttributes = beaconDataset.getGenomeBrowserAttributes();
+    if (genomeBrowserAttributes != null) {
+      genomeBrowserIndexService.createIndex(
+          beaconDataset.getDatasetEntityType(), genomeBrowserAttributes);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package org.molgenis.beacon.config;
+
+import static java.util.Objects.requireNonNull;
+
+import org.molgenis.data.AbstractSystemRepositoryDecoratorFactory;
+import org.molgenis.data.Repository;
+import org.molgenis.genomebrowser.service.GenomeBrowserIndexService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BeaconDatasetRepositoryDecoratorFactory
+    extends AbstractSystemRepositoryDecoratorFactory<BeaconDataset, BeaconDatasetMetadata> {
+  private final GenomeBrowserIndexService genomeBrowserIndexService;
+
+  public BeaconDatasetRepositoryDecoratorFactory(
+      BeaconDatasetMetadata beaconDatasetMetadata,
+      GenomeBrowserIndexService genomeBrowserIndexService) {
+    super(beaconDatasetMetadata);
+    this.genomeBrowserIndexService = requireNonNull(genomeBrowserIndexService);
+  }
+
+  @Override
+  public Repository<BeaconDataset> createDecoratedRepository(
+      Repository<BeaconDataset> repository) {
+    return new BeaconDatasetRepositoryDecorator(repository, genomeBrowserIndexService);
+  }
+}
@@ -2,6 +2,16 @@ package org.molgenis.beacon.service.impl;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.PreDestroy;
 import org.molgenis.beacon.config.Beacon;
 import org.molgenis.beacon.config.BeaconDataset;
 import org.molgenis.beacon.config.BeaconMetadata;
@@ -11,18 +21,34 @@ import org.molgenis.beacon.controller.model.exceptions.NestedBeaconException;
 import org.molgenis.beacon.controller.model.exceptions.UnknownBeaconException;
 import org.molgenis.beacon.service.BeaconQueryService;
 import org.molgenis.data.DataService;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.MolgenisDataException;
+import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.QueryImpl;
+import org.molgenis.util.ExecutorServiceUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
 import org.springframework.stereotype.Component;
 
 @Component
 public class BeaconQueryServiceImpl implements BeaconQueryService {
   private static final Logger LOG = LoggerFactory.getLogger(BeaconQueryServiceImpl.class);
   private final DataService dataService;
+  private final ExecutorService executorService;
 
-  public BeaconQueryServiceImpl(DataService dataService) {
+  public BeaconQueryServiceImpl(
+      DataService dataService, @Value("${beacon.parallelism:4}") int parallelism) {
     this.dataService = requireNonNull(dataService);
+    this.executorService =
+        Executors.newFixedThreadPool(
+            parallelism, new ThreadFactoryBuilder().setNameFormat("molgenis-beacon-%d").build());
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    ExecutorServiceUtils.shutdownAndAwaitTermination(executorService);
   }
 
   @Override
@@ -70,19 +96,68 @@ public class BeaconQueryServiceImpl implements BeaconQueryService {
       String referenceBases,
       String alternateBases,
       String beaconId) {
-    boolean exists = false;
     Beacon beacon = dataService.findOneById(BeaconMetadata.BEACON, beaconId, Beacon.class);
-    if (beacon != null) {
-      for (BeaconDataset beaconDataset : beacon.getDataSets()) {
-        exists =
-            queryBeaconDataset(beaconDataset, referenceName, start, referenceBases, alternateBases);
-      }
-    } else {
+    if (beacon == null) {
       throw new UnknownBeaconException(
           beaconId,
           BeaconAlleleRequest.create(referenceName, start, referenceBases, alternateBases));
     }
-    return exists;
+
+    List<BeaconDataset> beaconDatasets = new ArrayList<>();
+    beacon.getDataSets().forEach(beaconDatasets::add);
+    if (beaconDatasets.size() == 1) {
+      return queryBeaconDataset(
+          beaconDatasets.get(0), referenceName, start, referenceBases, alternateBases);
+    }
+    return queryBeaconDatasets(
+        beaconDatasets, referenceName, start, referenceBases, alternateBases);
+  }
+
+  /**
+   * Queries the datasets in parallel and returns as soon as one of the datasets contains the
+   * variant, cancelling the queries of the other datasets. All requests share a pool of
+   * 'beacon.parallelism' threads, so the number of concurrent dataset queries is bounded.
+   */
+  private boolean queryBeaconDatasets(
+      List<BeaconDataset> beaconDatasets,
+      String referenceName,
+      Long start,
+      String referenceBases,
+      String alternateBases) {
+    CompletionService<Boolean> completionService =
+        new ExecutorCompletionService<>(executorService);
+    List<Future<Boolean>> futures = new ArrayList<>(beaconDatasets.size());
+    try {
+      for (BeaconDataset beaconDataset : beaconDatasets) {
+        futures.add(
+            completionService.submit(
+                new DelegatingSecurityContextCallable<>(
+                    () ->
+                        queryBeaconDataset(
+                            beaconDataset,
+                            referenceName,
+                            start,
+                            referenceBases,
+                            alternateBases))));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        if (completionService.take().get()) {
+          return true;
+        }
+      }
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MolgenisDataException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new MolgenisDataException(cause);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
   }
 
   private boolean queryBeaconDataset(
@@ -91,7 +166,8 @@ public class BeaconQueryServiceImpl implements BeaconQueryService {
       Long start,
       String referenceBases,
       String alternateBases) {
-    /* Use a count query to determine if a variation exists */
+    /* Retrieve at most one identifier to determine if a variation exists */
+    EntityType entityType = beaconDataset.getDatasetEntityType();
 
     String alt = beaconDataset.getGenomeBrowserAttributes().getAlt();
     String ref = beaconDataset.getGenomeBrowserAttributes().getRef();
@@ -104,8 +180,8 @@ public class BeaconQueryServiceImpl implements BeaconQueryService {
       ref = "REF";
     }
 
-    return dataService.count(
-            beaconDataset.getDatasetEntityType().getId(),
+    return dataService.findOne(
+            entityType.getId(),
             new QueryImpl<>()
                 .eq(beaconDataset.getGenomeBrowserAttributes().getChrom(), referenceName)
                 .and()
@@ -113,7 +189,9 @@ public class BeaconQueryServiceImpl implements BeaconQueryService {
                 .and()
                 .eq(ref, referenceBases)
                 .and()
-                .eq(alt, alternateBases))
-        > 0;
+                .eq(alt, alternateBases)
+                .pageSize(1)
+                .fetch(new Fetch().field(entityType.getIdAttribute().getName())))
+        != null;
   }
 }
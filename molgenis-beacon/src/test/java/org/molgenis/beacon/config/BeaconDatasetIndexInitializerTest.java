@@ -0,0 +1,53 @@
+package org.molgenis.beacon.config;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.molgenis.beacon.config.BeaconDatasetMetadata.BEACON_DATASET;
+import static org.molgenis.data.event.BootstrappingEvent.BootstrappingStatus.FINISHED;
+import static org.molgenis.data.event.BootstrappingEvent.BootstrappingStatus.STARTED;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.DataService;
+import org.molgenis.data.event.BootstrappingEvent;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.genomebrowser.meta.GenomeBrowserAttributes;
+import org.molgenis.genomebrowser.service.GenomeBrowserIndexService;
+import org.molgenis.test.AbstractMockitoTest;
+
+class BeaconDatasetIndexInitializerTest extends AbstractMockitoTest {
+  @Mock private DataService dataService;
+  @Mock private GenomeBrowserIndexService genomeBrowserIndexService;
+  private BeaconDatasetIndexInitializer beaconDatasetIndexInitializer;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    beaconDatasetIndexInitializer =
+        new BeaconDatasetIndexInitializer(dataService, genomeBrowserIndexService);
+  }
+
+  @Test
+  void testOnApplicationEventFinished() {
+    EntityType entityType = mock(EntityType.class);
+    GenomeBrowserAttributes genomeBrowserAttributes = mock(GenomeBrowserAttributes.class);
+    BeaconDataset beaconDataset = mock(BeaconDataset.class);
+    when(beaconDataset.getDatasetEntityType()).thenReturn(entityType);
+    when(beaconDataset.getGenomeBrowserAttributes()).thenReturn(genomeBrowserAttributes);
+    when(dataService.findAll(BEACON_DATASET, BeaconDataset.class))
+        .thenReturn(Stream.of(beaconDataset));
+
+    beaconDatasetIndexInitializer.onApplicationEvent(new BootstrappingEvent(FINISHED));
+
+    verify(genomeBrowserIndexService).createIndex(entityType, genomeBrowserAttributes);
+  }
+
+  @Test
+  void testOnApplicationEventStarted() {
+    beaconDatasetIndexInitializer.onApplicationEvent(new BootstrappingEvent(STARTED));
+    verifyNoInteractions(dataService, genomeBrowserIndexService);
+  }
+}
@@ -45,6 +45,7 @@ class BeaconQueryServiceTest {
     dataset1 = mock(BeaconDataset.class, RETURNS_DEEP_STUBS);
     when(dataset1.getId()).thenReturn("dataset1");
     when(dataset1.getDatasetEntityType().getId()).thenReturn("dataset1");
+    when(dataset1.getDatasetEntityType().getIdAttribute().getName()).thenReturn("id");
     when(dataset1.getGenomeBrowserAttributes().getChrom()).thenReturn("#CHROM");
     when(dataset1.getGenomeBrowserAttributes().getPos()).thenReturn("POS");
     when(dataset1.getGenomeBrowserAttributes().getRef()).thenReturn("REF");
@@ -53,6 +54,7 @@ class BeaconQueryServiceTest {
     dataset2 = mock(BeaconDataset.class, RETURNS_DEEP_STUBS);
     when(dataset2.getId()).thenReturn("dataset2");
     when(dataset2.getDatasetEntityType().getId()).thenReturn("dataset2");
+    when(dataset2.getDatasetEntityType().getIdAttribute().getName()).thenReturn("id");
     when(dataset2.getGenomeBrowserAttributes().getChrom()).thenReturn("#CHROM");
     when(dataset2.getGenomeBrowserAttributes().getPos()).thenReturn("POS");
     when(dataset2.getGenomeBrowserAttributes().getRef()).thenReturn("REF");
@@ -66,7 +68,8 @@ class BeaconQueryServiceTest {
             .and()
             .eq(dataset1.getGenomeBrowserAttributes().getRef(), "A")
             .and()
-            .eq(dataset1.getGenomeBrowserAttributes().getAlt(), "T");
+            .eq(dataset1.getGenomeBrowserAttributes().getAlt(), "T")
+            .pageSize(1);
 
     query2 =
         new QueryImpl<>()
@@ -76,9 +79,10 @@ class BeaconQueryServiceTest {
             .and()
             .eq(dataset2.getGenomeBrowserAttributes().getRef(), "A")
             .and()
-            .eq(dataset2.getGenomeBrowserAttributes().getAlt(), "T");
+            .eq(dataset2.getGenomeBrowserAttributes().getAlt(), "T")
+            .pageSize(1);
 
-    beaconQueryService = new BeaconQueryServiceImpl(dataService);
+    beaconQueryService = new BeaconQueryServiceImpl(dataService, 2);
   }
 
   @Test
@@ -89,8 +93,8 @@ class BeaconQueryServiceTest {
     when(dataService.findOneById(BeaconMetadata.BEACON, BEACON_ID, Beacon.class))
         .thenReturn(beacon);
 
-    doReturn(0L).when(dataService).count("dataset1", query1);
-    doReturn(1L).when(dataService).count("dataset2", query2);
+    doReturn(null).when(dataService).findOne("dataset1", query1);
+    doReturn(mock(Entity.class)).when(dataService).findOne("dataset2", query2);
 
     BeaconAlleleRequest request = BeaconAlleleRequest.create("1", 100L, "A", "T");
 
@@ -109,8 +113,8 @@ class BeaconQueryServiceTest {
     when(dataService.findOneById(BeaconMetadata.BEACON, BEACON_ID, Beacon.class))
         .thenReturn(beacon);
 
-    doReturn(0L).when(dataService).count("dataset1", query1);
-    doReturn(1L).when(dataService).count("dataset2", query2);
+    doReturn(null).when(dataService).findOne("dataset1", query1);
+    doReturn(mock(Entity.class)).when(dataService).findOne("dataset2", query2);
 
     BeaconAlleleRequest request = BeaconAlleleRequest.create("1", 100L, "A", "T");
 
@@ -129,8 +133,8 @@ class BeaconQueryServiceTest {
     when(dataService.findOneById(BeaconMetadata.BEACON, BEACON_ID, Beacon.class))
         .thenReturn(beacon);
 
-    doReturn(0L).when(dataService).count("dataset1", query1);
-    doReturn(0L).when(dataService).count("dataset2", query2);
+    doReturn(null).when(dataService).findOne("dataset1", query1);
+    doReturn(null).when(dataService).findOne("dataset2", query2);
 
     BeaconAlleleRequest request = BeaconAlleleRequest.create("1", 100L, "A", "T");
 
@@ -141,6 +145,25 @@ class BeaconQueryServiceTest {
     assertEquals(expectedResponse, actualResponse);
   }
 
+  @Test
+  void queryExistsSingleDatasetTest() {
+    Beacon beacon = mock(Beacon.class);
+    when(beacon.getDataSets()).thenReturn(Lists.newArrayList(dataset2));
+
+    when(dataService.findOneById(BeaconMetadata.BEACON, BEACON_ID, Beacon.class))
+        .thenReturn(beacon);
+
+    doReturn(mock(Entity.class)).when(dataService).findOne("dataset2", query2);
+
+    BeaconAlleleRequest request = BeaconAlleleRequest.create("1", 100L, "A", "T");
+
+    BeaconAlleleResponse actualResponse = beaconQueryService.query(BEACON_ID, request);
+    BeaconAlleleResponse expectedResponse =
+        BeaconAlleleResponse.create(BEACON_ID, true, null, request);
+
+    assertEquals(expectedResponse, actualResponse);
+  }
+
   @SuppressWarnings("deprecation")
   @Test
   void queryErrorTest() {
@@ -4,6 +4,7 @@ import static org.eclipse.rdf4j.model.vocabulary.XMLSchema.TOKEN;
 import static org.molgenis.data.meta.model.TagMetadata.TAG;
 import static org.molgenis.data.semantic.Relation.type;
 import static org.molgenis.data.semantic.Vocabulary.CASE_SENSITIVE;
+import static org.molgenis.data.semantic.Vocabulary.NOT_INDEXED;
 
 import java.util.List;
 import org.molgenis.data.DataService;
@@ -34,6 +35,14 @@ public class TagPopulator {
     isCaseSensitive.setRelationIri(type.getIRI());
     isCaseSensitive.setRelationLabel(type.getLabel());
 
-    dataService.getRepository(TAG, Tag.class).upsertBatch(List.of(isAToken, isCaseSensitive));
+    Tag isNotIndexed = tagFactory.create("not-indexed");
+    isNotIndexed.setLabel("Not Indexed");
+    isNotIndexed.setObjectIri(NOT_INDEXED.toString());
+    isNotIndexed.setRelationIri(type.getIRI());
+    isNotIndexed.setRelationLabel(type.getLabel());
+
+    dataService
+        .getRepository(TAG, Tag.class)
+        .upsertBatch(List.of(isAToken, isCaseSensitive, isNotIndexed));
   }
 }
@@ -24,6 +24,7 @@ class TagPopulatorTest {
   @Mock TagFactory tagFactory;
   @Mock Tag token;
   @Mock Tag caseSensitive;
+  @Mock Tag notIndexed;
   @Mock Repository<Tag> tagRepository;
 
   private TagPopulator tagPopulator;
@@ -37,15 +38,19 @@ class TagPopulatorTest {
   public void testPopulate() {
     when(tagFactory.create("token")).thenReturn(token);
     when(tagFactory.create("case-sensitive")).thenReturn(caseSensitive);
+    when(tagFactory.create("not-indexed")).thenReturn(notIndexed);
     when(dataService.getRepository(TagMetadata.TAG, Tag.class)).thenReturn(tagRepository);
 
     tagPopulator.populate();
 
-    verify(tagRepository).upsertBatch(List.of(token, caseSensitive));
+    verify(tagRepository).upsertBatch(List.of(token, caseSensitive, notIndexed));
     verify(token).setRelationIri(RDF.TYPE.toString());
     verify(token).setObjectIri(XMLSchema.TOKEN.toString());
 
     verify(caseSensitive).setRelationIri(RDF.TYPE.toString());
     verify(caseSensitive).setObjectIri(Vocabulary.CASE_SENSITIVE.toString());
+
+    verify(notIndexed).setRelationIri(RDF.TYPE.toString());
+    verify(notIndexed).setObjectIri(Vocabulary.NOT_INDEXED.toString());
   }
 }
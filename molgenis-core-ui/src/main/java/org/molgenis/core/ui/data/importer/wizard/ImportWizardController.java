@@ -153,7 +153,9 @@ public class ImportWizardController extends AbstractWizardController {
       @RequestParam(value = "packageId", required = false) String packageId,
       @RequestParam(value = "metadataAction", required = false) String metadataAction,
       @RequestParam(value = "action", required = false) String action,
-      @RequestParam(value = "notify", required = false) Boolean notify)
+      @RequestParam(value = "notify", required = false) Boolean notify,
+      @RequestParam(value = "checkpointed", required = false) Boolean checkpointed,
+      @RequestParam(value = "resumeImportRunId", required = false) String resumeImportRunId)
       throws URISyntaxException {
     ImportRun importRun;
     try {
@@ -163,7 +165,16 @@ public class ImportWizardController extends AbstractWizardController {
             .contentType(TEXT_PLAIN)
             .body(MessageFormat.format("Package [{0}] does not exist.", packageId));
       }
-      importRun = importFile(request, tmpFile, metadataAction, action, notify, packageId);
+      importRun =
+          importFile(
+              request,
+              tmpFile,
+              metadataAction,
+              action,
+              notify,
+              packageId,
+              Boolean.TRUE.equals(checkpointed),
+              resumeImportRunId);
     } catch (Exception e) {
       LOG.error(e.getMessage());
       return ResponseEntity.badRequest().contentType(TEXT_PLAIN).body(e.getMessage());
@@ -182,6 +193,9 @@ public class ImportWizardController extends AbstractWizardController {
    *     when the supplied package does not exist
    * @param action Specifies the import method. Supported: ADD, ADD_UPDATE
    * @param notify Should admin be notified when the import fails?
+   * @param checkpointed Commit the import in chunks, so that a failed import can be resumed
+   * @param resumeImportRunId Resumes the failed checkpointed import run with this ID, importing a
+   *     file that starts with the data committed by the failed import. Implies a checkpointed import
    * @return ResponseEntity containing the API URL with the current import status
    */
   @PostMapping("/importFile")
@@ -192,7 +206,9 @@ public class ImportWizardController extends AbstractWizardController {
       @RequestParam(value = "packageId", required = false) String packageId,
       @RequestParam(value = "metadataAction", required = false) String metadataAction,
       @RequestParam(value = "action", required = false) String action,
-      @RequestParam(value = "notify", required = false) Boolean notify)
+      @RequestParam(value = "notify", required = false) Boolean notify,
+      @RequestParam(value = "checkpointed", required = false) Boolean checkpointed,
+      @RequestParam(value = "resumeImportRunId", required = false) String resumeImportRunId)
       throws URISyntaxException {
     ImportRun importRun;
     String filename;
@@ -209,7 +225,16 @@ public class ImportWizardController extends AbstractWizardController {
             .body(MessageFormat.format("Package [{0}] does not exist.", packageId));
       }
 
-      importRun = importFile(request, tmpFile, metadataAction, action, notify, packageId);
+      importRun =
+          importFile(
+              request,
+              tmpFile,
+              metadataAction,
+              action,
+              notify,
+              packageId,
+              Boolean.TRUE.equals(checkpointed),
+              resumeImportRunId);
     } catch (Exception e) {
       LOG.error(e.getMessage());
       return ResponseEntity.badRequest().contentType(TEXT_PLAIN).body(e.getMessage());
@@ -255,7 +280,9 @@ public class ImportWizardController extends AbstractWizardController {
       String metadataActionStr,
       String actionStr,
       Boolean notify,
-      String packageId) {
+      String packageId,
+      boolean checkpointed,
+      @Nullable @CheckForNull String resumeImportRunId) {
     // no action specified? default is ADD just like the importerPlugin
     ImportRun importRun;
     String fileExtension = getExtension(file.getName());
@@ -270,9 +297,14 @@ public class ImportWizardController extends AbstractWizardController {
     MetadataAction metadataAction =
         getMetadataAction(metadataActionStr, importService, repositoryCollection);
 
-    importRun =
-        importRunService.addImportRun(
-            SecurityUtils.getCurrentUsername(), Boolean.TRUE.equals(notify));
+    if (resumeImportRunId != null) {
+      importRun =
+          importRunService.resumeImportRun(resumeImportRunId, SecurityUtils.getCurrentUsername());
+    } else {
+      importRun =
+          importRunService.addImportRun(
+              SecurityUtils.getCurrentUsername(), Boolean.TRUE.equals(notify));
+    }
 
     long callingThreadId = Thread.currentThread().getId();
     asyncImportJobs.execute(
@@ -286,7 +318,8 @@ public class ImportWizardController extends AbstractWizardController {
             importRunService,
             request.getSession(),
             packageId,
-            callingThreadId));
+            callingThreadId,
+            checkpointed || resumeImportRunId != null));
 
     return importRun;
   }
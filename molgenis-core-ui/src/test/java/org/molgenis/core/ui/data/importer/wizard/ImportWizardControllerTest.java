@@ -143,7 +143,9 @@ class ImportWizardControllerTest extends AbstractMockitoSpringContextTests {
             packageId,
             metadataActionStr,
             dataActionStr,
-            notify);
+            notify,
+            null,
+            null);
     assertEquals(
         created(new URI("/api/v2/entityTypeId/importRunId"))
             .contentType(TEXT_PLAIN)
@@ -194,7 +196,9 @@ class ImportWizardControllerTest extends AbstractMockitoSpringContextTests {
             packageId,
             metadataAction,
             action,
-            notify);
+            notify,
+            null,
+            null);
     assertEquals(
         badRequest()
             .contentType(TEXT_PLAIN)
@@ -232,7 +236,9 @@ class ImportWizardControllerTest extends AbstractMockitoSpringContextTests {
             packageId,
             metadataAction,
             action,
-            notify);
+            notify,
+            null,
+            null);
     assertEquals(
         badRequest()
             .contentType(TEXT_PLAIN)
@@ -7,6 +7,7 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.molgenis.data.RepositoryCapability.CACHEABLE;
+import static org.molgenis.data.transaction.TransactionConstants.READ_REPLICA_RESOURCE_NAME;
 
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
@@ -102,17 +103,27 @@ public class L2CacheRepositoryDecorator extends AbstractRepositoryDecorator<Enti
 
   private boolean doRetrieveFromCache() {
     return cacheable
+        && !isReadReplicaTransaction()
         && (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
             || !transactionInformation.isEntireRepositoryDirty(getEntityType()));
   }
 
   private boolean doRetrieveFromCache(Object id) {
     return cacheable
+        && !isReadReplicaTransaction()
         && (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
             || (!transactionInformation.isEntireRepositoryDirty(getEntityType())
                 && !transactionInformation.isEntityDirty(EntityKey.create(getEntityType(), id))));
   }
 
+  /**
+   * Data read from a replica might be stale, loading it into the cache would outlive the cache
+   * eviction that took place when the data was committed on the primary.
+   */
+  private static boolean isReadReplicaTransaction() {
+    return TransactionSynchronizationManager.hasResource(READ_REPLICA_RESOURCE_NAME);
+  }
+
   /**
    * Retrieves a batch of Entity IDs.
    *
@@ -3,6 +3,7 @@ package org.molgenis.data.cache.l3;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.RepositoryCapability.CACHEABLE;
+import static org.molgenis.data.transaction.TransactionConstants.READ_REPLICA_RESOURCE_NAME;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.List;
@@ -15,6 +16,7 @@ import org.molgenis.data.RepositoryCapability;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.data.transaction.TransactionInformation;
 import org.slf4j.Logger;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Retrieves identifiers from the {@link L3Cache} based on a {@link Query} if {@link
@@ -52,7 +54,8 @@ public class L3CacheRepositoryDecorator extends AbstractRepositoryDecorator<Enti
    */
   @Override
   public Stream<Entity> findAll(Query<Entity> query) {
-    if (transactionInformation.isRepositoryCompletelyClean(getEntityType())) {
+    if (transactionInformation.isRepositoryCompletelyClean(getEntityType())
+        && !isReadReplicaTransaction()) {
       // FIXME page size for metadata is always 0, and batching is done by the postgres repository
       // FIXME Only superusers are able to use the L3 cache for metadata
       if (cacheable && query.getPageSize() > 0 && query.getPageSize() <= MAX_PAGE_SIZE) {
@@ -74,7 +77,9 @@ public class L3CacheRepositoryDecorator extends AbstractRepositoryDecorator<Enti
    */
   @Override
   public Entity findOne(Query<Entity> query) {
-    if (transactionInformation.isRepositoryCompletelyClean(getEntityType()) && cacheable) {
+    if (transactionInformation.isRepositoryCompletelyClean(getEntityType())
+        && cacheable
+        && !isReadReplicaTransaction()) {
       // pageSize is irrelevant for findOne, would be a waste to cache them in different entries
       // sort may affect which of the results is the first result, so cannot ignore that.
       QueryImpl<Entity> cacheKey = new QueryImpl<>(query).setPageSize(1);
@@ -86,4 +91,9 @@ public class L3CacheRepositoryDecorator extends AbstractRepositoryDecorator<Enti
     }
     return delegate().findOne(query);
   }
+
+  /** Query results read from a (possibly lagging) replica are not cached */
+  private static boolean isReadReplicaTransaction() {
+    return TransactionSynchronizationManager.hasResource(READ_REPLICA_RESOURCE_NAME);
+  }
 }
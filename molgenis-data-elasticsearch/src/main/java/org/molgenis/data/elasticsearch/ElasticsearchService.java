@@ -1,19 +1,31 @@
 package org.molgenis.data.elasticsearch;
 
+import static java.lang.System.currentTimeMillis;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.util.EntityTypeUtils.createFetchForReindexing;
 
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
+import javax.annotation.PreDestroy;
 import org.apache.lucene.search.Explanation;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.Aggregations;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
+import org.molgenis.data.MolgenisDataException;
 import org.molgenis.data.Query;
 import org.molgenis.data.Repository;
 import org.molgenis.data.aggregation.AggregateQuery;
@@ -33,33 +45,51 @@ import org.molgenis.data.index.SearchService;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.IllegalAttributeTypeException;
 import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.util.ExecutorServiceUtils;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 /**
  * Elasticsearch search service that executes all requests using the elasticsearch client facade.
+ *
+ * <p>Each entity type is indexed in a versioned index that is referred to by an alias named after
+ * the entity type. Searches and single document updates use the alias.
  */
 @Component
 public class ElasticsearchService implements SearchService, IndexService {
   private static final int BATCH_SIZE = 1000;
   public static final int MAX_BATCH_SIZE = 10000;
+  private static final String INDEX_VERSION_SEPARATOR = "-v";
+  private static final int NR_INDEX_THREADS = Runtime.getRuntime().availableProcessors();
+  private static final int MAX_CONCURRENT_BATCHES = 2 * NR_INDEX_THREADS;
 
   private final ClientFacade clientFacade;
   private final ContentGenerators contentGenerators;
   private final DataService dataService;
+  private final ExecutorService executorService;
 
   public ElasticsearchService(
       ClientFacade clientFacade, ContentGenerators contentGenerators, DataService dataService) {
     this.clientFacade = requireNonNull(clientFacade);
     this.contentGenerators = requireNonNull(contentGenerators);
     this.dataService = requireNonNull(dataService);
+    this.executorService =
+        Executors.newFixedThreadPool(
+            NR_INDEX_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("molgenis-reindex-%d").build());
   }
 
+  /**
+   * Creates a versioned index for the entity type and an alias with the entity type index name
+   * that refers to the versioned index.
+   */
   @Override
   public void createIndex(EntityType entityType) {
-    Index index = contentGenerators.createIndex(entityType);
-    IndexSettings indexSettings = IndexSettings.create();
-    Mapping mapping = contentGenerators.createMapping(entityType);
-    clientFacade.createIndex(index, indexSettings, Stream.of(mapping));
+    Index alias = contentGenerators.createIndex(entityType);
+    Index index = createVersionedIndex(entityType, alias, IndexSettings.create());
+    clientFacade.swapAlias(alias, index);
   }
 
   @Override
@@ -70,23 +100,101 @@ public class ElasticsearchService implements SearchService, IndexService {
 
   @Override
   public void deleteIndex(EntityType entityType) {
-    Index index = contentGenerators.createIndex(entityType);
-    clientFacade.deleteIndex(index);
+    Index alias = contentGenerators.createIndex(entityType);
+    List<Index> indexes = clientFacade.getAliasedIndexes(alias);
+    if (indexes.isEmpty()) {
+      // index was created before indexes were aliased
+      clientFacade.deleteIndex(alias);
+    } else {
+      indexes.forEach(clientFacade::deleteIndex);
+    }
   }
 
+  /**
+   * Rebuilds the index for a repository without interrupting searches: documents are written to a
+   * new versioned index after which the entity type alias is atomically swapped to the new index.
+   */
   @Override
   public void rebuildIndex(Repository<? extends Entity> repository) {
     EntityType entityType = repository.getEntityType();
-
-    if (hasIndex(entityType)) {
-      deleteIndex(entityType);
+    Index alias = contentGenerators.createIndex(entityType);
+
+    IndexSettings bulkLoadIndexSettings =
+        IndexSettings.builder().setNumberOfReplicas(0).setRefreshEnabled(false).build();
+    Index index = createVersionedIndex(entityType, alias, bulkLoadIndexSettings);
+    List<Index> previousIndexes;
+    try {
+      indexConcurrently(repository, index);
+      clientFacade.updateIndexSettings(index, IndexSettings.create());
+      clientFacade.refreshIndex(index);
+      previousIndexes = clientFacade.swapAlias(alias, index);
+    } catch (RuntimeException e) {
+      try {
+        clientFacade.deleteIndex(index);
+      } catch (RuntimeException deleteIndexException) {
+        e.addSuppressed(deleteIndexException);
+      }
+      throw e;
     }
+    previousIndexes.forEach(clientFacade::deleteIndex);
+  }
+
+  private Index createVersionedIndex(EntityType entityType, Index alias, IndexSettings settings) {
+    Index index = Index.create(alias.getName() + INDEX_VERSION_SEPARATOR + currentTimeMillis());
+    Mapping mapping = contentGenerators.createMapping(entityType);
+    clientFacade.createIndex(index, settings, Stream.of(mapping));
+    return index;
+  }
 
-    createIndex(entityType);
+  /**
+   * Reads the repository in batches and converts and bulk indexes batches concurrently, bounding
+   * the number of batches in memory.
+   */
+  private void indexConcurrently(Repository<? extends Entity> repository, Index index) {
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+    Semaphore batchPermits = new Semaphore(MAX_CONCURRENT_BATCHES);
+    List<CompletableFuture<Void>> batchFutures = new ArrayList<>();
     repository.forEachBatched(
-        createFetchForReindexing(entityType),
-        entities -> index(entityType, entities.stream()),
+        createFetchForReindexing(repository.getEntityType()),
+        entities -> {
+          acquire(batchPermits);
+          Runnable indexBatch =
+              () -> {
+                try {
+                  index(index, entities.stream());
+                } finally {
+                  batchPermits.release();
+                }
+              };
+          batchFutures.add(
+              CompletableFuture.runAsync(
+                  new DelegatingSecurityContextRunnable(indexBatch, securityContext),
+                  executorService));
+        },
         BATCH_SIZE);
+
+    try {
+      CompletableFuture.allOf(batchFutures.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static void acquire(Semaphore semaphore) {
+    try {
+      semaphore.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MolgenisDataException(e);
+    }
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    ExecutorServiceUtils.shutdownAndAwaitTermination(executorService);
   }
 
   @Override
@@ -94,6 +202,16 @@ public class ElasticsearchService implements SearchService, IndexService {
     clientFacade.refreshIndexes();
   }
 
+  @Override
+  public void refreshIndexes(Collection<EntityType> entityTypes) {
+    if (entityTypes.isEmpty()) {
+      return;
+    }
+    List<Index> indexes =
+        entityTypes.stream().map(contentGenerators::createIndex).collect(toList());
+    clientFacade.refreshIndexes(indexes);
+  }
+
   @Override
   public long count(EntityType entityType) {
     Index index = contentGenerators.createIndex(entityType);
@@ -205,6 +323,10 @@ public class ElasticsearchService implements SearchService, IndexService {
   @Override
   public long index(EntityType entityType, Stream<? extends Entity> entities) {
     Index index = contentGenerators.createIndex(entityType);
+    return index(index, entities);
+  }
+
+  private long index(Index index, Stream<? extends Entity> entities) {
     Stream<DocumentAction> documentActionStream =
         entities.map(entity -> this.toDocumentAction(index, entity));
 
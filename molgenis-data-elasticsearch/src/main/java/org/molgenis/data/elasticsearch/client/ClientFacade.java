@@ -10,7 +10,9 @@ import static org.elasticsearch.action.DocWriteRequest.OpType.INDEX;
 import static org.molgenis.data.elasticsearch.ElasticsearchService.MAX_BATCH_SIZE;
 import static org.molgenis.util.stream.MapCollectors.toLinkedMap;
 
+import com.carrotsearch.hppc.cursors.ObjectObjectCursor;
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +24,11 @@ import org.elasticsearch.ResourceAlreadyExistsException;
 import org.elasticsearch.ResourceNotFoundException;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.ShardOperationFailedException;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequestBuilder;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesResponse;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequestBuilder;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesResponse;
 import org.elasticsearch.action.admin.indices.create.CreateIndexRequestBuilder;
 import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequestBuilder;
@@ -30,6 +37,8 @@ import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsReques
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsResponse;
 import org.elasticsearch.action.admin.indices.refresh.RefreshRequestBuilder;
 import org.elasticsearch.action.admin.indices.refresh.RefreshResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequestBuilder;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsResponse;
 import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.delete.DeleteRequestBuilder;
 import org.elasticsearch.action.delete.DeleteResponse;
@@ -43,6 +52,7 @@ import org.elasticsearch.action.search.ShardSearchFailure;
 import org.elasticsearch.action.support.replication.ReplicationResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.client.Requests;
+import org.elasticsearch.cluster.metadata.AliasMetaData;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
@@ -200,7 +210,11 @@ public class ClientFacade implements Closeable {
     refreshIndexes(singletonList(Index.create("_all")));
   }
 
-  private void refreshIndexes(List<Index> indexes) {
+  public void refreshIndex(Index index) {
+    refreshIndexes(singletonList(index));
+  }
+
+  public void refreshIndexes(List<Index> indexes) {
     if (LOG.isTraceEnabled()) {
       LOG.trace("Refreshing index(es) '{}' ...", toString(indexes));
     }
@@ -234,6 +248,130 @@ public class ClientFacade implements Closeable {
     }
   }
 
+  /**
+   * Updates the dynamic settings (number of replicas, refresh interval) of an existing index.
+   *
+   * @param index index to update
+   * @param indexSettings index settings to apply
+   */
+  public void updateIndexSettings(Index index, IndexSettings indexSettings) {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Updating settings of index '{}' ...", index.getName());
+    }
+
+    UpdateSettingsRequestBuilder updateSettingsRequest =
+        client
+            .admin()
+            .indices()
+            .prepareUpdateSettings(index.getName())
+            .setSettings(settingsBuilder.createDynamicSettings(indexSettings));
+
+    UpdateSettingsResponse updateSettingsResponse;
+    try {
+      updateSettingsResponse = updateSettingsRequest.get();
+    } catch (ResourceNotFoundException e) {
+      LOG.debug("", e);
+      throw new UnknownIndexException(index.getName());
+    } catch (ElasticsearchException e) {
+      LOG.error("", e);
+      throw new IndexException(format("Error updating settings of index '%s'.", index.getName()));
+    }
+
+    if (!updateSettingsResponse.isAcknowledged()) {
+      throw new IndexException(format("Error updating settings of index '%s'.", index.getName()));
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Updated settings of index '{}'.", index.getName());
+    }
+  }
+
+  /**
+   * Returns the indexes that an alias refers to.
+   *
+   * @param alias index alias
+   * @return indexes that the alias refers to, empty if the alias does not exist
+   */
+  public List<Index> getAliasedIndexes(Index alias) {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Retrieving indexes for alias '{}' ...", alias.getName());
+    }
+
+    GetAliasesRequestBuilder getAliasesRequest =
+        client.admin().indices().prepareGetAliases(alias.getName());
+
+    GetAliasesResponse getAliasesResponse;
+    try {
+      getAliasesResponse = getAliasesRequest.get();
+    } catch (ElasticsearchException e) {
+      LOG.error("", e);
+      throw new IndexException(
+          format("Error retrieving indexes for alias '%s'.", alias.getName()));
+    }
+
+    List<Index> indexes = new ArrayList<>();
+    for (ObjectObjectCursor<String, List<AliasMetaData>> aliasesCursor :
+        getAliasesResponse.getAliases()) {
+      if (!aliasesCursor.value.isEmpty()) {
+        indexes.add(Index.create(aliasesCursor.key));
+      }
+    }
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Retrieved indexes '{}' for alias '{}'.", toString(indexes), alias.getName());
+    }
+    return indexes;
+  }
+
+  /**
+   * Atomically moves an alias from the indexes it currently refers to, to the given index. If an
+   * index exists with the same name as the alias, this index is deleted as part of the same atomic
+   * operation.
+   *
+   * @param alias index alias
+   * @param index index that the alias will refer to
+   * @return indexes that the alias referred to before the swap
+   */
+  public List<Index> swapAlias(Index alias, Index index) {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Swapping alias '{}' to index '{}' ...", alias.getName(), index.getName());
+    }
+
+    List<Index> aliasedIndexes = getAliasedIndexes(alias);
+
+    IndicesAliasesRequestBuilder indicesAliasesRequest = client.admin().indices().prepareAliases();
+    if (aliasedIndexes.isEmpty() && indexesExist(alias)) {
+      // index was created before indexes were aliased
+      indicesAliasesRequest.addAliasAction(AliasActions.removeIndex().index(alias.getName()));
+    }
+    aliasedIndexes.forEach(
+        aliasedIndex ->
+            indicesAliasesRequest.addAliasAction(
+                AliasActions.remove().index(aliasedIndex.getName()).alias(alias.getName())));
+    indicesAliasesRequest.addAliasAction(
+        AliasActions.add().index(index.getName()).alias(alias.getName()));
+
+    IndicesAliasesResponse indicesAliasesResponse;
+    try {
+      indicesAliasesResponse = indicesAliasesRequest.get();
+    } catch (ResourceNotFoundException e) {
+      LOG.debug("", e);
+      throw new UnknownIndexException(index.getName());
+    } catch (ElasticsearchException e) {
+      LOG.error("", e);
+      throw new IndexException(
+          format("Error swapping alias '%s' to index '%s'.", alias.getName(), index.getName()));
+    }
+
+    if (!indicesAliasesResponse.isAcknowledged()) {
+      throw new IndexException(
+          format("Error swapping alias '%s' to index '%s'.", alias.getName(), index.getName()));
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Swapped alias '{}' to index '{}'.", alias.getName(), index.getName());
+    }
+    return aliasedIndexes;
+  }
+
   public long getCount(Index index) {
     return getCount(singletonList(index));
   }
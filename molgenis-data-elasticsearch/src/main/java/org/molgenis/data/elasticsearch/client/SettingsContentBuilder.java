@@ -4,6 +4,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.common.xcontent.XContentType;
@@ -16,6 +17,9 @@ class SettingsContentBuilder {
   public static final String CI_NORMALIZER = "lowercase_asciifold";
   private static final String DEFAULT_STEMMER = "default_stemmer";
   public static final String FILTER = "filter";
+  static final String REFRESH_INTERVAL = "refresh_interval";
+  static final String REFRESH_INTERVAL_DEFAULT = "1s";
+  static final String REFRESH_INTERVAL_DISABLED = "-1";
 
   private final XContentType xContentType;
 
@@ -49,6 +53,9 @@ class SettingsContentBuilder {
 
     contentBuilder.field("number_of_shards", indexSettings.getNumberOfShards());
     contentBuilder.field("number_of_replicas", indexSettings.getNumberOfReplicas());
+    if (!indexSettings.isRefreshEnabled()) {
+      contentBuilder.field(REFRESH_INTERVAL, REFRESH_INTERVAL_DISABLED);
+    }
     createMapperSettings(contentBuilder);
     createMappingSettings(contentBuilder);
     createAnalysisSettings(contentBuilder);
@@ -56,6 +63,16 @@ class SettingsContentBuilder {
     contentBuilder.endObject();
   }
 
+  /** Creates the dynamic index settings that can be updated on an existing index. */
+  Settings createDynamicSettings(IndexSettings indexSettings) {
+    return Settings.builder()
+        .put("index.number_of_replicas", indexSettings.getNumberOfReplicas())
+        .put(
+            "index." + REFRESH_INTERVAL,
+            indexSettings.isRefreshEnabled() ? REFRESH_INTERVAL_DEFAULT : REFRESH_INTERVAL_DISABLED)
+        .build();
+  }
+
   private void createMapperSettings(XContentBuilder contentBuilder) throws IOException {
     contentBuilder.startObject("mapper");
     contentBuilder.field("dynamic", false);
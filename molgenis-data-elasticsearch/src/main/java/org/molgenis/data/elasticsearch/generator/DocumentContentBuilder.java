@@ -2,6 +2,8 @@ package org.molgenis.data.elasticsearch.generator;
 
 import static java.util.Objects.requireNonNull;
 import static org.elasticsearch.common.xcontent.XContentType.JSON;
+import static org.molgenis.data.QueryUtils.isTaggedType;
+import static org.molgenis.data.semantic.Vocabulary.NOT_INDEXED;
 
 import com.google.common.collect.Iterables;
 import java.io.IOException;
@@ -57,6 +59,9 @@ class DocumentContentBuilder {
   private void createRec(Entity entity, XContentGenerator generator, int depth, int maxDepth)
       throws IOException {
     for (Attribute attr : entity.getEntityType().getAtomicAttributes()) {
+      if (isTaggedType(attr, NOT_INDEXED)) {
+        continue;
+      }
       generator.writeFieldName(documentIdGenerator.generateId(attr));
       createRec(entity, attr, generator, depth, maxDepth);
     }
@@ -6,6 +6,7 @@ import static java.util.stream.Collectors.toList;
 import static org.eclipse.rdf4j.model.vocabulary.XMLSchema.TOKEN;
 import static org.molgenis.data.QueryUtils.isTaggedType;
 import static org.molgenis.data.semantic.Vocabulary.CASE_SENSITIVE;
+import static org.molgenis.data.semantic.Vocabulary.NOT_INDEXED;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -38,6 +39,7 @@ class MappingGenerator {
   private List<FieldMapping> createFieldMappings(EntityType entityType, int depth, int maxDepth) {
     Stream<Attribute> attributeStream = stream(entityType.getAtomicAttributes());
     return attributeStream
+        .filter(attribute -> !isTaggedType(attribute, NOT_INDEXED))
         .map(attribute -> createFieldMapping(attribute, depth, maxDepth))
         .collect(toList());
   }
@@ -1,6 +1,8 @@
 package org.molgenis.data.elasticsearch;
 
 import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.eq;
@@ -11,17 +13,23 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.elasticsearch.ElasticsearchService.MAX_BATCH_SIZE;
 
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
+import org.molgenis.data.Repository;
 import org.molgenis.data.elasticsearch.client.ClientFacade;
 import org.molgenis.data.elasticsearch.client.model.SearchHit;
 import org.molgenis.data.elasticsearch.client.model.SearchHits;
 import org.molgenis.data.elasticsearch.generator.ContentGenerators;
+import org.molgenis.data.elasticsearch.generator.model.Index;
+import org.molgenis.data.elasticsearch.generator.model.IndexSettings;
+import org.molgenis.data.index.exception.IndexException;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.test.AbstractMockitoTest;
@@ -111,4 +119,86 @@ class ElasticsearchServiceTest extends AbstractMockitoTest {
     verify(clientFacade, times(1)).search(any(), eq(15000), eq(1), any(), any());
     verifyNoMoreInteractions(clientFacade);
   }
+
+  @Test
+  void testRebuildIndex() {
+    Index alias = Index.create("entity");
+    Index previousIndex = Index.create("entity-v1");
+    when(contentGenerators.createIndex(entityType)).thenReturn(alias);
+    when(clientFacade.swapAlias(eq(alias), any(Index.class))).thenReturn(List.of(previousIndex));
+    @SuppressWarnings("unchecked")
+    Repository<Entity> repository = mock(Repository.class);
+    when(repository.getEntityType()).thenReturn(entityType);
+
+    elasticsearchService.rebuildIndex(repository);
+
+    ArgumentCaptor<Index> indexCaptor = ArgumentCaptor.forClass(Index.class);
+    verify(clientFacade)
+        .createIndex(
+            indexCaptor.capture(),
+            eq(IndexSettings.builder().setNumberOfReplicas(0).setRefreshEnabled(false).build()),
+            any());
+    Index index = indexCaptor.getValue();
+    assertTrue(index.getName().startsWith("entity-v"));
+    verify(clientFacade).updateIndexSettings(index, IndexSettings.create());
+    verify(clientFacade).refreshIndex(index);
+    verify(clientFacade).swapAlias(alias, index);
+    verify(clientFacade).deleteIndex(previousIndex);
+  }
+
+  @Test
+  void testRebuildIndexFailureDeletesNewIndex() {
+    Index alias = Index.create("entity");
+    when(contentGenerators.createIndex(entityType)).thenReturn(alias);
+    when(clientFacade.swapAlias(eq(alias), any(Index.class)))
+        .thenThrow(new IndexException("error"));
+    @SuppressWarnings("unchecked")
+    Repository<Entity> repository = mock(Repository.class);
+    when(repository.getEntityType()).thenReturn(entityType);
+
+    assertThrows(IndexException.class, () -> elasticsearchService.rebuildIndex(repository));
+
+    ArgumentCaptor<Index> indexCaptor = ArgumentCaptor.forClass(Index.class);
+    verify(clientFacade).createIndex(indexCaptor.capture(), any(), any());
+    verify(clientFacade).deleteIndex(indexCaptor.getValue());
+  }
+
+  @Test
+  void testDeleteIndex() {
+    Index alias = Index.create("entity");
+    Index index = Index.create("entity-v1");
+    when(contentGenerators.createIndex(entityType)).thenReturn(alias);
+    when(clientFacade.getAliasedIndexes(alias)).thenReturn(List.of(index));
+
+    elasticsearchService.deleteIndex(entityType);
+
+    verify(clientFacade).deleteIndex(index);
+  }
+
+  @Test
+  void testDeleteIndexNotAliased() {
+    Index index = Index.create("entity");
+    when(contentGenerators.createIndex(entityType)).thenReturn(index);
+    when(clientFacade.getAliasedIndexes(index)).thenReturn(List.of());
+
+    elasticsearchService.deleteIndex(entityType);
+
+    verify(clientFacade).deleteIndex(index);
+  }
+
+  @Test
+  void testRefreshIndexes() {
+    Index index = Index.create("entity");
+    when(contentGenerators.createIndex(entityType)).thenReturn(index);
+
+    elasticsearchService.refreshIndexes(List.of(entityType));
+
+    verify(clientFacade).refreshIndexes(List.of(index));
+  }
+
+  @Test
+  void testRefreshIndexesNoEntityTypes() {
+    elasticsearchService.refreshIndexes(List.of());
+    verifyNoMoreInteractions(clientFacade);
+  }
 }
@@ -2,6 +2,7 @@ package org.molgenis.data.elasticsearch.generator;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.eclipse.rdf4j.model.vocabulary.RDF.TYPE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -21,6 +22,7 @@ import static org.molgenis.data.meta.AttributeType.SCRIPT;
 import static org.molgenis.data.meta.AttributeType.STRING;
 import static org.molgenis.data.meta.AttributeType.TEXT;
 import static org.molgenis.data.meta.AttributeType.XREF;
+import static org.molgenis.data.semantic.Vocabulary.NOT_INDEXED;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -42,6 +44,7 @@ import org.molgenis.data.elasticsearch.generator.model.Document;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.meta.model.Tag;
 import org.molgenis.test.AbstractMockitoTest;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -284,6 +287,18 @@ class DocumentContentBuilderTest extends AbstractMockitoTest {
     assertDocumentEquals(document, expectedContent);
   }
 
+  @Test
+  void createDocumentNotIndexed() {
+    String attrIdentifier = "attr";
+    Entity entity = createEntity(attrIdentifier, TEXT);
+    Attribute attribute = entity.getEntityType().getAtomicAttributes().iterator().next();
+    Tag tag = mock(Tag.class);
+    when(tag.equals(TYPE, NOT_INDEXED)).thenReturn(true);
+    when(attribute.getTags()).thenReturn(singletonList(tag));
+    Document document = documentContentBuilder.createDocument(entity);
+    assertDocumentEquals(document, "{}");
+  }
+
   private static Entity createEntity(String attrIdentifier, AttributeType type) {
     return createEntity(attrIdentifier, type, 1);
   }
@@ -1,12 +1,15 @@
 package org.molgenis.data.elasticsearch.generator;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.eclipse.rdf4j.model.vocabulary.RDF.TYPE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.molgenis.data.semantic.Vocabulary.NOT_INDEXED;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -24,6 +27,7 @@ import org.molgenis.data.elasticsearch.generator.model.MappingType;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.meta.model.Tag;
 import org.molgenis.test.AbstractMockitoTest;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -173,6 +177,21 @@ class MappingGeneratorTest extends AbstractMockitoTest {
     assertEquals(expectedMapping, mapping);
   }
 
+  @Test
+  void testCreateMappingNotIndexed() {
+    initDocumentIdGeneratorMock();
+    EntityType entityType = createEntityType("attr", AttributeType.TEXT);
+    Attribute attribute = entityType.getAtomicAttributes().iterator().next();
+    Tag tag = mock(Tag.class);
+    when(tag.equals(TYPE, NOT_INDEXED)).thenReturn(true);
+    when(attribute.getTags()).thenReturn(singletonList(tag));
+
+    Mapping mapping = mappingGenerator.createMapping(entityType);
+
+    Mapping expectedMapping = Mapping.builder().setType("id").setFieldMappings(emptyList()).build();
+    assertEquals(expectedMapping, mapping);
+  }
+
   private static EntityType createEntityType(String attrIdentifier, AttributeType type) {
     return createEntityType(attrIdentifier, type, null);
   }
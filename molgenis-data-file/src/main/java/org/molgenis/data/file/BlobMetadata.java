@@ -1,6 +1,8 @@
 package org.molgenis.data.file;
 
 import com.google.auto.value.AutoValue;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 
 @AutoValue
 public abstract class BlobMetadata {
@@ -8,12 +10,20 @@ public abstract class BlobMetadata {
 
   public abstract long getSize();
 
+  /** Returns the hex encoded SHA-256 checksum of the blob or null if it is unknown */
+  @Nullable
+  @CheckForNull
+  public abstract String getChecksum();
+
+  /** Returns whether the blob content was already stored before */
+  public abstract boolean isDuplicate();
+
   public static BlobMetadata create(String newId, long newSize) {
     return builder().setId(newId).setSize(newSize).build();
   }
 
   public static Builder builder() {
-    return new AutoValue_BlobMetadata.Builder();
+    return new AutoValue_BlobMetadata.Builder().setDuplicate(false);
   }
 
   @SuppressWarnings("java:S1610") // Autovalue needs an abstract class
@@ -23,6 +33,10 @@ public abstract class BlobMetadata {
 
     public abstract Builder setSize(long newSize);
 
+    public abstract Builder setChecksum(String newChecksum);
+
+    public abstract Builder setDuplicate(boolean newDuplicate);
+
     public abstract BlobMetadata build();
   }
 }
@@ -30,4 +30,13 @@ public interface BlobStore {
    * @throws java.io.UncheckedIOException if an error occurs reading/writing data.
    */
   ReadableByteChannel newChannel(String blobId);
+
+  /**
+   * Read part of a binary large object
+   *
+   * @param offset position of the first byte to read
+   * @param length number of bytes to read
+   * @throws java.io.UncheckedIOException if an error occurs reading/writing data.
+   */
+  ReadableByteChannel newChannel(String blobId, long offset, long length);
 }
@@ -1,8 +1,14 @@
 package org.molgenis.data.file;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.file.model.FileMetaMetadata.CHECKSUM;
 
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.molgenis.data.AbstractRepositoryDecorator;
 import org.molgenis.data.Repository;
@@ -27,48 +33,53 @@ public class FileMetaRepositoryDecorator extends AbstractRepositoryDecorator<Fil
 
   @Override
   public void delete(FileMeta fileMeta) {
-    deleteFile(fileMeta);
     super.delete(fileMeta);
+    deleteFiles(Stream.of(fileMeta));
   }
 
   @Override
   public void deleteById(Object id) {
-    deleteFile(getFileMeta(id));
+    FileMeta fileMeta = getFileMeta(id);
     super.deleteById(id);
+    deleteFiles(Stream.of(fileMeta));
   }
 
   @Override
   public void deleteAll() {
-    query().findAll().forEach(this::deleteFile);
+    List<FileMeta> fileMetas = query().findAll().collect(toList());
     super.deleteAll();
+    deleteFiles(fileMetas.stream());
   }
 
   @Override
   public void delete(Stream<FileMeta> fileMetaStream) {
-    super.delete(
-        fileMetaStream.filter(
-            fileMeta -> {
-              this.deleteFile(fileMeta);
-              return true;
-            }));
+    List<FileMeta> fileMetas = new ArrayList<>();
+    super.delete(fileMetaStream.peek(fileMetas::add));
+    deleteFiles(fileMetas.stream());
   }
 
   @Override
   public void deleteAll(Stream<Object> ids) {
-    super.deleteAll(
-        ids.filter(
-            id -> {
-              this.deleteFile(getFileMeta(id));
-              return true;
-            }));
+    List<FileMeta> fileMetas = new ArrayList<>();
+    super.deleteAll(ids.peek(id -> fileMetas.add(getFileMeta(id))));
+    deleteFiles(fileMetas.stream());
   }
 
-  private void deleteFile(FileMeta fileMeta) {
-    if (isBlobStoreFile(fileMeta)) {
-      deleteFileFromBlobStore(fileMeta);
-    } else {
-      deleteFileFromFileStore(fileMeta);
-    }
+  /**
+   * Deletes the files of deleted file metadata. Files with equal content share a blob, blobs are
+   * deleted once and only if no remaining file metadata references them.
+   */
+  private void deleteFiles(Stream<FileMeta> deletedFileMetas) {
+    Map<String, FileMeta> blobStoreFileMetas = new LinkedHashMap<>();
+    deletedFileMetas.forEach(
+        fileMeta -> {
+          if (isBlobStoreFile(fileMeta)) {
+            blobStoreFileMetas.putIfAbsent(fileMeta.getBlobId(), fileMeta);
+          } else {
+            deleteFileFromFileStore(fileMeta);
+          }
+        });
+    blobStoreFileMetas.values().forEach(this::deleteFileFromBlobStore);
   }
 
   private boolean isBlobStoreFile(FileMeta fileMeta) {
@@ -76,13 +87,27 @@ public class FileMetaRepositoryDecorator extends AbstractRepositoryDecorator<Fil
   }
 
   private void deleteFileFromBlobStore(FileMeta fileMeta) {
+    if (isBlobReferenced(fileMeta)) {
+      LOG.debug("Keeping blob of file '{}' that is referenced by other files", fileMeta.getId());
+      return;
+    }
+
     try {
-      blobStore.delete(fileMeta.getId());
+      blobStore.delete(fileMeta.getBlobId());
     } catch (UncheckedIOException e) {
       LOG.warn("Could not delete file '{}' from blob store", fileMeta.getId());
     }
   }
 
+  /**
+   * Files with equal content share a blob identified by the checksum of the content, must be
+   * called after the file metadata is deleted.
+   */
+  private boolean isBlobReferenced(FileMeta fileMeta) {
+    String checksum = fileMeta.getChecksum();
+    return checksum != null && query().eq(CHECKSUM, checksum).count() > 0;
+  }
+
   private void deleteFileFromFileStore(FileMeta fileMeta) {
     try {
       fileStore.delete(fileMeta.getId());
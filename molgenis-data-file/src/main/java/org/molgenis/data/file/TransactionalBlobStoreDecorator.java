@@ -1,52 +1,169 @@
 package org.molgenis.data.file;
 
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.transaction.TransactionConstants.TRANSACTION_ID_RESOURCE_NAME;
 import static org.springframework.transaction.support.TransactionSynchronizationManager.getResource;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
 import org.molgenis.data.transaction.TransactionListener;
 
+/**
+ * Blob store decorator that deletes the blobs stored in a transaction when the transaction is
+ * rolled back and that defers deleting blobs until the transaction is committed.
+ *
+ * <p>Files with equal content share a blob. A transaction that stores a blob, also when the content
+ * was stored before, references it until the transaction completes. The file metadata of a
+ * transaction that has not committed yet is not visible to other transactions, so blobs referenced
+ * by ongoing transactions are not deleted. Their delete is handed over to the referencing
+ * transactions and only takes place if these are rolled back. Deletes wait for ongoing stores, so
+ * that a store cannot pick up a blob that is deleted before the store is registered.
+ */
 public class TransactionalBlobStoreDecorator extends BlobStoreDecorator
     implements TransactionListener {
   private final Multimap<String, String> transactionBlobMap;
+  private final Multimap<String, String> transactionDeletedBlobMap;
+  private final Multimap<String, String> transactionReferencedBlobMap;
+  private final ReadWriteLock lock;
 
   public TransactionalBlobStoreDecorator(BlobStore delegateBlobStore) {
     super(delegateBlobStore);
     this.transactionBlobMap = ArrayListMultimap.create();
+    this.transactionDeletedBlobMap = ArrayListMultimap.create();
+    this.transactionReferencedBlobMap = HashMultimap.create();
+    this.lock = new ReentrantReadWriteLock();
   }
 
   @Override
   public BlobMetadata store(ReadableByteChannel fromChannel) {
-    BlobMetadata blobMetadata = super.store(fromChannel);
-
-    // store blob identifier in case of a transaction rollback
     String transactionId = (String) getResource(TRANSACTION_ID_RESOURCE_NAME);
-    transactionBlobMap.put(transactionId, blobMetadata.getId());
 
-    return blobMetadata;
+    lock.readLock().lock();
+    try {
+      BlobMetadata blobMetadata = super.store(fromChannel);
+      registerStore(transactionId, blobMetadata);
+      return blobMetadata;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private synchronized void registerStore(String transactionId, BlobMetadata blobMetadata) {
+    String blobId = blobMetadata.getId();
+
+    // the blob is referenced by a file stored after the deletes of other transactions
+    transactionDeletedBlobMap.values().removeIf(deletedBlobId -> deletedBlobId.equals(blobId));
+
+    if (transactionId == null) {
+      // the blob is referenced by a file that is visible to all transactions
+      transactionBlobMap.values().removeIf(rollbackBlobId -> rollbackBlobId.equals(blobId));
+      return;
+    }
+    transactionReferencedBlobMap.put(transactionId, blobId);
+
+    // store blob identifier in case of a transaction rollback, duplicate content was stored before
+    // this transaction and is referenced by other files
+    if (!blobMetadata.isDuplicate()) {
+      transactionBlobMap.put(transactionId, blobId);
+    }
+  }
+
+  private void removeRollbackDeletes(String transactionId, String blobId) {
+    transactionBlobMap
+        .entries()
+        .removeIf(
+            entry -> !entry.getKey().equals(transactionId) && entry.getValue().equals(blobId));
   }
 
   @Override
   public void delete(String blobId) {
-    super.delete(blobId);
-
-    // delete blob if it was stored in the same transaction
     String transactionId = (String) getResource(TRANSACTION_ID_RESOURCE_NAME);
-    transactionBlobMap.remove(transactionId, blobId);
+    if (transactionId == null) {
+      deleteBlobs(singletonList(blobId), null);
+      return;
+    }
+
+    // delete blob after commit, so that it is kept if the transaction is rolled back
+    synchronized (this) {
+      transactionDeletedBlobMap.put(transactionId, blobId);
+    }
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    List<String> deletedBlobIds;
+    synchronized (this) {
+      // the files of this transaction are visible now, other transactions must no longer delete
+      // their blobs on rollback
+      transactionReferencedBlobMap
+          .get(transactionId)
+          .forEach(blobId -> removeRollbackDeletes(transactionId, blobId));
+      deletedBlobIds = new ArrayList<>(transactionDeletedBlobMap.removeAll(transactionId));
+    }
+    deleteBlobs(deletedBlobIds, transactionId);
   }
 
   @Override
   public void rollbackTransaction(String transactionId) {
-    List<String> blobIds = new ArrayList<>(transactionBlobMap.get(transactionId));
-    blobIds.forEach(this::delete);
+    List<String> blobIds;
+    synchronized (this) {
+      blobIds = new ArrayList<>(transactionBlobMap.removeAll(transactionId));
+    }
+    deleteBlobs(blobIds, transactionId);
   }
 
   @Override
-  public void doCleanupAfterCompletion(String transactionId) {
+  public synchronized void doCleanupAfterCompletion(String transactionId) {
     transactionBlobMap.removeAll(transactionId);
+    transactionDeletedBlobMap.removeAll(transactionId);
+    transactionReferencedBlobMap.removeAll(transactionId);
+  }
+
+  /**
+   * Deletes blobs that are not referenced by other ongoing transactions. A referenced blob is
+   * deleted when all referencing transactions are rolled back.
+   */
+  private void deleteBlobs(List<String> blobIds, @Nullable String transactionId) {
+    lock.writeLock().lock();
+    try {
+      List<String> unreferencedBlobIds = new ArrayList<>();
+      synchronized (this) {
+        blobIds.stream()
+            .distinct()
+            .forEach(
+                blobId -> {
+                  List<String> referencingTransactionIds =
+                      getReferencingTransactionIds(blobId, transactionId);
+                  if (referencingTransactionIds.isEmpty()) {
+                    unreferencedBlobIds.add(blobId);
+                  } else {
+                    referencingTransactionIds.forEach(
+                        referencingTransactionId ->
+                            transactionBlobMap.put(referencingTransactionId, blobId));
+                  }
+                });
+      }
+      unreferencedBlobIds.forEach(super::delete);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private List<String> getReferencingTransactionIds(
+      String blobId, @Nullable String transactionId) {
+    return transactionReferencedBlobMap.entries().stream()
+        .filter(entry -> entry.getValue().equals(blobId))
+        .map(Entry::getKey)
+        .filter(referencingTransactionId -> !referencingTransactionId.equals(transactionId))
+        .collect(toList());
   }
 }
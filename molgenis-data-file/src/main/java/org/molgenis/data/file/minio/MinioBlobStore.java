@@ -2,7 +2,8 @@ package org.molgenis.data.file.minio;
 
 import static java.util.Objects.requireNonNull;
 
-import io.minio.ObjectStat;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
 import io.minio.errors.InternalException;
@@ -14,31 +15,56 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import org.molgenis.data.file.BlobMetadata;
 import org.molgenis.data.file.BlobStore;
-import org.molgenis.data.populate.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.xmlpull.v1.XmlPullParserException;
 
 class MinioBlobStore implements BlobStore {
+  private static final Logger LOG = LoggerFactory.getLogger(MinioBlobStore.class);
+  private static final String TMP_FILE_PREFIX = "molgenis-blob-";
+
   private final MinioClientFacade minioClientFacade;
-  private final IdGenerator idGenerator;
 
-  MinioBlobStore(MinioClientFacade minioClientFacade, IdGenerator idGenerator) {
+  MinioBlobStore(MinioClientFacade minioClientFacade) {
     this.minioClientFacade = requireNonNull(minioClientFacade);
-    this.idGenerator = requireNonNull(idGenerator);
   }
 
+  /**
+   * Stores the blob under its SHA-256 checksum. The data is spooled to a local temporary file while
+   * the checksum is computed, so that the data is uploaded directly to its content address and is
+   * not uploaded at all if an object with the same content exists.
+   */
   @Override
   public BlobMetadata store(ReadableByteChannel fromChannel) {
-    String blobId = generateBlobId();
-
-    // The "octet-stream" subtype is used to indicate that a body contains arbitrary binary data.
-    String contentType = "application/octet-stream";
-    InputStream inputStream = Channels.newInputStream(fromChannel);
+    Path tmpFile = null;
     try {
-      minioClientFacade.putObject(blobId, inputStream, contentType);
+      tmpFile = Files.createTempFile(TMP_FILE_PREFIX, null);
+      String checksum = spool(fromChannel, tmpFile);
+      long size = Files.size(tmpFile);
+
+      boolean duplicate = minioClientFacade.objectExists(checksum);
+      if (!duplicate) {
+        // The "octet-stream" subtype is used to indicate that a body contains arbitrary binary
+        // data.
+        String contentType = "application/octet-stream";
+        try (InputStream inputStream = Files.newInputStream(tmpFile)) {
+          minioClientFacade.putObject(checksum, inputStream, size, contentType);
+        }
+      }
+
+      return BlobMetadata.builder()
+          .setId(checksum)
+          .setSize(size)
+          .setChecksum(checksum)
+          .setDuplicate(duplicate)
+          .build();
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     } catch (InvalidBucketNameException
@@ -51,11 +77,33 @@ class MinioBlobStore implements BlobStore {
         | InvalidArgumentException
         | InsufficientDataException e) {
       throw new UncheckedIOException(new IOException(e));
+    } finally {
+      if (tmpFile != null) {
+        deleteTmpFile(tmpFile);
+      }
+    }
+  }
+
+  /** Copies the data to the given file and returns the SHA-256 checksum of the data */
+  private static String spool(ReadableByteChannel fromChannel, Path file) throws IOException {
+    HashingInputStream inputStream =
+        new HashingInputStream(Hashing.sha256(), Channels.newInputStream(fromChannel));
+    Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+    return inputStream.hash().toString();
+  }
+
+  private static void deleteTmpFile(Path tmpFile) {
+    try {
+      Files.deleteIfExists(tmpFile);
+    } catch (IOException e) {
+      LOG.warn("Could not delete temporary file '{}'", tmpFile);
     }
+  }
 
-    ObjectStat objectStat;
+  @Override
+  public void delete(String blobId) {
     try {
-      objectStat = minioClientFacade.statObject(blobId);
+      minioClientFacade.removeObject(blobId);
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     } catch (InvalidBucketNameException
@@ -65,20 +113,17 @@ class MinioBlobStore implements BlobStore {
         | NoResponseException
         | XmlPullParserException
         | ErrorResponseException
-        | InternalException e) {
+        | InternalException
+        | InvalidArgumentException e) {
       throw new UncheckedIOException(new IOException(e));
     }
-    long size = objectStat.length();
-
-    return BlobMetadata.builder().setId(blobId).setSize(size).build();
   }
 
   @Override
-  public void delete(String blobId) {
+  public ReadableByteChannel newChannel(String blobId) {
+    InputStream inputStream;
     try {
-      minioClientFacade.removeObject(blobId);
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
+      inputStream = minioClientFacade.getObject(blobId);
     } catch (InvalidBucketNameException
         | NoSuchAlgorithmException
         | InsufficientDataException
@@ -89,14 +134,18 @@ class MinioBlobStore implements BlobStore {
         | InternalException
         | InvalidArgumentException e) {
       throw new UncheckedIOException(new IOException(e));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
+    return Channels.newChannel(inputStream);
   }
 
+  /** Uses a ranged GET so that only the requested bytes are transferred from the object store */
   @Override
-  public ReadableByteChannel newChannel(String blobId) {
+  public ReadableByteChannel newChannel(String blobId, long offset, long length) {
     InputStream inputStream;
     try {
-      inputStream = minioClientFacade.getObject(blobId);
+      inputStream = minioClientFacade.getObject(blobId, offset, length);
     } catch (InvalidBucketNameException
         | NoSuchAlgorithmException
         | InsufficientDataException
@@ -112,8 +161,4 @@ class MinioBlobStore implements BlobStore {
     }
     return Channels.newChannel(inputStream);
   }
-
-  private String generateBlobId() {
-    return idGenerator.generateId();
-  }
 }
@@ -2,6 +2,7 @@ package org.molgenis.data.file.minio;
 
 import static java.util.Objects.requireNonNull;
 
+import io.minio.ErrorCode;
 import io.minio.MinioClient;
 import io.minio.ObjectStat;
 import io.minio.errors.ErrorResponseException;
@@ -40,6 +41,16 @@ class MinioClientFacade {
     LOG.debug("Put object '{}' in bucket '{}'", objectName, bucketName);
   }
 
+  /** @see MinioClient#putObject(String, String, InputStream, long, String) */
+  void putObject(String objectName, InputStream stream, long size, String contentType)
+      throws InvalidBucketNameException, NoSuchAlgorithmException, IOException, InvalidKeyException,
+          NoResponseException, XmlPullParserException, ErrorResponseException, InternalException,
+          InvalidArgumentException, InsufficientDataException {
+    LOG.trace("Putting object '{}' in bucket '{}' ...", objectName, bucketName);
+    minioClient.putObject(bucketName, objectName, stream, size, contentType);
+    LOG.debug("Put object '{}' in bucket '{}'", objectName, bucketName);
+  }
+
   /** @see MinioClient#statObject(String, String) */
   ObjectStat statObject(String objectName)
       throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException,
@@ -51,6 +62,27 @@ class MinioClientFacade {
     return objectStat;
   }
 
+  /**
+   * Returns whether an object exists
+   *
+   * @see MinioClient#statObject(String, String)
+   */
+  boolean objectExists(String objectName)
+      throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException,
+          IOException, InvalidKeyException, NoResponseException, XmlPullParserException,
+          ErrorResponseException, InternalException {
+    try {
+      minioClient.statObject(bucketName, objectName);
+    } catch (ErrorResponseException e) {
+      ErrorCode errorCode = e.errorResponse().errorCode();
+      if (errorCode == ErrorCode.NO_SUCH_KEY || errorCode == ErrorCode.NO_SUCH_OBJECT) {
+        return false;
+      }
+      throw e;
+    }
+    return true;
+  }
+
   /** @see MinioClient#removeObject(String, String) */
   void removeObject(String objectName)
       throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException,
@@ -69,4 +101,18 @@ class MinioClientFacade {
     LOG.trace("Streaming object '{}' in bucket '{}' ...", objectName, bucketName);
     return minioClient.getObject(bucketName, objectName);
   }
+
+  /** @see io.minio.MinioClient#getObject(java.lang.String, java.lang.String, long, Long) */
+  InputStream getObject(String objectName, long offset, long length)
+      throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException,
+          IOException, InvalidKeyException, NoResponseException, XmlPullParserException,
+          ErrorResponseException, InternalException, InvalidArgumentException {
+    LOG.trace(
+        "Streaming {} bytes from offset {} of object '{}' in bucket '{}' ...",
+        length,
+        offset,
+        objectName,
+        bucketName);
+    return minioClient.getObject(bucketName, objectName, offset, length);
+  }
 }
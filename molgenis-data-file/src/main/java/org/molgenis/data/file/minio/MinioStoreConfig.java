@@ -8,7 +8,6 @@ import java.io.UncheckedIOException;
 import javax.annotation.Nullable;
 import org.molgenis.data.file.BlobStore;
 import org.molgenis.data.file.TransactionalBlobStoreDecorator;
-import org.molgenis.data.populate.IdGenerator;
 import org.molgenis.data.populate.IdGeneratorImpl;
 import org.molgenis.data.transaction.TransactionManager;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,7 +25,6 @@ public class MinioStoreConfig {
   private final String minioAccessKey;
   private final String minioSecretKey;
   private final String minioRegion;
-  private final IdGenerator idGenerator;
   private final TransactionManager transactionManager;
 
   public MinioStoreConfig(
@@ -35,7 +33,6 @@ public class MinioStoreConfig {
       @Value("${MINIO_ACCESS_KEY:@null}") String minioAccessKey,
       @Value("${MINIO_SECRET_KEY:@null}") String minioSecretKey,
       @Nullable @Value("${MINIO_REGION:@null}") String minioRegion,
-      IdGenerator idGenerator,
       TransactionManager transactionManager) {
     // No 'beans' of 'TransactionManager' type found error can't be resolved since the
     // application transaction manager is currently defined in molgenis-data-postgresql
@@ -44,14 +41,13 @@ public class MinioStoreConfig {
     this.minioAccessKey = minioAccessKey;
     this.minioSecretKey = minioSecretKey;
     this.minioRegion = minioRegion;
-    this.idGenerator = requireNonNull(idGenerator);
     this.transactionManager = requireNonNull(transactionManager);
   }
 
   @Bean
   public BlobStore blobStore() {
     MinioClientFacade minioClientFacade = minioClientFacade();
-    MinioBlobStore minioBlobStore = new MinioBlobStore(minioClientFacade, idGenerator);
+    MinioBlobStore minioBlobStore = new MinioBlobStore(minioClientFacade);
     TransactionalBlobStoreDecorator transactionalMinioBlobStore =
         new TransactionalBlobStoreDecorator(minioBlobStore);
     transactionManager.addTransactionListener(transactionalMinioBlobStore);
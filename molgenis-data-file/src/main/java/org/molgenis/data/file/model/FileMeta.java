@@ -1,5 +1,6 @@
 package org.molgenis.data.file.model;
 
+import static org.molgenis.data.file.model.FileMetaMetadata.CHECKSUM;
 import static org.molgenis.data.file.model.FileMetaMetadata.CONTENT_TYPE;
 import static org.molgenis.data.file.model.FileMetaMetadata.FILENAME;
 import static org.molgenis.data.file.model.FileMetaMetadata.ID;
@@ -70,4 +71,24 @@ public class FileMeta extends StaticEntity {
   public String getUrl() {
     return getString(URL);
   }
+
+  public void setChecksum(String checksum) {
+    set(CHECKSUM, checksum);
+  }
+
+  @Nullable
+  @CheckForNull
+  public String getChecksum() {
+    return getString(CHECKSUM);
+  }
+
+  /**
+   * Returns the identifier of the blob that contains the file content. Files stored before content
+   * addressing was introduced don't have a checksum and use their own identifier as blob
+   * identifier.
+   */
+  public String getBlobId() {
+    String checksum = getChecksum();
+    return checksum != null ? checksum : getId();
+  }
 }
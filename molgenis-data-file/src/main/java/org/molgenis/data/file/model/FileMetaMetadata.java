@@ -22,6 +22,7 @@ public class FileMetaMetadata extends SystemEntityType {
   public static final String CONTENT_TYPE = "contentType";
   public static final String SIZE = "size";
   public static final String URL = "url";
+  public static final String CHECKSUM = "checksum";
 
   FileMetaMetadata() {
     super(SIMPLE_NAME, PACKAGE_SYSTEM);
@@ -43,6 +44,11 @@ public class FileMetaMetadata extends SystemEntityType {
         .setDescription("File download URL")
         .setUnique(true)
         .setNillable(false);
+    addAttribute(CHECKSUM)
+        .setDataType(STRING)
+        .setVisible(false)
+        .setLabel("Checksum")
+        .setDescription("SHA-256 checksum of the file content");
 
     setRowLevelSecured(true);
   }
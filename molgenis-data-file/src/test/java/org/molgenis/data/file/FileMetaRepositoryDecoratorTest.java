@@ -1,20 +1,26 @@
 package org.molgenis.data.file;
 
 import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.molgenis.data.Query;
 import org.molgenis.data.Repository;
@@ -56,11 +62,12 @@ class FileMetaRepositoryDecoratorTest extends AbstractMockitoTest {
   void testDeleteStream() {
     FileMeta fileMeta0 = getMockFileMeta("id0");
     FileMeta fileMeta1 = getMockFileMeta("id1");
+    List<FileMeta> deletedFileMetas = new ArrayList<>();
+    doAnswer(invocation -> consume(invocation.getArgument(0), deletedFileMetas))
+        .when(delegateRepository)
+        .delete(ArgumentMatchers.<Stream<FileMeta>>any());
     fileMetaRepositoryDecorator.delete(Stream.of(fileMeta0, fileMeta1));
-    @SuppressWarnings("unchecked")
-    ArgumentCaptor<Stream<FileMeta>> captor = ArgumentCaptor.forClass(Stream.class);
-    verify(delegateRepository).delete(captor.capture());
-    assertEquals(asList(fileMeta0, fileMeta1), captor.getValue().collect(toList()));
+    assertEquals(asList(fileMeta0, fileMeta1), deletedFileMetas);
     verify(fileStore).delete("id0");
     verify(fileStore).delete("id1");
   }
@@ -108,24 +115,80 @@ class FileMetaRepositoryDecoratorTest extends AbstractMockitoTest {
     FileMeta fileMeta1 = getMockFileMeta("id1");
     doReturn(fileMeta0).when(delegateRepository).findOneById("id0");
     doReturn(fileMeta1).when(delegateRepository).findOneById("id1");
+    List<Object> deletedIds = new ArrayList<>();
+    doAnswer(invocation -> consume(invocation.getArgument(0), deletedIds))
+        .when(delegateRepository)
+        .deleteAll(ArgumentMatchers.<Stream<Object>>any());
     fileMetaRepositoryDecorator.deleteAll(Stream.of("id0", "id1"));
-    @SuppressWarnings("unchecked")
-    ArgumentCaptor<Stream<Object>> captor = ArgumentCaptor.forClass(Stream.class);
-    verify(delegateRepository).deleteAll(captor.capture());
-    assertEquals(asList("id0", "id1"), captor.getValue().collect(toList()));
+    assertEquals(asList("id0", "id1"), deletedIds);
     verify(fileStore).delete("id0");
     verify(fileStore).delete("id1");
   }
 
   @Test
   void testDeleteBlobStore() {
-    FileMeta fileMeta = getMockFileMeta("id");
+    FileMeta fileMeta = mock(FileMeta.class);
     when(fileMeta.getUrl()).thenReturn("/api/files/v1/id?alt=media");
+    when(fileMeta.getBlobId()).thenReturn("id");
     fileMetaRepositoryDecorator.delete(fileMeta);
     verify(delegateRepository).delete(fileMeta);
     verify(blobStore).delete("id");
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void testDeleteBlobStoreChecksum() {
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getUrl()).thenReturn("/api/files/v1/id?alt=media");
+    when(fileMeta.getChecksum()).thenReturn("checksum");
+    when(fileMeta.getBlobId()).thenReturn("checksum");
+    when(delegateRepository.count(any(Query.class))).thenReturn(0L);
+    fileMetaRepositoryDecorator.delete(fileMeta);
+    InOrder inOrder = inOrder(delegateRepository, blobStore);
+    inOrder.verify(delegateRepository).delete(fileMeta);
+    inOrder.verify(delegateRepository).count(any(Query.class));
+    inOrder.verify(blobStore).delete("checksum");
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testDeleteBlobStoreChecksumReferenced() {
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getId()).thenReturn("id");
+    when(fileMeta.getUrl()).thenReturn("/api/files/v1/id?alt=media");
+    when(fileMeta.getChecksum()).thenReturn("checksum");
+    when(delegateRepository.count(any(Query.class))).thenReturn(1L);
+    fileMetaRepositoryDecorator.delete(fileMeta);
+    verify(delegateRepository).delete(fileMeta);
+    verifyNoInteractions(blobStore);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testDeleteAllBlobStoreChecksumShared() {
+    FileMeta fileMeta0 = mock(FileMeta.class);
+    when(fileMeta0.getUrl()).thenReturn("/api/files/v1/id0?alt=media");
+    when(fileMeta0.getChecksum()).thenReturn("checksum");
+    when(fileMeta0.getBlobId()).thenReturn("checksum");
+    FileMeta fileMeta1 = mock(FileMeta.class);
+    when(fileMeta1.getUrl()).thenReturn("/api/files/v1/id1?alt=media");
+    when(fileMeta1.getBlobId()).thenReturn("checksum");
+    when(delegateRepository.findAll(any(Query.class))).thenReturn(Stream.of(fileMeta0, fileMeta1));
+    when(delegateRepository.count(any(Query.class))).thenReturn(0L);
+
+    fileMetaRepositoryDecorator.deleteAll();
+
+    InOrder inOrder = inOrder(delegateRepository, blobStore);
+    inOrder.verify(delegateRepository).deleteAll();
+    inOrder.verify(blobStore).delete("checksum");
+    verifyNoMoreInteractions(blobStore);
+  }
+
+  private static <T> Void consume(Stream<T> stream, List<T> consumed) {
+    stream.forEach(consumed::add);
+    return null;
+  }
+
   private FileMeta getMockFileMeta(String id) {
     FileMeta fileMeta = mock(FileMeta.class);
     when(fileMeta.getId()).thenReturn(id);
@@ -3,7 +3,9 @@ package org.molgenis.data.file;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.transaction.TransactionConstants.TRANSACTION_ID_RESOURCE_NAME;
@@ -18,6 +20,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 class TransactionalBlobStoreDecoratorTest extends AbstractMockitoTest {
   private static final String TRANSACTION_ID = "1";
+  private static final String OTHER_TRANSACTION_ID = "2";
 
   @Mock private BlobStore blobStore;
   private TransactionalBlobStoreDecorator transactionalBlobStoreDecorator;
@@ -50,9 +53,31 @@ class TransactionalBlobStoreDecoratorTest extends AbstractMockitoTest {
   void testDelete() {
     String blobId = "MyBlobId";
     transactionalBlobStoreDecorator.delete(blobId);
+    verify(blobStore, never()).delete(any());
+
+    transactionalBlobStoreDecorator.afterCommitTransaction(TRANSACTION_ID);
     verify(blobStore).delete(blobId);
   }
 
+  @Test
+  void testDeleteRollbackTransaction() {
+    transactionalBlobStoreDecorator.delete("MyBlobId");
+    transactionalBlobStoreDecorator.rollbackTransaction(TRANSACTION_ID);
+    transactionalBlobStoreDecorator.doCleanupAfterCompletion(TRANSACTION_ID);
+    verify(blobStore, never()).delete(any());
+  }
+
+  @Test
+  void testDeleteWithoutTransaction() {
+    TransactionSynchronizationManager.unbindResource(TRANSACTION_ID_RESOURCE_NAME);
+    try {
+      transactionalBlobStoreDecorator.delete("MyBlobId");
+      verify(blobStore).delete("MyBlobId");
+    } finally {
+      TransactionSynchronizationManager.bindResource(TRANSACTION_ID_RESOURCE_NAME, TRANSACTION_ID);
+    }
+  }
+
   @Test
   void testNewChannel() {
     String blobId = "MyBlobId";
@@ -74,6 +99,127 @@ class TransactionalBlobStoreDecoratorTest extends AbstractMockitoTest {
     verify(blobStore).delete(blobId);
   }
 
+  @Test
+  void testRollbackTransactionDuplicate() {
+    BlobMetadata blobMetadata = mock(BlobMetadata.class);
+    when(blobMetadata.isDuplicate()).thenReturn(true);
+    ReadableByteChannel readableByteChannel = mock(ReadableByteChannel.class);
+    when(blobStore.store(readableByteChannel)).thenReturn(blobMetadata);
+    transactionalBlobStoreDecorator.store(readableByteChannel);
+
+    transactionalBlobStoreDecorator.rollbackTransaction(TRANSACTION_ID);
+    verify(blobStore, never()).delete(any());
+  }
+
+  @Test
+  void testRollbackTransactionStoredByOtherTransaction() {
+    String blobId = "MyBlobId";
+    BlobMetadata blobMetadata = mock(BlobMetadata.class);
+    when(blobMetadata.getId()).thenReturn(blobId);
+    ReadableByteChannel readableByteChannel = mock(ReadableByteChannel.class);
+    when(blobStore.store(readableByteChannel)).thenReturn(blobMetadata);
+    transactionalBlobStoreDecorator.store(readableByteChannel);
+
+    // concurrent upload of the same content picks up the blob stored in this transaction
+    BlobMetadata duplicateBlobMetadata = mock(BlobMetadata.class);
+    when(duplicateBlobMetadata.getId()).thenReturn(blobId);
+    when(duplicateBlobMetadata.isDuplicate()).thenReturn(true);
+    ReadableByteChannel otherReadableByteChannel = mock(ReadableByteChannel.class);
+    when(blobStore.store(otherReadableByteChannel)).thenReturn(duplicateBlobMetadata);
+    TransactionSynchronizationManager.unbindResource(TRANSACTION_ID_RESOURCE_NAME);
+    TransactionSynchronizationManager.bindResource(TRANSACTION_ID_RESOURCE_NAME, "2");
+    try {
+      transactionalBlobStoreDecorator.store(otherReadableByteChannel);
+    } finally {
+      TransactionSynchronizationManager.unbindResource(TRANSACTION_ID_RESOURCE_NAME);
+      TransactionSynchronizationManager.bindResource(TRANSACTION_ID_RESOURCE_NAME, TRANSACTION_ID);
+    }
+
+    transactionalBlobStoreDecorator.rollbackTransaction(TRANSACTION_ID);
+    verify(blobStore, never()).delete(any());
+  }
+
+  @Test
+  void testAfterCommitTransactionStoredByOtherTransaction() {
+    String blobId = "MyBlobId";
+    transactionalBlobStoreDecorator.delete(blobId);
+
+    BlobMetadata blobMetadata = mock(BlobMetadata.class);
+    when(blobMetadata.getId()).thenReturn(blobId);
+    when(blobMetadata.isDuplicate()).thenReturn(true);
+    ReadableByteChannel readableByteChannel = mock(ReadableByteChannel.class);
+    when(blobStore.store(readableByteChannel)).thenReturn(blobMetadata);
+    transactionalBlobStoreDecorator.store(readableByteChannel);
+
+    transactionalBlobStoreDecorator.afterCommitTransaction(TRANSACTION_ID);
+    verify(blobStore, never()).delete(any());
+  }
+
+  @Test
+  void testAfterCommitTransactionReferencedByOngoingTransaction() {
+    String blobId = "MyBlobId";
+    storeDuplicateInOtherTransaction(blobId);
+
+    // the file of the other transaction is not visible yet, so this transaction deletes the blob
+    transactionalBlobStoreDecorator.delete(blobId);
+    transactionalBlobStoreDecorator.afterCommitTransaction(TRANSACTION_ID);
+    transactionalBlobStoreDecorator.doCleanupAfterCompletion(TRANSACTION_ID);
+    verify(blobStore, never()).delete(any());
+
+    transactionalBlobStoreDecorator.afterCommitTransaction(OTHER_TRANSACTION_ID);
+    transactionalBlobStoreDecorator.doCleanupAfterCompletion(OTHER_TRANSACTION_ID);
+    verify(blobStore, never()).delete(any());
+  }
+
+  @Test
+  void testAfterCommitTransactionReferencedByRolledBackTransaction() {
+    String blobId = "MyBlobId";
+    storeDuplicateInOtherTransaction(blobId);
+
+    transactionalBlobStoreDecorator.delete(blobId);
+    transactionalBlobStoreDecorator.afterCommitTransaction(TRANSACTION_ID);
+    transactionalBlobStoreDecorator.doCleanupAfterCompletion(TRANSACTION_ID);
+    verify(blobStore, never()).delete(any());
+
+    transactionalBlobStoreDecorator.rollbackTransaction(OTHER_TRANSACTION_ID);
+    transactionalBlobStoreDecorator.doCleanupAfterCompletion(OTHER_TRANSACTION_ID);
+    verify(blobStore).delete(blobId);
+  }
+
+  @Test
+  void testRollbackTransactionStoredByCommittedTransaction() {
+    String blobId = "MyBlobId";
+    BlobMetadata blobMetadata = mock(BlobMetadata.class);
+    when(blobMetadata.getId()).thenReturn(blobId);
+    ReadableByteChannel readableByteChannel = mock(ReadableByteChannel.class);
+    when(blobStore.store(readableByteChannel)).thenReturn(blobMetadata);
+    transactionalBlobStoreDecorator.store(readableByteChannel);
+
+    storeDuplicateInOtherTransaction(blobId);
+    transactionalBlobStoreDecorator.afterCommitTransaction(OTHER_TRANSACTION_ID);
+    transactionalBlobStoreDecorator.doCleanupAfterCompletion(OTHER_TRANSACTION_ID);
+
+    transactionalBlobStoreDecorator.rollbackTransaction(TRANSACTION_ID);
+    verify(blobStore, never()).delete(any());
+  }
+
+  private void storeDuplicateInOtherTransaction(String blobId) {
+    BlobMetadata blobMetadata = mock(BlobMetadata.class);
+    when(blobMetadata.getId()).thenReturn(blobId);
+    when(blobMetadata.isDuplicate()).thenReturn(true);
+    ReadableByteChannel readableByteChannel = mock(ReadableByteChannel.class);
+    when(blobStore.store(readableByteChannel)).thenReturn(blobMetadata);
+    TransactionSynchronizationManager.unbindResource(TRANSACTION_ID_RESOURCE_NAME);
+    TransactionSynchronizationManager.bindResource(
+        TRANSACTION_ID_RESOURCE_NAME, OTHER_TRANSACTION_ID);
+    try {
+      transactionalBlobStoreDecorator.store(readableByteChannel);
+    } finally {
+      TransactionSynchronizationManager.unbindResource(TRANSACTION_ID_RESOURCE_NAME);
+      TransactionSynchronizationManager.bindResource(TRANSACTION_ID_RESOURCE_NAME, TRANSACTION_ID);
+    }
+  }
+
   @Test
   void testDoCleanupAfterCompletion() {
     assertDoesNotThrow(
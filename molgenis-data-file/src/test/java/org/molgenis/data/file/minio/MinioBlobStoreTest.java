@@ -1,47 +1,54 @@
 package org.molgenis.data.file.minio;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.molgenis.data.file.BlobMetadata.create;
 
-import io.minio.ObjectStat;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
 import io.minio.errors.InternalException;
 import io.minio.errors.InvalidArgumentException;
 import io.minio.errors.InvalidBucketNameException;
 import io.minio.errors.NoResponseException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
-import org.molgenis.data.populate.IdGenerator;
+import org.molgenis.data.file.BlobMetadata;
 import org.molgenis.test.AbstractMockitoTest;
 import org.xmlpull.v1.XmlPullParserException;
 
 class MinioBlobStoreTest extends AbstractMockitoTest {
+  private static final String SHA256_ABC =
+      "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
   @Mock private MinioClientFacade minioClientFacade;
-  @Mock private IdGenerator idGenerator;
   private MinioBlobStore minioBlobStore;
 
   @BeforeEach
   void setUpBeforeMethod() {
-    minioBlobStore = new MinioBlobStore(minioClientFacade, idGenerator);
+    minioBlobStore = new MinioBlobStore(minioClientFacade);
   }
 
   @Test
   void testMinioBlobStore() {
-    assertThrows(NullPointerException.class, () -> new MinioBlobStore(null, null));
+    assertThrows(NullPointerException.class, () -> new MinioBlobStore(null));
   }
 
   @Test
@@ -49,15 +56,41 @@ class MinioBlobStoreTest extends AbstractMockitoTest {
       throws IOException, XmlPullParserException, NoSuchAlgorithmException, InvalidKeyException,
           InvalidArgumentException, InternalException, NoResponseException,
           InvalidBucketNameException, InsufficientDataException, ErrorResponseException {
-    ReadableByteChannel fromChannel = mock(ReadableByteChannel.class);
-    String blobId = "MyBlobId";
-    when(idGenerator.generateId()).thenReturn(blobId);
-    long size = 3L;
-    ObjectStat objectStat = when(mock(ObjectStat.class).length()).thenReturn(size).getMock();
-    when(minioClientFacade.statObject(blobId)).thenReturn(objectStat);
-    assertEquals(create(blobId, size), minioBlobStore.store(fromChannel));
+    ReadableByteChannel fromChannel = createChannel("abc");
+    doAnswer(
+            invocation -> {
+              InputStream inputStream = invocation.getArgument(1, InputStream.class);
+              assertEquals("abc", new String(inputStream.readAllBytes(), UTF_8));
+              return null;
+            })
+        .when(minioClientFacade)
+        .putObject(eq(SHA256_ABC), any(InputStream.class), eq(3L), eq("application/octet-stream"));
+
+    BlobMetadata blobMetadata =
+        BlobMetadata.builder()
+            .setId(SHA256_ABC)
+            .setSize(3L)
+            .setChecksum(SHA256_ABC)
+            .setDuplicate(false)
+            .build();
+    assertEquals(blobMetadata, minioBlobStore.store(fromChannel));
     verify(minioClientFacade)
-        .putObject(eq(blobId), any(InputStream.class), eq("application/octet-stream"));
+        .putObject(eq(SHA256_ABC), any(InputStream.class), eq(3L), eq("application/octet-stream"));
+  }
+
+  @Test
+  void testStoreDuplicate()
+      throws IOException, XmlPullParserException, NoSuchAlgorithmException, InvalidKeyException,
+          InvalidArgumentException, InternalException, NoResponseException,
+          InvalidBucketNameException, InsufficientDataException, ErrorResponseException {
+    ReadableByteChannel fromChannel = createChannel("abc");
+    when(minioClientFacade.objectExists(SHA256_ABC)).thenReturn(true);
+
+    BlobMetadata blobMetadata = minioBlobStore.store(fromChannel);
+    assertEquals(SHA256_ABC, blobMetadata.getId());
+    assertEquals(3L, blobMetadata.getSize());
+    assertTrue(blobMetadata.isDuplicate());
+    verify(minioClientFacade, never()).putObject(any(), any(), anyLong(), any());
   }
 
   @Test
@@ -80,4 +113,19 @@ class MinioBlobStoreTest extends AbstractMockitoTest {
     when(minioClientFacade.getObject(blobId)).thenReturn(inputStream);
     assertDoesNotThrow(() -> minioBlobStore.newChannel(blobId));
   }
+
+  @Test
+  void testNewChannelRange()
+      throws IOException, InvalidKeyException, NoSuchAlgorithmException, InsufficientDataException,
+          InvalidArgumentException, InternalException, NoResponseException,
+          InvalidBucketNameException, XmlPullParserException, ErrorResponseException {
+    String blobId = "MyBlobId";
+    InputStream inputStream = mock(InputStream.class);
+    when(minioClientFacade.getObject(blobId, 2L, 4L)).thenReturn(inputStream);
+    assertDoesNotThrow(() -> minioBlobStore.newChannel(blobId, 2L, 4L));
+  }
+
+  private static ReadableByteChannel createChannel(String content) {
+    return Channels.newChannel(new ByteArrayInputStream(content.getBytes(UTF_8)));
+  }
 }
@@ -1,10 +1,13 @@
 package org.molgenis.data.file.minio;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.minio.ErrorCode;
 import io.minio.MinioClient;
 import io.minio.ObjectStat;
 import io.minio.errors.ErrorResponseException;
@@ -13,6 +16,7 @@ import io.minio.errors.InternalException;
 import io.minio.errors.InvalidArgumentException;
 import io.minio.errors.InvalidBucketNameException;
 import io.minio.errors.NoResponseException;
+import io.minio.messages.ErrorResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
@@ -46,6 +50,18 @@ class MinioClientFacadeTest extends AbstractMockitoTest {
     verify(minioClient).putObject(bucketName, objectName, inputStream, contentType);
   }
 
+  @Test
+  void testPutObjectSize()
+      throws IOException, InvalidKeyException, NoSuchAlgorithmException, InsufficientDataException,
+          InvalidArgumentException, InternalException, NoResponseException,
+          InvalidBucketNameException, XmlPullParserException, ErrorResponseException {
+    String objectName = "MyObjectName";
+    InputStream inputStream = mock(InputStream.class);
+    String contentType = "application/octet-stream";
+    minioClientFacade.putObject(objectName, inputStream, 3L, contentType);
+    verify(minioClient).putObject(bucketName, objectName, inputStream, 3L, contentType);
+  }
+
   @Test
   void testStatObject()
       throws IOException, InvalidKeyException, NoSuchAlgorithmException, InsufficientDataException,
@@ -77,4 +93,28 @@ class MinioClientFacadeTest extends AbstractMockitoTest {
     when(minioClient.getObject(bucketName, objectName)).thenReturn(inputStream);
     assertEquals(inputStream, minioClientFacade.getObject(objectName));
   }
+
+  @Test
+  void testObjectExists()
+      throws IOException, InvalidKeyException, NoSuchAlgorithmException, InsufficientDataException,
+          InternalException, NoResponseException, InvalidBucketNameException,
+          XmlPullParserException, ErrorResponseException {
+    String objectName = "MyObjectName";
+    when(minioClient.statObject(bucketName, objectName)).thenReturn(mock(ObjectStat.class));
+    assertTrue(minioClientFacade.objectExists(objectName));
+  }
+
+  @Test
+  void testObjectExistsNoSuchKey()
+      throws IOException, InvalidKeyException, NoSuchAlgorithmException, InsufficientDataException,
+          InternalException, NoResponseException, InvalidBucketNameException,
+          XmlPullParserException, ErrorResponseException {
+    String objectName = "MyObjectName";
+    ErrorResponse errorResponse =
+        when(mock(ErrorResponse.class).errorCode()).thenReturn(ErrorCode.NO_SUCH_KEY).getMock();
+    ErrorResponseException errorResponseException = mock(ErrorResponseException.class);
+    when(errorResponseException.errorResponse()).thenReturn(errorResponse);
+    when(minioClient.statObject(bucketName, objectName)).thenThrow(errorResponseException);
+    assertFalse(minioClientFacade.objectExists(objectName));
+  }
 }
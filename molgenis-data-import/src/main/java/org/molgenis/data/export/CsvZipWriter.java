@@ -0,0 +1,111 @@
+package org.molgenis.data.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+
+import au.com.bytecode.opencsv.CSVWriter;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes EMX sheets as CSV entries of a zip file in the format that is read by the CSV importer.
+ */
+class CsvZipWriter implements Closeable {
+  private static final String CSV_EXTENSION = ".csv";
+  private static final char SEPARATOR = ',';
+  private static final char QUOTE_CHARACTER = '"';
+  /** Same escape character as the CSV importer uses when reading */
+  private static final char ESCAPE_CHARACTER = '\\';
+
+  private final ZipOutputStream zipOutputStream;
+  private String entryName;
+
+  /** @param outputStream stream to write the zip file to, closed when this writer is closed */
+  CsvZipWriter(OutputStream outputStream) {
+    this.zipOutputStream =
+        new ZipOutputStream(new BufferedOutputStream(requireNonNull(outputStream)), UTF_8);
+  }
+
+  /**
+   * Starts a new CSV entry. Finishes the current entry if there is one.
+   *
+   * @param sheetName EMX sheet name, e.g. 'attributes' or a fully qualified entity type id
+   * @param headers column headers
+   */
+  void createSheet(String sheetName, List<Object> headers) {
+    closeSheet();
+    try {
+      zipOutputStream.putNextEntry(new ZipEntry(sheetName + CSV_EXTENSION));
+      entryName = sheetName;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    write(singletonList(headers));
+  }
+
+  /** Adds rows to the current entry. */
+  void writeRows(List<List<Object>> rows) {
+    if (entryName == null) {
+      throw new IllegalStateException("no sheet created");
+    }
+    write(rows);
+  }
+
+  private void closeSheet() {
+    if (entryName != null) {
+      try {
+        zipOutputStream.closeEntry();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      entryName = null;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      closeSheet();
+    } finally {
+      zipOutputStream.close();
+    }
+  }
+
+  private void write(List<? extends List<?>> rows) {
+    try {
+      zipOutputStream.write(encode(rows));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] encode(List<? extends List<?>> rows) {
+    StringWriter stringWriter = new StringWriter();
+    try (CSVWriter csvWriter =
+        new CSVWriter(stringWriter, SEPARATOR, QUOTE_CHARACTER, ESCAPE_CHARACTER)) {
+      for (List<?> row : rows) {
+        csvWriter.writeNext(toStrings(row));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return stringWriter.toString().getBytes(UTF_8);
+  }
+
+  private static String[] toStrings(List<?> values) {
+    String[] strings = new String[values.size()];
+    for (int i = 0; i < strings.length; i++) {
+      Object value = values.get(i);
+      strings[i] = value != null ? value.toString() : null;
+    }
+    return strings;
+  }
+}
@@ -8,4 +8,11 @@ import org.molgenis.jobs.Progress;
 
 public interface EmxExportService {
   void export(List<EntityType> entityTypes, List<Package> packages, Path path, Progress progress);
+
+  /**
+   * Exports to a zip file with a CSV file per EMX sheet instead of to a XLSX file. The data of the
+   * entity types is encoded in parallel, which makes this export faster for large data.
+   */
+  void exportCsvZip(
+      List<EntityType> entityTypes, List<Package> packages, Path path, Progress progress);
 }
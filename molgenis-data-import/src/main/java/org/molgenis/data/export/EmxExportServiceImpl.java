@@ -14,6 +14,7 @@ import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -92,6 +93,33 @@ public class EmxExportServiceImpl implements EmxExportService {
     }
   }
 
+  /**
+   * Reads, maps and encodes the data in the calling thread, since the transaction is bound to this
+   * thread and mapping entities to rows can load referenced entities.
+   *
+   * @see #export(List, List, Path, Progress)
+   */
+  @Override
+  @Transactional(readOnly = true, isolation = Isolation.SERIALIZABLE)
+  public void exportCsvZip(
+      List<EntityType> entityTypes,
+      List<Package> packages,
+      Path downloadFilePath,
+      Progress progress) {
+    requireNonNull(progress);
+    if (!(entityTypes.isEmpty() && packages.isEmpty())) {
+      try (CsvZipWriter writer = new CsvZipWriter(Files.newOutputStream(downloadFilePath))) {
+        exportCsvZip(entityTypes, packages, writer, progress);
+      } catch (CodedRuntimeException e) {
+        throw e;
+      } catch (IOException | RuntimeException e) {
+        throw new EmxExportException(e);
+      }
+    } else {
+      throw new EmptyExportRequestException();
+    }
+  }
+
   private void exportEmx(
       List<EntityType> entityTypes, List<Package> packages, XlsxWriter writer, Progress progress) {
     Map<String, Package> deduppedPackageMap = new LinkedHashMap<>();
@@ -104,6 +132,49 @@ public class EmxExportServiceImpl implements EmxExportService {
     writeEntityTypeSheets(deduppedEntityTypeMap.values(), writer, progress);
   }
 
+  // package private for test
+  void exportCsvZip(
+      List<EntityType> entityTypes,
+      List<Package> packages,
+      CsvZipWriter writer,
+      Progress progress) {
+    Map<String, Package> deduppedPackageMap = new LinkedHashMap<>();
+    Map<String, EntityType> deduppedEntityTypeMap = new LinkedHashMap<>();
+    resolveMetadata(entityTypes, packages, deduppedPackageMap, deduppedEntityTypeMap);
+    Collection<EntityType> deduppedEntityTypes = deduppedEntityTypeMap.values();
+
+    // Progress per entity type plus metadata files + finished message
+    progress.setProgressMax(entityTypes.size() + 2);
+    addEntityPackages(deduppedEntityTypes, deduppedPackageMap);
+    addParentPackages(deduppedPackageMap);
+    writer.createSheet(EMX_PACKAGES, newArrayList(PACKAGE_ATTRS.keySet()));
+    writer.writeRows(
+        deduppedPackageMap.values().stream().map(PackageMapper::map).collect(toList()));
+    writer.createSheet(EMX_ENTITIES, newArrayList(ENTITIES_ATTRS.keySet()));
+    writer.writeRows(
+        sortEntityTypesAbstractFirst(deduppedEntityTypes).stream()
+            .map(EntityTypeMapper::map)
+            .collect(toList()));
+    writer.createSheet(EMX_ATTRIBUTES, newArrayList(ATTRIBUTE_ATTRS.keySet()));
+    writer.writeRows(
+        deduppedEntityTypes.stream()
+            .flatMap(entityType -> Streams.stream(entityType.getOwnAllAttributes()))
+            .map(AttributeMapper::map)
+            .collect(toList()));
+    progress.status(contextMessageSource.getMessage("emx_export_metadata_message"));
+    progress.increment(1);
+
+    for (EntityType entityType : deduppedEntityTypes) {
+      progress.status(
+          contextMessageSource.getMessage(
+              "emx_export_progress_message", new Object[] {entityType.getLabel()}));
+      progress.increment(1);
+      if (!entityType.isAbstract()) {
+        downloadData(entityType, writer);
+      }
+    }
+  }
+
   void resolveMetadata(
       List<EntityType> entityTypes,
       List<Package> packages,
@@ -181,6 +252,20 @@ public class EmxExportServiceImpl implements EmxExportService {
         .forEachBatched(entities -> writeRows(entities, entityType, writer), BATCH_SIZE);
   }
 
+  private void downloadData(EntityType entityType, CsvZipWriter writer) {
+    List<Object> headers =
+        Streams.stream(entityType.getAtomicAttributes()).map(Attribute::getName).collect(toList());
+    writer.createSheet(entityType.getId(), headers);
+
+    dataService
+        .getRepository(entityType.getId())
+        .forEachBatched(
+            entities ->
+                writer.writeRows(
+                    entities.stream().map(DataRowMapper::mapDataRow).collect(toList())),
+            BATCH_SIZE);
+  }
+
   private void writeRows(List<Entity> entities, EntityType entityType, XlsxWriter writer) {
     writer.writeRows(entities.stream().map(DataRowMapper::mapDataRow), entityType.getId());
   }
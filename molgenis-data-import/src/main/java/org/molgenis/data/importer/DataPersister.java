@@ -28,4 +28,24 @@ public interface DataPersister {
    * @return persist result containing e.g. number of persisted data elements
    */
   PersistResult persist(DataProvider dataProvider, MetadataMode metadataMode, DataMode dataMode);
+
+  /**
+   * Persists data and metadata in chunks that are committed separately. The metadata of each
+   * entity type and each chunk of its data are committed together with the updated checkpoints.
+   * Metadata and data that were committed according to the checkpoints are not persisted again.
+   *
+   * <p>Must not be called in a transaction.
+   *
+   * @param dataProvider data and metadata provider
+   * @param metadataMode metadata persists mode
+   * @param dataMode data persist mode
+   * @param importCheckpoints committed progress, updated after each committed chunk
+   * @return persist result containing e.g. number of persisted data elements, including the data
+   *     elements that were persisted before resuming
+   */
+  PersistResult persist(
+      DataProvider dataProvider,
+      MetadataMode metadataMode,
+      DataMode dataMode,
+      ImportCheckpoints importCheckpoints);
 }
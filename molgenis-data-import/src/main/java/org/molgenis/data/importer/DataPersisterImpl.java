@@ -1,20 +1,33 @@
 package org.molgenis.data.importer;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ID;
+import static org.molgenis.data.transaction.TransactionConstants.BULK_LOAD_RESOURCE_NAME;
+import static org.molgenis.data.util.EntityTypeUtils.hasSelfReferences;
 import static org.molgenis.util.stream.MapCollectors.toLinkedMap;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.MolgenisDataException;
@@ -25,29 +38,70 @@ import org.molgenis.data.meta.EntityTypeWithoutMappedByAttributes;
 import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.util.ExecutorServiceUtils;
 import org.molgenis.util.UnexpectedEnumException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Persists entity types and their data in topological order in a single transaction.
+ *
+ * <p>With an import parallelism greater than one the data of the entity types is read from the
+ * source and converted by worker threads, ahead of and concurrently with the database writes.
+ * Converting data does not depend on the data of other entity types, so all entity types are read
+ * concurrently, while the writes remain ordered on the transaction thread. Data providers that
+ * do not support concurrent reads, e.g. of an Excel workbook, are read on the transaction thread.
+ *
+ * <p>The transaction is marked as a bulk load, so that backends can create the constraints and
+ * indexes of newly created tables after their data is loaded instead of maintaining them row by
+ * row.
+ */
 @Component
 public class DataPersisterImpl implements DataPersister {
+  private static final int PREFETCH_BATCH_SIZE = 1000;
+  private static final int MAX_PREFETCHED_BATCHES = 2;
+  private static final int CHECKPOINT_SIZE = 10000;
+
   private final MetaDataService metaDataService;
   private final DataService dataService;
   private final EntityTypeDependencyResolver entityTypeDependencyResolver;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService executorService;
 
   DataPersisterImpl(
       MetaDataService metaDataService,
       DataService dataService,
-      EntityTypeDependencyResolver entityTypeDependencyResolver) {
+      EntityTypeDependencyResolver entityTypeDependencyResolver,
+      PlatformTransactionManager transactionManager,
+      @Value("${import.parallelism:4}") int parallelism) {
     this.metaDataService = requireNonNull(metaDataService);
     this.dataService = requireNonNull(dataService);
     this.entityTypeDependencyResolver = requireNonNull(entityTypeDependencyResolver);
+    this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    this.executorService =
+        parallelism > 1
+            ? Executors.newFixedThreadPool(
+                parallelism,
+                new ThreadFactoryBuilder().setNameFormat("molgenis-import-%d").build())
+            : null;
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    if (executorService != null) {
+      ExecutorServiceUtils.shutdownAndAwaitTermination(executorService);
+    }
   }
 
   @Transactional
   @Override
   public PersistResult persist(
       DataProvider dataProvider, MetadataMode metadataMode, DataMode dataMode) {
+    startBulkLoad();
     List<EntityType> sortedEntityTypes =
         getTopologicalSortedEntityTypes(dataProvider.getEntityTypes());
 
@@ -59,6 +113,44 @@ public class DataPersisterImpl implements DataPersister {
     return persistResult;
   }
 
+  /**
+   * Uses a {@link TransactionTemplate} instead of the {@link Transactional} annotation, since the
+   * metadata of each entity type and each chunk of data are committed separately.
+   */
+  @Override
+  public PersistResult persist(
+      DataProvider dataProvider,
+      MetadataMode metadataMode,
+      DataMode dataMode,
+      ImportCheckpoints importCheckpoints) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      throw new IllegalStateException("Checkpointed persist cannot run in a transaction");
+    }
+
+    List<EntityType> sortedEntityTypes =
+        getTopologicalSortedEntityTypes(dataProvider.getEntityTypes());
+
+    transactionTemplate.executeWithoutResult(
+        status -> preProcessEntityTypes(sortedEntityTypes, metadataMode));
+    PersistResult persistResult =
+        persistFirstPassCheckpointed(
+            dataProvider, metadataMode, dataMode, sortedEntityTypes, importCheckpoints);
+    persistSecondPassCheckpointed(dataProvider, sortedEntityTypes, metadataMode);
+
+    return persistResult;
+  }
+
+  /**
+   * Marks the current transaction as a bulk load. Tables that already exist are not affected, so
+   * existing entity types are persisted as before.
+   */
+  private static void startBulkLoad() {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.hasResource(BULK_LOAD_RESOURCE_NAME)) {
+      TransactionSynchronizationManager.bindResource(BULK_LOAD_RESOURCE_NAME, Boolean.TRUE);
+    }
+  }
+
   private void preProcessEntityTypes(List<EntityType> entityTypes, MetadataMode metadataMode) {
     switch (metadataMode) {
       case ADD:
@@ -80,25 +172,66 @@ public class DataPersisterImpl implements DataPersister {
       DataMode dataMode,
       List<EntityType> topologicalSortedEntityTypes) {
     ImmutableMap.Builder<String, Long> persistResultBuilder = ImmutableMap.builder();
-    topologicalSortedEntityTypes.forEach(
-        entityType -> {
-          EntityType persistedEntityType = persistEntityTypeFirstPass(entityType, metadataMode);
-          if (dataProvider.hasEntities(entityType)) {
-            if (entityType.isAbstract()) {
-              throw new MolgenisDataException(
-                  format(
-                      "Abstract entity type '%s' with id '%s' cannot contain entities",
-                      entityType.getLabel(), entityType.getId()));
+    Map<String, PrefetchingEntityIterator> prefetchedEntities =
+        prefetchEntities(dataProvider, topologicalSortedEntityTypes);
+    try {
+      topologicalSortedEntityTypes.forEach(
+          entityType -> {
+            EntityType persistedEntityType = persistEntityTypeFirstPass(entityType, metadataMode);
+            if (dataProvider.hasEntities(entityType)) {
+              if (entityType.isAbstract()) {
+                throw new MolgenisDataException(
+                    format(
+                        "Abstract entity type '%s' with id '%s' cannot contain entities",
+                        entityType.getLabel(), entityType.getId()));
+              }
+              PrefetchingEntityIterator prefetchedEntityIterator =
+                  prefetchedEntities.get(entityType.getId());
+              Stream<Entity> entities =
+                  prefetchedEntityIterator != null
+                      ? Streams.stream(prefetchedEntityIterator)
+                      : dataProvider.getEntities(entityType);
+              long nrPersistedEntities =
+                  persistEntitiesFirstPass(persistedEntityType, entities, dataMode);
+              persistResultBuilder.put(entityType.getId(), nrPersistedEntities);
             }
-            Stream<Entity> entities = dataProvider.getEntities(entityType);
-            long nrPersistedEntities =
-                persistEntitiesFirstPass(persistedEntityType, entities, dataMode);
-            persistResultBuilder.put(entityType.getId(), nrPersistedEntities);
-          }
-        });
+          });
+    } finally {
+      prefetchedEntities.values().forEach(PrefetchingEntityIterator::cancel);
+    }
     return PersistResult.create(persistResultBuilder.build());
   }
 
+  /**
+   * Starts reading the data of the entity types in topological order, so that the worker reading
+   * the data of the first entity type to persist is never waiting for a free thread.
+   *
+   * @return prefetching entity iterators by entity type id, empty if the import is not parallel
+   */
+  private Map<String, PrefetchingEntityIterator> prefetchEntities(
+      DataProvider dataProvider, List<EntityType> topologicalSortedEntityTypes) {
+    if (executorService == null || !dataProvider.isConcurrentReadSupported()) {
+      return emptyMap();
+    }
+
+    Map<String, PrefetchingEntityIterator> prefetchedEntities = new LinkedHashMap<>();
+    try {
+      for (EntityType entityType : topologicalSortedEntityTypes) {
+        if (!entityType.isAbstract() && dataProvider.hasEntities(entityType)) {
+          Stream<Entity> entities = dataProvider.getEntities(entityType);
+          prefetchedEntities.put(
+              entityType.getId(),
+              PrefetchingEntityIterator.create(
+                  entities, executorService, PREFETCH_BATCH_SIZE, MAX_PREFETCHED_BATCHES));
+        }
+      }
+    } catch (RuntimeException e) {
+      prefetchedEntities.values().forEach(PrefetchingEntityIterator::cancel);
+      throw e;
+    }
+    return prefetchedEntities;
+  }
+
   private void persistSecondPass(
       DataProvider dataProvider,
       List<EntityType> topologicalSortedEntityTypes,
@@ -126,6 +259,162 @@ public class DataPersisterImpl implements DataPersister {
         });
   }
 
+  private PersistResult persistFirstPassCheckpointed(
+      DataProvider dataProvider,
+      MetadataMode metadataMode,
+      DataMode dataMode,
+      List<EntityType> topologicalSortedEntityTypes,
+      ImportCheckpoints importCheckpoints) {
+    ImmutableMap.Builder<String, Long> persistResultBuilder = ImmutableMap.builder();
+    topologicalSortedEntityTypes.forEach(
+        entityType -> {
+          String entityTypeId = entityType.getId();
+          Long nrCommittedEntities = importCheckpoints.getNrCommittedEntities(entityTypeId);
+          if (nrCommittedEntities == null) {
+            transactionTemplate.executeWithoutResult(
+                status -> {
+                  persistEntityTypeFirstPass(entityType, metadataMode);
+                  importCheckpoints.setNrCommittedEntities(entityTypeId, 0L, null);
+                });
+            nrCommittedEntities = 0L;
+          }
+
+          if (dataProvider.hasEntities(entityType)) {
+            if (entityType.isAbstract()) {
+              throw new MolgenisDataException(
+                  format(
+                      "Abstract entity type '%s' with id '%s' cannot contain entities",
+                      entityType.getLabel(), entityType.getId()));
+            }
+            Iterator<Entity> entities = dataProvider.getEntities(entityType).iterator();
+            EntitiesChecksum checksum = new EntitiesChecksum(entityType);
+            skipCommittedEntities(
+                entityType,
+                entities,
+                nrCommittedEntities,
+                importCheckpoints.getCommittedEntitiesChecksum(entityTypeId),
+                checksum);
+            long nrPersistedEntities =
+                hasSelfReferences(entityType)
+                    ? persistEntitiesFirstPassInOneChunk(
+                        entityType,
+                        entities,
+                        dataMode,
+                        importCheckpoints,
+                        nrCommittedEntities,
+                        checksum)
+                    : persistEntitiesFirstPassInChunks(
+                        entityType,
+                        entities,
+                        dataMode,
+                        importCheckpoints,
+                        nrCommittedEntities,
+                        checksum);
+            persistResultBuilder.put(entityTypeId, nrPersistedEntities);
+          }
+        });
+    return PersistResult.create(persistResultBuilder.build());
+  }
+
+  /**
+   * Skips the entities that were committed before resuming. Only the committed entities must be
+   * equal to the entities in the source of the failed import, the source may differ after them.
+   */
+  private static void skipCommittedEntities(
+      EntityType entityType,
+      Iterator<Entity> entities,
+      long nrCommittedEntities,
+      @Nullable @CheckForNull String committedEntitiesChecksum,
+      EntitiesChecksum checksum) {
+    for (long i = 0; i < nrCommittedEntities && entities.hasNext(); i++) {
+      checksum.add(entities.next());
+    }
+    if (!Objects.equals(committedEntitiesChecksum, checksum.getValue())) {
+      throw new MolgenisDataException(
+          format(
+              "Import cannot be resumed because the first %d rows of '%s' differ from the rows imported before",
+              nrCommittedEntities, entityType.getId()));
+    }
+  }
+
+  private long persistEntitiesFirstPassInChunks(
+      EntityType entityType,
+      Iterator<Entity> entities,
+      DataMode dataMode,
+      ImportCheckpoints importCheckpoints,
+      long nrCommittedEntities,
+      EntitiesChecksum checksum) {
+    Iterator<List<Entity>> chunks = Iterators.partition(entities, CHECKPOINT_SIZE);
+    long nrPersistedEntities = nrCommittedEntities;
+    while (chunks.hasNext()) {
+      List<Entity> chunk = chunks.next();
+      chunk.forEach(checksum::add);
+      long nrChunkPersistedEntities = nrPersistedEntities + chunk.size();
+      String chunkChecksum = checksum.getValue();
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            persistEntitiesFirstPass(entityType, chunk.stream(), dataMode);
+            importCheckpoints.setNrCommittedEntities(
+                entityType.getId(), nrChunkPersistedEntities, chunkChecksum);
+          });
+      nrPersistedEntities = nrChunkPersistedEntities;
+    }
+    return nrPersistedEntities;
+  }
+
+  /**
+   * Entities can reference entities of the same entity type that come later in the source. The
+   * foreign key constraints are checked on commit, so these entities are committed in one chunk.
+   */
+  private long persistEntitiesFirstPassInOneChunk(
+      EntityType entityType,
+      Iterator<Entity> entities,
+      DataMode dataMode,
+      ImportCheckpoints importCheckpoints,
+      long nrCommittedEntities,
+      EntitiesChecksum checksum) {
+    Long nrPersistedEntities =
+        transactionTemplate.execute(
+            status -> {
+              Stream<Entity> chunk = Streams.stream(entities).peek(checksum::add);
+              long nrChunkPersistedEntities =
+                  nrCommittedEntities + persistEntitiesFirstPass(entityType, chunk, dataMode);
+              importCheckpoints.setNrCommittedEntities(
+                  entityType.getId(), nrChunkPersistedEntities, checksum.getValue());
+              return nrChunkPersistedEntities;
+            });
+    return requireNonNull(nrPersistedEntities);
+  }
+
+  /**
+   * The second pass is not checkpointed: it only updates metadata and data that were committed in
+   * the first pass, so a resumed import can safely repeat it.
+   */
+  private void persistSecondPassCheckpointed(
+      DataProvider dataProvider,
+      List<EntityType> topologicalSortedEntityTypes,
+      MetadataMode metadataMode) {
+    topologicalSortedEntityTypes.forEach(
+        entityType -> {
+          if (!entityType.hasMappedByAttributes()) {
+            return;
+          }
+
+          if (metadataMode != MetadataMode.NONE) {
+            transactionTemplate.executeWithoutResult(
+                status -> persistEntityTypeSecondPass(entityType));
+          }
+
+          if (dataProvider.hasEntities(entityType)) {
+            Iterators.partition(dataProvider.getEntities(entityType).iterator(), CHECKPOINT_SIZE)
+                .forEachRemaining(
+                    chunk ->
+                        transactionTemplate.executeWithoutResult(
+                            status -> persistEntitiesSecondPass(entityType, chunk.stream())));
+          }
+        });
+  }
+
   private void preProcessUpdatedEntityTypes(List<EntityType> entityTypes) {
     Map<String, EntityType> entityTypeMap =
         entityTypes.stream().collect(toLinkedMap(EntityType::getId, identity()));
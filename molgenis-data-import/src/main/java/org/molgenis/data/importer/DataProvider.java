@@ -18,4 +18,11 @@ public interface DataProvider {
 
   /** Returns data for the given metadata. */
   Stream<Entity> getEntities(EntityType entityType);
+
+  /**
+   * Returns whether the data of different metadata can be read concurrently by different threads.
+   */
+  default boolean isConcurrentReadSupported() {
+    return false;
+  }
 }
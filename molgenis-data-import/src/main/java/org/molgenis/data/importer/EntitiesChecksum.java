@@ -0,0 +1,73 @@
+package org.molgenis.data.importer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+
+/**
+ * SHA-256 checksum of the values of a sequence of entities, chained entity by entity so that the
+ * checksum of every prefix of the sequence is available.
+ *
+ * <p>A checkpointed import records the checksum of the committed entities, a resumed import
+ * verifies that its source starts with the same entities. Values that are generated when the
+ * entity is created, like auto ids, differ between imports and are not part of the checksum.
+ */
+class EntitiesChecksum {
+  private static final byte NULL_VALUE = 0;
+  private static final byte VALUE = 1;
+
+  private final List<Attribute> attributes;
+  private HashCode checksum;
+
+  EntitiesChecksum(EntityType entityType) {
+    this.attributes =
+        requireNonNull(entityType).getAtomicAttributes().stream()
+            .filter(attr -> !attr.isAuto() && attr.getExpression() == null && !attr.isMappedBy())
+            .collect(toList());
+  }
+
+  void add(Entity entity) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    if (checksum != null) {
+      hasher.putBytes(checksum.asBytes());
+    }
+    for (Attribute attribute : attributes) {
+      putValue(hasher, entity.get(attribute.getName()));
+    }
+    checksum = hasher.hash();
+  }
+
+  /** Returns the checksum of the added entities or <code>null</code> if no entities were added */
+  @Nullable
+  @CheckForNull
+  String getValue() {
+    return checksum != null ? checksum.toString() : null;
+  }
+
+  private static void putValue(Hasher hasher, @Nullable @CheckForNull Object value) {
+    if (value == null) {
+      hasher.putByte(NULL_VALUE);
+    } else if (value instanceof Entity) {
+      putValue(hasher, ((Entity) value).getIdValue());
+    } else if (value instanceof Iterable) {
+      hasher.putByte(VALUE);
+      for (Object element : (Iterable<?>) value) {
+        putValue(hasher, element);
+      }
+      hasher.putByte(NULL_VALUE);
+    } else {
+      String stringValue = value.toString();
+      hasher.putByte(VALUE).putInt(stringValue.length()).putString(stringValue, UTF_8);
+    }
+  }
+}
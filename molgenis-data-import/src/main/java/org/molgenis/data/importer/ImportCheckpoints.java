@@ -0,0 +1,53 @@
+package org.molgenis.data.importer;
+
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+/**
+ * Progress of a checkpointed import. A checkpointed import commits the metadata and data of each
+ * entity type in chunks and records per entity type how many entities were committed, so that a
+ * failed import can be resumed from its last committed checkpoint. The checksum of the committed
+ * entities allows the source of the resumed import to differ after the committed entities, e.g.
+ * to correct the entity that caused the import to fail.
+ */
+public interface ImportCheckpoints {
+  /** Returns the ids of the entity types of which the metadata was committed. */
+  Set<String> getEntityTypeIds();
+
+  /**
+   * Returns the number of committed entities of an entity type.
+   *
+   * @param entityTypeId entity type id
+   * @return number of committed entities or <code>null</code> if the metadata of the entity type
+   *     was not committed
+   */
+  @Nullable
+  @CheckForNull
+  Long getNrCommittedEntities(String entityTypeId);
+
+  /**
+   * Returns the checksum of the committed entities of an entity type.
+   *
+   * @param entityTypeId entity type id
+   * @return checksum or <code>null</code> if no entities were committed
+   */
+  @Nullable
+  @CheckForNull
+  String getCommittedEntitiesChecksum(String entityTypeId);
+
+  /**
+   * Records the number of committed entities of an entity type. Must be called in the transaction
+   * that persists the entities, so that the checkpoint is committed or rolled back together with
+   * the entities.
+   *
+   * @param entityTypeId entity type id
+   * @param nrCommittedEntities number of committed entities
+   * @param committedEntitiesChecksum checksum of the committed entities, <code>null</code> if no
+   *     entities were committed
+   */
+  void setNrCommittedEntities(
+      String entityTypeId,
+      long nrCommittedEntities,
+      @Nullable @CheckForNull String committedEntitiesChecksum);
+}
@@ -26,6 +26,7 @@ public class ImportJob implements Runnable {
   private final HttpSession session;
   private final String packageId;
   private final long callingThreadId;
+  private final boolean checkpointed;
 
   /**
    * @param callingThreadId identifier of the thread that requested execution (might be the same as
@@ -42,6 +43,38 @@ public class ImportJob implements Runnable {
       HttpSession session,
       String packageId,
       long callingThreadId) {
+    this(
+        importService,
+        securityContext,
+        source,
+        metadataAction,
+        databaseAction,
+        importRunId,
+        importRunService,
+        session,
+        packageId,
+        callingThreadId,
+        false);
+  }
+
+  /**
+   * @param callingThreadId identifier of the thread that requested execution (might be the same as
+   *     the execution thread)
+   * @param checkpointed whether to commit the import in chunks and record the progress in the
+   *     import run, so that a failed import can be resumed, see {@link ImportCheckpoints}
+   */
+  public ImportJob(
+      ImportService importService,
+      SecurityContext securityContext,
+      RepositoryCollection source,
+      MetadataAction metadataAction,
+      DataAction databaseAction,
+      String importRunId,
+      ImportRunService importRunService,
+      HttpSession session,
+      String packageId,
+      long callingThreadId,
+      boolean checkpointed) {
     this.importService = importService;
     this.securityContext = securityContext;
     this.source = source;
@@ -52,6 +85,7 @@ public class ImportJob implements Runnable {
     this.session = session;
     this.packageId = packageId;
     this.callingThreadId = callingThreadId;
+    this.checkpointed = checkpointed;
   }
 
   @Override
@@ -62,8 +96,15 @@ public class ImportJob implements Runnable {
 
       SecurityContextHolder.setContext(securityContext);
 
-      EntityImportReport importReport =
-          importService.doImport(source, metadataAction, databaseAction, packageId);
+      EntityImportReport importReport;
+      if (checkpointed) {
+        ImportCheckpoints importCheckpoints = importRunService.getImportCheckpoints(importRunId);
+        importReport =
+            importService.doImport(
+                source, metadataAction, databaseAction, packageId, importCheckpoints);
+      } else {
+        importReport = importService.doImport(source, metadataAction, databaseAction, packageId);
+      }
 
       setSessionSecurityContext();
 
@@ -107,7 +148,8 @@ public class ImportJob implements Runnable {
         && Objects.equals(importRunId, importJob.importRunId)
         && Objects.equals(importRunService, importJob.importRunService)
         && Objects.equals(session, importJob.session)
-        && Objects.equals(packageId, importJob.packageId);
+        && Objects.equals(packageId, importJob.packageId)
+        && checkpointed == importJob.checkpointed;
   }
 
   @Override
@@ -121,6 +163,7 @@ public class ImportJob implements Runnable {
         importRunId,
         importRunService,
         session,
-        packageId);
+        packageId,
+        checkpointed);
   }
 }
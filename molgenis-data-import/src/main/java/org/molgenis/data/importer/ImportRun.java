@@ -1,5 +1,6 @@
 package org.molgenis.data.importer;
 
+import static org.molgenis.data.importer.ImportRunMetadata.CHECKPOINTS;
 import static org.molgenis.data.importer.ImportRunMetadata.ENDDATE;
 import static org.molgenis.data.importer.ImportRunMetadata.ID;
 import static org.molgenis.data.importer.ImportRunMetadata.IMPORTEDENTITIES;
@@ -127,6 +128,16 @@ public class ImportRun extends StaticEntity {
     set(NOTIFY, notify);
   }
 
+  @Nullable
+  @CheckForNull
+  public String getCheckpoints() {
+    return getString(CHECKPOINTS);
+  }
+
+  public void setCheckpoints(String checkpoints) {
+    set(CHECKPOINTS, checkpoints);
+  }
+
   /** Status is enum. This method returns all available enum options. */
   public List<ValueLabel> getStatusOptions() {
     return status_options;
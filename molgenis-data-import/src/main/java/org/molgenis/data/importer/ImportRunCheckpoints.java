@@ -0,0 +1,76 @@
+package org.molgenis.data.importer;
+
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.importer.ImportRunMetadata.IMPORT_RUN;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.DataService;
+
+/** {@link ImportCheckpoints} stored in the checkpoints attribute of an {@link ImportRun}. */
+class ImportRunCheckpoints implements ImportCheckpoints {
+  private static final Gson GSON = new Gson();
+  private static final Type CHECKPOINTS_TYPE =
+      new TypeToken<LinkedHashMap<String, Checkpoint>>() {}.getType();
+
+  private final ImportRun importRun;
+  private final DataService dataService;
+  private final Map<String, Checkpoint> checkpoints;
+
+  ImportRunCheckpoints(ImportRun importRun, DataService dataService) {
+    this.importRun = requireNonNull(importRun);
+    this.dataService = requireNonNull(dataService);
+    this.checkpoints = parseCheckpoints(importRun.getCheckpoints());
+  }
+
+  @Override
+  public Set<String> getEntityTypeIds() {
+    return unmodifiableSet(checkpoints.keySet());
+  }
+
+  @Override
+  public Long getNrCommittedEntities(String entityTypeId) {
+    Checkpoint checkpoint = checkpoints.get(entityTypeId);
+    return checkpoint != null ? checkpoint.nrCommittedEntities : null;
+  }
+
+  @Override
+  public String getCommittedEntitiesChecksum(String entityTypeId) {
+    Checkpoint checkpoint = checkpoints.get(entityTypeId);
+    return checkpoint != null ? checkpoint.committedEntitiesChecksum : null;
+  }
+
+  @Override
+  public void setNrCommittedEntities(
+      String entityTypeId,
+      long nrCommittedEntities,
+      @Nullable @CheckForNull String committedEntitiesChecksum) {
+    checkpoints.put(entityTypeId, new Checkpoint(nrCommittedEntities, committedEntitiesChecksum));
+    importRun.setCheckpoints(GSON.toJson(checkpoints, CHECKPOINTS_TYPE));
+    dataService.update(IMPORT_RUN, importRun);
+  }
+
+  private static Map<String, Checkpoint> parseCheckpoints(String checkpoints) {
+    if (checkpoints == null) {
+      return new LinkedHashMap<>();
+    }
+    return GSON.fromJson(checkpoints, CHECKPOINTS_TYPE);
+  }
+
+  private static class Checkpoint {
+    private final long nrCommittedEntities;
+    private final String committedEntitiesChecksum;
+
+    Checkpoint(long nrCommittedEntities, @Nullable String committedEntitiesChecksum) {
+      this.nrCommittedEntities = nrCommittedEntities;
+      this.committedEntitiesChecksum = committedEntitiesChecksum;
+    }
+  }
+}
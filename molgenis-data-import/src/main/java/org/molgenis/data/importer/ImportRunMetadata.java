@@ -28,6 +28,7 @@ public class ImportRunMetadata extends SystemEntityType {
   public static final String PROGRESS = "progress";
   public static final String IMPORTEDENTITIES = "importedEntities";
   public static final String NOTIFY = "notify";
+  public static final String CHECKPOINTS = "checkpoints";
 
   ImportRunMetadata() {
     super(SIMPLE_NAME, PACKAGE_SYSTEM);
@@ -56,6 +57,12 @@ public class ImportRunMetadata extends SystemEntityType {
         .setDataType(BOOL)
         .setNillable(true)
         .setDescription("Boolean to indicate whether or not to send an email on job completion");
+    addAttribute(CHECKPOINTS)
+        .setDataType(TEXT)
+        .setNillable(true)
+        .setVisible(false)
+        .setDescription(
+            "Number and checksum of the committed entities per entity type of a checkpointed import, used to resume a failed import");
 
     setRowLevelSecured(true);
   }
@@ -1,6 +1,7 @@
 package org.molgenis.data.importer;
 
 import static java.lang.Math.toIntExact;
+import static java.lang.String.format;
 import static java.time.Instant.now;
 import static java.time.format.DateTimeFormatter.ofLocalizedDateTime;
 import static java.time.format.DateTimeFormatter.ofLocalizedTime;
@@ -10,6 +11,7 @@ import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.importer.ImportRunMetadata.IMPORT_RUN;
 import static org.molgenis.data.meta.AttributeType.TEXT;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -28,6 +30,8 @@ import org.springframework.mail.MailException;
 import org.springframework.mail.MailSender;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 public class ImportRunService {
@@ -38,18 +42,22 @@ public class ImportRunService {
   private final UserService userService;
   private final ContextMessageSource contextMessageSource;
   private final ImportRunFactory importRunFactory;
+  private final TransactionTemplate transactionTemplate;
 
   ImportRunService(
       DataService dataService,
       MailSender mailSender,
       UserService userService,
       ContextMessageSource contextMessageSource,
-      ImportRunFactory importRunFactory) {
+      ImportRunFactory importRunFactory,
+      PlatformTransactionManager transactionManager) {
     this.dataService = requireNonNull(dataService);
     this.mailSender = requireNonNull(mailSender);
     this.userService = requireNonNull(userService);
     this.contextMessageSource = requireNonNull(contextMessageSource);
     this.importRunFactory = requireNonNull(importRunFactory);
+    this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
+    this.transactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
   }
 
   public ImportRun addImportRun(String userName, boolean notify) {
@@ -64,6 +72,57 @@ public class ImportRunService {
     return importRun;
   }
 
+  /**
+   * Restarts a failed import run. A checkpointed import resumes from the last checkpoint committed
+   * by the failed import, after verifying that the source starts with the committed data.
+   *
+   * <p>The status of the import run is checked and updated in a transaction that is committed
+   * before another import run can be resumed, so that concurrent requests cannot resume the same
+   * import run twice.
+   *
+   * @param importRunId import run id
+   * @param userName name of the user that resumes the import run
+   * @return the restarted import run
+   * @throws UnknownEntityException if the import run does not exist
+   * @throws MolgenisDataException if the import run did not fail or was started by another user
+   */
+  public synchronized ImportRun resumeImportRun(String importRunId, String userName) {
+    ImportRun resumedImportRun =
+        transactionTemplate.execute(
+            status -> {
+              ImportRun importRun =
+                  dataService.findOneById(IMPORT_RUN, importRunId, ImportRun.class);
+              if (importRun == null) {
+                throw new UnknownEntityException(IMPORT_RUN, importRunId);
+              }
+              if (!userName.equals(importRun.getUsername())) {
+                throw new MolgenisDataException(
+                    format(
+                        "Import run '%s' cannot be resumed because it was started by another user",
+                        importRunId));
+              }
+              if (!ImportStatus.FAILED.toString().equals(importRun.getStatus())) {
+                throw new MolgenisDataException(
+                    format(
+                        "Import run '%s' cannot be resumed because it did not fail", importRunId));
+              }
+              importRun.setStatus(ImportStatus.RUNNING.toString());
+              importRun.setEndDate(null);
+              importRun.setMessage(null);
+              dataService.update(IMPORT_RUN, importRun);
+              return importRun;
+            });
+    return requireNonNull(resumedImportRun);
+  }
+
+  ImportCheckpoints getImportCheckpoints(String importRunId) {
+    ImportRun importRun = dataService.findOneById(IMPORT_RUN, importRunId, ImportRun.class);
+    if (importRun == null) {
+      throw new UnknownEntityException(IMPORT_RUN, importRunId);
+    }
+    return new ImportRunCheckpoints(importRun, dataService);
+  }
+
   void finishImportRun(String importRunId, String message, String importedEntities) {
     ImportRun importRun = dataService.findOneById(IMPORT_RUN, importRunId, ImportRun.class);
     if (importRun == null) {
@@ -23,6 +23,25 @@ public interface ImportService extends Ordered {
       DataAction dataAction,
       @Nullable @CheckForNull String packageId);
 
+  /**
+   * Imports in chunks that are committed separately and records the progress in the given
+   * checkpoints. Resumes from the last committed checkpoint if the checkpoints contain the progress
+   * of a failed import of the same source. Import services that do not support checkpointed
+   * imports import in a single transaction.
+   */
+  @Timed(
+      value = "service.import",
+      description = "Timing information for the import service.",
+      histogram = true)
+  default EntityImportReport doImport(
+      RepositoryCollection source,
+      MetadataAction metadataAction,
+      DataAction dataAction,
+      @Nullable @CheckForNull String packageId,
+      ImportCheckpoints importCheckpoints) {
+    return doImport(source, metadataAction, dataAction, packageId);
+  }
+
   EntitiesValidationReport validateImport(RepositoryCollection source);
 
   boolean canImport(File file, RepositoryCollection source);
@@ -0,0 +1,119 @@
+package org.molgenis.data.importer;
+
+import static java.util.Collections.emptyIterator;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.molgenis.data.Entity;
+import org.molgenis.data.MolgenisDataException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+/**
+ * Iterates over entities that are read from their source and converted by a worker thread. The
+ * worker reads ahead of the consumer in batches and blocks when the maximum number of pending
+ * batches is reached, which bounds the memory used per iterator.
+ */
+class PrefetchingEntityIterator extends AbstractIterator<Entity> {
+  private static final List<Entity> END_OF_DATA = new ArrayList<>(0);
+
+  private final BlockingQueue<List<Entity>> batches;
+  private volatile RuntimeException failure;
+  private Future<?> future;
+  private Iterator<Entity> batch = emptyIterator();
+
+  private PrefetchingEntityIterator(int maxPendingBatches) {
+    this.batches = new ArrayBlockingQueue<>(maxPendingBatches + 1);
+  }
+
+  /**
+   * @param entities entities to read ahead
+   * @param executorService executor that runs the worker
+   * @param batchSize number of entities per batch
+   * @param maxPendingBatches maximum number of batches read ahead of the consumer
+   */
+  static PrefetchingEntityIterator create(
+      Stream<Entity> entities,
+      ExecutorService executorService,
+      int batchSize,
+      int maxPendingBatches) {
+    PrefetchingEntityIterator iterator = new PrefetchingEntityIterator(maxPendingBatches);
+    iterator.future =
+        executorService.submit(
+            new DelegatingSecurityContextRunnable(() -> iterator.read(entities, batchSize)));
+    return iterator;
+  }
+
+  /** Stops the worker, e.g. because the consumer failed before reading all entities */
+  void cancel() {
+    future.cancel(true);
+  }
+
+  @Override
+  protected Entity computeNext() {
+    while (!batch.hasNext()) {
+      List<Entity> nextBatch = takeBatch();
+      if (nextBatch == END_OF_DATA) {
+        if (failure != null) {
+          throw failure;
+        }
+        return endOfData();
+      }
+      batch = nextBatch.iterator();
+    }
+    return batch.next();
+  }
+
+  private List<Entity> takeBatch() {
+    try {
+      return batches.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MolgenisDataException(e);
+    }
+  }
+
+  private void read(Stream<Entity> entities, int batchSize) {
+    try (Stream<Entity> entityStream = entities) {
+      Iterator<List<Entity>> entityBatches =
+          Iterators.partition(entityStream.iterator(), batchSize);
+      while (entityBatches.hasNext()) {
+        batches.put(entityBatches.next());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure = new MolgenisDataException(e);
+    } catch (RuntimeException e) {
+      failure = e;
+    } finally {
+      putEndOfData();
+    }
+  }
+
+  /**
+   * Queues the end marker, also if the worker failed or was interrupted, so that the consumer never
+   * waits for batches that are not going to be read. After a failure the pending batches are
+   * discarded to make room for the marker, since the consumer fails when it takes the marker.
+   */
+  private void putEndOfData() {
+    if (failure == null) {
+      try {
+        batches.put(END_OF_DATA);
+        return;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failure = new MolgenisDataException(e);
+      }
+    }
+    while (!batches.offer(END_OF_DATA)) {
+      batches.poll();
+    }
+  }
+}
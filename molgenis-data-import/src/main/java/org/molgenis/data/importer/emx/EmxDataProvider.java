@@ -8,14 +8,17 @@ import static org.molgenis.data.meta.model.Package.PACKAGE_SEPARATOR;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
-import org.molgenis.data.DataConverter;
 import org.molgenis.data.Entity;
 import org.molgenis.data.EntityManager;
+import org.molgenis.data.EntityTypeConverter;
 import org.molgenis.data.Repository;
 import org.molgenis.data.UnknownRepositoryException;
+import org.molgenis.data.excel.ExcelRepositoryCollection;
 import org.molgenis.data.importer.DataProvider;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.IllegalAttributeTypeException;
@@ -26,10 +29,12 @@ import org.molgenis.util.UnexpectedEnumException;
 class EmxDataProvider implements DataProvider {
   private final EmxImportJob job;
   private final EntityManager entityManager;
+  private final Map<String, EntityTypeConverter> entityTypeConverters;
 
   EmxDataProvider(EmxImportJob job, EntityManager entityManager) {
     this.job = requireNonNull(job);
     this.entityManager = requireNonNull(entityManager);
+    this.entityTypeConverters = new ConcurrentHashMap<>();
   }
 
   @Override
@@ -55,6 +60,20 @@ class EmxDataProvider implements DataProvider {
 
   @Override
   public Stream<Entity> getEntities(EntityType entityType) {
+    return stream(getRepository(entityType))
+        .map(sourceEntity -> toEntity(entityType, sourceEntity));
+  }
+
+  /**
+   * The sheets of an Excel source share one workbook that is not thread-safe, the files of a CSV or
+   * zip source are read independently.
+   */
+  @Override
+  public boolean isConcurrentReadSupported() {
+    return !(job.getSource() instanceof ExcelRepositoryCollection);
+  }
+
+  private Repository<Entity> getRepository(EntityType entityType) {
     Repository<Entity> repository = job.getSource().getRepository(entityType);
     if (repository == null) {
       Optional<String> packageId = job.getPackageId();
@@ -71,7 +90,7 @@ class EmxDataProvider implements DataProvider {
     if (repository == null) {
       throw new UnknownRepositoryException(entityType.getId());
     }
-    return stream(repository).map(sourceEntity -> toEntity(entityType, sourceEntity));
+    return repository;
   }
 
   /**
@@ -83,7 +102,9 @@ class EmxDataProvider implements DataProvider {
    */
   private Entity toEntity(EntityType entityType, Entity emxEntity) {
     Entity entity = entityManager.create(entityType, POPULATE);
-    for (Attribute attr : entityType.getAtomicAttributes()) {
+    EntityTypeConverter entityTypeConverter = getEntityTypeConverter(entityType);
+    for (int i = 0; i < entityTypeConverter.getNrAttributes(); i++) {
+      Attribute attr = entityTypeConverter.getAttribute(i);
       if (attr.getExpression() == null && !attr.isMappedBy()) {
         String attrName = attr.getName();
         Object emxValue = emxEntity.get(attrName);
@@ -103,7 +124,7 @@ class EmxDataProvider implements DataProvider {
           case SCRIPT:
           case STRING:
           case TEXT:
-            Object value = emxValue != null ? DataConverter.convert(emxValue, attr) : null;
+            Object value = entityTypeConverter.convert(i, emxValue);
             if ((!attr.isAuto() || value != null) && (!attr.hasDefaultValue() || value != null)) {
               entity.set(attrName, value);
             }
@@ -111,7 +132,7 @@ class EmxDataProvider implements DataProvider {
           case CATEGORICAL:
           case FILE:
           case XREF:
-            // DataConverter.convert performs no conversion for reference types
+            // no conversion is performed for reference types
             Entity refEntity = toRefEntity(attr, emxValue);
 
             // do not set generated auto refEntities to null
@@ -122,7 +143,7 @@ class EmxDataProvider implements DataProvider {
             break;
           case CATEGORICAL_MREF:
           case MREF:
-            // DataConverter.convert performs no conversion for reference types
+            // no conversion is performed for reference types
             List<Entity> refEntities = toRefEntities(attr, emxValue);
 
             // do not set generated auto refEntities to null
@@ -151,7 +172,7 @@ class EmxDataProvider implements DataProvider {
             entityValue = toEntity(attr.getRefEntity(), (Entity) emxValueItem);
           } else {
             EntityType xrefEntity = attr.getRefEntity();
-            Object entityId = DataConverter.convert(emxValueItem, xrefEntity.getIdAttribute());
+            Object entityId = toEntityId(xrefEntity, emxValueItem);
             entityValue = entityManager.getReference(xrefEntity, entityId);
           }
           mrefEntities.add(entityValue);
@@ -159,12 +180,11 @@ class EmxDataProvider implements DataProvider {
         refEntities = mrefEntities;
       } else {
         EntityType mrefEntity = attr.getRefEntity();
-        Attribute refIdAttr = mrefEntity.getIdAttribute();
 
         String[] tokens = StringUtils.split(emxValue.toString(), ',');
         List<Entity> mrefEntities = new ArrayList<>();
         for (String token : tokens) {
-          Object entityId = DataConverter.convert(token.trim(), refIdAttr);
+          Object entityId = toEntityId(mrefEntity, token.trim());
           mrefEntities.add(entityManager.getReference(mrefEntity, entityId));
         }
         refEntities = mrefEntities;
@@ -182,7 +202,7 @@ class EmxDataProvider implements DataProvider {
         refEntity = toEntity(attr.getRefEntity(), (Entity) emxValue);
       } else {
         EntityType xrefEntity = attr.getRefEntity();
-        Object entityId = DataConverter.convert(emxValue, xrefEntity.getIdAttribute());
+        Object entityId = toEntityId(xrefEntity, emxValue);
         refEntity = entityManager.getReference(xrefEntity, entityId);
       }
     } else {
@@ -190,4 +210,14 @@ class EmxDataProvider implements DataProvider {
     }
     return refEntity;
   }
+
+  private Object toEntityId(EntityType entityType, Object emxValue) {
+    return getEntityTypeConverter(entityType).convert(entityType.getIdAttribute(), emxValue);
+  }
+
+  /** Returns the converter of an entity type, which is created once per import */
+  private EntityTypeConverter getEntityTypeConverter(EntityType entityType) {
+    return entityTypeConverters.computeIfAbsent(
+        entityType.getId(), id -> new EntityTypeConverter(entityType));
+  }
 }
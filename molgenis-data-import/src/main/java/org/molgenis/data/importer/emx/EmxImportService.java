@@ -21,6 +21,7 @@ import org.molgenis.data.DataService;
 import org.molgenis.data.RepositoryCollection;
 import org.molgenis.data.importer.EntitiesValidationReport;
 import org.molgenis.data.importer.EntityImportReport;
+import org.molgenis.data.importer.ImportCheckpoints;
 import org.molgenis.data.importer.ImportService;
 import org.molgenis.data.importer.MetadataAction;
 import org.molgenis.data.importer.MetadataParser;
@@ -83,6 +84,25 @@ public class EmxImportService implements ImportService {
         new EmxImportJob(metadataAction, dataAction, source, parsedMetaData, packageId));
   }
 
+  @Override
+  public EntityImportReport doImport(
+      RepositoryCollection source,
+      MetadataAction metadataAction,
+      DataAction dataAction,
+      @Nullable @CheckForNull String packageId,
+      ImportCheckpoints importCheckpoints) {
+    ParsedMetaData parsedMetaData = parser.parse(source, packageId);
+
+    EmxImportJob job =
+        new EmxImportJob(metadataAction, dataAction, source, parsedMetaData, packageId);
+    try {
+      return writer.doImport(job, importCheckpoints);
+    } catch (Exception e) {
+      LOG.error("Error handling checkpointed EmxImportJob", e);
+      throw e;
+    }
+  }
+
   /**
    * Does the import in a transaction. Manually rolls back schema changes if something goes wrong.
    * Refreshes the metadata.
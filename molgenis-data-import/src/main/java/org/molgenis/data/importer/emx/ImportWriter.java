@@ -1,6 +1,7 @@
 package org.molgenis.data.importer.emx;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptySet;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.toList;
@@ -12,13 +13,16 @@ import com.google.common.collect.ImmutableList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import org.molgenis.data.DataAction;
 import org.molgenis.data.EntityManager;
 import org.molgenis.data.RepositoryCollection;
 import org.molgenis.data.importer.DataPersister;
 import org.molgenis.data.importer.DataPersister.DataMode;
 import org.molgenis.data.importer.DataPersister.MetadataMode;
+import org.molgenis.data.importer.DataProvider;
 import org.molgenis.data.importer.EntityImportReport;
+import org.molgenis.data.importer.ImportCheckpoints;
 import org.molgenis.data.importer.MetadataAction;
 import org.molgenis.data.importer.ParsedMetaData;
 import org.molgenis.data.importer.PersistResult;
@@ -32,7 +36,9 @@ import org.molgenis.data.validation.MolgenisValidationException;
 import org.molgenis.security.core.UserPermissionEvaluator;
 import org.molgenis.util.UnexpectedEnumException;
 import org.molgenis.validation.ConstraintViolation;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /** Writes the imported metadata and data to target {@link RepositoryCollection}. */
 public class ImportWriter {
@@ -41,18 +47,21 @@ public class ImportWriter {
   private final UserPermissionEvaluator permissionService;
   private final EntityManager entityManager;
   private final DataPersister dataPersister;
+  private final TransactionTemplate transactionTemplate;
 
   ImportWriter(
       MetaDataService metaDataService,
       PermissionSystemService permissionSystemService,
       UserPermissionEvaluator permissionService,
       EntityManager entityManager,
-      DataPersister dataPersister) {
+      DataPersister dataPersister,
+      PlatformTransactionManager transactionManager) {
     this.metaDataService = requireNonNull(metaDataService);
     this.permissionSystemService = requireNonNull(permissionSystemService);
     this.permissionService = requireNonNull(permissionService);
     this.entityManager = requireNonNull(entityManager);
     this.dataPersister = requireNonNull(dataPersister);
+    this.transactionTemplate = new TransactionTemplate(requireNonNull(transactionManager));
   }
 
   @Transactional
@@ -86,6 +95,47 @@ public class ImportWriter {
     return job.report;
   }
 
+  /**
+   * Does the import in chunks that are committed separately, see {@link
+   * DataPersister#persist(DataProvider, MetadataMode, DataMode, ImportCheckpoints)}. Entity types
+   * of which the metadata was committed by a previous attempt are reported as new entity types.
+   */
+  public EntityImportReport doImport(EmxImportJob job, ImportCheckpoints importCheckpoints) {
+    if (job.getMetadataAction() != MetadataAction.IGNORE) {
+      importTags(job.parsedMetaData);
+      importPackages(job.parsedMetaData);
+    }
+
+    GroupedEntityTypes groupedEntityTypes =
+        groupEntityTypes(
+            job.getParsedMetaData().getEntities(), importCheckpoints.getEntityTypeIds());
+
+    validateEntityTypePermissions(groupedEntityTypes.getUpdatedEntityTypes());
+
+    PersistResult persistResult =
+        dataPersister.persist(
+            new EmxDataProvider(job, entityManager),
+            toMetadataMode(job.getMetadataAction()),
+            toDataMode(job.getDataAction()),
+            importCheckpoints);
+    if (job.getMetadataAction() != MetadataAction.IGNORE) {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              permissionSystemService.giveUserWriteMetaPermissions(
+                  groupedEntityTypes.getNewEntityTypes()));
+    }
+
+    persistResult
+        .getNrPersistedEntitiesMap()
+        .forEach(
+            (key, value) ->
+                job.getEntityImportReport().addEntityCount(key, Math.toIntExact(value)));
+    groupedEntityTypes.getNewEntityTypes().stream()
+        .map(EntityType::getId)
+        .forEach(job.getEntityImportReport()::addNewEntity);
+    return job.report;
+  }
+
   private void importTags(ParsedMetaData parsedMetaData) {
     ImmutableCollection<Tag> tags = parsedMetaData.getTags().values();
     metaDataService.upsertTags(tags);
@@ -152,13 +202,21 @@ public class ImportWriter {
   }
 
   private GroupedEntityTypes groupEntityTypes(ImmutableCollection<EntityType> entities) {
+    return groupEntityTypes(entities, emptySet());
+  }
+
+  /** @param committedEntityTypeIds ids of new entity types committed by a previous attempt */
+  private GroupedEntityTypes groupEntityTypes(
+      ImmutableCollection<EntityType> entities, Set<String> committedEntityTypeIds) {
     return runAsSystem(
         () -> {
           Map<String, EntityType> existingEntityTypeMap = new HashMap<>();
           for (EntityType entityType : entities) {
-            metaDataService
-                .getEntityType(entityType.getId())
-                .ifPresent(existing -> existingEntityTypeMap.put(entityType.getId(), entityType));
+            if (!committedEntityTypeIds.contains(entityType.getId())) {
+              metaDataService
+                  .getEntityType(entityType.getId())
+                  .ifPresent(existing -> existingEntityTypeMap.put(entityType.getId(), entityType));
+            }
           }
 
           ImmutableCollection<EntityType> newEntityTypes =
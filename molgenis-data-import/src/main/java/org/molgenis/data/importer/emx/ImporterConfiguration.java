@@ -22,6 +22,7 @@ import org.molgenis.data.validation.meta.TagValidator;
 import org.molgenis.security.core.UserPermissionEvaluator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 public class ImporterConfiguration {
@@ -41,6 +42,7 @@ public class ImporterConfiguration {
   private final TagValidator tagValidator;
   private final EntityTypeDependencyResolver entityTypeDependencyResolver;
   private final DataPersister dataPersister;
+  private final PlatformTransactionManager transactionManager;
 
   public ImporterConfiguration(
       PackageFactory packageFactory,
@@ -58,7 +60,8 @@ public class ImporterConfiguration {
       TagFactory tagFactory,
       LanguageFactory languageFactory,
       L10nStringFactory l10nStringFactory,
-      EntityManager entityManager) {
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager) {
     this.packageFactory = requireNonNull(packageFactory);
     this.dataService = requireNonNull(dataService);
     this.metaDataService = requireNonNull(metaDataService);
@@ -75,6 +78,7 @@ public class ImporterConfiguration {
     this.languageFactory = requireNonNull(languageFactory);
     this.l10nStringFactory = requireNonNull(l10nStringFactory);
     this.entityManager = requireNonNull(entityManager);
+    this.transactionManager = requireNonNull(transactionManager);
   }
 
   @Bean
@@ -85,7 +89,12 @@ public class ImporterConfiguration {
   @Bean
   public ImportWriter importWriter() {
     return new ImportWriter(
-        metaDataService, permissionSystemService, permissionService, entityManager, dataPersister);
+        metaDataService,
+        permissionSystemService,
+        permissionService,
+        entityManager,
+        dataPersister,
+        transactionManager);
   }
 
   @Bean
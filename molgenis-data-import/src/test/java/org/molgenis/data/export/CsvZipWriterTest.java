@@ -0,0 +1,60 @@
+package org.molgenis.data.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.Test;
+
+class CsvZipWriterTest {
+  @Test
+  void testWriteRows() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (CsvZipWriter writer = new CsvZipWriter(outputStream)) {
+      writer.createSheet("entities", asList("name", "label"));
+      writer.writeRows(singletonList(asList("entity0", "label \"0\"")));
+      writer.writeRows(singletonList(asList("entity1", null)));
+      writer.writeRows(singletonList(asList("entity2", "C:\\label2")));
+      writer.createSheet("pack_entity0", singletonList("id"));
+      writer.writeRows(asList(singletonList(1), singletonList(2)));
+    }
+
+    Map<String, String> expectedEntries = new LinkedHashMap<>();
+    expectedEntries.put(
+        "entities.csv",
+        "\"name\",\"label\"\n"
+            + "\"entity0\",\"label \\\"0\\\"\"\n"
+            + "\"entity1\",\n"
+            + "\"entity2\",\"C:\\\\label2\"\n");
+    expectedEntries.put("pack_entity0.csv", "\"id\"\n\"1\"\n\"2\"\n");
+    assertEquals(expectedEntries, readEntries(outputStream.toByteArray()));
+  }
+
+  @Test
+  void testWriteRowsWithoutSheet() {
+    CsvZipWriter writer = new CsvZipWriter(new ByteArrayOutputStream());
+    assertThrows(
+        IllegalStateException.class, () -> writer.writeRows(singletonList(singletonList(1))));
+  }
+
+  private static Map<String, String> readEntries(byte[] zip) throws IOException {
+    Map<String, String> entries = new LinkedHashMap<>();
+    try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+      for (ZipEntry entry = zipInputStream.getNextEntry();
+          entry != null;
+          entry = zipInputStream.getNextEntry()) {
+        entries.put(entry.getName(), new String(zipInputStream.readAllBytes(), UTF_8));
+      }
+    }
+    return entries;
+  }
+}
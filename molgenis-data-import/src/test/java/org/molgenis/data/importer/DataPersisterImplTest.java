@@ -2,6 +2,8 @@ package org.molgenis.data.importer;
 
 import static com.google.common.collect.ImmutableMap.of;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -9,18 +11,22 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.importer.PersistResult.create;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
 
 import com.google.common.collect.Sets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,15 +44,18 @@ import org.molgenis.data.importer.DataPersister.MetadataMode;
 import org.molgenis.data.meta.EntityTypeDependencyResolver;
 import org.molgenis.data.meta.EntityTypeWithoutMappedByAttributes;
 import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.EntityTypeMetadata;
 import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
 class DataPersisterImplTest extends AbstractMockitoTest {
   @Mock private MetaDataService metaDataService;
   private DataService dataService;
   @Mock private EntityTypeDependencyResolver entityTypeDependencyResolver;
+  @Mock private PlatformTransactionManager transactionManager;
 
   private DataPersisterImpl dataPersisterImpl;
 
@@ -60,7 +69,8 @@ class DataPersisterImplTest extends AbstractMockitoTest {
   void setUpBeforeMethod() {
     dataService = mock(DataService.class);
     dataPersisterImpl =
-        new DataPersisterImpl(metaDataService, dataService, entityTypeDependencyResolver);
+        new DataPersisterImpl(
+            metaDataService, dataService, entityTypeDependencyResolver, transactionManager, 1);
 
     String entityTypeId0 = "entityTypeId0";
     entityType0 = mock(EntityType.class);
@@ -119,7 +129,52 @@ class DataPersisterImplTest extends AbstractMockitoTest {
 
   @Test
   void testGenericDataPersisterImpl() {
-    assertThrows(NullPointerException.class, () -> new DataPersisterImpl(null, null, null));
+    assertThrows(
+        NullPointerException.class, () -> new DataPersisterImpl(null, null, null, null, 1));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testPersistMetaNoneDataAddParallel() {
+    DataPersisterImpl parallelDataPersisterImpl =
+        new DataPersisterImpl(
+            metaDataService, dataService, entityTypeDependencyResolver, transactionManager, 2);
+    when(dataProvider.isConcurrentReadSupported()).thenReturn(true);
+    try {
+      PersistResult persistResult =
+          parallelDataPersisterImpl.persist(dataProvider, MetadataMode.NONE, DataMode.ADD);
+      assertEquals(create(of(entityType0.getId(), 2L, entityType1.getId(), 3L)), persistResult);
+
+      InOrder inOrder = inOrder(metaDataService, dataService);
+      inOrder.verify(dataService).add(eq(entityType1.getId()), any(Stream.class));
+      inOrder.verify(dataService).add(eq(entityType0.getId()), any(Stream.class));
+
+      verifyNoMoreInteractions(metaDataService, dataService);
+    } finally {
+      parallelDataPersisterImpl.preDestroy();
+    }
+  }
+
+  @Test
+  void testPersistMetaNoneDataAddParallelConcurrentReadNotSupported() {
+    DataPersisterImpl parallelDataPersisterImpl =
+        new DataPersisterImpl(
+            metaDataService, dataService, entityTypeDependencyResolver, transactionManager, 2);
+    Set<Thread> readThreads = ConcurrentHashMap.newKeySet();
+    Stream<Entity> entities0 =
+        Stream.of(mock(Entity.class)).peek(entity -> readThreads.add(Thread.currentThread()));
+    when(dataProvider.getEntities(entityType0)).thenReturn(entities0);
+    Stream<Entity> entities1 =
+        Stream.of(mock(Entity.class)).peek(entity -> readThreads.add(Thread.currentThread()));
+    when(dataProvider.getEntities(entityType1)).thenReturn(entities1);
+    try {
+      PersistResult persistResult =
+          parallelDataPersisterImpl.persist(dataProvider, MetadataMode.NONE, DataMode.ADD);
+      assertEquals(create(of(entityType0.getId(), 1L, entityType1.getId(), 1L)), persistResult);
+      assertEquals(singleton(Thread.currentThread()), readThreads);
+    } finally {
+      parallelDataPersisterImpl.preDestroy();
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -329,4 +384,114 @@ class DataPersisterImplTest extends AbstractMockitoTest {
     // verifyNoMoreInteractions on dataService not possible due to data service reads
     verifyNoMoreInteractions(metaDataService);
   }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testPersistCheckpointedMetaAddDataAdd() {
+    when(dataProvider.getEntities(entityType0))
+        .thenReturn(Stream.of(mock(Entity.class), mock(Entity.class)));
+    when(dataProvider.getEntities(entityType1))
+        .thenReturn(Stream.of(mock(Entity.class), mock(Entity.class), mock(Entity.class)));
+    ImportCheckpoints importCheckpoints = mock(ImportCheckpoints.class);
+
+    PersistResult persistResult =
+        dataPersisterImpl.persist(dataProvider, MetadataMode.ADD, DataMode.ADD, importCheckpoints);
+    assertEquals(create(of(entityType0.getId(), 2L, entityType1.getId(), 3L)), persistResult);
+
+    InOrder inOrder = inOrder(metaDataService, dataService, importCheckpoints);
+    inOrder.verify(metaDataService).addEntityType(entityType2);
+    inOrder.verify(importCheckpoints).setNrCommittedEntities(entityType2.getId(), 0L, null);
+    inOrder.verify(metaDataService).addEntityType(entityType1);
+    inOrder.verify(importCheckpoints).setNrCommittedEntities(entityType1.getId(), 0L, null);
+    inOrder.verify(dataService).add(eq(entityType1.getId()), any(Stream.class));
+    inOrder
+        .verify(importCheckpoints)
+        .setNrCommittedEntities(eq(entityType1.getId()), eq(3L), anyString());
+    inOrder.verify(metaDataService).addEntityType(entityType0);
+    inOrder.verify(importCheckpoints).setNrCommittedEntities(entityType0.getId(), 0L, null);
+    inOrder.verify(dataService).add(eq(entityType0.getId()), any(Stream.class));
+    inOrder
+        .verify(importCheckpoints)
+        .setNrCommittedEntities(eq(entityType0.getId()), eq(2L), anyString());
+
+    verifyNoMoreInteractions(metaDataService, dataService);
+    verify(transactionManager, times(6)).commit(any());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testPersistCheckpointedMetaAddDataAddSelfReferences() {
+    Attribute selfRefAttribute = mock(Attribute.class);
+    when(selfRefAttribute.hasRefEntity()).thenReturn(true);
+    when(selfRefAttribute.getRefEntity()).thenReturn(entityType0);
+    when(entityType0.getAtomicAttributes()).thenReturn(singletonList(selfRefAttribute));
+    ImportCheckpoints importCheckpoints = mock(ImportCheckpoints.class);
+    when(dataProvider.getEntities(entityType0))
+        .thenReturn(Stream.generate(() -> mock(Entity.class)).limit(10001));
+    when(dataProvider.getEntities(entityType1)).thenReturn(Stream.empty());
+
+    PersistResult persistResult =
+        dataPersisterImpl.persist(dataProvider, MetadataMode.ADD, DataMode.ADD, importCheckpoints);
+    assertEquals(create(of(entityType0.getId(), 10001L, entityType1.getId(), 0L)), persistResult);
+
+    // references to entities later in the source are committed in the same chunk
+    verify(dataService).add(eq(entityType0.getId()), any(Stream.class));
+    verify(importCheckpoints)
+        .setNrCommittedEntities(eq(entityType0.getId()), eq(10001L), anyString());
+    verify(importCheckpoints, times(2))
+        .setNrCommittedEntities(eq(entityType0.getId()), anyLong(), any());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testPersistCheckpointedMetaAddDataAddResume() {
+    Entity entity0a = mock(Entity.class);
+    Entity entity1a = mock(Entity.class);
+    Entity entity1b = mock(Entity.class);
+    Entity entity1c = mock(Entity.class);
+    ImportCheckpoints importCheckpoints = mock(ImportCheckpoints.class);
+    when(importCheckpoints.getNrCommittedEntities(entityType2.getId())).thenReturn(0L);
+    when(importCheckpoints.getNrCommittedEntities(entityType1.getId())).thenReturn(3L);
+    when(importCheckpoints.getCommittedEntitiesChecksum(entityType1.getId()))
+        .thenReturn(getChecksum(entityType1, entity1a, entity1b, entity1c));
+    when(importCheckpoints.getNrCommittedEntities(entityType0.getId())).thenReturn(1L);
+    when(importCheckpoints.getCommittedEntitiesChecksum(entityType0.getId()))
+        .thenReturn(getChecksum(entityType0, entity0a));
+    when(dataProvider.getEntities(entityType1)).thenReturn(Stream.of(entity1a, entity1b, entity1c));
+    when(dataProvider.getEntities(entityType0))
+        .thenReturn(Stream.of(entity0a, mock(Entity.class)));
+
+    PersistResult persistResult =
+        dataPersisterImpl.persist(dataProvider, MetadataMode.ADD, DataMode.ADD, importCheckpoints);
+    assertEquals(create(of(entityType0.getId(), 2L, entityType1.getId(), 3L)), persistResult);
+
+    verify(dataService).add(eq(entityType0.getId()), any(Stream.class));
+    verify(importCheckpoints)
+        .setNrCommittedEntities(eq(entityType0.getId()), eq(2L), anyString());
+    verifyNoMoreInteractions(metaDataService, dataService);
+  }
+
+  @Test
+  void testPersistCheckpointedMetaAddDataAddResumeOtherCommittedEntities() {
+    ImportCheckpoints importCheckpoints = mock(ImportCheckpoints.class);
+    when(importCheckpoints.getNrCommittedEntities(entityType2.getId())).thenReturn(0L);
+    when(importCheckpoints.getNrCommittedEntities(entityType1.getId())).thenReturn(3L);
+    when(importCheckpoints.getCommittedEntitiesChecksum(entityType1.getId()))
+        .thenReturn("otherChecksum");
+    when(dataProvider.getEntities(entityType1))
+        .thenReturn(Stream.of(mock(Entity.class), mock(Entity.class), mock(Entity.class)));
+
+    assertThrows(
+        MolgenisDataException.class,
+        () ->
+            dataPersisterImpl.persist(
+                dataProvider, MetadataMode.ADD, DataMode.ADD, importCheckpoints));
+    verifyNoMoreInteractions(metaDataService, dataService);
+  }
+
+  private static String getChecksum(EntityType entityType, Entity... entities) {
+    EntitiesChecksum checksum = new EntitiesChecksum(entityType);
+    Stream.of(entities).forEach(checksum::add);
+    return checksum.getValue();
+  }
 }
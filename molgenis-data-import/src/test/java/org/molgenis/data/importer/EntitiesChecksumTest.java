@@ -0,0 +1,79 @@
+package org.molgenis.data.importer;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.test.AbstractMockitoTest;
+
+class EntitiesChecksumTest extends AbstractMockitoTest {
+  @Mock private EntityType entityType;
+  @Mock private Attribute idAttribute;
+  @Mock private Attribute valueAttribute;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    when(idAttribute.getName()).thenReturn("id");
+    when(idAttribute.isAuto()).thenReturn(true);
+    when(valueAttribute.getName()).thenReturn("value");
+    when(entityType.getAtomicAttributes()).thenReturn(asList(idAttribute, valueAttribute));
+  }
+
+  @Test
+  void testGetValueNoEntities() {
+    assertNull(new EntitiesChecksum(entityType).getValue());
+  }
+
+  @Test
+  void testGetValueEqualEntities() {
+    assertEquals(
+        getChecksum(createEntity("id0", "value0"), createEntity("id1", "value1")),
+        getChecksum(createEntity("id2", "value0"), createEntity("id3", "value1")));
+  }
+
+  @Test
+  void testGetValueOtherEntities() {
+    assertNotEquals(
+        getChecksum(createEntity("id0", "value0"), createEntity("id1", "value1")),
+        getChecksum(createEntity("id0", "value0"), createEntity("id1", "otherValue")));
+  }
+
+  @Test
+  void testGetValueOtherOrder() {
+    assertNotEquals(
+        getChecksum(createEntity("id0", "value0"), createEntity("id1", "value1")),
+        getChecksum(createEntity("id1", "value1"), createEntity("id0", "value0")));
+  }
+
+  @Test
+  void testGetValueReference() {
+    Entity refEntity = mock(Entity.class);
+    when(refEntity.getIdValue()).thenReturn("value0");
+    assertEquals(
+        getChecksum(createEntity("id0", "value0")), getChecksum(createEntity("id1", refEntity)));
+  }
+
+  private String getChecksum(Entity... entities) {
+    EntitiesChecksum checksum = new EntitiesChecksum(entityType);
+    for (Entity entity : entities) {
+      checksum.add(entity);
+    }
+    return checksum.getValue();
+  }
+
+  private static Entity createEntity(String id, Object value) {
+    Entity entity = mock(Entity.class);
+    when(entity.get("id")).thenReturn(id);
+    when(entity.get("value")).thenReturn(value);
+    return entity;
+  }
+}
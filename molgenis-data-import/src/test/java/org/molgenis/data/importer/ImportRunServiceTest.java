@@ -1,8 +1,13 @@
 package org.molgenis.data.importer;
 
+import static java.util.Collections.singleton;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -13,15 +18,22 @@ import static org.molgenis.data.importer.ImportStatus.FAILED;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.molgenis.data.DataService;
+import org.molgenis.data.MolgenisDataException;
 import org.molgenis.data.UnknownEntityException;
 import org.molgenis.data.security.user.UserService;
 import org.molgenis.i18n.ContextMessageSource;
 import org.molgenis.test.AbstractMockitoTest;
 import org.springframework.mail.MailSender;
+import org.springframework.transaction.PlatformTransactionManager;
 
 class ImportRunServiceTest extends AbstractMockitoTest {
 
@@ -30,13 +42,19 @@ class ImportRunServiceTest extends AbstractMockitoTest {
   @Mock private UserService userService;
   @Mock private ContextMessageSource contextMessageSource;
   @Mock private ImportRunFactory importRunFactory;
+  @Mock private PlatformTransactionManager transactionManager;
   private ImportRunService importRunService;
 
   @BeforeEach
   void setUpBeforeMethod() {
     importRunService =
         new ImportRunService(
-            dataService, mailSender, userService, contextMessageSource, importRunFactory);
+            dataService,
+            mailSender,
+            userService,
+            contextMessageSource,
+            importRunFactory,
+            transactionManager);
   }
 
   @Test
@@ -146,4 +164,108 @@ class ImportRunServiceTest extends AbstractMockitoTest {
         () ->
             importRunService.finishImportRun("unknownImportRunId", "message", "importedEntities"));
   }
+
+  @Test
+  void testResumeImportRun() {
+    String importRunId = "importRunId";
+    ImportRun importRun = mock(ImportRun.class);
+    when(importRun.getUsername()).thenReturn("user");
+    when(importRun.getStatus()).thenReturn(FAILED.toString());
+    when(dataService.findOneById(IMPORT_RUN, importRunId, ImportRun.class)).thenReturn(importRun);
+
+    assertEquals(importRun, importRunService.resumeImportRun(importRunId, "user"));
+    verify(importRun).setStatus(ImportStatus.RUNNING.toString());
+    verify(importRun).setEndDate(null);
+    verify(importRun).setMessage(null);
+    verify(dataService).update(IMPORT_RUN, importRun);
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void testResumeImportRunNotFailed() {
+    String importRunId = "importRunId";
+    ImportRun importRun = mock(ImportRun.class);
+    when(importRun.getUsername()).thenReturn("user");
+    when(importRun.getStatus()).thenReturn(ImportStatus.RUNNING.toString());
+    when(dataService.findOneById(IMPORT_RUN, importRunId, ImportRun.class)).thenReturn(importRun);
+
+    assertThrows(
+        MolgenisDataException.class, () -> importRunService.resumeImportRun(importRunId, "user"));
+  }
+
+  @Test
+  void testResumeImportRunOtherUser() {
+    String importRunId = "importRunId";
+    ImportRun importRun = mock(ImportRun.class);
+    when(importRun.getUsername()).thenReturn("user");
+    when(dataService.findOneById(IMPORT_RUN, importRunId, ImportRun.class)).thenReturn(importRun);
+
+    assertThrows(
+        MolgenisDataException.class,
+        () -> importRunService.resumeImportRun(importRunId, "otherUser"));
+    verifyNoMoreInteractions(dataService);
+  }
+
+  @Test
+  void testResumeImportRunConcurrently() throws Exception {
+    String importRunId = "importRunId";
+    ImportRun importRun = mock(ImportRun.class);
+    when(importRun.getUsername()).thenReturn("user");
+    when(importRun.getStatus()).thenReturn(FAILED.toString(), ImportStatus.RUNNING.toString());
+    when(dataService.findOneById(IMPORT_RUN, importRunId, ImportRun.class)).thenReturn(importRun);
+    CountDownLatch updating = new CountDownLatch(1);
+    CountDownLatch updated = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              updating.countDown();
+              updated.await();
+              return null;
+            })
+        .when(dataService)
+        .update(IMPORT_RUN, importRun);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      Future<ImportRun> resumedImportRun =
+          executorService.submit(() -> importRunService.resumeImportRun(importRunId, "user"));
+      updating.await();
+      Future<ImportRun> otherResumedImportRun =
+          executorService.submit(() -> importRunService.resumeImportRun(importRunId, "user"));
+
+      // the other request waits until the status update is committed
+      verify(dataService, after(100).times(1))
+          .findOneById(IMPORT_RUN, importRunId, ImportRun.class);
+      updated.countDown();
+
+      assertEquals(importRun, resumedImportRun.get());
+      ExecutionException exception =
+          assertThrows(ExecutionException.class, otherResumedImportRun::get);
+      assertTrue(exception.getCause() instanceof MolgenisDataException);
+      verify(transactionManager).commit(any());
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  void testGetImportCheckpoints() {
+    String importRunId = "importRunId";
+    ImportRun importRun = mock(ImportRun.class);
+    when(importRun.getCheckpoints())
+        .thenReturn(
+            "{\"entityTypeId0\":{\"nrCommittedEntities\":1000,\"committedEntitiesChecksum\":\"checksum\"}}");
+    when(dataService.findOneById(IMPORT_RUN, importRunId, ImportRun.class)).thenReturn(importRun);
+
+    ImportCheckpoints importCheckpoints = importRunService.getImportCheckpoints(importRunId);
+    assertEquals(singleton("entityTypeId0"), importCheckpoints.getEntityTypeIds());
+    assertEquals(1000L, importCheckpoints.getNrCommittedEntities("entityTypeId0"));
+    assertEquals("checksum", importCheckpoints.getCommittedEntitiesChecksum("entityTypeId0"));
+    assertNull(importCheckpoints.getNrCommittedEntities("entityTypeId1"));
+
+    importCheckpoints.setNrCommittedEntities("entityTypeId1", 0L, null);
+    verify(importRun)
+        .setCheckpoints(
+            "{\"entityTypeId0\":{\"nrCommittedEntities\":1000,\"committedEntitiesChecksum\":\"checksum\"},\"entityTypeId1\":{\"nrCommittedEntities\":0}}");
+    verify(dataService).update(IMPORT_RUN, importRun);
+  }
 }
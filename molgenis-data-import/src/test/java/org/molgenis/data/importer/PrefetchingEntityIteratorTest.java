@@ -0,0 +1,79 @@
+package org.molgenis.data.importer;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.molgenis.data.Entity;
+import org.molgenis.data.MolgenisDataException;
+import org.molgenis.util.ExecutorServiceUtils;
+
+class PrefetchingEntityIteratorTest {
+  private ExecutorService executorService;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    executorService = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterEach
+  void tearDownAfterEach() {
+    ExecutorServiceUtils.shutdownAndAwaitTermination(executorService);
+  }
+
+  @Test
+  void testIterator() {
+    List<Entity> entities =
+        asList(mock(Entity.class), mock(Entity.class), mock(Entity.class), mock(Entity.class));
+    PrefetchingEntityIterator iterator =
+        PrefetchingEntityIterator.create(entities.stream(), executorService, 3, 1);
+    assertEquals(entities, Lists.newArrayList(iterator));
+  }
+
+  @Test
+  void testIteratorEmpty() {
+    PrefetchingEntityIterator iterator =
+        PrefetchingEntityIterator.create(Stream.empty(), executorService, 3, 1);
+    assertEquals(0, Lists.newArrayList(iterator).size());
+  }
+
+  @Test
+  void testIteratorFailure() {
+    MolgenisDataException exception = new MolgenisDataException("conversion failed");
+    Stream<Entity> entities =
+        Stream.of(mock(Entity.class), mock(Entity.class))
+            .map(
+                entity -> {
+                  throw exception;
+                });
+    PrefetchingEntityIterator iterator =
+        PrefetchingEntityIterator.create(entities, executorService, 3, 1);
+    assertSame(exception, assertThrows(MolgenisDataException.class, iterator::hasNext));
+  }
+
+  @Test
+  void testIteratorCancel() throws InterruptedException {
+    CountDownLatch readLatch = new CountDownLatch(3);
+    Stream<Entity> entities =
+        Stream.of(mock(Entity.class), mock(Entity.class), mock(Entity.class))
+            .peek(entity -> readLatch.countDown());
+    PrefetchingEntityIterator iterator =
+        PrefetchingEntityIterator.create(entities, executorService, 1, 1);
+
+    // the worker blocks on the third batch, since one batch is read ahead of the consumer
+    readLatch.await();
+    iterator.cancel();
+    assertThrows(MolgenisDataException.class, () -> Lists.newArrayList(iterator));
+  }
+}
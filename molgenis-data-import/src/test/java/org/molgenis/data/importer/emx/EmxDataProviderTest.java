@@ -24,6 +24,7 @@ import org.molgenis.data.EntityManager;
 import org.molgenis.data.Repository;
 import org.molgenis.data.RepositoryCollection;
 import org.molgenis.data.UnknownRepositoryException;
+import org.molgenis.data.excel.ExcelRepositoryCollection;
 import org.molgenis.data.importer.ParsedMetaData;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.test.AbstractMockitoTest;
@@ -170,4 +171,16 @@ class EmxDataProviderTest extends AbstractMockitoTest {
         UnknownRepositoryException.class,
         () -> emxDataProvider.getEntities(entityType).collect(toList()));
   }
+
+  @Test
+  void testIsConcurrentReadSupported() {
+    when(emxImportJob.getSource()).thenReturn(mock(RepositoryCollection.class));
+    assertTrue(emxDataProvider.isConcurrentReadSupported());
+  }
+
+  @Test
+  void testIsConcurrentReadSupportedExcel() {
+    when(emxImportJob.getSource()).thenReturn(mock(ExcelRepositoryCollection.class));
+    assertFalse(emxDataProvider.isConcurrentReadSupported());
+  }
 }
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
@@ -16,6 +17,7 @@ import org.molgenis.data.DataAction;
 import org.molgenis.data.EntityManager;
 import org.molgenis.data.importer.DataPersister;
 import org.molgenis.data.importer.EntityImportReport;
+import org.molgenis.data.importer.ImportCheckpoints;
 import org.molgenis.data.importer.MetadataAction;
 import org.molgenis.data.importer.ParsedMetaData;
 import org.molgenis.data.importer.PersistResult;
@@ -23,6 +25,7 @@ import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.data.security.permission.PermissionSystemService;
 import org.molgenis.security.core.UserPermissionEvaluator;
 import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 class ImportWriterTest extends AbstractMockitoTest {
   @Mock private MetaDataService metaDataService;
@@ -34,6 +37,7 @@ class ImportWriterTest extends AbstractMockitoTest {
   @Mock private UserPermissionEvaluator userPermissionEvaluator;
   @Mock private EntityManager entityManager;
   @Mock private DataPersister dataPersister;
+  @Mock private PlatformTransactionManager transactionManager;
 
   private ImportWriter importWriter;
 
@@ -45,12 +49,14 @@ class ImportWriterTest extends AbstractMockitoTest {
             permissionSystemService,
             userPermissionEvaluator,
             entityManager,
-            dataPersister);
+            dataPersister,
+            transactionManager);
   }
 
   @Test
   void testImportWriter() {
-    assertThrows(NullPointerException.class, () -> new ImportWriter(null, null, null, null, null));
+    assertThrows(
+        NullPointerException.class, () -> new ImportWriter(null, null, null, null, null, null));
   }
 
   // regression test for https://github.com/molgenis/molgenis/issues/7611
@@ -73,4 +79,29 @@ class ImportWriterTest extends AbstractMockitoTest {
     importWriter.doImport(emxImportJob);
     verifyNoInteractions(metaDataService, permissionSystemService);
   }
+
+  @Test
+  void testDoImportCheckpointedIgnoreMetadata() {
+    EmxImportJob emxImportJob = mock(EmxImportJob.class);
+    when(emxImportJob.getMetadataAction()).thenReturn(MetadataAction.IGNORE);
+    when(emxImportJob.getDataAction()).thenReturn(DataAction.ADD);
+    ParsedMetaData parsedMetaData = mock(ParsedMetaData.class);
+    when(parsedMetaData.getEntities()).thenReturn(ImmutableList.of());
+    when(emxImportJob.getParsedMetaData()).thenReturn(parsedMetaData);
+    EntityImportReport entityImportReport = mock(EntityImportReport.class);
+    when(emxImportJob.getEntityImportReport()).thenReturn(entityImportReport);
+    ImportCheckpoints importCheckpoints = mock(ImportCheckpoints.class);
+    PersistResult persistResult = mock(PersistResult.class);
+    when(dataPersister.persist(
+            any(),
+            eq(DataPersister.MetadataMode.NONE),
+            eq(DataPersister.DataMode.ADD),
+            eq(importCheckpoints)))
+        .thenReturn(persistResult);
+    when(persistResult.getNrPersistedEntitiesMap()).thenReturn(ImmutableMap.of("entityTypeId", 3L));
+
+    importWriter.doImport(emxImportJob, importCheckpoints);
+    verify(entityImportReport).addEntityCount("entityTypeId", 3);
+    verifyNoInteractions(metaDataService, permissionSystemService, transactionManager);
+  }
 }
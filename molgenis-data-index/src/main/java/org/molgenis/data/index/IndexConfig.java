@@ -3,6 +3,7 @@ package org.molgenis.data.index;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.index.job.IndexJobExecutionMetadata.INDEX_JOB_EXECUTION;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.annotation.PostConstruct;
 import org.molgenis.data.DataService;
 import org.molgenis.data.index.job.IndexJobExecution;
@@ -24,6 +25,8 @@ import org.molgenis.jobs.JobExecutor;
 import org.molgenis.jobs.JobFactory;
 import org.molgenis.jobs.model.JobExecutionMetaData;
 import org.molgenis.jobs.model.JobPackage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -51,6 +54,12 @@ public class IndexConfig {
   private final IndexJobExecutionFactory indexJobExecutionFactory;
   private final EntityTypeFactory entityTypeFactory;
   private final JobExecutor jobExecutor;
+  private final MeterRegistry meterRegistry;
+  private final ApplicationEventPublisher applicationEventPublisher;
+
+  /** Maximum number of index jobs for disjoint sets of entity types that run concurrently */
+  @Value("${index.job.concurrency:4}")
+  private int indexJobConcurrency;
 
   public IndexConfig(
       IndexActionRegisterService indexActionRegisterService,
@@ -59,7 +68,9 @@ public class IndexConfig {
       IndexService indexService,
       IndexJobExecutionFactory indexJobExecutionFactory,
       EntityTypeFactory entityTypeFactory,
-      JobExecutor jobExecutor) {
+      JobExecutor jobExecutor,
+      MeterRegistry meterRegistry,
+      ApplicationEventPublisher applicationEventPublisher) {
     this.indexActionRegisterService = requireNonNull(indexActionRegisterService);
     this.transactionManager = requireNonNull(transactionManager);
     this.dataService = requireNonNull(dataService);
@@ -67,6 +78,8 @@ public class IndexConfig {
     this.indexJobExecutionFactory = requireNonNull(indexJobExecutionFactory);
     this.entityTypeFactory = requireNonNull(entityTypeFactory);
     this.jobExecutor = requireNonNull(jobExecutor);
+    this.meterRegistry = requireNonNull(meterRegistry);
+    this.applicationEventPublisher = requireNonNull(applicationEventPublisher);
   }
 
   @PostConstruct
@@ -84,12 +97,18 @@ public class IndexConfig {
 
   @Bean
   public IndexJobScheduler indexJobScheduler() {
-    return new IndexJobSchedulerImpl(dataService, indexJobExecutionFactory, jobExecutor);
+    return new IndexJobSchedulerImpl(
+        dataService,
+        indexJobExecutionFactory,
+        jobExecutor,
+        meterRegistry,
+        applicationEventPublisher,
+        indexJobConcurrency);
   }
 
   @Bean
   public IndexJobService indexJobService() {
-    return new IndexJobService(dataService, indexService, entityTypeFactory);
+    return new IndexJobService(dataService, indexService, entityTypeFactory, meterRegistry);
   }
 
   @Bean
@@ -1,5 +1,6 @@
 package org.molgenis.data.index;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Repository;
@@ -14,8 +15,12 @@ public interface IndexService {
 
   void rebuildIndex(Repository<? extends Entity> repository);
 
+  /** Refreshes all indexes, making all changes visible to search */
   void refreshIndex();
 
+  /** Refreshes the indexes of the given entity types, making their changes visible to search */
+  void refreshIndexes(Collection<EntityType> entityTypes);
+
   void index(EntityType entityType, Entity entity);
 
   long index(EntityType entityType, Stream<? extends Entity> entities);
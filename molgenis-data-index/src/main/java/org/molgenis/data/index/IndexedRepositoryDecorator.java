@@ -12,6 +12,7 @@ import static org.molgenis.data.RepositoryCapability.QUERYABLE;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -136,9 +137,27 @@ class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
     }
   }
 
+  /**
+   * Aggregates using the decorated repository if it is capable of aggregating the query, otherwise
+   * aggregates using the index.
+   */
   @Override
   public AggregateResult aggregate(AggregateQuery aggregateQuery) {
-    return tryTwice(() -> searchService.aggregate(getEntityType(), aggregateQuery));
+    if (aggregateQuerySupported(aggregateQuery)) {
+      LOG.debug(
+          "public AggregateResult aggregate({}) entityTypeId: [{}] repository: [{}]",
+          aggregateQuery,
+          getEntityType().getId(),
+          DECORATED_REPOSITORY);
+      return delegate().aggregate(aggregateQuery);
+    } else {
+      LOG.debug(
+          "public AggregateResult aggregate({}) entityTypeId: [{}] repository: [{}]",
+          aggregateQuery,
+          getEntityType().getId(),
+          INDEX_REPOSITORY);
+      return tryTwice(() -> searchService.aggregate(getEntityType(), aggregateQuery));
+    }
   }
 
   /**
@@ -179,6 +198,25 @@ class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
         && !containsNestedQueryRuleField(q);
   }
 
+  /**
+   * Checks if the underlying repository can handle this aggregate query. Aggregate queries on
+   * attributes with computed values or with a query that is not supported are delegated to the
+   * index.
+   */
+  private boolean aggregateQuerySupported(AggregateQuery aggregateQuery) {
+    if (!delegate().getCapabilities().contains(AGGREGATEABLE)) {
+      return false;
+    }
+    Query<Entity> q = aggregateQuery.getQuery();
+    return (q == null || querySupported(q))
+        && Stream.of(
+                aggregateQuery.getAttributeX(),
+                aggregateQuery.getAttributeY(),
+                aggregateQuery.getAttributeDistinct())
+            .filter(Objects::nonNull)
+            .allMatch(attr -> attr.getExpression() == null);
+  }
+
   private void waitForIndexToBeStable() {
     try {
       indexJobScheduler.waitForIndexToBeStableIncludingReferences(getEntityType());
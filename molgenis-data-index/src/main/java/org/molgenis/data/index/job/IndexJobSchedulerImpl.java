@@ -12,15 +12,26 @@ import static org.molgenis.jobs.model.JobExecutionMetaData.END_DATE;
 import static org.molgenis.jobs.model.JobExecutionMetaData.STATUS;
 import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
 
+import com.google.common.util.concurrent.AtomicLongMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
+import org.molgenis.data.event.EntityTypesIndexedEvent;
 import org.molgenis.data.index.meta.IndexActionGroup;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.QueryImpl;
@@ -29,25 +40,61 @@ import org.molgenis.security.core.runas.RunAsSystem;
 import org.molgenis.util.ExecutorServiceUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 
+/**
+ * Schedules index jobs on a pool of index workers.
+ *
+ * <p>Index jobs that share an entity type are executed in the order in which they were scheduled,
+ * index jobs for disjoint sets of entity types are executed concurrently. The entity types of an
+ * index job already include the entity types that depend on the changed entity types according to
+ * the {@link org.molgenis.data.index.IndexDependencyModel}. An {@link EntityTypesIndexedEvent} is
+ * published when an index job has finished.
+ */
 public class IndexJobSchedulerImpl implements IndexJobScheduler {
   private static final Logger LOG = LoggerFactory.getLogger(IndexJobSchedulerImpl.class);
 
   private final DataService dataService;
   private final IndexJobExecutionFactory indexJobExecutionFactory;
   // the executor for the index jobs.
-  private ExecutorService executorService = Executors.newSingleThreadExecutor();
+  private final ExecutorService executorService;
   private final JobExecutor jobExecutor;
+  private final MeterRegistry meterRegistry;
+  private final ApplicationEventPublisher applicationEventPublisher;
   private final IndexStatus indexStatus = new IndexStatus();
 
+  /** Completion of the last scheduled index job per entity type, guarded by 'this' */
+  private final Map<String, CompletableFuture<Void>> lastIndexJobPerEntityType = new HashMap<>();
+  /** Number of scheduled and running index jobs per entity type, updated while holding 'this' */
+  private final AtomicLongMap<String> queueDepthPerEntityType = AtomicLongMap.create();
+  /** Queue depth gauges of entity types with scheduled or running jobs, guarded by 'this' */
+  private final Map<String, Gauge> queueDepthGauges = new HashMap<>();
+  /** Number of scheduled and running index jobs */
+  private final AtomicInteger queueDepth = new AtomicInteger();
+
   public IndexJobSchedulerImpl(
       DataService dataService,
       IndexJobExecutionFactory indexJobExecutionFactory,
-      JobExecutor jobExecutor) {
+      JobExecutor jobExecutor,
+      MeterRegistry meterRegistry,
+      ApplicationEventPublisher applicationEventPublisher,
+      int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("concurrency must be greater than or equal to 1");
+    }
     this.dataService = requireNonNull(dataService);
     this.indexJobExecutionFactory = requireNonNull(indexJobExecutionFactory);
     this.jobExecutor = requireNonNull(jobExecutor);
+    this.meterRegistry = requireNonNull(meterRegistry);
+    this.applicationEventPublisher = requireNonNull(applicationEventPublisher);
+    this.executorService =
+        Executors.newFixedThreadPool(
+            concurrency, new ThreadFactoryBuilder().setNameFormat("molgenis-index-%d").build());
+
+    Gauge.builder("index.queue.depth", queueDepth, AtomicInteger::get)
+        .description("Number of scheduled and running index jobs")
+        .register(meterRegistry);
   }
 
   @PreDestroy
@@ -75,14 +122,87 @@ public class IndexJobSchedulerImpl implements IndexJobScheduler {
 
       IndexJobExecution indexJobExecution = indexJobExecutionFactory.create();
       indexJobExecution.setIndexActionJobID(transactionId);
-      jobExecutor
-          .submit(indexJobExecution, executorService)
-          .whenComplete((a, b) -> indexStatus.removeActionCounts(numberOfActionsPerEntity));
+      submit(indexJobExecution, numberOfActionsPerEntity);
     } else {
       LOG.debug("No index job found for id [{}].", transactionId);
     }
   }
 
+  /**
+   * Submits an index job that starts once all previously scheduled index jobs for the same entity
+   * types have completed.
+   */
+  private void submit(
+      IndexJobExecution indexJobExecution, Map<String, Long> numberOfActionsPerEntity) {
+    Set<String> entityTypeIds = numberOfActionsPerEntity.keySet();
+    CompletableFuture<Void> indexJobCompletion = new CompletableFuture<>();
+    CompletableFuture<Void> predecessorsCompletion;
+    synchronized (this) {
+      predecessorsCompletion =
+          CompletableFuture.allOf(
+              entityTypeIds.stream()
+                  .map(lastIndexJobPerEntityType::get)
+                  .filter(Objects::nonNull)
+                  .toArray(CompletableFuture[]::new));
+      entityTypeIds.forEach(
+          entityTypeId -> lastIndexJobPerEntityType.put(entityTypeId, indexJobCompletion));
+      entityTypeIds.forEach(this::incrementQueueDepth);
+    }
+    queueDepth.incrementAndGet();
+
+    Executor executor =
+        command -> predecessorsCompletion.whenComplete((a, b) -> executorService.execute(command));
+    try {
+      jobExecutor
+          .submit(indexJobExecution, executor)
+          .whenComplete(
+              (a, b) -> onIndexJobCompleted(numberOfActionsPerEntity, indexJobCompletion));
+    } catch (RuntimeException e) {
+      onIndexJobCompleted(numberOfActionsPerEntity, indexJobCompletion);
+      throw e;
+    }
+  }
+
+  private void onIndexJobCompleted(
+      Map<String, Long> numberOfActionsPerEntity, CompletableFuture<Void> indexJobCompletion) {
+    indexStatus.removeActionCounts(numberOfActionsPerEntity);
+    Set<String> entityTypeIds = numberOfActionsPerEntity.keySet();
+    synchronized (this) {
+      entityTypeIds.forEach(
+          entityTypeId -> lastIndexJobPerEntityType.remove(entityTypeId, indexJobCompletion));
+      entityTypeIds.forEach(this::decrementQueueDepth);
+    }
+    queueDepth.decrementAndGet();
+    indexJobCompletion.complete(null);
+    applicationEventPublisher.publishEvent(new EntityTypesIndexedEvent(entityTypeIds));
+  }
+
+  /** Registers the queue depth gauge of an entity type when its first index job is scheduled */
+  private void incrementQueueDepth(String entityTypeId) {
+    if (queueDepthPerEntityType.getAndIncrement(entityTypeId) == 0) {
+      Gauge gauge =
+          Gauge.builder(
+                  "index.entity.queue.depth",
+                  queueDepthPerEntityType,
+                  queueDepths -> queueDepths.get(entityTypeId))
+              .description("Number of scheduled and running index jobs for an entity type")
+              .tag("entityType", entityTypeId)
+              .register(meterRegistry);
+      queueDepthGauges.put(entityTypeId, gauge);
+    }
+  }
+
+  /**
+   * Removes the queue depth gauge of an entity type when its last index job has completed, so that
+   * the gauges of deleted entity types and of entity types that are rarely indexed do not pile up.
+   */
+  private void decrementQueueDepth(String entityTypeId) {
+    if (queueDepthPerEntityType.decrementAndGet(entityTypeId) == 0) {
+      queueDepthPerEntityType.remove(entityTypeId);
+      meterRegistry.remove(queueDepthGauges.remove(entityTypeId));
+    }
+  }
+
   @Override
   @RunAsSystem
   public void waitForAllIndicesStable() throws InterruptedException {
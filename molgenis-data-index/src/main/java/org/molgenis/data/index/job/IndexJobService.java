@@ -2,6 +2,7 @@ package org.molgenis.data.index.job;
 
 import static java.text.MessageFormat.format;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.QueryRule.Operator.EQUALS;
 import static org.molgenis.data.index.meta.IndexActionGroupMetadata.INDEX_ACTION_GROUP;
@@ -10,8 +11,14 @@ import static org.molgenis.data.index.meta.IndexActionMetadata.INDEX_ACTION;
 import static org.molgenis.data.index.meta.IndexActionMetadata.INDEX_ACTION_GROUP_ATTR;
 import static org.molgenis.data.util.EntityUtils.getTypedValue;
 
+import com.google.common.base.Stopwatch;
 import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.MolgenisDataException;
@@ -37,12 +44,20 @@ public class IndexJobService {
   private final DataService dataService;
   private final IndexService indexService;
   private final EntityTypeFactory entityTypeFactory;
+  private final Timer refreshTimer;
 
   public IndexJobService(
-      DataService dataService, IndexService indexService, EntityTypeFactory entityTypeFactory) {
+      DataService dataService,
+      IndexService indexService,
+      EntityTypeFactory entityTypeFactory,
+      MeterRegistry meterRegistry) {
     this.dataService = requireNonNull(dataService);
     this.indexService = requireNonNull(indexService);
     this.entityTypeFactory = requireNonNull(entityTypeFactory);
+    this.refreshTimer =
+        Timer.builder("index.refresh")
+            .description("Time spent refreshing the indexes modified by an index job.")
+            .register(meterRegistry);
   }
 
   @Timed(
@@ -65,7 +80,7 @@ public class IndexJobService {
   }
 
   /**
-   * Performs the IndexActions.
+   * Performs the IndexActions and refreshes the indexes that were modified by them.
    *
    * @param progress {@link Progress} instance to log progress information to
    */
@@ -74,11 +89,12 @@ public class IndexJobService {
         dataService
             .findAll(INDEX_ACTION, createQueryGetAllIndexActions(transactionId), IndexAction.class)
             .collect(toList());
+    Map<String, EntityType> modifiedEntityTypes = new LinkedHashMap<>();
     try {
       boolean success = true;
       int count = 0;
       for (IndexAction indexAction : indexActions) {
-        success &= performAction(progress, count++, indexAction);
+        success &= performAction(progress, count++, indexAction, modifiedEntityTypes);
       }
       if (success) {
         progress.progress(count, "Executed all index actions, cleaning up the actions...");
@@ -90,21 +106,41 @@ public class IndexJobService {
       LOG.error("Error performing index actions", ex);
       throw ex;
     } finally {
-      progress.status("Refresh index start");
-      indexService.refreshIndex();
-      progress.status("Refresh index done");
+      refreshIndexes(progress, modifiedEntityTypes.values());
     }
   }
 
+  /**
+   * Refreshes the indexes of the given entity types. Rebuilt indexes are refreshed as part of the
+   * rebuild and dropped indexes don't need a refresh, so these are not included.
+   */
+  private void refreshIndexes(Progress progress, Collection<EntityType> entityTypes) {
+    if (entityTypes.isEmpty()) {
+      return;
+    }
+    progress.status("Refresh index start");
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    indexService.refreshIndexes(entityTypes);
+    stopwatch.stop();
+    refreshTimer.record(stopwatch.elapsed(NANOSECONDS), NANOSECONDS);
+    LOG.debug("Refreshed {} index(es) in {}", entityTypes.size(), stopwatch);
+    progress.status("Refresh index done");
+  }
+
   /**
    * Performs a single IndexAction
    *
    * @param progress {@link Progress} to report progress to
    * @param progressCount the progress count for this IndexAction
    * @param indexAction Entity of type IndexActionMetaData
+   * @param modifiedEntityTypes entity types of which the index needs to be refreshed
    * @return boolean indicating success or failure
    */
-  private boolean performAction(Progress progress, int progressCount, IndexAction indexAction) {
+  private boolean performAction(
+      Progress progress,
+      int progressCount,
+      IndexAction indexAction,
+      Map<String, EntityType> modifiedEntityTypes) {
     requireNonNull(indexAction);
     String entityTypeId = indexAction.getEntityTypeId();
     updateIndexActionStatus(indexAction, IndexActionMetadata.IndexStatus.STARTED);
@@ -116,6 +152,7 @@ public class IndexJobService {
               progressCount,
               format("Indexing {0}.{1}", entityType.getId(), indexAction.getEntityId()));
           rebuildIndexOneEntity(entityTypeId, indexAction.getEntityId());
+          modifiedEntityTypes.putIfAbsent(entityTypeId, entityType);
         } else {
           progress.progress(progressCount, format("Indexing {0}", entityType.getId()));
           final Repository<Entity> repository = dataService.getRepository(entityType.getId());
@@ -143,6 +143,29 @@ class IndexedRepositoryDecoratorTest {
     verify(searchService).aggregate(repositoryEntityType, aggregateQuery);
   }
 
+  @Test
+  void aggregateDelegate() {
+    when(delegateRepository.getCapabilities()).thenReturn(EnumSet.of(QUERYABLE, AGGREGATEABLE));
+    Attribute xAttr = when(mock(Attribute.class).getName()).thenReturn("xAttr").getMock();
+    AggregateQuery aggregateQuery = new AggregateQueryImpl().attrX(xAttr).query(query);
+    AggregateResult aggregateResult = mock(AggregateResult.class);
+    when(delegateRepository.aggregate(aggregateQuery)).thenReturn(aggregateResult);
+
+    assertEquals(aggregateResult, indexedRepositoryDecorator.aggregate(aggregateQuery));
+    verifyZeroInteractions(searchService);
+  }
+
+  @Test
+  void aggregateDelegateUnsupportedQuery() {
+    when(delegateRepository.getCapabilities()).thenReturn(EnumSet.of(QUERYABLE, AGGREGATEABLE));
+    Attribute xAttr = when(mock(Attribute.class).getName()).thenReturn("xAttr").getMock();
+    AggregateQuery aggregateQuery = new AggregateQueryImpl().attrX(xAttr).query(unsupportedQuery);
+
+    indexedRepositoryDecorator.aggregate(aggregateQuery);
+    verify(searchService).aggregate(repositoryEntityType, aggregateQuery);
+    verify(delegateRepository, never()).aggregate(aggregateQuery);
+  }
+
   @Test
   void aggregateUnknownIndexExceptionRecoverable() {
     AggregateQuery aggregateQuery = mock(AggregateQuery.class);
@@ -2,17 +2,34 @@ package org.molgenis.data.index.job;
 
 import static java.time.Duration.between;
 import static java.time.Instant.now;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.index.job.IndexJobExecutionMetadata.INDEX_JOB_EXECUTION;
 import static org.molgenis.data.index.meta.IndexActionGroupMetadata.INDEX_ACTION_GROUP;
+import static org.molgenis.data.index.meta.IndexActionMetadata.ENTITY_TYPE_ID;
+import static org.molgenis.data.index.meta.IndexActionMetadata.INDEX_ACTION;
+import static org.molgenis.data.index.meta.IndexActionMetadata.INDEX_ACTION_GROUP_ATTR;
 import static org.molgenis.data.util.MolgenisDateFormat.parseInstant;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -26,10 +43,12 @@ import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Query;
 import org.molgenis.data.Repository;
+import org.molgenis.data.event.EntityTypesIndexedEvent;
 import org.molgenis.data.index.IndexActionRegisterServiceImpl;
 import org.molgenis.data.index.IndexConfig;
 import org.molgenis.data.index.IndexService;
 import org.molgenis.data.index.config.IndexTestConfig;
+import org.molgenis.data.index.meta.IndexActionGroup;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.data.transaction.TransactionListener;
 import org.molgenis.data.transaction.TransactionManager;
@@ -38,6 +57,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
 import org.springframework.mail.MailSender;
 import org.springframework.test.context.ContextConfiguration;
 
@@ -59,8 +79,12 @@ class IndexJobSchedulerTest extends AbstractMolgenisSpringTest {
 
   @Captor private ArgumentCaptor<Query<Entity>> queryCaptor;
 
+  @Captor private ArgumentCaptor<Executor> executorCaptor;
+
   @Autowired private Config config;
 
+  @Autowired private MeterRegistry meterRegistry;
+
   @BeforeEach
   void beforeMethod() throws Exception {
     config.resetMocks();
@@ -76,6 +100,87 @@ class IndexJobSchedulerTest extends AbstractMolgenisSpringTest {
     verify(jobExecutor, never()).submit(any());
   }
 
+  @Test
+  void testScheduleIndexJobSameEntityTypeRunsAfterPreviousJob() {
+    mockIndexActionGroup("transaction1", "entityTypeA");
+    mockIndexActionGroup("transaction2", "entityTypeA");
+    CompletableFuture<Void> firstJob = new CompletableFuture<>();
+    when(jobExecutor.submit(any(IndexJobExecution.class), any(Executor.class)))
+        .thenReturn(firstJob, new CompletableFuture<>());
+
+    indexJobScheduler.scheduleIndexJob("transaction1");
+    indexJobScheduler.scheduleIndexJob("transaction2");
+
+    verify(jobExecutor, times(2))
+        .submit(any(IndexJobExecution.class), executorCaptor.capture());
+    Runnable secondJob = mock(Runnable.class);
+    executorCaptor.getAllValues().get(1).execute(secondJob);
+    verify(secondJob, after(100).never()).run();
+
+    firstJob.complete(null);
+    verify(secondJob, timeout(1000)).run();
+  }
+
+  @Test
+  void testScheduleIndexJobOtherEntityTypeRunsConcurrently() {
+    mockIndexActionGroup("transaction3", "entityTypeB");
+    mockIndexActionGroup("transaction4", "entityTypeC");
+    when(jobExecutor.submit(any(IndexJobExecution.class), any(Executor.class)))
+        .thenReturn(new CompletableFuture<>(), new CompletableFuture<>());
+
+    indexJobScheduler.scheduleIndexJob("transaction3");
+    indexJobScheduler.scheduleIndexJob("transaction4");
+
+    verify(jobExecutor, times(2))
+        .submit(any(IndexJobExecution.class), executorCaptor.capture());
+    Runnable secondJob = mock(Runnable.class);
+    executorCaptor.getAllValues().get(1).execute(secondJob);
+    verify(secondJob, timeout(1000)).run();
+  }
+
+  @Test
+  void testScheduleIndexJobPublishesEntityTypesIndexedEvent() {
+    mockIndexActionGroup("transaction5", "entityTypeD");
+    CompletableFuture<Void> job = new CompletableFuture<>();
+    when(jobExecutor.submit(any(IndexJobExecution.class), any(Executor.class))).thenReturn(job);
+
+    indexJobScheduler.scheduleIndexJob("transaction5");
+    assertEquals(emptyList(), config.getEntityTypesIndexedEvents());
+
+    job.complete(null);
+    assertEquals(
+        singleton("entityTypeD"), config.getEntityTypesIndexedEvents().get(0).getEntityTypeIds());
+  }
+
+  @Test
+  void testScheduleIndexJobRemovesEntityQueueDepthGauge() {
+    mockIndexActionGroup("transaction6", "entityTypeE");
+    CompletableFuture<Void> job = new CompletableFuture<>();
+    when(jobExecutor.submit(any(IndexJobExecution.class), any(Executor.class))).thenReturn(job);
+
+    indexJobScheduler.scheduleIndexJob("transaction6");
+    assertEquals(1d, getEntityQueueDepthGauge("entityTypeE").value());
+
+    job.complete(null);
+    assertNull(getEntityQueueDepthGauge("entityTypeE"));
+  }
+
+  private Gauge getEntityQueueDepthGauge(String entityTypeId) {
+    return meterRegistry.find("index.entity.queue.depth").tag("entityType", entityTypeId).gauge();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void mockIndexActionGroup(String transactionId, String entityTypeId) {
+    IndexActionGroup indexActionGroup = mock(IndexActionGroup.class);
+    when(dataService.findOneById(INDEX_ACTION_GROUP, transactionId, IndexActionGroup.class))
+        .thenReturn(indexActionGroup);
+    Entity indexAction = mock(Entity.class);
+    when(indexAction.getString(ENTITY_TYPE_ID)).thenReturn(entityTypeId);
+    when(dataService.findAll(
+            INDEX_ACTION, new QueryImpl<>().eq(INDEX_ACTION_GROUP_ATTR, indexActionGroup)))
+        .thenAnswer(invocation -> Stream.of(indexAction));
+  }
+
   @Test
   void testCleanupJobExecutions() throws Exception {
     when(dataService.getRepository(INDEX_JOB_EXECUTION)).thenReturn(repository);
@@ -108,12 +213,24 @@ class IndexJobSchedulerTest extends AbstractMolgenisSpringTest {
 
     @Mock private IndexService indexService;
 
+    private final List<EntityTypesIndexedEvent> entityTypesIndexedEvents = new ArrayList<>();
+
     Config() {
       org.mockito.MockitoAnnotations.initMocks(this);
     }
 
     private void resetMocks() {
       reset(jobExecutor, mailSender, transactionManager, indexService);
+      entityTypesIndexedEvents.clear();
+    }
+
+    @EventListener
+    void onEntityTypesIndexed(EntityTypesIndexedEvent entityTypesIndexedEvent) {
+      entityTypesIndexedEvents.add(entityTypesIndexedEvent);
+    }
+
+    private List<EntityTypesIndexedEvent> getEntityTypesIndexedEvents() {
+      return entityTypesIndexedEvents;
     }
 
     @Bean
@@ -121,6 +238,11 @@ class IndexJobSchedulerTest extends AbstractMolgenisSpringTest {
       return jobExecutor;
     }
 
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+
     @Bean
     IndexService indexService() {
       return indexService;
@@ -1,6 +1,7 @@
 package org.molgenis.data.index.job;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Stream.empty;
 import static java.util.stream.Stream.of;
@@ -21,6 +22,8 @@ import static org.molgenis.data.index.meta.IndexActionMetadata.INDEX_ACTION;
 import static org.molgenis.data.index.meta.IndexActionMetadata.IndexStatus.FAILED;
 import static org.molgenis.data.index.meta.IndexActionMetadata.IndexStatus.FINISHED;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -59,6 +62,7 @@ import org.springframework.test.context.ContextConfiguration;
 @ContextConfiguration(classes = {IndexJobServiceTest.Config.class})
 class IndexJobServiceTest extends AbstractMolgenisSpringTest {
   @Captor private ArgumentCaptor<Stream<Entity>> streamCaptor;
+  @Captor private ArgumentCaptor<Collection<EntityType>> entityTypesCaptor;
 
   @Autowired private Progress progress;
   @Autowired private Authentication authentication;
@@ -80,7 +84,9 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
   @BeforeEach
   void beforeMethod() {
     config.resetMocks();
-    indexJobService = new IndexJobService(dataService, indexService, entityTypeFactory);
+    indexJobService =
+        new IndexJobService(
+            dataService, indexService, entityTypeFactory, new SimpleMeterRegistry());
     indexActionGroup = indexActionGroupFactory.create(transactionId).setCount(0);
     when(dataService.findOneById(INDEX_ACTION_GROUP, transactionId, IndexActionGroup.class))
         .thenReturn(indexActionGroup);
@@ -103,7 +109,7 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
     indexJobService.executeJob(progress, transactionId);
 
     verify(progress).status("No index actions found for transaction id: [aabbcc]");
-    verify(indexService, never()).refreshIndex();
+    verify(indexService, never()).refreshIndexes(any());
   }
 
   @Test
@@ -113,7 +119,12 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
     indexJobService.executeJob(progress, transactionId);
 
     verify(progress).status("No index actions found for transaction id: [aabbcc]");
-    verify(indexService, never()).refreshIndex();
+    verify(indexService, never()).refreshIndexes(any());
+  }
+
+  private void verifyRefreshIndexes(EntityType... entityTypes) {
+    verify(indexService).refreshIndexes(entityTypesCaptor.capture());
+    assertEquals(asList(entityTypes), newArrayList(entityTypesCaptor.getValue()));
   }
 
   private void mockGetAllIndexActions(Stream<IndexAction> entities) {
@@ -159,7 +170,7 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
     verify(progress).status("Refresh index start");
     verify(progress).status("Refresh index done");
     verify(progress).status("Finished indexing for transaction id: [aabbcc]");
-    verify(indexService).refreshIndex();
+    verifyRefreshIndexes(testEntityType);
     verify(dataService, times(2)).update(INDEX_ACTION, indexAction);
   }
 
@@ -188,6 +199,7 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
     verify(progress).progress(1, "Executed all index actions, cleaning up the actions...");
     verify(progress).status("Refresh index start");
     verify(progress).status("Refresh index done");
+    verifyRefreshIndexes(testEntityType);
     verify(progress).status("Finished indexing for transaction id: [aabbcc]");
 
     verify(dataService, times(2)).update(INDEX_ACTION, indexAction);
@@ -217,8 +229,8 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
     verify(progress).setProgressMax(1);
     verify(progress).progress(0, "Indexing TypeTestRefDynamic");
     verify(progress).progress(1, "Executed all index actions, cleaning up the actions...");
-    verify(progress).status("Refresh index start");
-    verify(progress).status("Refresh index done");
+    verify(progress, never()).status("Refresh index start");
+    verify(indexService, never()).refreshIndexes(any());
     verify(progress).status("Finished indexing for transaction id: [aabbcc]");
 
     verify(dataService, times(2)).update(INDEX_ACTION, indexAction);
@@ -251,8 +263,8 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
     verify(progress).setProgressMax(1);
     verify(progress).progress(0, "Indexing TypeTestRefDynamic");
     verify(progress).progress(1, "Executed all index actions, cleaning up the actions...");
-    verify(progress).status("Refresh index start");
-    verify(progress).status("Refresh index done");
+    verify(progress, never()).status("Refresh index start");
+    verify(indexService, never()).refreshIndexes(any());
     verify(progress).status("Finished indexing for transaction id: [aabbcc]");
 
     verify(dataService, times(2)).update(INDEX_ACTION, indexAction);
@@ -300,8 +312,8 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
     verify(progress).setProgressMax(1);
     verify(progress).progress(0, "Dropping entityType with id: entityTypeId");
     verify(progress).progress(1, "Executed all index actions, cleaning up the actions...");
-    verify(progress).status("Refresh index start");
-    verify(progress).status("Refresh index done");
+    verify(progress, never()).status("Refresh index start");
+    verify(indexService, never()).refreshIndexes(any());
     verify(progress).status("Finished indexing for transaction id: [aabbcc]");
 
     verify(dataService, times(2)).update(INDEX_ACTION, indexAction);
@@ -354,7 +366,7 @@ class IndexJobServiceTest extends AbstractMolgenisSpringTest {
     verify(indexService).deleteById(testEntityType, "entityId2");
     verify(indexService).deleteById(testEntityType, "entityId3");
 
-    verify(indexService).refreshIndex();
+    verifyRefreshIndexes(testEntityType);
 
     // Make sure the action status got updated and that the actionJob didn't get deleted
     assertEquals(FINISHED, indexAction1.getIndexStatus());
@@ -0,0 +1,156 @@
+package org.molgenis.data.platform.decorators;
+
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.decorator.meta.DecoratorConfigurationMetadata.DECORATOR_CONFIGURATION;
+import static org.molgenis.data.decorator.meta.DecoratorParametersMetadata.DECORATOR_PARAMETERS;
+import static org.molgenis.data.event.BootstrappingEvent.BootstrappingStatus.FINISHED;
+import static org.molgenis.data.meta.model.AttributeMetadata.ATTRIBUTE_META_DATA;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+import static org.molgenis.data.meta.model.PackageMetadata.PACKAGE;
+import static org.molgenis.data.transaction.TransactionConstants.READ_REPLICA_RESOURCE_NAME;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Repository;
+import org.molgenis.data.event.BootstrappingEvent;
+import org.molgenis.data.event.MetadataChangedEvent;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionListener;
+import org.molgenis.data.transaction.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caches decorated repositories per entity type so that the repository decorator chain is not
+ * assembled on each repository request.
+ *
+ * <p>The cache is invalidated after commit of a transaction that changed metadata or decorator
+ * configurations. Transactions that changed metadata themselves bypass the cache, as does
+ * everything that happens before bootstrapping has finished. Each invalidation publishes a {@link
+ * MetadataChangedEvent} for other caches of metadata derived objects.
+ */
+@Component
+public class DecoratedRepositoryCache implements TransactionListener {
+  private static final Logger LOG = LoggerFactory.getLogger(DecoratedRepositoryCache.class);
+
+  private static final Set<String> METADATA_ENTITY_TYPE_IDS =
+      Set.of(
+          ENTITY_TYPE_META_DATA,
+          ATTRIBUTE_META_DATA,
+          PACKAGE,
+          DECORATOR_CONFIGURATION,
+          DECORATOR_PARAMETERS);
+
+  private final TransactionInformation transactionInformation;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final ConcurrentMap<String, DecoratedRepository> decoratedRepositories;
+  /** Incremented on each invalidation, entries created for an older version are ignored */
+  private final AtomicLong metadataVersion;
+
+  private volatile boolean bootstrappingDone = false;
+
+  DecoratedRepositoryCache(
+      TransactionManager transactionManager,
+      TransactionInformation transactionInformation,
+      ApplicationEventPublisher applicationEventPublisher) {
+    this.transactionInformation = requireNonNull(transactionInformation);
+    this.applicationEventPublisher = requireNonNull(applicationEventPublisher);
+    this.decoratedRepositories = new ConcurrentHashMap<>();
+    this.metadataVersion = new AtomicLong();
+    requireNonNull(transactionManager).addTransactionListener(this);
+  }
+
+  /**
+   * Retrieves the decorated repository from the cache or decorates the given repository.
+   *
+   * @param repository undecorated repository
+   * @param rowLevelSecured whether the repository is row level secured, a cached repository is only
+   *     reused if it was decorated for the same row level security setting
+   * @param decorator function that decorates the repository
+   * @return decorated repository
+   */
+  public Repository<Entity> get(
+      Repository<Entity> repository,
+      boolean rowLevelSecured,
+      UnaryOperator<Repository<Entity>> decorator) {
+    if (!isCacheable()) {
+      return decorator.apply(repository);
+    }
+
+    long version = metadataVersion.get();
+    String entityTypeId = repository.getEntityType().getId();
+    DecoratedRepository cachedRepository = decoratedRepositories.get(entityTypeId);
+    if (cachedRepository != null && cachedRepository.isValid(version, rowLevelSecured)) {
+      return cachedRepository.getRepository();
+    }
+
+    Repository<Entity> decoratedRepository = decorator.apply(repository);
+    decoratedRepositories.put(
+        entityTypeId, new DecoratedRepository(decoratedRepository, version, rowLevelSecured));
+    return decoratedRepository;
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    if (isMetadataDirty()) {
+      LOG.debug(
+          "Transaction {} changed metadata, invalidating decorated repositories", transactionId);
+      invalidate();
+    }
+  }
+
+  @EventListener
+  public void onApplicationEvent(BootstrappingEvent bootstrappingEvent) {
+    bootstrappingDone = bootstrappingEvent.getStatus() == FINISHED;
+    invalidate();
+  }
+
+  private void invalidate() {
+    metadataVersion.incrementAndGet();
+    decoratedRepositories.clear();
+    applicationEventPublisher.publishEvent(new MetadataChangedEvent());
+  }
+
+  private boolean isCacheable() {
+    return bootstrappingDone && !isReadReplicaTransaction() && !isMetadataDirty();
+  }
+
+  private boolean isMetadataDirty() {
+    return transactionInformation.getDirtyRepositories().stream()
+        .anyMatch(METADATA_ENTITY_TYPE_IDS::contains);
+  }
+
+  /** Metadata read from a replica can be outdated, don't cache repositories created for it */
+  private static boolean isReadReplicaTransaction() {
+    return TransactionSynchronizationManager.hasResource(READ_REPLICA_RESOURCE_NAME);
+  }
+
+  private static class DecoratedRepository {
+    private final Repository<Entity> repository;
+    private final long metadataVersion;
+    private final boolean rowLevelSecured;
+
+    DecoratedRepository(
+        Repository<Entity> repository, long metadataVersion, boolean rowLevelSecured) {
+      this.repository = requireNonNull(repository);
+      this.metadataVersion = metadataVersion;
+      this.rowLevelSecured = rowLevelSecured;
+    }
+
+    Repository<Entity> getRepository() {
+      return repository;
+    }
+
+    boolean isValid(long currentMetadataVersion, boolean currentRowLevelSecured) {
+      return metadataVersion == currentMetadataVersion && rowLevelSecured == currentRowLevelSecured;
+    }
+  }
+}
@@ -64,6 +64,8 @@ public class MolgenisRepositoryDecoratorFactory implements RepositoryDecoratorFa
   private final RowLevelSecurityRepositoryDecoratorFactory
       rowLevelSecurityRepositoryDecoratorFactory;
   private final L1CacheJanitor l1CacheJanitor;
+  private final DecoratedRepositoryCache decoratedRepositoryCache;
+  private final TracingRepositoryDecoratorFactory tracingRepositoryDecoratorFactory;
 
   public MolgenisRepositoryDecoratorFactory(
       EntityManager entityManager,
@@ -86,7 +88,9 @@ public class MolgenisRepositoryDecoratorFactory implements RepositoryDecoratorFa
       DefaultValueReferenceValidator defaultValueReferenceValidator,
       UserPermissionEvaluator permissionService,
       RowLevelSecurityRepositoryDecoratorFactory rowLevelSecurityRepositoryDecoratorFactory,
-      L1CacheJanitor l1CacheJanitor) {
+      L1CacheJanitor l1CacheJanitor,
+      DecoratedRepositoryCache decoratedRepositoryCache,
+      TracingRepositoryDecoratorFactory tracingRepositoryDecoratorFactory) {
 
     this.entityManager = requireNonNull(entityManager);
     this.entityAttributesValidator = requireNonNull(entityAttributesValidator);
@@ -110,47 +114,65 @@ public class MolgenisRepositoryDecoratorFactory implements RepositoryDecoratorFa
     this.rowLevelSecurityRepositoryDecoratorFactory =
         requireNonNull(rowLevelSecurityRepositoryDecoratorFactory);
     this.l1CacheJanitor = requireNonNull(l1CacheJanitor);
+    this.decoratedRepositoryCache = requireNonNull(decoratedRepositoryCache);
+    this.tracingRepositoryDecoratorFactory = requireNonNull(tracingRepositoryDecoratorFactory);
   }
 
   @Override
   public Repository<Entity> createDecoratedRepository(Repository<Entity> repository) {
-    Repository<Entity> decoratedRepository = repository;
+    boolean rowLevelSecured =
+        rowLevelSecurityRepositoryDecoratorFactory.isRowLevelSecured(repository);
+    return decoratedRepositoryCache.get(repository, rowLevelSecured, this::decorate);
+  }
+
+  private Repository<Entity> decorate(Repository<Entity> repository) {
+    Repository<Entity> decoratedRepository = trace(repository, "backend");
 
     // 15. Query the L2 cache before querying the database
     decoratedRepository =
         new L2CacheRepositoryDecorator(decoratedRepository, l2Cache, transactionInformation);
+    decoratedRepository = trace(decoratedRepository, "l2Cache");
 
     // 14. Query the L1 cache before querying the database
     decoratedRepository =
         new L1CacheRepositoryDecorator(decoratedRepository, l1Cache, l1CacheJanitor);
+    decoratedRepository = trace(decoratedRepository, "l1Cache");
 
     // 13. Route specific queries to the index
     decoratedRepository = indexedRepositoryDecoratorFactory.create(decoratedRepository);
+    decoratedRepository = trace(decoratedRepository, "index");
 
     // 12. Query the L3 cache before querying the index
     decoratedRepository =
         new L3CacheRepositoryDecorator(decoratedRepository, l3Cache, transactionInformation);
+    decoratedRepository = trace(decoratedRepository, "l3Cache");
 
     // 11. Register the cud action needed to index indexed repositories
     decoratedRepository =
         new IndexActionRepositoryDecorator(decoratedRepository, indexActionRegisterService);
+    decoratedRepository = trace(decoratedRepository, "indexAction");
 
     // 10. Custom decorators for system entity types
     decoratedRepository = systemRepositoryDecoratorRegistry.decorate(decoratedRepository);
+    decoratedRepository = trace(decoratedRepository, "system");
 
     // 9. Perform cascading deletes
     decoratedRepository = new CascadeDeleteRepositoryDecorator(decoratedRepository, dataService);
+    decoratedRepository = trace(decoratedRepository, "cascadeDelete");
 
     // 8. Row level security decorator
     decoratedRepository =
         rowLevelSecurityRepositoryDecoratorFactory.createDecoratedRepository(decoratedRepository);
+    decoratedRepository = trace(decoratedRepository, "rowLevelSecurity");
 
     // 7. Entity reference resolver decorator
     decoratedRepository = new EntityReferenceResolverDecorator(decoratedRepository, entityManager);
+    decoratedRepository = trace(decoratedRepository, "referenceResolver");
 
     // 6. Entity listener
     decoratedRepository =
         new EntityListenerRepositoryDecorator(decoratedRepository, entityListenersService);
+    decoratedRepository = trace(decoratedRepository, "entityListener");
 
     // 5. validation decorator
     decoratedRepository =
@@ -159,27 +181,37 @@ public class MolgenisRepositoryDecoratorFactory implements RepositoryDecoratorFa
             decoratedRepository,
             entityAttributesValidator,
             defaultValueReferenceValidator);
+    decoratedRepository = trace(decoratedRepository, "validation");
 
     // 4. aggregate anonymization decorator
     decoratedRepository =
         new AggregateAnonymizerRepositoryDecorator<>(
             decoratedRepository, aggregateAnonymizer, appSettings);
+    decoratedRepository = trace(decoratedRepository, "aggregateAnonymizer");
 
     // 3. security decorator
     decoratedRepository = new RepositorySecurityDecorator(decoratedRepository, permissionService);
+    decoratedRepository = trace(decoratedRepository, "security");
 
     // 2. transaction decorator
     decoratedRepository =
         new TransactionalRepositoryDecorator<>(decoratedRepository, transactionManager);
+    decoratedRepository = trace(decoratedRepository, "transaction");
 
     // 1. query validation decorator
     decoratedRepository =
         new QueryValidationRepositoryDecorator<>(
             decoratedRepository, queryValidator, fetchValidator);
+    decoratedRepository = trace(decoratedRepository, "queryValidation");
 
     // 0. Dynamic decorators
     decoratedRepository = dynamicRepositoryDecoratorRegistry.decorate(decoratedRepository);
+    decoratedRepository = trace(decoratedRepository, "dynamic");
 
     return decoratedRepository;
   }
+
+  private Repository<Entity> trace(Repository<Entity> repository, String layer) {
+    return tracingRepositoryDecoratorFactory.createDecoratedRepository(repository, layer);
+  }
 }
@@ -0,0 +1,271 @@
+package org.molgenis.data.platform.decorators;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.common.collect.Iterators;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.molgenis.data.AbstractRepositoryDecorator;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.aggregation.AggregateQuery;
+import org.molgenis.data.aggregation.AggregateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the latency of repository operations that pass through one layer of the repository
+ * decorator chain, together with the number of rows going in and coming out.
+ *
+ * <p>Latencies include the time spent in the layers below. The time spent in a layer itself is the
+ * difference with the latency of the layer below it. For operations that return a {@link Stream}
+ * or {@link Iterator} the latency only covers creating it, rows are counted while it is consumed.
+ * The latency of {@link #forEachBatched} includes the time spent in the consumer, which is the same
+ * for all layers.
+ *
+ * <p>Enable debug logging for this class to log a breakdown of each operation per layer.
+ */
+class TracingRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
+  private static final Logger LOG = LoggerFactory.getLogger(TracingRepositoryDecorator.class);
+
+  static final String METRIC_LATENCY = "repository.operation";
+  static final String METRIC_ROWS = "repository.rows";
+
+  private static final String TAG_ENTITY_TYPE = "entityType";
+  private static final String TAG_OPERATION = "operation";
+  private static final String TAG_LAYER = "layer";
+  private static final String TAG_DIRECTION = "direction";
+  private static final String DIRECTION_IN = "in";
+  private static final String DIRECTION_OUT = "out";
+
+  private final String layer;
+  private final String entityTypeId;
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentMap<String, Timer> timers;
+  private final ConcurrentMap<String, Counter> rowCounters;
+
+  TracingRepositoryDecorator(
+      Repository<Entity> delegateRepository, String layer, MeterRegistry meterRegistry) {
+    super(delegateRepository);
+    this.layer = requireNonNull(layer);
+    this.meterRegistry = requireNonNull(meterRegistry);
+    this.entityTypeId = delegateRepository.getEntityType().getId();
+    this.timers = new ConcurrentHashMap<>();
+    this.rowCounters = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public Iterator<Entity> iterator() {
+    String operation = "iterator";
+    Counter rowCounter = getRowCounter(operation, DIRECTION_OUT);
+    return Iterators.transform(
+        trace(operation, super::iterator),
+        entity -> {
+          rowCounter.increment();
+          return entity;
+        });
+  }
+
+  @Override
+  public void forEachBatched(Fetch fetch, Consumer<List<Entity>> consumer, int batchSize) {
+    String operation = "forEachBatched";
+    Counter rowCounter = getRowCounter(operation, DIRECTION_OUT);
+    Consumer<List<Entity>> countingConsumer =
+        entities -> {
+          rowCounter.increment(entities.size());
+          consumer.accept(entities);
+        };
+    trace(operation, () -> super.forEachBatched(fetch, countingConsumer, batchSize));
+  }
+
+  @Override
+  public long count() {
+    return trace("count", super::count);
+  }
+
+  @Override
+  public long count(Query<Entity> q) {
+    return trace("countQuery", () -> super.count(q));
+  }
+
+  @Override
+  public Stream<Entity> findAll(Query<Entity> q) {
+    String operation = "findAllQuery";
+    return countRows(operation, DIRECTION_OUT, trace(operation, () -> super.findAll(q)));
+  }
+
+  @Override
+  public Entity findOne(Query<Entity> q) {
+    String operation = "findOneQuery";
+    return countRow(operation, DIRECTION_OUT, trace(operation, () -> super.findOne(q)));
+  }
+
+  @Override
+  public Entity findOneById(Object id) {
+    String operation = "findOneById";
+    countRow(operation, DIRECTION_IN, id);
+    return countRow(operation, DIRECTION_OUT, trace(operation, () -> super.findOneById(id)));
+  }
+
+  @Override
+  public Entity findOneById(Object id, Fetch fetch) {
+    String operation = "findOneById";
+    countRow(operation, DIRECTION_IN, id);
+    return countRow(
+        operation, DIRECTION_OUT, trace(operation, () -> super.findOneById(id, fetch)));
+  }
+
+  @Override
+  public Stream<Entity> findAll(Stream<Object> ids) {
+    String operation = "findAllById";
+    Stream<Object> countedIds = countRows(operation, DIRECTION_IN, ids);
+    return countRows(operation, DIRECTION_OUT, trace(operation, () -> super.findAll(countedIds)));
+  }
+
+  @Override
+  public Stream<Entity> findAll(Stream<Object> ids, Fetch fetch) {
+    String operation = "findAllById";
+    Stream<Object> countedIds = countRows(operation, DIRECTION_IN, ids);
+    return countRows(
+        operation, DIRECTION_OUT, trace(operation, () -> super.findAll(countedIds, fetch)));
+  }
+
+  @Override
+  public AggregateResult aggregate(AggregateQuery aggregateQuery) {
+    return trace("aggregate", () -> super.aggregate(aggregateQuery));
+  }
+
+  @Override
+  public void add(Entity entity) {
+    String operation = "add";
+    countRow(operation, DIRECTION_IN, entity);
+    trace(operation, () -> super.add(entity));
+  }
+
+  @Override
+  public Integer add(Stream<Entity> entities) {
+    String operation = "addStream";
+    Stream<Entity> countedEntities = countRows(operation, DIRECTION_IN, entities);
+    return trace(operation, () -> super.add(countedEntities));
+  }
+
+  @Override
+  public void update(Entity entity) {
+    String operation = "update";
+    countRow(operation, DIRECTION_IN, entity);
+    trace(operation, () -> super.update(entity));
+  }
+
+  @Override
+  public void update(Stream<Entity> entities) {
+    String operation = "updateStream";
+    Stream<Entity> countedEntities = countRows(operation, DIRECTION_IN, entities);
+    trace(operation, () -> super.update(countedEntities));
+  }
+
+  @Override
+  public void delete(Entity entity) {
+    String operation = "delete";
+    countRow(operation, DIRECTION_IN, entity);
+    trace(operation, () -> super.delete(entity));
+  }
+
+  @Override
+  public void delete(Stream<Entity> entities) {
+    String operation = "deleteStream";
+    Stream<Entity> countedEntities = countRows(operation, DIRECTION_IN, entities);
+    trace(operation, () -> super.delete(countedEntities));
+  }
+
+  @Override
+  public void deleteById(Object id) {
+    String operation = "deleteById";
+    countRow(operation, DIRECTION_IN, id);
+    trace(operation, () -> super.deleteById(id));
+  }
+
+  @Override
+  public void deleteAll(Stream<Object> ids) {
+    String operation = "deleteAllById";
+    Stream<Object> countedIds = countRows(operation, DIRECTION_IN, ids);
+    trace(operation, () -> super.deleteAll(countedIds));
+  }
+
+  @Override
+  public void deleteAll() {
+    trace("deleteAll", super::deleteAll);
+  }
+
+  private void trace(String operation, Runnable runnable) {
+    trace(
+        operation,
+        () -> {
+          runnable.run();
+          return null;
+        });
+  }
+
+  private <T> T trace(String operation, Supplier<T> supplier) {
+    long start = System.nanoTime();
+    try {
+      return supplier.get();
+    } finally {
+      long duration = System.nanoTime() - start;
+      getTimer(operation).record(duration, NANOSECONDS);
+      LOG.debug(
+          "{} [{}] layer [{}] took {}µs",
+          operation,
+          entityTypeId,
+          layer,
+          NANOSECONDS.toMicros(duration));
+    }
+  }
+
+  private <T> T countRow(String operation, String direction, T row) {
+    if (row != null) {
+      getRowCounter(operation, direction).increment();
+    }
+    return row;
+  }
+
+  private <T> Stream<T> countRows(String operation, String direction, Stream<T> rows) {
+    Counter rowCounter = getRowCounter(operation, direction);
+    return rows.peek(row -> rowCounter.increment());
+  }
+
+  private Timer getTimer(String operation) {
+    return timers.computeIfAbsent(
+        operation,
+        key ->
+            Timer.builder(METRIC_LATENCY)
+                .description("Latency of repository operations per decorator layer")
+                .tag(TAG_ENTITY_TYPE, entityTypeId)
+                .tag(TAG_OPERATION, operation)
+                .tag(TAG_LAYER, layer)
+                .register(meterRegistry));
+  }
+
+  private Counter getRowCounter(String operation, String direction) {
+    return rowCounters.computeIfAbsent(
+        operation + '.' + direction,
+        key ->
+            Counter.builder(METRIC_ROWS)
+                .description("Rows passed to and returned by repository operations per layer")
+                .tag(TAG_ENTITY_TYPE, entityTypeId)
+                .tag(TAG_OPERATION, operation)
+                .tag(TAG_LAYER, layer)
+                .tag(TAG_DIRECTION, direction)
+                .register(meterRegistry));
+  }
+}
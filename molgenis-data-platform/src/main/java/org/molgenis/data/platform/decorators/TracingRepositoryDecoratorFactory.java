@@ -0,0 +1,38 @@
+package org.molgenis.data.platform.decorators;
+
+import static java.util.Objects.requireNonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Repository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates {@link TracingRepositoryDecorator}s between the layers of the repository decorator chain
+ * if repository tracing is enabled with the <code>repository.tracing.enabled</code> property.
+ */
+@Component
+public class TracingRepositoryDecoratorFactory {
+  private final MeterRegistry meterRegistry;
+  private final boolean tracingEnabled;
+
+  TracingRepositoryDecoratorFactory(
+      MeterRegistry meterRegistry,
+      @Value("${repository.tracing.enabled:false}") boolean tracingEnabled) {
+    this.meterRegistry = requireNonNull(meterRegistry);
+    this.tracingEnabled = tracingEnabled;
+  }
+
+  /**
+   * Traces the operations on the given repository as the given layer. Returns the repository as-is
+   * if tracing is disabled or if the repository is already traced, which happens if the previous
+   * layer did not decorate the repository.
+   */
+  public Repository<Entity> createDecoratedRepository(Repository<Entity> repository, String layer) {
+    if (!tracingEnabled || repository instanceof TracingRepositoryDecorator) {
+      return repository;
+    }
+    return new TracingRepositoryDecorator(repository, layer, meterRegistry);
+  }
+}
@@ -0,0 +1,125 @@
+package org.molgenis.data.platform.decorators;
+
+import static java.util.Collections.emptySet;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.event.BootstrappingEvent.BootstrappingStatus.FINISHED;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Repository;
+import org.molgenis.data.event.BootstrappingEvent;
+import org.molgenis.data.event.MetadataChangedEvent;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+class DecoratedRepositoryCacheTest extends AbstractMockitoTest {
+  @Mock private TransactionManager transactionManager;
+  @Mock private TransactionInformation transactionInformation;
+  @Mock private Repository<Entity> repository;
+  @Mock private Repository<Entity> decoratedRepository;
+  @Mock private UnaryOperator<Repository<Entity>> decorator;
+  @Mock private ApplicationEventPublisher applicationEventPublisher;
+  private DecoratedRepositoryCache decoratedRepositoryCache;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    decoratedRepositoryCache =
+        new DecoratedRepositoryCache(
+            transactionManager, transactionInformation, applicationEventPublisher);
+  }
+
+  @Test
+  void testDecoratedRepositoryCache() {
+    verify(transactionManager).addTransactionListener(decoratedRepositoryCache);
+  }
+
+  @Test
+  void testGetBootstrappingNotFinished() {
+    when(decorator.apply(repository)).thenReturn(decoratedRepository);
+
+    assertSame(decoratedRepository, decoratedRepositoryCache.get(repository, false, decorator));
+    assertSame(decoratedRepository, decoratedRepositoryCache.get(repository, false, decorator));
+    verify(decorator, times(2)).apply(repository);
+  }
+
+  @Test
+  void testGet() {
+    bootstrap();
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+    when(decorator.apply(repository)).thenReturn(decoratedRepository);
+
+    assertSame(decoratedRepository, decoratedRepositoryCache.get(repository, false, decorator));
+    assertSame(decoratedRepository, decoratedRepositoryCache.get(repository, false, decorator));
+    verify(decorator).apply(repository);
+  }
+
+  @Test
+  void testGetRowLevelSecurityChanged() {
+    bootstrap();
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+    when(decorator.apply(repository)).thenReturn(decoratedRepository);
+
+    decoratedRepositoryCache.get(repository, false, decorator);
+    decoratedRepositoryCache.get(repository, true, decorator);
+    verify(decorator, times(2)).apply(repository);
+  }
+
+  @Test
+  void testGetMetadataDirty() {
+    bootstrap();
+    when(transactionInformation.getDirtyRepositories()).thenReturn(Set.of(ENTITY_TYPE_META_DATA));
+    when(decorator.apply(repository)).thenReturn(decoratedRepository);
+
+    decoratedRepositoryCache.get(repository, false, decorator);
+    decoratedRepositoryCache.get(repository, false, decorator);
+    verify(decorator, times(2)).apply(repository);
+  }
+
+  @Test
+  void testAfterCommitTransactionMetadataChanged() {
+    bootstrap();
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(emptySet(), Set.of(ENTITY_TYPE_META_DATA), emptySet());
+    when(decorator.apply(repository)).thenReturn(decoratedRepository);
+
+    decoratedRepositoryCache.get(repository, false, decorator);
+    decoratedRepositoryCache.afterCommitTransaction("transactionId");
+    decoratedRepositoryCache.get(repository, false, decorator);
+    verify(decorator, times(2)).apply(repository);
+    verify(applicationEventPublisher, times(2)).publishEvent(any(MetadataChangedEvent.class));
+  }
+
+  @Test
+  void testAfterCommitTransactionDataChanged() {
+    bootstrap();
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(emptySet(), Set.of("myEntityType"), emptySet());
+    when(decorator.apply(repository)).thenReturn(decoratedRepository);
+
+    decoratedRepositoryCache.get(repository, false, decorator);
+    decoratedRepositoryCache.afterCommitTransaction("transactionId");
+    decoratedRepositoryCache.get(repository, false, decorator);
+    verify(decorator).apply(repository);
+    verify(applicationEventPublisher).publishEvent(any(MetadataChangedEvent.class));
+  }
+
+  private void bootstrap() {
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getId()).thenReturn("myEntityType");
+    when(repository.getEntityType()).thenReturn(entityType);
+    decoratedRepositoryCache.onApplicationEvent(new BootstrappingEvent(FINISHED));
+  }
+}
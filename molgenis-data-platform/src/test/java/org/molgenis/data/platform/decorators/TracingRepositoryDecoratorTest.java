@@ -0,0 +1,148 @@
+package org.molgenis.data.platform.decorators;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.platform.decorators.TracingRepositoryDecorator.METRIC_LATENCY;
+import static org.molgenis.data.platform.decorators.TracingRepositoryDecorator.METRIC_ROWS;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.test.AbstractMockitoTest;
+
+class TracingRepositoryDecoratorTest extends AbstractMockitoTest {
+  @Mock private Repository<Entity> delegateRepository;
+  private MeterRegistry meterRegistry;
+  private TracingRepositoryDecorator tracingRepositoryDecorator;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getId()).thenReturn("myEntityType");
+    when(delegateRepository.getEntityType()).thenReturn(entityType);
+    meterRegistry = new SimpleMeterRegistry();
+    tracingRepositoryDecorator =
+        new TracingRepositoryDecorator(delegateRepository, "myLayer", meterRegistry);
+  }
+
+  @Test
+  void testFindOneById() {
+    Entity entity = mock(Entity.class);
+    when(delegateRepository.findOneById("id")).thenReturn(entity);
+
+    assertSame(entity, tracingRepositoryDecorator.findOneById("id"));
+    assertEquals(1, getTimerCount("findOneById"));
+    assertEquals(1d, getRowCount("findOneById", "in"));
+    assertEquals(1d, getRowCount("findOneById", "out"));
+  }
+
+  @Test
+  void testFindOneByIdUnknownId() {
+    when(delegateRepository.findOneById("id")).thenReturn(null);
+
+    tracingRepositoryDecorator.findOneById("id");
+    assertEquals(0d, getRowCount("findOneById", "out"));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testFindAllQuery() {
+    Query<Entity> query = mock(Query.class);
+    Entity entity0 = mock(Entity.class);
+    Entity entity1 = mock(Entity.class);
+    when(delegateRepository.findAll(query)).thenReturn(Stream.of(entity0, entity1));
+
+    Stream<Entity> entities = tracingRepositoryDecorator.findAll(query);
+    assertEquals(1, getTimerCount("findAllQuery"));
+    assertEquals(0d, getRowCount("findAllQuery", "out"));
+    assertEquals(2, entities.collect(toList()).size());
+    assertEquals(2d, getRowCount("findAllQuery", "out"));
+  }
+
+  @Test
+  void testIterator() {
+    Entity entity0 = mock(Entity.class);
+    Entity entity1 = mock(Entity.class);
+    when(delegateRepository.iterator()).thenReturn(asList(entity0, entity1).iterator());
+
+    Iterator<Entity> entities = tracingRepositoryDecorator.iterator();
+    assertEquals(1, getTimerCount("iterator"));
+    assertEquals(0d, getRowCount("iterator", "out"));
+    assertSame(entity0, entities.next());
+    assertSame(entity1, entities.next());
+    assertEquals(2d, getRowCount("iterator", "out"));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testForEachBatched() {
+    List<Entity> batch = asList(mock(Entity.class), mock(Entity.class));
+    doAnswer(
+            invocation -> {
+              ((Consumer<List<Entity>>) invocation.getArgument(1)).accept(batch);
+              return null;
+            })
+        .when(delegateRepository)
+        .forEachBatched(eq(null), any(Consumer.class), eq(1000));
+    Consumer<List<Entity>> consumer = mock(Consumer.class);
+
+    tracingRepositoryDecorator.forEachBatched(consumer, 1000);
+    verify(consumer).accept(batch);
+    assertEquals(1, getTimerCount("forEachBatched"));
+    assertEquals(2d, getRowCount("forEachBatched", "out"));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testAddStream() {
+    doAnswer(invocation -> ((Stream<Entity>) invocation.getArgument(0)).collect(toList()).size())
+        .when(delegateRepository)
+        .add(any(Stream.class));
+
+    Stream<Entity> entities = Stream.of(mock(Entity.class), mock(Entity.class));
+    assertEquals(Integer.valueOf(2), tracingRepositoryDecorator.add(entities));
+    assertEquals(1, getTimerCount("addStream"));
+    assertEquals(2d, getRowCount("addStream", "in"));
+  }
+
+  private long getTimerCount(String operation) {
+    return meterRegistry
+        .get(METRIC_LATENCY)
+        .tag("entityType", "myEntityType")
+        .tag("operation", operation)
+        .tag("layer", "myLayer")
+        .timer()
+        .count();
+  }
+
+  private double getRowCount(String operation, String direction) {
+    Counter counter =
+        meterRegistry
+            .find(METRIC_ROWS)
+            .tag("entityType", "myEntityType")
+            .tag("operation", operation)
+            .tag("layer", "myLayer")
+            .tag("direction", direction)
+            .counter();
+    return counter != null ? counter.count() : 0d;
+  }
+}
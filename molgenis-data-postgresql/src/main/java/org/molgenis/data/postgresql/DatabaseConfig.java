@@ -1,17 +1,27 @@
 package org.molgenis.data.postgresql;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.config.DataSourceConfig.MIN_IDLE;
 
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.sql.DataSource;
 import org.molgenis.data.config.DataSourceConfig;
 import org.molgenis.data.populate.IdGenerator;
 import org.molgenis.data.postgresql.transaction.PostgreSqlTransactionManager;
+import org.molgenis.data.postgresql.transaction.ReadReplicaRoutingDataSource;
+import org.molgenis.data.postgresql.transaction.ReadReplicaRoutingDataSource.ReadReplica;
 import org.molgenis.data.transaction.TransactionExceptionTranslatorRegistry;
 import org.molgenis.data.transaction.TransactionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.TransactionManagementConfigurer;
@@ -33,13 +43,21 @@ public class DatabaseConfig implements TransactionManagementConfigurer {
   @Value("${db_password:@null}")
   private String dbPassword;
 
+  /** Comma-separated JDBC URIs of PostgreSQL streaming replicas used for read-only transactions */
+  @Value("${db_replica_uris:}")
+  private String dbReplicaJdbcUris;
+
+  /** Replicas lagging more than this number of milliseconds behind the primary are not used */
+  @Value("${db_replica_max_lag_ms:1000}")
+  private long dbReplicaMaxLagMillis;
+
   private final IdGenerator idGenerator;
-  private final DataSource dataSource;
+  private final HikariDataSource dataSource;
   private final TransactionExceptionTranslatorRegistry transactionExceptionTranslatorRegistry;
 
   public DatabaseConfig(
       IdGenerator idGenerator,
-      DataSource dataSource,
+      HikariDataSource dataSource,
       TransactionExceptionTranslatorRegistry transactionExceptionTranslatorRegistry) {
     this.idGenerator = requireNonNull(idGenerator);
     this.dataSource = requireNonNull(dataSource);
@@ -47,10 +65,53 @@ public class DatabaseConfig implements TransactionManagementConfigurer {
         requireNonNull(transactionExceptionTranslatorRegistry);
   }
 
+  /**
+   * Data source that routes read-only transactions to the configured read replicas and all other
+   * work to the primary data source. Without configured replicas all work is routed to the primary.
+   */
+  @Primary
+  @Bean
+  public ReadReplicaRoutingDataSource routingDataSource() {
+    return new ReadReplicaRoutingDataSource(dataSource, readReplicas(), dbReplicaMaxLagMillis);
+  }
+
+  @Scheduled(
+      initialDelayString = "${db_replica_lag_check_interval_ms:5000}",
+      fixedDelayString = "${db_replica_lag_check_interval_ms:5000}")
+  public void checkReplicationLag() {
+    routingDataSource().checkReplicationLag();
+  }
+
+  private List<ReadReplica> readReplicas() {
+    if (dbReplicaJdbcUris == null || dbReplicaJdbcUris.isBlank()) {
+      return List.of();
+    }
+
+    AtomicInteger index = new AtomicInteger();
+    return Arrays.stream(dbReplicaJdbcUris.split(","))
+        .map(String::trim)
+        .filter(jdbcUri -> !jdbcUri.isEmpty())
+        .map(jdbcUri -> createReadReplica("replica" + index.getAndIncrement(), jdbcUri))
+        .collect(toList());
+  }
+
+  private ReadReplica createReadReplica(String name, String jdbcUri) {
+    HikariDataSource replicaDataSource = new HikariDataSource();
+    replicaDataSource.setPoolName(name);
+    replicaDataSource.setDriverClassName(dbDriverClass);
+    replicaDataSource.setJdbcUrl(jdbcUri);
+    replicaDataSource.setUsername(dbUser);
+    replicaDataSource.setPassword(dbPassword);
+    replicaDataSource.setMaximumPoolSize(DataSourceConfig.MAX_POOL_SIZE);
+    replicaDataSource.setMinimumIdle(MIN_IDLE);
+    replicaDataSource.setReadOnly(true);
+    return new ReadReplica(name, replicaDataSource);
+  }
+
   @Bean
   public TransactionManager transactionManager() {
     return new PostgreSqlTransactionManager(
-        idGenerator, dataSource, transactionExceptionTranslatorRegistry);
+        idGenerator, routingDataSource(), transactionExceptionTranslatorRegistry);
   }
 
   @Override
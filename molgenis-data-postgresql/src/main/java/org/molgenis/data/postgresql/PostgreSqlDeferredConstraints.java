@@ -0,0 +1,90 @@
+package org.molgenis.data.postgresql;
+
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.transaction.TransactionConstants.BULK_LOAD_RESOURCE_NAME;
+import static org.molgenis.data.transaction.TransactionConstants.DEFERRED_CONSTRAINTS_RESOURCE_NAME;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Constraints and indexes of tables that were created during a bulk load in the current
+ * transaction. Creating them after the data is loaded validates the data once instead of row by
+ * row. The constraints and indexes are created before the transaction commits.
+ */
+class PostgreSqlDeferredConstraints extends TransactionSynchronizationAdapter {
+  private static final Logger LOG = LoggerFactory.getLogger(PostgreSqlDeferredConstraints.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final List<String> sqlStatements = new ArrayList<>();
+
+  private PostgreSqlDeferredConstraints(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = requireNonNull(jdbcTemplate);
+  }
+
+  /** Returns whether the current transaction bulk loads data into newly created tables. */
+  static boolean isBulkLoad() {
+    return TransactionSynchronizationManager.isActualTransactionActive()
+        && TransactionSynchronizationManager.hasResource(BULK_LOAD_RESOURCE_NAME);
+  }
+
+  /** Returns the deferred constraints of the current transaction, must be called in a bulk load. */
+  static PostgreSqlDeferredConstraints get(JdbcTemplate jdbcTemplate) {
+    PostgreSqlDeferredConstraints deferredConstraints = getResource();
+    if (deferredConstraints == null) {
+      deferredConstraints = new PostgreSqlDeferredConstraints(jdbcTemplate);
+      TransactionSynchronizationManager.bindResource(
+          DEFERRED_CONSTRAINTS_RESOURCE_NAME, deferredConstraints);
+      TransactionSynchronizationManager.registerSynchronization(deferredConstraints);
+    }
+    return deferredConstraints;
+  }
+
+  /** Returns the deferred constraints of the current transaction if there are any. */
+  static Optional<PostgreSqlDeferredConstraints> find() {
+    return Optional.ofNullable(getResource());
+  }
+
+  private static PostgreSqlDeferredConstraints getResource() {
+    return (PostgreSqlDeferredConstraints)
+        TransactionSynchronizationManager.getResource(DEFERRED_CONSTRAINTS_RESOURCE_NAME);
+  }
+
+  void add(String sqlStatement) {
+    sqlStatements.add(sqlStatement);
+  }
+
+  void addAll(List<String> sqlStatements) {
+    this.sqlStatements.addAll(sqlStatements);
+  }
+
+  /** Creates the constraints and indexes that were deferred so far. */
+  void create() {
+    if (LOG.isDebugEnabled() && !sqlStatements.isEmpty()) {
+      LOG.debug("Creating [{}] deferred constraints and indexes", sqlStatements.size());
+    }
+    for (String sqlStatement : sqlStatements) {
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("SQL: {}", sqlStatement);
+      }
+      jdbcTemplate.execute(sqlStatement);
+    }
+    sqlStatements.clear();
+  }
+
+  @Override
+  public void beforeCommit(boolean readOnly) {
+    create();
+  }
+
+  @Override
+  public void afterCompletion(int status) {
+    TransactionSynchronizationManager.unbindResourceIfPossible(DEFERRED_CONSTRAINTS_RESOURCE_NAME);
+  }
+}
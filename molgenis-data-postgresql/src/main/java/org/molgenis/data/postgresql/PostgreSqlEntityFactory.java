@@ -1,20 +1,20 @@
 package org.molgenis.data.postgresql;
 
-import static java.time.ZoneOffset.UTC;
 import static java.util.Arrays.asList;
-import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getColumnName;
-import static org.molgenis.data.util.MolgenisDateFormat.parseInstant;
-import static org.molgenis.data.util.MolgenisDateFormat.parseLocalDate;
+import static org.molgenis.data.util.EntityTypeUtils.isReferenceType;
 
-import java.math.BigDecimal;
 import java.sql.Array;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 import org.molgenis.data.Entity;
 import org.molgenis.data.EntityManager;
 import org.molgenis.data.Fetch;
@@ -39,239 +39,232 @@ class PostgreSqlEntityFactory {
     this.entityManager = requireNonNull(entityManager);
   }
 
+  /**
+   * Creates a mapper for result set rows of the given entity type. The value reader of each fetched
+   * attribute is created once, rows are read by column index.
+   */
   RowMapper<Entity> createRowMapper(EntityType entityType, Fetch fetch) {
-    return new EntityMapper(entityManager, entityType, fetch);
+    List<String> attributeNames = new ArrayList<>();
+    List<String> columnNames = new ArrayList<>();
+    List<ValueReader> valueReaders = new ArrayList<>();
+    for (Attribute attr : entityType.getAtomicAttributes()) {
+      if ((fetch == null || fetch.hasField(attr.getName())) && attr.getExpression() == null) {
+        attributeNames.add(attr.getName());
+        columnNames.add(getColumnName(attr, false));
+        valueReaders.add(createValueReader(attr));
+      }
+    }
+    return new EntityMapper(
+        entityManager, entityType, fetch, attributeNames, columnNames, valueReaders);
   }
 
   Iterable<Entity> getReferences(EntityType refEntityType, Iterable<?> ids) {
     return entityManager.getReferences(refEntityType, ids);
   }
 
-  private static class EntityMapper implements RowMapper<Entity> {
-    private final EntityManager entityManager;
-    private final EntityType entityType;
-    private final Fetch fetch;
+  Entity getReference(EntityType refEntityType, Object id) {
+    return entityManager.getReference(refEntityType, id);
+  }
 
-    private EntityMapper(EntityManager entityManager, EntityType entityType, Fetch fetch) {
-      this.entityManager = requireNonNull(entityManager);
-      this.entityType = requireNonNull(entityType);
-      this.fetch = fetch; // can be null
+  /**
+   * Creates a mapper for the values in the given column of an aggregate query result set. Values of
+   * reference attributes are mapped to referenced entity identifiers.
+   */
+  RowMapper<Object> createAggregateValueMapper(Attribute attr, String colName) {
+    Attribute valueAttr = isReferenceType(attr) ? attr.getRefEntity().getIdAttribute() : attr;
+    ValueReader valueReader = createValueReader(valueAttr);
+    return (resultSet, rowNum) -> valueReader.read(resultSet, resultSet.findColumn(colName));
+  }
+
+  /**
+   * Creates a reader that maps a single result set value to an entity value. See the JDBC 4.0
+   * specification appendix B titled "Data Type Conversion Tables" for conversion rules.
+   *
+   * @param attr attribute
+   * @return reader that returns values in the type defined by the attribute type
+   */
+  private ValueReader createValueReader(Attribute attr) {
+    switch (attr.getDataType()) {
+      case BOOL:
+        return (resultSet, columnIndex) -> {
+          boolean boolValue = resultSet.getBoolean(columnIndex);
+          return resultSet.wasNull() ? null : boolValue;
+        };
+      case CATEGORICAL:
+      case FILE:
+      case XREF:
+        return createReferenceReader(attr.getRefEntity());
+      case CATEGORICAL_MREF:
+      case MREF:
+      case ONE_TO_MANY:
+        return createReferencesReader(attr.getRefEntity());
+      case COMPOUND:
+        throw new IllegalAttributeTypeException(attr.getDataType());
+      case DATE:
+        return (resultSet, columnIndex) -> resultSet.getObject(columnIndex, LocalDate.class);
+      case DATE_TIME:
+        return (resultSet, columnIndex) -> {
+          OffsetDateTime offsetDateTime = resultSet.getObject(columnIndex, OffsetDateTime.class);
+          return offsetDateTime != null ? offsetDateTime.toInstant() : null;
+        };
+      case DECIMAL:
+        return (resultSet, columnIndex) -> {
+          double doubleValue = resultSet.getDouble(columnIndex);
+          return resultSet.wasNull() ? null : doubleValue;
+        };
+      case EMAIL:
+      case ENUM:
+      case HTML:
+      case HYPERLINK:
+      case SCRIPT:
+      case STRING:
+      case TEXT:
+        return ResultSet::getString;
+      case INT:
+        return (resultSet, columnIndex) -> {
+          int intValue = resultSet.getInt(columnIndex);
+          return resultSet.wasNull() ? null : intValue;
+        };
+      case LONG:
+        return (resultSet, columnIndex) -> {
+          long longValue = resultSet.getLong(columnIndex);
+          return resultSet.wasNull() ? null : longValue;
+        };
+      default:
+        throw new UnexpectedEnumException(attr.getDataType());
     }
+  }
 
-    @Override
-    public Entity mapRow(ResultSet resultSet, int i) throws SQLException {
-      Entity e = entityManager.createFetch(entityType, fetch);
+  /** Creates a reader for single reference values. */
+  private ValueReader createReferenceReader(EntityType refEntityType) {
+    ValueReader idReader = createValueReader(refEntityType.getIdAttribute());
+    return (resultSet, columnIndex) -> {
+      Object refIdValue = idReader.read(resultSet, columnIndex);
+      return refIdValue != null ? entityManager.getReference(refEntityType, refIdValue) : null;
+    };
+  }
 
-      // TODO performance, iterate over fetch if available
-      for (Attribute attr : entityType.getAtomicAttributes()) {
-        if (fetch == null || fetch.hasField(attr.getName())) {
-          if (attr.getExpression() != null) {
-            continue;
-          }
+  /**
+   * Creates a reader for multiple reference values. The result set contains an array of
+   * identifiers in the type of the referenced entity identifier for these attributes.
+   */
+  private ValueReader createReferencesReader(EntityType refEntityType) {
+    Function<Object, Object> idConverter = createIdConverter(refEntityType.getIdAttribute());
+    return (resultSet, columnIndex) -> {
+      Array arrayValue = resultSet.getArray(columnIndex);
+      if (arrayValue == null) {
+        return null;
+      }
+      Object[] postgreSqlIds = (Object[]) arrayValue.getArray();
+      if (postgreSqlIds.length == 0 || postgreSqlIds[0] == null) {
+        return null;
+      }
 
-          e.set(attr.getName(), mapValue(resultSet, attr));
-        }
+      Object[] ids = new Object[postgreSqlIds.length];
+      for (int i = 0; i < postgreSqlIds.length; ++i) {
+        Object postgreSqlId = postgreSqlIds[i];
+        ids[i] = postgreSqlId != null ? idConverter.apply(postgreSqlId) : null;
       }
-      return e;
-    }
 
-    /**
-     * Maps a single results set value to an entity value. See the JDBC 4.0 specification appendix B
-     * titled "Data Type Conversion Tables" for conversion rules.
-     *
-     * @param resultSet result set
-     * @param attr attribute
-     * @return value for the given attribute in the type defined by the attribute type
-     * @throws SQLException if an error occurs reading from the result set
-     */
-    private Object mapValue(ResultSet resultSet, Attribute attr) throws SQLException {
-      return mapValue(resultSet, attr, getColumnName(attr, false));
-    }
+      // convert ids to (lazy) entities
+      return entityManager.getReferences(refEntityType, asList(ids));
+    };
+  }
 
-    /**
-     * Maps a single results set value to an entity value. See the JDBC 4.0 specification appendix B
-     * titled "Data Type Conversion Tables" for conversion rules.
-     *
-     * @param resultSet result set
-     * @param attr attribute
-     * @param colName column name in the result set
-     * @return value for the given attribute in the type defined by the attribute type
-     * @throws SQLException if an error occurs reading from the result set
-     */
-    private Object mapValue(ResultSet resultSet, Attribute attr, String colName)
-        throws SQLException {
-      Object value;
-      switch (attr.getDataType()) {
+  /**
+   * Creates a converter for the elements of a PostgreSQL identifier array to entity values.
+   *
+   * @param idAttr id attribute
+   * @return converter from JDBC array element to entity value
+   */
+  private static Function<Object, Object> createIdConverter(Attribute idAttr) {
+    // use iteration instead of tail recursion
+    while (true) {
+      AttributeType attrType = idAttr.getDataType();
+      switch (attrType) {
         case BOOL:
-          boolean boolValue = resultSet.getBoolean(colName);
-          value = resultSet.wasNull() ? null : boolValue;
-          break;
-        case CATEGORICAL:
-        case FILE:
-        case XREF:
-          EntityType xrefEntityType = attr.getRefEntity();
-          Object refIdValue = mapValue(resultSet, xrefEntityType.getIdAttribute(), colName);
-          value =
-              refIdValue != null ? entityManager.getReference(xrefEntityType, refIdValue) : null;
-          break;
-        case CATEGORICAL_MREF:
-        case MREF:
-          EntityType mrefEntityMeta = attr.getRefEntity();
-          Array mrefArrayValue = resultSet.getArray(colName);
-          value = resultSet.wasNull() ? null : mapValueMref(mrefArrayValue, mrefEntityMeta);
-          break;
-        case ONE_TO_MANY:
-          Array oneToManyArrayValue = resultSet.getArray(colName);
-          value = resultSet.wasNull() ? null : mapValueOneToMany(oneToManyArrayValue, attr);
-          break;
-        case COMPOUND:
-          throw new IllegalAttributeTypeException(attr.getDataType());
-        case DATE:
-          value = resultSet.getObject(colName, LocalDate.class);
-          break;
-        case DATE_TIME:
-          OffsetDateTime offsetDateTime = resultSet.getObject(colName, OffsetDateTime.class);
-          value = resultSet.wasNull() ? null : offsetDateTime.toInstant();
-          break;
         case DECIMAL:
-          BigDecimal bigDecimalValue = resultSet.getBigDecimal(colName);
-          value = bigDecimalValue != null ? bigDecimalValue.doubleValue() : null;
-          break;
         case EMAIL:
         case ENUM:
         case HTML:
         case HYPERLINK:
+        case INT:
+        case LONG:
         case SCRIPT:
         case STRING:
         case TEXT:
-          value = resultSet.getString(colName);
-          break;
-        case INT:
-          int intValue = resultSet.getInt(colName);
-          value = resultSet.wasNull() ? null : intValue;
-          break;
-        case LONG:
-          long longValue = resultSet.getLong(colName);
-          value = resultSet.wasNull() ? null : longValue;
-          break;
+          return Function.identity();
+        case CATEGORICAL:
+        case FILE:
+        case XREF:
+          idAttr = idAttr.getRefEntity().getIdAttribute();
+          continue;
+        case DATE:
+          return id -> ((Date) id).toLocalDate();
+        case DATE_TIME:
+          return id -> ((Timestamp) id).toInstant();
+        case CATEGORICAL_MREF:
+        case COMPOUND:
+        case MREF:
+        case ONE_TO_MANY:
+          throw new IllegalAttributeTypeException(attrType);
         default:
-          throw new UnexpectedEnumException(attr.getDataType());
+          throw new UnexpectedEnumException(attrType);
       }
-      return value;
     }
+  }
 
-    /**
-     * Maps a single results set array value to an entity value for one-to-many attributes.
-     *
-     * @param arrayValue result set array value
-     * @param attr attribute meta data
-     * @return mapped value
-     * @throws SQLException if an error occurs while attempting to access the array
-     */
-    private Object mapValueOneToMany(Array arrayValue, Attribute attr) throws SQLException {
-      EntityType refEntityType = attr.getRefEntity();
-      Object value;
-      Object[] postgreSqlMrefIds = (Object[]) arrayValue.getArray();
-      if (postgreSqlMrefIds.length > 0 && postgreSqlMrefIds[0] != null) {
-        Attribute idAttr = refEntityType.getIdAttribute();
-        Object[] mrefIds = new Object[postgreSqlMrefIds.length];
-        for (int i = 0; i < postgreSqlMrefIds.length; ++i) {
-          Object mrefIdRaw = postgreSqlMrefIds[i];
-          Object mrefId =
-              mrefIdRaw != null ? convertMrefIdValue(mrefIdRaw.toString(), idAttr) : null;
-          mrefIds[i] = mrefId;
-        }
+  /** Reads a value from the current row of a result set */
+  @FunctionalInterface
+  private interface ValueReader {
+    Object read(ResultSet resultSet, int columnIndex) throws SQLException;
+  }
 
-        // convert ids to (lazy) entities
-        value = entityManager.getReferences(refEntityType, asList(mrefIds));
-      } else {
-        value = null;
-      }
-      return value;
-    }
+  private static class EntityMapper implements RowMapper<Entity> {
+    private final EntityManager entityManager;
+    private final EntityType entityType;
+    private final Fetch fetch;
+    private final String[] attributeNames;
+    private final String[] columnNames;
+    private final ValueReader[] valueReaders;
+    private ResultSet columnIndicesResultSet;
+    private int[] columnIndices;
 
-    /**
-     * Maps a single results set array value to an entity value for mref attributes.
-     *
-     * @param arrayValue result set array value
-     * @param entityType entity meta data
-     * @return mapped value
-     * @throws SQLException if an error occurs while attempting to access the array
-     */
-    private Object mapValueMref(Array arrayValue, EntityType entityType) throws SQLException {
-      // ResultSet contains a two dimensional array for MREF attribute values:
-      // [[<order_nr_as_string>,<mref_id_as_string>],[<order_nr_as_string>,<mref_id_as_string>],
-      // ...]
-      // In case there are no MREF attribute values the ResulSet is:
-      // [[null,null]]
-      Object value;
-      String[][] mrefIdsAndOrder = (String[][]) arrayValue.getArray();
-      if (mrefIdsAndOrder.length > 0 && mrefIdsAndOrder[0][0] != null) {
-        Arrays.sort(mrefIdsAndOrder, comparing(o -> Integer.valueOf(o[0])));
+    private EntityMapper(
+        EntityManager entityManager,
+        EntityType entityType,
+        Fetch fetch,
+        List<String> attributeNames,
+        List<String> columnNames,
+        List<ValueReader> valueReaders) {
+      this.entityManager = requireNonNull(entityManager);
+      this.entityType = requireNonNull(entityType);
+      this.fetch = fetch; // can be null
+      this.attributeNames = attributeNames.toArray(new String[0]);
+      this.columnNames = columnNames.toArray(new String[0]);
+      this.valueReaders = valueReaders.toArray(new ValueReader[0]);
+    }
 
-        Attribute idAttr = entityType.getIdAttribute();
-        Object[] mrefIds = new Object[mrefIdsAndOrder.length];
-        for (int i = 0; i < mrefIdsAndOrder.length; ++i) {
-          String[] mrefIdAndOrder = mrefIdsAndOrder[i];
-          String mrefIdStr = mrefIdAndOrder[1];
-          Object mrefId = mrefIdStr != null ? convertMrefIdValue(mrefIdStr, idAttr) : null;
-          mrefIds[i] = mrefId;
-        }
+    @Override
+    public Entity mapRow(ResultSet resultSet, int i) throws SQLException {
+      if (resultSet != columnIndicesResultSet) {
+        columnIndices = getColumnIndices(resultSet);
+        columnIndicesResultSet = resultSet;
+      }
 
-        // convert ids to (lazy) entities
-        value = entityManager.getReferences(entityType, asList(mrefIds));
-      } else {
-        value = null;
+      Entity e = entityManager.createFetch(entityType, fetch);
+      for (int j = 0; j < valueReaders.length; j++) {
+        e.set(attributeNames[j], valueReaders[j].read(resultSet, columnIndices[j]));
       }
-      return value;
+      return e;
     }
 
-    /**
-     * Converts a mref id value string to an entity value.
-     *
-     * @param idValueStr id value string
-     * @param idAttr id attribute
-     * @return entity value
-     */
-    private static Object convertMrefIdValue(String idValueStr, Attribute idAttr) {
-      // use iteration instead of tail recursion
-      while (true) {
-        AttributeType attrType = idAttr.getDataType();
-        switch (attrType) {
-          case BOOL:
-            return Boolean.valueOf(idValueStr);
-          case CATEGORICAL:
-          case FILE:
-          case XREF:
-            idAttr = idAttr.getRefEntity().getIdAttribute();
-            continue;
-          case DATE:
-            return parseLocalDate(idValueStr);
-          case DATE_TIME:
-            return parseInstant(idValueStr).atOffset(UTC);
-          case DECIMAL:
-            return Double.valueOf(idValueStr);
-          case EMAIL:
-          case ENUM:
-          case HTML:
-          case HYPERLINK:
-          case SCRIPT:
-          case STRING:
-          case TEXT:
-            return idValueStr;
-          case INT:
-            return Integer.valueOf(idValueStr);
-          case LONG:
-            return Long.valueOf(idValueStr);
-          case CATEGORICAL_MREF:
-          case COMPOUND:
-          case MREF:
-          case ONE_TO_MANY:
-            throw new IllegalAttributeTypeException(attrType);
-          default:
-            throw new UnexpectedEnumException(attrType);
-        }
+    private int[] getColumnIndices(ResultSet resultSet) throws SQLException {
+      int[] indices = new int[columnNames.length];
+      for (int j = 0; j < columnNames.length; j++) {
+        indices[j] = resultSet.findColumn(columnNames[j]);
       }
+      return indices;
     }
   }
 }
@@ -1,5 +1,6 @@
 package org.molgenis.data.postgresql;
 
+import java.util.List;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
 
@@ -82,6 +83,24 @@ public class PostgreSqlNameGenerator {
     return getQuotedIdentifier(entityPart + '_' + attrPart + '_' + idxAttrPart + indexNamePostfix);
   }
 
+  /**
+   * Returns the index name for the given indexed attributes of an entity
+   *
+   * @param entityType entity meta data
+   * @param attrs indexed attributes
+   * @return PostgreSQL index name
+   */
+  static String getIndexName(EntityType entityType, List<Attribute> attrs) {
+    String indexNamePostfix = "_idx";
+    int nrParts = attrs.size() + 1;
+    int nrAdditionalChars = attrs.size() + indexNamePostfix.length();
+    int maxPartByteLength = (MAX_IDENTIFIER_BYTE_LENGTH - nrAdditionalChars) / nrParts;
+
+    StringBuilder indexName = new StringBuilder(generateId(entityType, maxPartByteLength));
+    attrs.forEach(attr -> indexName.append('_').append(generateId(attr, maxPartByteLength)));
+    return getQuotedIdentifier(indexName.append(indexNamePostfix).toString());
+  }
+
   static String getColumnName(Attribute attr) {
     return getColumnName(attr, true);
   }
@@ -16,6 +16,7 @@ import static org.molgenis.data.QueryRule.Operator.NESTED;
 import static org.molgenis.data.QueryRule.Operator.RANGE;
 import static org.molgenis.data.QueryUtils.isTaggedType;
 import static org.molgenis.data.meta.AttributeType.BOOL;
+import static org.molgenis.data.meta.AttributeType.COMPOUND;
 import static org.molgenis.data.meta.AttributeType.ENUM;
 import static org.molgenis.data.meta.AttributeType.ONE_TO_MANY;
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getCheckConstraintName;
@@ -23,6 +24,7 @@ import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getColumnName
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getFilterColumnName;
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getForeignKeyName;
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getFunctionValidateUpdateName;
+import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getIndexName;
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getJunctionTableIndexName;
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getJunctionTableName;
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getJunctionTableOrderColumnName;
@@ -58,6 +60,7 @@ import org.molgenis.data.QueryRule;
 import org.molgenis.data.QueryRule.Operator;
 import org.molgenis.data.Sort;
 import org.molgenis.data.UnknownAttributeException;
+import org.molgenis.data.aggregation.AggregateQuery;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.IllegalAttributeTypeException;
 import org.molgenis.data.meta.model.Attribute;
@@ -82,6 +85,10 @@ class PostgreSqlQueryGenerator {
 
   static final String ERR_CODE_READONLY_VIOLATION = "23506";
 
+  static final String AGGREGATE_X_COLUMN = "x_value";
+  static final String AGGREGATE_Y_COLUMN = "y_value";
+  static final String AGGREGATE_COUNT_COLUMN = "count_value";
+
   private PostgreSqlQueryGenerator() {}
 
   private static String getSqlConstraintPrimaryKey(EntityType entityType, Attribute attr) {
@@ -240,6 +247,10 @@ class PostgreSqlQueryGenerator {
   }
 
   static String getSqlCreateTable(EntityType entityType) {
+    return getSqlCreateTable(entityType, ConstraintMode.INCLUDE_CONSTRAINTS);
+  }
+
+  static String getSqlCreateTable(EntityType entityType, ConstraintMode constraintMode) {
     List<Attribute> persistedTableAttrs = getTableAttributes(entityType).collect(toList());
 
     StringBuilder sql =
@@ -256,12 +267,17 @@ class PostgreSqlQueryGenerator {
     }
 
     // add table constraints
-    for (Attribute persistedTableAttr : persistedTableAttrs) {
-      List<String> sqlTableConstraints = getSqlTableConstraints(entityType, persistedTableAttr);
-      if (!sqlTableConstraints.isEmpty()) {
-        sqlTableConstraints.forEach(
-            sqlTableConstraint -> sql.append(',').append(sqlTableConstraint));
+    if (constraintMode == ConstraintMode.INCLUDE_CONSTRAINTS) {
+      for (Attribute persistedTableAttr : persistedTableAttrs) {
+        List<String> sqlTableConstraints = getSqlTableConstraints(entityType, persistedTableAttr);
+        if (!sqlTableConstraints.isEmpty()) {
+          sqlTableConstraints.forEach(
+              sqlTableConstraint -> sql.append(',').append(sqlTableConstraint));
+        }
       }
+    } else {
+      Attribute idAttr = entityType.getIdAttribute();
+      sql.append(',').append(getSqlConstraintPrimaryKey(entityType, idAttr));
     }
 
     sql.append(')');
@@ -269,6 +285,20 @@ class PostgreSqlQueryGenerator {
     return sql.toString();
   }
 
+  /**
+   * Returns the statements that add the constraints that are excluded from a table created with
+   * {@link ConstraintMode#EXCLUDE_CONSTRAINTS}.
+   */
+  static List<String> getSqlCreateTableConstraints(EntityType entityType) {
+    String tableName = getTableName(entityType);
+    String idAttrName = entityType.getIdAttribute().getName();
+    return getTableAttributes(entityType)
+        .filter(attr -> !attr.getName().equals(idAttrName))
+        .flatMap(attr -> getSqlTableConstraints(entityType, attr).stream())
+        .map(sqlTableConstraint -> "ALTER TABLE " + tableName + " ADD " + sqlTableConstraint)
+        .collect(toList());
+  }
+
   static String getSqlCreateFunctionValidateUpdate(
       EntityType entityType, Collection<Attribute> readonlyTableAttrs) {
     StringBuilder strBuilder =
@@ -337,6 +367,11 @@ class PostgreSqlQueryGenerator {
   }
 
   static String getSqlCreateJunctionTable(EntityType entityType, Attribute attr) {
+    return getSqlCreateJunctionTable(entityType, attr, ConstraintMode.INCLUDE_CONSTRAINTS);
+  }
+
+  static String getSqlCreateJunctionTable(
+      EntityType entityType, Attribute attr, ConstraintMode constraintMode) {
     Attribute idAttr = entityType.getIdAttribute();
     StringBuilder sql =
         new StringBuilder("CREATE TABLE ")
@@ -351,47 +386,67 @@ class PostgreSqlQueryGenerator {
             .append(getColumnName(attr))
             .append(' ')
             .append(getPostgreSqlType(attr.getRefEntity().getIdAttribute()))
-            .append(" NOT NULL")
-            .append(", FOREIGN KEY (")
-            .append(getColumnName(idAttr))
-            .append(") REFERENCES ")
-            .append(getTableName(entityType))
-            .append('(')
-            .append(getColumnName(idAttr))
-            .append(") ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED");
+            .append(" NOT NULL");
+
+    if (constraintMode == ConstraintMode.INCLUDE_CONSTRAINTS) {
+      getSqlJunctionTableConstraints(entityType, attr)
+          .forEach(sqlConstraint -> sql.append(", ").append(sqlConstraint));
+    }
+
+    sql.append(')');
+
+    return sql.toString();
+  }
+
+  /**
+   * Returns the statements that add the constraints that are excluded from a junction table
+   * created with {@link ConstraintMode#EXCLUDE_CONSTRAINTS}.
+   */
+  static List<String> getSqlCreateJunctionTableConstraints(EntityType entityType, Attribute attr) {
+    String junctionTableName = getJunctionTableName(entityType, attr);
+    return getSqlJunctionTableConstraints(entityType, attr).stream()
+        .map(sqlConstraint -> "ALTER TABLE " + junctionTableName + " ADD " + sqlConstraint)
+        .collect(toList());
+  }
+
+  private static List<String> getSqlJunctionTableConstraints(
+      EntityType entityType, Attribute attr) {
+    List<String> constraints = Lists.newArrayList();
+
+    Attribute idAttr = entityType.getIdAttribute();
+    constraints.add(
+        "FOREIGN KEY ("
+            + getColumnName(idAttr)
+            + ") REFERENCES "
+            + getTableName(entityType)
+            + '('
+            + getColumnName(idAttr)
+            + ") ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED");
 
     if (isPersistedInPostgreSql(attr.getRefEntity())) {
-      sql.append(", FOREIGN KEY (")
-          .append(getColumnName(attr))
-          .append(") REFERENCES ")
-          .append(getTableName(attr.getRefEntity()))
-          .append('(')
-          .append(getColumnName(attr.getRefEntity().getIdAttribute()))
-          .append(") DEFERRABLE INITIALLY DEFERRED");
+      constraints.add(
+          "FOREIGN KEY ("
+              + getColumnName(attr)
+              + ") REFERENCES "
+              + getTableName(attr.getRefEntity())
+              + '('
+              + getColumnName(attr.getRefEntity().getIdAttribute())
+              + ") DEFERRABLE INITIALLY DEFERRED");
     }
 
     AttributeType attrType = attr.getDataType();
     switch (attrType) {
       case CATEGORICAL_MREF:
       case MREF:
-        sql.append(", UNIQUE (")
-            .append(getColumnName(idAttr))
-            .append(',')
-            .append(getColumnName(attr))
-            .append(')');
+        constraints.add("UNIQUE (" + getColumnName(idAttr) + ',' + getColumnName(attr) + ')');
         break;
       default:
         throw new IllegalAttributeTypeException(attrType);
     }
-    sql.append(", UNIQUE (")
-        .append(getJunctionTableOrderColumnName())
-        .append(',')
-        .append(getColumnName(idAttr))
-        .append(')');
-
-    sql.append(')');
+    constraints.add(
+        "UNIQUE (" + getJunctionTableOrderColumnName() + ',' + getColumnName(idAttr) + ')');
 
-    return sql.toString();
+    return constraints;
   }
 
   static String getSqlCreateJunctionTableIndex(EntityType entityType, Attribute attr) {
@@ -408,6 +463,18 @@ class PostgreSqlQueryGenerator {
         + ')';
   }
 
+  static String getSqlCreateIndex(EntityType entityType, List<Attribute> attrs) {
+    String columnNames =
+        attrs.stream().map(PostgreSqlNameGenerator::getColumnName).collect(joining(","));
+    return "CREATE INDEX IF NOT EXISTS "
+        + getIndexName(entityType, attrs)
+        + " ON "
+        + getTableName(entityType)
+        + " ("
+        + columnNames
+        + ')';
+  }
+
   static String getSqlDropJunctionTable(EntityType entityType, Attribute attr) {
     return getSqlDropTable(getJunctionTableName(entityType, attr));
   }
@@ -590,7 +657,7 @@ class PostgreSqlQueryGenerator {
                       // of query rules
                       String mrefSelect =
                           MessageFormat.format(
-                              "(SELECT array_agg(DISTINCT ARRAY[{0}.{1}::TEXT,{0}.{0}::TEXT]) "
+                              "(SELECT array_agg({0}.{0} ORDER BY {0}.{1}) "
                                   + "FROM {2} AS {0} WHERE this.{3} = {0}.{3}) AS {0}",
                               getColumnName(attr),
                               getJunctionTableOrderColumnName(),
@@ -688,6 +755,121 @@ class PostgreSqlQueryGenerator {
     return sqlBuilder.toString();
   }
 
+  /**
+   * Produces SQL to aggregate the entities that match the query of the aggregate query. Groups the
+   * entities by the value of the x attribute and optionally the y attribute and counts the entities
+   * or the distinct values of the distinct attribute in each group. Multiple reference attribute
+   * values are aggregated per referenced entity using their junction table or, for one-to-many
+   * attributes, the table of the referenced entity.
+   *
+   * <p>The result set contains the columns {@link #AGGREGATE_X_COLUMN}, {@link
+   * #AGGREGATE_Y_COLUMN} (if the aggregate query has a y attribute) and {@link
+   * #AGGREGATE_COUNT_COLUMN}. Reference attribute values are identifiers of referenced entities.
+   *
+   * @param aggregateQuery aggregate query
+   * @param parameters prepared statement parameters
+   * @return SQL string
+   */
+  static String getSqlAggregate(
+      EntityType entityType, AggregateQuery aggregateQuery, List<Object> parameters) {
+    Attribute xAttr = aggregateQuery.getAttributeX();
+    if (xAttr == null) {
+      throw new MolgenisDataException("Aggregate query requires an x attribute");
+    }
+    Attribute yAttr = aggregateQuery.getAttributeY();
+    Attribute distinctAttr = aggregateQuery.getAttributeDistinct();
+    String idColumnName = getColumnName(entityType.getIdAttribute());
+
+    StringBuilder from =
+        new StringBuilder(" FROM ").append(getTableName(entityType)).append(" AS this");
+    String xColumn = getSqlAggregateColumn(entityType, xAttr, "agg_x", from);
+    String yColumn = yAttr != null ? getSqlAggregateColumn(entityType, yAttr, "agg_y", from) : null;
+
+    String count;
+    if (distinctAttr != null) {
+      String distinctColumn = getSqlAggregateColumn(entityType, distinctAttr, "agg_distinct", from);
+      count = "COUNT(DISTINCT " + distinctColumn + ')';
+    } else if (isPersistedInOtherTable(xAttr)
+        || (yAttr != null && isPersistedInOtherTable(yAttr))) {
+      // the same entity can be part of a group multiple times
+      count = "COUNT(DISTINCT this." + idColumnName + ')';
+    } else {
+      count = "COUNT(*)";
+    }
+
+    StringBuilder sql =
+        new StringBuilder("SELECT ").append(xColumn).append(" AS ").append(AGGREGATE_X_COLUMN);
+    if (yColumn != null) {
+      sql.append(", ").append(yColumn).append(" AS ").append(AGGREGATE_Y_COLUMN);
+    }
+    sql.append(", ").append(count).append(" AS ").append(AGGREGATE_COUNT_COLUMN).append(from);
+
+    Query<Entity> q = aggregateQuery.getQuery();
+    if (q != null && !q.getRules().isEmpty()) {
+      // filter in a sub-query so that joins on filtered multiple reference attributes do not
+      // influence the aggregation counts
+      String where = getSqlWhere(entityType, q, parameters, new AtomicInteger());
+      sql.append(" WHERE this.")
+          .append(idColumnName)
+          .append(" IN (SELECT this.")
+          .append(idColumnName)
+          .append(getSqlFrom(entityType, q))
+          .append(" WHERE ")
+          .append(where)
+          .append(')');
+    }
+
+    sql.append(" GROUP BY ").append(xColumn);
+    if (yColumn != null) {
+      sql.append(", ").append(yColumn);
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Returns the column expression of an aggregate attribute. Joins the table that contains the
+   * values of attributes that are persisted in another table.
+   */
+  private static String getSqlAggregateColumn(
+      EntityType entityType, Attribute attr, String tableAlias, StringBuilder from) {
+    if (attr.getExpression() != null || attr.getDataType() == COMPOUND) {
+      throw new MolgenisDataException(
+          format("Attribute [%s] cannot be used in an aggregate query", attr.getName()));
+    }
+    if (!isPersistedInOtherTable(attr)) {
+      return "this." + getColumnName(attr);
+    }
+
+    String idColumnName = getColumnName(entityType.getIdAttribute());
+    if (attr.getDataType() == ONE_TO_MANY && attr.isMappedBy()) {
+      from.append(" LEFT JOIN ")
+          .append(getTableName(attr.getRefEntity()))
+          .append(" AS ")
+          .append(tableAlias)
+          .append(" ON (this.")
+          .append(idColumnName)
+          .append(" = ")
+          .append(tableAlias)
+          .append('.')
+          .append(getColumnName(attr.getMappedBy()))
+          .append(')');
+      return tableAlias + '.' + getColumnName(attr.getRefEntity().getIdAttribute());
+    } else {
+      from.append(" LEFT JOIN ")
+          .append(getJunctionTableName(entityType, attr))
+          .append(" AS ")
+          .append(tableAlias)
+          .append(" ON (this.")
+          .append(idColumnName)
+          .append(" = ")
+          .append(tableAlias)
+          .append('.')
+          .append(idColumnName)
+          .append(')');
+      return tableAlias + '.' + getColumnName(attr);
+    }
+  }
+
   private static String getSqlColumn(EntityType entityType, Attribute attr, ColumnMode columnMode) {
     StringBuilder sqlBuilder = new StringBuilder(getColumnName(attr)).append(' ');
 
@@ -734,6 +916,15 @@ class PostgreSqlQueryGenerator {
     EXCLUDE_DEFAULT_CONSTRAINT
   }
 
+  /**
+   * Whether tables are created with or without their constraints. Tables created without their
+   * constraints still have a primary key, so that entities can be looked up and referenced by id.
+   */
+  enum ConstraintMode {
+    INCLUDE_CONSTRAINTS,
+    EXCLUDE_CONSTRAINTS
+  }
+
   static boolean generateSqlColumnDefaultConstraint(Attribute attr) {
     return attr.getDefaultValue() != null && !EntityTypeUtils.isMultipleReferenceType(attr);
   }
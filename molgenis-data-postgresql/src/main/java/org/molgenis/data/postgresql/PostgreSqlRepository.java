@@ -6,7 +6,10 @@ import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Streams.stream;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableSet;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.nullsLast;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.counting;
 import static java.util.stream.Collectors.toList;
@@ -23,6 +26,7 @@ import static org.molgenis.data.QueryRule.Operator.NESTED;
 import static org.molgenis.data.QueryRule.Operator.NOT;
 import static org.molgenis.data.QueryRule.Operator.OR;
 import static org.molgenis.data.QueryRule.Operator.RANGE;
+import static org.molgenis.data.RepositoryCapability.AGGREGATEABLE;
 import static org.molgenis.data.RepositoryCapability.CACHEABLE;
 import static org.molgenis.data.RepositoryCapability.MANAGABLE;
 import static org.molgenis.data.RepositoryCapability.QUERYABLE;
@@ -34,6 +38,10 @@ import static org.molgenis.data.RepositoryCapability.WRITABLE;
 import static org.molgenis.data.meta.AttributeType.ONE_TO_MANY;
 import static org.molgenis.data.postgresql.PostgreSqlExceptionTranslator.VALUE_TOO_LONG_MSG;
 import static org.molgenis.data.postgresql.PostgreSqlNameGenerator.getJunctionTableOrderColumnName;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.AGGREGATE_COUNT_COLUMN;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.AGGREGATE_X_COLUMN;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.AGGREGATE_Y_COLUMN;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlAggregate;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCount;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlDelete;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlDeleteAll;
@@ -46,6 +54,7 @@ import static org.molgenis.data.postgresql.PostgreSqlQueryUtils.getJunctionTable
 import static org.molgenis.data.postgresql.PostgreSqlQueryUtils.getTableAttributes;
 import static org.molgenis.data.postgresql.PostgreSqlUtils.getPostgreSqlValue;
 import static org.molgenis.data.util.EntityTypeUtils.isMultipleReferenceType;
+import static org.molgenis.data.util.EntityTypeUtils.isReferenceType;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ArrayListMultimap;
@@ -59,7 +68,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -67,12 +79,15 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Fetch;
 import org.molgenis.data.Query;
 import org.molgenis.data.QueryRule.Operator;
 import org.molgenis.data.RepositoryCapability;
+import org.molgenis.data.aggregation.AggregateQuery;
+import org.molgenis.data.aggregation.AggregateResult;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
@@ -115,7 +130,8 @@ class PostgreSqlRepository extends AbstractRepository {
               VALIDATE_UNIQUE_CONSTRAINT,
               VALIDATE_NOTNULL_CONSTRAINT,
               VALIDATE_READONLY_CONSTRAINT,
-              CACHEABLE));
+              CACHEABLE,
+              AGGREGATEABLE));
 
   /** Supported query operators */
   private static final Set<Operator> QUERY_OPERATORS =
@@ -186,6 +202,97 @@ class PostgreSqlRepository extends AbstractRepository {
         sql, parameters.toArray(new Object[parameters.size()]), Long.class);
   }
 
+  /**
+   * Aggregates the entities in the database. Labels are sorted by their string representation with
+   * the missing value label last. Nillable attributes always have a missing value label.
+   */
+  @Override
+  public AggregateResult aggregate(AggregateQuery aggregateQuery) {
+    List<Object> parameters = Lists.newArrayList();
+    String sql = getSqlAggregate(entityType, aggregateQuery, parameters);
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Aggregating [{}] rows for query [{}]", getName(), aggregateQuery);
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("SQL: {}, parameters: {}", sql, parameters);
+      }
+    }
+
+    Attribute xAttr = aggregateQuery.getAttributeX();
+    Attribute yAttr = aggregateQuery.getAttributeY();
+    RowMapper<Object> xValueMapper =
+        postgreSqlEntityFactory.createAggregateValueMapper(xAttr, AGGREGATE_X_COLUMN);
+    RowMapper<Object> yValueMapper =
+        yAttr != null
+            ? postgreSqlEntityFactory.createAggregateValueMapper(yAttr, AGGREGATE_Y_COLUMN)
+            : null;
+
+    // x value -> y value (null if there is no y attribute) -> count
+    Map<Object, Map<Object, Long>> counts = new HashMap<>();
+    jdbcTemplate.query(
+        sql,
+        parameters.toArray(new Object[0]),
+        (RowCallbackHandler)
+            resultSet -> {
+              Object xValue = xValueMapper.mapRow(resultSet, resultSet.getRow());
+              Object yValue =
+                  yValueMapper != null ? yValueMapper.mapRow(resultSet, resultSet.getRow()) : null;
+              counts
+                  .computeIfAbsent(xValue, key -> new HashMap<>())
+                  .put(yValue, resultSet.getLong(AGGREGATE_COUNT_COLUMN));
+            });
+    return createAggregateResult(counts, xAttr, yAttr);
+  }
+
+  private AggregateResult createAggregateResult(
+      Map<Object, Map<Object, Long>> counts, Attribute xAttr, @Nullable Attribute yAttr) {
+    List<Object> xValues = getAggregateValues(counts.keySet(), xAttr);
+    List<Object> yValues;
+    if (yAttr != null) {
+      Set<Object> distinctYValues = new HashSet<>();
+      counts.values().forEach(yCounts -> distinctYValues.addAll(yCounts.keySet()));
+      yValues = getAggregateValues(distinctYValues, yAttr);
+    } else {
+      yValues = emptyList();
+    }
+
+    List<List<Long>> matrix = new ArrayList<>(xValues.size());
+    for (Object xValue : xValues) {
+      Map<Object, Long> yCounts = counts.getOrDefault(xValue, emptyMap());
+      List<Long> row = new ArrayList<>();
+      if (yAttr != null) {
+        yValues.forEach(yValue -> row.add(yCounts.getOrDefault(yValue, 0L)));
+      } else {
+        row.add(yCounts.getOrDefault(null, 0L));
+      }
+      matrix.add(row);
+    }
+    return new AggregateResult(
+        matrix, getAggregateLabels(xValues, xAttr), getAggregateLabels(yValues, yAttr));
+  }
+
+  private static List<Object> getAggregateValues(Collection<Object> values, Attribute attr) {
+    List<Object> sortedValues = new ArrayList<>(values);
+    if (attr.isNillable() && !values.contains(null)) {
+      sortedValues.add(null);
+    }
+    sortedValues.sort(nullsLast(comparing(Object::toString)));
+    return sortedValues;
+  }
+
+  /** Converts referenced entity identifiers to (lazy) entities */
+  private List<Object> getAggregateLabels(List<Object> values, @Nullable Attribute attr) {
+    if (attr == null || !isReferenceType(attr)) {
+      return values;
+    }
+    EntityType refEntityType = attr.getRefEntity();
+    return values.stream()
+        .map(
+            value ->
+                value != null ? postgreSqlEntityFactory.getReference(refEntityType, value) : null)
+        .collect(toList());
+  }
+
   @Override
   public Stream<Entity> findAll(Query<Entity> q) {
     return stream(findAllBatching(q));
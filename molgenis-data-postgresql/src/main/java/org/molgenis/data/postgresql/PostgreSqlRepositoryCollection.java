@@ -4,6 +4,7 @@ import static com.google.common.collect.Sets.immutableEnumSet;
 import static java.lang.String.format;
 import static java.util.EnumSet.of;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.RepositoryCollectionCapability.META_DATA_PERSISTABLE;
 import static org.molgenis.data.RepositoryCollectionCapability.UPDATABLE;
@@ -16,14 +17,18 @@ import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_D
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ID;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.IS_ABSTRACT;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.ColumnMode;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.ConstraintMode;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.generateSqlColumnDefaultConstraint;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlAddColumn;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateCheckConstraint;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateForeignKey;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateFunctionValidateUpdate;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateIndex;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateJunctionTable;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateJunctionTableConstraints;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateJunctionTableIndex;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateTable;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateTableConstraints;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateUniqueKey;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCreateUpdateTrigger;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlDropCheckConstraint;
@@ -186,6 +191,7 @@ public class PostgreSqlRepositoryCollection extends AbstractRepositoryCollection
     if (entityType.isAbstract()) {
       throw new UnknownRepositoryException(entityType.getId());
     }
+    createDeferredConstraints();
     dropTables(entityType);
   }
 
@@ -246,6 +252,7 @@ public class PostgreSqlRepositoryCollection extends AbstractRepositoryCollection
     if (!isPersisted(attr) && !isPersisted(updatedAttr)) {
       return;
     }
+    createDeferredConstraints();
 
     if (isPersisted(attr) && !isPersisted(updatedAttr)) {
       deleteAttribute(entityType, attr);
@@ -270,6 +277,7 @@ public class PostgreSqlRepositoryCollection extends AbstractRepositoryCollection
     if (!isPersisted(attr)) {
       return;
     }
+    createDeferredConstraints();
 
     if (isMultipleReferenceType(attr)) {
       dropJunctionTable(entityType, attr);
@@ -278,6 +286,36 @@ public class PostgreSqlRepositoryCollection extends AbstractRepositoryCollection
     }
   }
 
+  @Override
+  public void createIndex(EntityType entityType, List<Attribute> attrs) {
+    if (entityType.isAbstract()) {
+      throw new MolgenisDataException(
+          format("Cannot create index for abstract entity type [%s].", entityType.getId()));
+    }
+    for (Attribute attr : attrs) {
+      if (!isPersisted(attr) || !isTableAttribute(attr)) {
+        throw new MolgenisDataException(
+            format(
+                "Cannot create index for attribute [%s] of entity type [%s].",
+                attr.getName(), entityType.getId()));
+      }
+    }
+
+    createDeferredConstraints();
+
+    String createIndexSql = getSqlCreateIndex(entityType, attrs);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+          "Creating index for entity [{}] attributes [{}]",
+          entityType.getId(),
+          attrs.stream().map(Attribute::getName).collect(joining(",")));
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("SQL: {}", createIndexSql);
+      }
+    }
+    jdbcTemplate.execute(createIndexSql);
+  }
+
   /**
    * Add attribute to entityType.
    *
@@ -288,6 +326,7 @@ public class PostgreSqlRepositoryCollection extends AbstractRepositoryCollection
     if (!isPersisted(attr)) {
       return;
     }
+    createDeferredConstraints();
 
     if (isMultipleReferenceType(attr)) {
       createJunctionTable(entityType, attr);
@@ -758,7 +797,16 @@ public class PostgreSqlRepositoryCollection extends AbstractRepositoryCollection
     }
   }
 
+  /**
+   * Creates the tables of an entity type. During a bulk load the tables are created without their
+   * constraints and indexes, these are created at the end of the transaction.
+   */
   private void createTable(EntityType entityType) {
+    if (PostgreSqlDeferredConstraints.isBulkLoad()) {
+      createTableDeferConstraints(entityType);
+      return;
+    }
+
     // create table
     String createTableSql = getSqlCreateTable(entityType);
     if (LOG.isDebugEnabled()) {
@@ -775,6 +823,50 @@ public class PostgreSqlRepositoryCollection extends AbstractRepositoryCollection
     createJunctionTables(entityType);
   }
 
+  private void createTableDeferConstraints(EntityType entityType) {
+    PostgreSqlDeferredConstraints deferredConstraints =
+        PostgreSqlDeferredConstraints.get(jdbcTemplate);
+
+    String createTableSql = getSqlCreateTable(entityType, ConstraintMode.EXCLUDE_CONSTRAINTS);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Creating table without constraints for entity [{}]", entityType.getId());
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("SQL: {}", createTableSql);
+      }
+    }
+    jdbcTemplate.execute(createTableSql);
+    deferredConstraints.addAll(getSqlCreateTableConstraints(entityType));
+
+    createTableTriggers(entityType);
+
+    getJunctionTableAttributes(entityType)
+        .forEach(
+            attr -> {
+              String createJunctionTableSql =
+                  getSqlCreateJunctionTable(entityType, attr, ConstraintMode.EXCLUDE_CONSTRAINTS);
+              if (LOG.isDebugEnabled()) {
+                LOG.debug(
+                    "Creating junction table without constraints for entity [{}] attribute [{}]",
+                    entityType.getId(),
+                    attr.getName());
+                if (LOG.isTraceEnabled()) {
+                  LOG.trace("SQL: {}", createJunctionTableSql);
+                }
+              }
+              jdbcTemplate.execute(createJunctionTableSql);
+              deferredConstraints.addAll(getSqlCreateJunctionTableConstraints(entityType, attr));
+              deferredConstraints.add(getSqlCreateJunctionTableIndex(entityType, attr));
+            });
+  }
+
+  /**
+   * Creates the constraints and indexes deferred during a bulk load in the current transaction
+   * before the tables are altered.
+   */
+  private void createDeferredConstraints() {
+    PostgreSqlDeferredConstraints.find().ifPresent(PostgreSqlDeferredConstraints::create);
+  }
+
   private void createTableTriggers(EntityType entityType) {
     List<Attribute> readonlyTableAttrs = getTableAttributesReadonly(entityType).collect(toList());
     if (!readonlyTableAttrs.isEmpty()) {
@@ -4,7 +4,10 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import org.apache.commons.logging.LogFactory;
 import org.molgenis.data.populate.IdGenerator;
@@ -28,6 +31,9 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
  * <p>TransactionListeners can be registered and will be notified on transaction begin, commit and
  * rollback of transactions that are not readonly.
  *
+ * <p>Read-only transactions can be routed to a read replica by constructing this transaction
+ * manager with a {@link ReadReplicaRoutingDataSource}.
+ *
  * <p>Each transaction is given a unique transaction id.
  */
 @SuppressWarnings("java:S1948") // The transactionmanager will never be serialized
@@ -35,6 +41,12 @@ public class PostgreSqlTransactionManager extends DataSourceTransactionManager
     implements TransactionManager {
   private static final long serialVersionUID = 1L;
   private static final Logger LOG = LoggerFactory.getLogger(PostgreSqlTransactionManager.class);
+  private static final List<String> TRANSACTION_RESOURCE_NAMES =
+      List.of(
+          TransactionConstants.TRANSACTION_ID_RESOURCE_NAME,
+          TransactionConstants.READ_REPLICA_RESOURCE_NAME,
+          TransactionConstants.BULK_LOAD_RESOURCE_NAME,
+          TransactionConstants.DEFERRED_CONSTRAINTS_RESOURCE_NAME);
   private final IdGenerator idGenerator;
   private final List<TransactionListener> transactionListeners = new ArrayList<>();
   private final TransactionExceptionTranslatorRegistry transactionExceptionTranslatorRegistry;
@@ -81,7 +93,17 @@ public class PostgreSqlTransactionManager extends DataSourceTransactionManager
       LOG.debug("Start transaction [{}]", molgenisTransaction.getId());
     }
 
-    super.doBegin(molgenisTransaction.getDataSourceTransaction(), definition);
+    // expose read-only flag before a connection is obtained so that a routing data source can
+    // direct read-only transactions to a read replica
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(definition.isReadOnly());
+    try {
+      super.doBegin(molgenisTransaction.getDataSourceTransaction(), definition);
+    } catch (TransactionException e) {
+      TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+      TransactionSynchronizationManager.unbindResourceIfPossible(
+          TransactionConstants.READ_REPLICA_RESOURCE_NAME);
+      throw e;
+    }
 
     if (!definition.isReadOnly()) {
       TransactionSynchronizationManager.bindResource(
@@ -176,20 +198,47 @@ public class PostgreSqlTransactionManager extends DataSourceTransactionManager
     super.doCleanupAfterCompletion(molgenisTransaction.getDataSourceTransaction());
     TransactionSynchronizationManager.unbindResourceIfPossible(
         TransactionConstants.TRANSACTION_ID_RESOURCE_NAME);
+    TransactionSynchronizationManager.unbindResourceIfPossible(
+        TransactionConstants.READ_REPLICA_RESOURCE_NAME);
+    TransactionSynchronizationManager.unbindResourceIfPossible(
+        TransactionConstants.BULK_LOAD_RESOURCE_NAME);
+    TransactionSynchronizationManager.unbindResourceIfPossible(
+        TransactionConstants.DEFERRED_CONSTRAINTS_RESOURCE_NAME);
 
     transactionListeners.forEach(j -> j.doCleanupAfterCompletion(molgenisTransaction.getId()));
   }
 
+  /**
+   * Suspends the data source transaction and the resources that describe the suspended
+   * transaction, so that a new transaction does not share or clear them. The new transaction is
+   * given its own id.
+   */
   @Override
   protected Object doSuspend(Object transaction) {
     MolgenisTransaction molgenisTransaction = (MolgenisTransaction) transaction;
-    return super.doSuspend(molgenisTransaction.getDataSourceTransaction());
+    Object suspendedDataSourceResources =
+        super.doSuspend(molgenisTransaction.getDataSourceTransaction());
+
+    Map<String, Object> suspendedTransactionResources = new HashMap<>();
+    for (String resourceName : TRANSACTION_RESOURCE_NAMES) {
+      Object resource = TransactionSynchronizationManager.unbindResourceIfPossible(resourceName);
+      if (resource != null) {
+        suspendedTransactionResources.put(resourceName, resource);
+      }
+    }
+    molgenisTransaction.setId(idGenerator.generateId().toLowerCase());
+
+    return new SuspendedResources(suspendedDataSourceResources, suspendedTransactionResources);
   }
 
   @Override
-  protected void doResume(Object transaction, Object suspendedResources) {
-    MolgenisTransaction molgenisTransaction = (MolgenisTransaction) transaction;
-    super.doResume(molgenisTransaction.getDataSourceTransaction(), suspendedResources);
+  protected void doResume(@Nullable Object transaction, Object suspendedResources) {
+    SuspendedResources molgenisSuspendedResources = (SuspendedResources) suspendedResources;
+    Object dataSourceTransaction =
+        transaction != null ? ((MolgenisTransaction) transaction).getDataSourceTransaction() : null;
+    super.doResume(dataSourceTransaction, molgenisSuspendedResources.dataSourceResources);
+    molgenisSuspendedResources.transactionResources.forEach(
+        TransactionSynchronizationManager::bindResource);
   }
 
   private RuntimeException translateTransactionException(
@@ -206,4 +255,14 @@ public class PostgreSqlTransactionManager extends DataSourceTransactionManager
         format("Unexpected exception class [%s]", transactionException.getClass().getSimpleName()),
         transactionException);
   }
+
+  private static class SuspendedResources {
+    private final Object dataSourceResources;
+    private final Map<String, Object> transactionResources;
+
+    SuspendedResources(Object dataSourceResources, Map<String, Object> transactionResources) {
+      this.dataSourceResources = dataSourceResources;
+      this.transactionResources = transactionResources;
+    }
+  }
 }
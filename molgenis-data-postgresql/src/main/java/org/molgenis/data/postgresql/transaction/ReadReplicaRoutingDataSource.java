@@ -0,0 +1,166 @@
+package org.molgenis.data.postgresql.transaction;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.molgenis.data.transaction.TransactionConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections for read-only transactions to PostgreSQL streaming replicas and all other
+ * connections to the primary database.
+ *
+ * <p>A replica is only used if its replication lag, as measured by {@link #checkReplicationLag()},
+ * does not exceed the configured maximum. If no replica qualifies the primary is used. When a
+ * connection is routed to a replica the replica name is bound as transaction resource {@link
+ * TransactionConstants#READ_REPLICA_RESOURCE_NAME} so that caches can avoid storing data that was
+ * read from a replica.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+  private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+  static final String PRIMARY = "primary";
+
+  private static final String SQL_REPLICATION_LAG_MS =
+      "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+          + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)"
+          + " END";
+
+  private final List<ReadReplica> replicas;
+  private final long maxReplicationLagMillis;
+  private final AtomicInteger counter = new AtomicInteger();
+
+  public ReadReplicaRoutingDataSource(
+      DataSource primaryDataSource, List<ReadReplica> replicas, long maxReplicationLagMillis) {
+    this.replicas = requireNonNull(replicas);
+    this.maxReplicationLagMillis = maxReplicationLagMillis;
+
+    Map<Object, Object> targetDataSources = new HashMap<>();
+    targetDataSources.put(PRIMARY, requireNonNull(primaryDataSource));
+    replicas.forEach(replica -> targetDataSources.put(replica.getName(), replica.getDataSource()));
+    setTargetDataSources(targetDataSources);
+    setDefaultTargetDataSource(primaryDataSource);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    super.afterPropertiesSet();
+    checkReplicationLag();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return PRIMARY;
+    }
+
+    ReadReplica replica = selectReplica();
+    if (replica == null) {
+      LOG.debug("No read replica available, routing read-only transaction to primary");
+      return PRIMARY;
+    }
+
+    if (!TransactionSynchronizationManager.hasResource(
+        TransactionConstants.READ_REPLICA_RESOURCE_NAME)) {
+      TransactionSynchronizationManager.bindResource(
+          TransactionConstants.READ_REPLICA_RESOURCE_NAME, replica.getName());
+    }
+    return replica.getName();
+  }
+
+  /** Closes the replica data sources, the primary data source is managed elsewhere */
+  public void close() {
+    for (ReadReplica replica : replicas) {
+      DataSource dataSource = replica.getDataSource();
+      if (dataSource instanceof AutoCloseable) {
+        try {
+          ((AutoCloseable) dataSource).close();
+        } catch (Exception e) {
+          LOG.warn("Error closing read replica '{}'", replica.getName(), e);
+        }
+      }
+    }
+  }
+
+  /** Round-robin selection of a replica that is not lagging too far behind the primary */
+  private ReadReplica selectReplica() {
+    int nrReplicas = replicas.size();
+    int offset = Math.floorMod(counter.getAndIncrement(), nrReplicas);
+    for (int i = 0; i < nrReplicas; i++) {
+      ReadReplica replica = replicas.get((offset + i) % nrReplicas);
+      if (replica.getReplicationLagMillis() <= maxReplicationLagMillis) {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Measures the replication lag of each replica. A replica that cannot be reached is considered to
+   * be infinitely lagging until the next successful check.
+   */
+  public void checkReplicationLag() {
+    replicas.forEach(this::checkReplicationLag);
+  }
+
+  private void checkReplicationLag(ReadReplica replica) {
+    long replicationLagMillis;
+    try (Connection connection = replica.getDataSource().getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(SQL_REPLICATION_LAG_MS)) {
+      replicationLagMillis = resultSet.next() ? resultSet.getLong(1) : Long.MAX_VALUE;
+    } catch (SQLException e) {
+      LOG.warn("Error determining replication lag of read replica '{}'", replica.getName(), e);
+      replicationLagMillis = Long.MAX_VALUE;
+    }
+
+    boolean wasAvailable = replica.getReplicationLagMillis() <= maxReplicationLagMillis;
+    boolean isAvailable = replicationLagMillis <= maxReplicationLagMillis;
+    if (wasAvailable != isAvailable) {
+      LOG.info(
+          "Read replica '{}' {} for read-only transactions",
+          replica.getName(),
+          isAvailable ? "available" : "unavailable");
+    }
+    replica.setReplicationLagMillis(replicationLagMillis);
+  }
+
+  /** PostgreSQL streaming replica used to serve read-only transactions */
+  public static class ReadReplica {
+    private final String name;
+    private final DataSource dataSource;
+    private volatile long replicationLagMillis = Long.MAX_VALUE;
+
+    public ReadReplica(String name, DataSource dataSource) {
+      this.name = requireNonNull(name);
+      this.dataSource = requireNonNull(dataSource);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public DataSource getDataSource() {
+      return dataSource;
+    }
+
+    long getReplicationLagMillis() {
+      return replicationLagMillis;
+    }
+
+    void setReplicationLagMillis(long replicationLagMillis) {
+      this.replicationLagMillis = replicationLagMillis;
+    }
+  }
+}
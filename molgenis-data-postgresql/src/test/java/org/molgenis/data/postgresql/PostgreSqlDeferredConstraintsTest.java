@@ -0,0 +1,81 @@
+package org.molgenis.data.postgresql;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.molgenis.data.transaction.TransactionConstants.BULK_LOAD_RESOURCE_NAME;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_COMMITTED;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_ROLLED_BACK;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class PostgreSqlDeferredConstraintsTest extends AbstractMockitoTest {
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    TransactionSynchronizationManager.initSynchronization();
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+  }
+
+  @AfterEach
+  void tearDownAfterEach() {
+    PostgreSqlDeferredConstraints.find()
+        .ifPresent(deferredConstraints -> deferredConstraints.afterCompletion(STATUS_ROLLED_BACK));
+    TransactionSynchronizationManager.unbindResourceIfPossible(BULK_LOAD_RESOURCE_NAME);
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    TransactionSynchronizationManager.clearSynchronization();
+  }
+
+  @Test
+  void testIsBulkLoad() {
+    TransactionSynchronizationManager.bindResource(BULK_LOAD_RESOURCE_NAME, Boolean.TRUE);
+    assertTrue(PostgreSqlDeferredConstraints.isBulkLoad());
+  }
+
+  @Test
+  void testIsBulkLoadFalse() {
+    assertFalse(PostgreSqlDeferredConstraints.isBulkLoad());
+  }
+
+  @Test
+  void testBeforeCommit() {
+    PostgreSqlDeferredConstraints deferredConstraints =
+        PostgreSqlDeferredConstraints.get(jdbcTemplate);
+    assertSame(deferredConstraints, PostgreSqlDeferredConstraints.get(jdbcTemplate));
+    assertEquals(
+        singletonList(deferredConstraints),
+        TransactionSynchronizationManager.getSynchronizations());
+
+    deferredConstraints.addAll(singletonList("ALTER TABLE t ADD UNIQUE (c)"));
+    deferredConstraints.add("CREATE INDEX i ON t (c)");
+    deferredConstraints.beforeCommit(false);
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).execute("ALTER TABLE t ADD UNIQUE (c)");
+    inOrder.verify(jdbcTemplate).execute("CREATE INDEX i ON t (c)");
+
+    // constraints are created once
+    deferredConstraints.beforeCommit(false);
+    verifyNoMoreInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void testAfterCompletion() {
+    PostgreSqlDeferredConstraints deferredConstraints =
+        PostgreSqlDeferredConstraints.get(jdbcTemplate);
+    deferredConstraints.afterCompletion(STATUS_COMMITTED);
+    assertFalse(PostgreSqlDeferredConstraints.find().isPresent());
+  }
+}
@@ -1,11 +1,13 @@
 package org.molgenis.data.postgresql;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.AttributeType.MREF;
 import static org.molgenis.data.meta.AttributeType.ONE_TO_MANY;
 import static org.molgenis.data.meta.AttributeType.STRING;
 import static org.molgenis.data.meta.AttributeType.XREF;
@@ -19,6 +21,7 @@ import org.molgenis.data.EntityManager;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
+import org.springframework.jdbc.core.RowMapper;
 
 class PostgreSqlEntityFactoryTest {
   private PostgreSqlEntityFactory postgreSqlEntityFactory;
@@ -49,7 +52,8 @@ class PostgreSqlEntityFactoryTest {
     ResultSet rs = mock(ResultSet.class);
     Array oneToManyArray = mock(Array.class);
     when(oneToManyArray.getArray()).thenReturn(new String[] {"id0", "id1"});
-    when(rs.getArray(oneToManyAttrName)).thenReturn(oneToManyArray);
+    when(rs.findColumn(oneToManyAttrName)).thenReturn(1);
+    when(rs.getArray(1)).thenReturn(oneToManyArray);
     int rowNum = 0;
 
     Entity entity = mock(Entity.class);
@@ -82,7 +86,8 @@ class PostgreSqlEntityFactoryTest {
     ResultSet rs = mock(ResultSet.class);
     Array oneToManyArray = mock(Array.class);
     when(oneToManyArray.getArray()).thenReturn(new Integer[] {0, 1});
-    when(rs.getArray(oneToManyAttrName)).thenReturn(oneToManyArray);
+    when(rs.findColumn(oneToManyAttrName)).thenReturn(1);
+    when(rs.getArray(1)).thenReturn(oneToManyArray);
     int rowNum = 0;
 
     Entity entity = mock(Entity.class);
@@ -113,7 +118,8 @@ class PostgreSqlEntityFactoryTest {
     EntityType entityType = mock(EntityType.class);
     when(entityType.getAtomicAttributes()).thenReturn(singleton(oneToManyAttr));
     ResultSet rs = mock(ResultSet.class);
-    when(rs.getString(xrefAttr)).thenReturn("id0");
+    when(rs.findColumn(xrefAttr)).thenReturn(1);
+    when(rs.getString(1)).thenReturn("id0");
     int rowNum = 0;
 
     Entity entity = mock(Entity.class);
@@ -124,4 +130,79 @@ class PostgreSqlEntityFactoryTest {
         entity, postgreSqlEntityFactory.createRowMapper(entityType, null).mapRow(rs, rowNum));
     verify(entity).set(xrefAttr, refEntity);
   }
+
+  @Test
+  void createRowMapperXrefReferencePerRow() throws Exception {
+    Attribute refIdAttr = mock(Attribute.class);
+    when(refIdAttr.getDataType()).thenReturn(STRING);
+
+    EntityType refEntityType = mock(EntityType.class);
+    when(refEntityType.getIdAttribute()).thenReturn(refIdAttr);
+
+    String xrefAttrName = "xrefAttr";
+    Attribute xrefAttr = mock(Attribute.class);
+    when(xrefAttr.getName()).thenReturn(xrefAttrName);
+    when(xrefAttr.getDataType()).thenReturn(XREF);
+    when(xrefAttr.getRefEntity()).thenReturn(refEntityType);
+
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getAtomicAttributes()).thenReturn(singleton(xrefAttr));
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.findColumn(xrefAttrName)).thenReturn(1);
+    when(rs.getString(1)).thenReturn("id0");
+
+    Entity entity0 = mock(Entity.class);
+    Entity entity1 = mock(Entity.class);
+    when(entityManager.createFetch(entityType, null)).thenReturn(entity0, entity1);
+    Entity refEntity0 = mock(Entity.class);
+    Entity refEntity1 = mock(Entity.class);
+    when(entityManager.getReference(refEntityType, "id0")).thenReturn(refEntity0, refEntity1);
+
+    RowMapper<Entity> rowMapper = postgreSqlEntityFactory.createRowMapper(entityType, null);
+    rowMapper.mapRow(rs, 0);
+    rowMapper.mapRow(rs, 1);
+    verify(entity0).set(xrefAttrName, refEntity0);
+    verify(entity1).set(xrefAttrName, refEntity1);
+    verify(rs).findColumn(xrefAttrName);
+  }
+
+  @Test
+  void createRowMapperMrefIntegerIds() throws Exception {
+    Attribute refIdAttr = mock(Attribute.class);
+    when(refIdAttr.getDataType()).thenReturn(AttributeType.INT);
+
+    EntityType refEntityType = mock(EntityType.class);
+    when(refEntityType.getIdAttribute()).thenReturn(refIdAttr);
+
+    String mrefAttrName = "mrefAttr";
+    Attribute mrefAttr = mock(Attribute.class);
+    when(mrefAttr.getName()).thenReturn(mrefAttrName);
+    when(mrefAttr.getDataType()).thenReturn(MREF);
+    when(mrefAttr.getRefEntity()).thenReturn(refEntityType);
+
+    String stringAttrName = "stringAttr";
+    Attribute stringAttr = mock(Attribute.class);
+    when(stringAttr.getName()).thenReturn(stringAttrName);
+    when(stringAttr.getDataType()).thenReturn(STRING);
+
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getAtomicAttributes()).thenReturn(asList(stringAttr, mrefAttr));
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.findColumn(stringAttrName)).thenReturn(1);
+    when(rs.findColumn(mrefAttrName)).thenReturn(2);
+    when(rs.getString(1)).thenReturn("str");
+    Array mrefArray = mock(Array.class);
+    when(mrefArray.getArray()).thenReturn(new Integer[] {1, 0});
+    when(rs.getArray(2)).thenReturn(mrefArray);
+
+    Entity entity = mock(Entity.class);
+    when(entityManager.createFetch(entityType, null)).thenReturn(entity);
+    Entity refEntity1 = mock(Entity.class);
+    Entity refEntity0 = mock(Entity.class);
+    when(entityManager.getReferences(refEntityType, newArrayList(1, 0)))
+        .thenReturn(newArrayList(refEntity1, refEntity0));
+    assertEquals(entity, postgreSqlEntityFactory.createRowMapper(entityType, null).mapRow(rs, 0));
+    verify(entity).set(stringAttrName, "str");
+    verify(entity).set(mrefAttrName, newArrayList(refEntity1, refEntity0));
+  }
 }
@@ -3,6 +3,7 @@ package org.molgenis.data.postgresql;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -33,6 +34,7 @@ import static org.molgenis.data.meta.AttributeType.TEXT;
 import static org.molgenis.data.meta.AttributeType.XREF;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.ColumnMode.EXCLUDE_DEFAULT_CONSTRAINT;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.ColumnMode.INCLUDE_DEFAULT_CONSTRAINT;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlAggregate;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlJunctionTableSelect;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlSelect;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlSort;
@@ -58,6 +60,8 @@ import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.Package;
 import org.molgenis.data.postgresql.PostgreSqlQueryGenerator.ColumnMode;
+import org.molgenis.data.postgresql.PostgreSqlQueryGenerator.ConstraintMode;
+import org.molgenis.data.support.AggregateQueryImpl;
 import org.molgenis.data.support.QueryImpl;
 
 class PostgreSqlQueryGeneratorTest {
@@ -175,6 +179,49 @@ class PostgreSqlQueryGeneratorTest {
         PostgreSqlQueryGenerator.getSqlCreateTable(entityType));
   }
 
+  @Test
+  void getSqlCreateTableExcludeConstraints() {
+    EntityType entityType = createEntityTypeWithConstraints();
+    assertEquals(
+        "CREATE TABLE \"entityTypeId#c34894ba\"(\"id\" character varying(255),\"xref\" integer,\"string_unique\" character varying(255) NOT NULL,CONSTRAINT \"entityTypeId#c34894ba_id_pkey\" PRIMARY KEY (\"id\"))",
+        PostgreSqlQueryGenerator.getSqlCreateTable(entityType, ConstraintMode.EXCLUDE_CONSTRAINTS));
+  }
+
+  @Test
+  void getSqlCreateTableConstraints() {
+    EntityType entityType = createEntityTypeWithConstraints();
+    assertEquals(
+        asList(
+            "ALTER TABLE \"entityTypeId#c34894ba\" ADD CONSTRAINT \"entityTypeId#c34894ba_xref_fkey\" FOREIGN KEY (\"xref\") REFERENCES \"refEntityInt#78255ee1\"(\"refIdAttrInt\") DEFERRABLE INITIALLY DEFERRED",
+            "ALTER TABLE \"entityTypeId#c34894ba\" ADD CONSTRAINT \"entityTypeId#c34894ba_string_unique_key\" UNIQUE (\"string_unique\")"),
+        PostgreSqlQueryGenerator.getSqlCreateTableConstraints(entityType));
+  }
+
+  private static EntityType createEntityTypeWithConstraints() {
+    Attribute refIdAttr =
+        when(mock(Attribute.class).getName()).thenReturn("refIdAttrInt").getMock();
+    when(refIdAttr.getDataType()).thenReturn(INT);
+    EntityType refEntityType = mock(EntityType.class);
+    when(refEntityType.getId()).thenReturn("refEntityInt");
+    when(refEntityType.getIdAttribute()).thenReturn(refIdAttr);
+
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getId()).thenReturn("entityTypeId");
+    Attribute idAttr = when(mock(Attribute.class).getName()).thenReturn("id").getMock();
+    when(idAttr.getDataType()).thenReturn(STRING);
+    when(entityType.getIdAttribute()).thenReturn(idAttr);
+    Attribute xrefAttr = when(mock(Attribute.class).getName()).thenReturn("xref").getMock();
+    when(xrefAttr.getDataType()).thenReturn(XREF);
+    when(xrefAttr.isNillable()).thenReturn(true);
+    when(xrefAttr.getRefEntity()).thenReturn(refEntityType);
+    Attribute uniqueAttr =
+        when(mock(Attribute.class).getName()).thenReturn("string_unique").getMock();
+    when(uniqueAttr.getDataType()).thenReturn(STRING);
+    when(uniqueAttr.isUnique()).thenReturn(true);
+    when(entityType.getAtomicAttributes()).thenReturn(asList(idAttr, xrefAttr, uniqueAttr));
+    return entityType;
+  }
+
   @Test
   void getSqlCreateFunctionValidateUpdate() {
     EntityType entityType = when(mock(EntityType.class).getId()).thenReturn("entity").getMock();
@@ -401,6 +448,52 @@ class PostgreSqlQueryGeneratorTest {
     assertEquals(expectedSql, PostgreSqlQueryGenerator.getSqlCreateJunctionTable(entityType, attr));
   }
 
+  @Test
+  void getSqlCreateJunctionTableExcludeConstraints() {
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getId()).thenReturn("entityTypeId");
+    Attribute idAttr = when(mock(Attribute.class).getName()).thenReturn("idAttr").getMock();
+    when(idAttr.getDataType()).thenReturn(STRING);
+    when(entityType.getIdAttribute()).thenReturn(idAttr);
+    Attribute refIdAttr = when(mock(Attribute.class).getName()).thenReturn("refIdAttr").getMock();
+    when(refIdAttr.getDataType()).thenReturn(STRING);
+    EntityType refEntityType = mock(EntityType.class);
+    when(refEntityType.getIdAttribute()).thenReturn(refIdAttr);
+    Attribute attr = when(mock(Attribute.class).getName()).thenReturn("attr").getMock();
+    when(attr.getRefEntity()).thenReturn(refEntityType);
+
+    String expectedSql =
+        "CREATE TABLE \"entityTypeId#c34894ba_attr\" (\"order\" INT,\"idAttr\" character varying(255) NOT NULL, \"attr\" character varying(255) NOT NULL)";
+    assertEquals(
+        expectedSql,
+        PostgreSqlQueryGenerator.getSqlCreateJunctionTable(
+            entityType, attr, ConstraintMode.EXCLUDE_CONSTRAINTS));
+  }
+
+  @Test
+  void getSqlCreateJunctionTableConstraints() {
+    Attribute refIdAttr = when(mock(Attribute.class).getName()).thenReturn("refIdAttr").getMock();
+    EntityType refEntityType = mock(EntityType.class);
+    when(refEntityType.getId()).thenReturn("refEntityId");
+    when(refEntityType.getIdAttribute()).thenReturn(refIdAttr);
+
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getId()).thenReturn("entityTypeId");
+    Attribute idAttr = when(mock(Attribute.class).getName()).thenReturn("idAttr").getMock();
+    when(entityType.getIdAttribute()).thenReturn(idAttr);
+    Attribute attr = when(mock(Attribute.class).getName()).thenReturn("attr").getMock();
+    when(attr.getDataType()).thenReturn(MREF);
+    when(attr.getRefEntity()).thenReturn(refEntityType);
+
+    assertEquals(
+        asList(
+            "ALTER TABLE \"entityTypeId#c34894ba_attr\" ADD FOREIGN KEY (\"idAttr\") REFERENCES \"entityTypeId#c34894ba\"(\"idAttr\") ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED",
+            "ALTER TABLE \"entityTypeId#c34894ba_attr\" ADD FOREIGN KEY (\"attr\") REFERENCES \"refEntityId#07f902bf\"(\"refIdAttr\") DEFERRABLE INITIALLY DEFERRED",
+            "ALTER TABLE \"entityTypeId#c34894ba_attr\" ADD UNIQUE (\"idAttr\",\"attr\")",
+            "ALTER TABLE \"entityTypeId#c34894ba_attr\" ADD UNIQUE (\"order\",\"idAttr\")"),
+        PostgreSqlQueryGenerator.getSqlCreateJunctionTableConstraints(entityType, attr));
+  }
+
   @Test
   void getSqlCreateJunctionTableSelfReferencing() {
     EntityType entityType = when(mock(EntityType.class).getId()).thenReturn("entity").getMock();
@@ -637,7 +730,7 @@ class PostgreSqlQueryGeneratorTest {
 
     String sqlSelect = PostgreSqlQueryGenerator.getSqlSelect(entityType, q, parameters, true);
     assertEquals(
-        "SELECT this.\"masterId\", (SELECT array_agg(DISTINCT ARRAY[\"mref1\".\"order\"::TEXT,\"mref1\".\"mref1\"::TEXT]) FROM \"entityTypeId#c34894ba_mref1\" AS \"mref1\" WHERE this.\"masterId\" = \"mref1\".\"masterId\") AS \"mref1\", (SELECT array_agg(DISTINCT ARRAY[\"mref2\".\"order\"::TEXT,\"mref2\".\"mref2\"::TEXT]) FROM \"entityTypeId#c34894ba_mref2\" AS \"mref2\" WHERE this.\"masterId\" = \"mref2\".\"masterId\") AS \"mref2\" FROM \"entityTypeId#c34894ba\" AS this ORDER BY \"masterId\" ASC",
+        "SELECT this.\"masterId\", (SELECT array_agg(\"mref1\".\"mref1\" ORDER BY \"mref1\".\"order\") FROM \"entityTypeId#c34894ba_mref1\" AS \"mref1\" WHERE this.\"masterId\" = \"mref1\".\"masterId\") AS \"mref1\", (SELECT array_agg(\"mref2\".\"mref2\" ORDER BY \"mref2\".\"order\") FROM \"entityTypeId#c34894ba_mref2\" AS \"mref2\" WHERE this.\"masterId\" = \"mref2\".\"masterId\") AS \"mref2\" FROM \"entityTypeId#c34894ba\" AS this ORDER BY \"masterId\" ASC",
         sqlSelect);
   }
 
@@ -754,7 +847,7 @@ class PostgreSqlQueryGeneratorTest {
 
     String sqlSelect = PostgreSqlQueryGenerator.getSqlSelect(entityType, q, parameters, true);
     assertEquals(
-        "SELECT this.\"masterId\", (SELECT array_agg(DISTINCT ARRAY[\"mref1\".\"order\"::TEXT,\"mref1\".\"mref1\"::TEXT]) FROM \"entityTypeId#c34894ba_mref1\" AS \"mref1\" WHERE this.\"masterId\" = \"mref1\".\"masterId\") AS \"mref1\" FROM \"entityTypeId#c34894ba\" AS this ORDER BY \"mref1\" ASC, \"masterId\" ASC",
+        "SELECT this.\"masterId\", (SELECT array_agg(\"mref1\".\"mref1\" ORDER BY \"mref1\".\"order\") FROM \"entityTypeId#c34894ba_mref1\" AS \"mref1\" WHERE this.\"masterId\" = \"mref1\".\"masterId\") AS \"mref1\" FROM \"entityTypeId#c34894ba\" AS this ORDER BY \"mref1\" ASC, \"masterId\" ASC",
         sqlSelect);
   }
 
@@ -1282,6 +1375,17 @@ class PostgreSqlQueryGeneratorTest {
         PostgreSqlQueryGenerator.getSqlCreateJunctionTableIndex(entityType, attr));
   }
 
+  @Test
+  void getSqlCreateIndex() {
+    EntityType entityType =
+        when(mock(EntityType.class).getId()).thenReturn("entityTypeId").getMock();
+    Attribute chromAttr = when(mock(Attribute.class).getName()).thenReturn("chrom").getMock();
+    Attribute posAttr = when(mock(Attribute.class).getName()).thenReturn("pos").getMock();
+    assertEquals(
+        "CREATE INDEX IF NOT EXISTS \"entityType#c34894ba_chrom_pos_idx\" ON \"entityTypeId#c34894ba\" (\"chrom\",\"pos\")",
+        PostgreSqlQueryGenerator.getSqlCreateIndex(entityType, asList(chromAttr, posAttr)));
+  }
+
   @Test
   void getSqlFrom() {
     Package eric = createPackage("eu_bbmri_eric");
@@ -1313,7 +1417,7 @@ class PostgreSqlQueryGeneratorTest {
     String sqlSelect =
         PostgreSqlQueryGenerator.getSqlSelect(collectionsEntity, q, parameters, true);
     assertEquals(
-        "SELECT this.\"collectionsId\", (SELECT array_agg(DISTINCT ARRAY[\"type\".\"order\"::TEXT,\"type\".\"type\"::TEXT]) FROM \"eu_bbmri_eric_collecti#4dc023e6_type\" AS \"type\" WHERE this.\"collectionsId\" = \"type\".\"collectionsId\") AS \"type\", (SELECT array_agg(DISTINCT ARRAY[\"category\".\"order\"::TEXT,\"category\".\"category\"::TEXT]) FROM \"eu_bbmri_eric_collecti#4dc023e6_category\" AS \"category\" WHERE this.\"collectionsId\" = \"category\".\"collectionsId\") AS \"category\" FROM \"eu_bbmri_eric_collections#4dc023e6\" AS this ORDER BY \"collectionsId\" ASC",
+        "SELECT this.\"collectionsId\", (SELECT array_agg(\"type\".\"type\" ORDER BY \"type\".\"order\") FROM \"eu_bbmri_eric_collecti#4dc023e6_type\" AS \"type\" WHERE this.\"collectionsId\" = \"type\".\"collectionsId\") AS \"type\", (SELECT array_agg(\"category\".\"category\" ORDER BY \"category\".\"order\") FROM \"eu_bbmri_eric_collecti#4dc023e6_category\" AS \"category\" WHERE this.\"collectionsId\" = \"category\".\"collectionsId\") AS \"category\" FROM \"eu_bbmri_eric_collections#4dc023e6\" AS this ORDER BY \"collectionsId\" ASC",
         sqlSelect);
   }
 
@@ -1433,6 +1537,70 @@ class PostgreSqlQueryGeneratorTest {
     return result;
   }
 
+  @Test
+  void getSqlAggregate() {
+    Attribute idAttr = when(mock(Attribute.class).getName()).thenReturn("idAttr").getMock();
+    when(idAttr.getIdentifier()).thenReturn("idAttrId");
+    when(idAttr.getDataType()).thenReturn(STRING);
+    Attribute xAttr = when(mock(Attribute.class).getName()).thenReturn("xAttr").getMock();
+    when(xAttr.getIdentifier()).thenReturn("xAttrId");
+    when(xAttr.getDataType()).thenReturn(STRING);
+
+    EntityType entityType = when(mock(EntityType.class).getId()).thenReturn("entity").getMock();
+    when(entityType.getId()).thenReturn("entityTypeId");
+    when(entityType.getIdAttribute()).thenReturn(idAttr);
+
+    List<Object> parameters = new ArrayList<>();
+    assertEquals(
+        "SELECT this.\"xAttr\" AS x_value, COUNT(*) AS count_value FROM \"entityTypeId#c34894ba\" AS this GROUP BY this.\"xAttr\"",
+        getSqlAggregate(entityType, new AggregateQueryImpl().attrX(xAttr), parameters));
+    assertEquals(emptyList(), parameters);
+  }
+
+  @Test
+  void getSqlAggregateMrefDistinctQuery() {
+    Attribute idAttr = when(mock(Attribute.class).getName()).thenReturn("idAttr").getMock();
+    when(idAttr.getIdentifier()).thenReturn("idAttrId");
+    when(idAttr.getDataType()).thenReturn(STRING);
+    Attribute xAttr = when(mock(Attribute.class).getName()).thenReturn("xAttr").getMock();
+    when(xAttr.getIdentifier()).thenReturn("xAttrId");
+    when(xAttr.getDataType()).thenReturn(STRING);
+    Attribute mrefAttr = when(mock(Attribute.class).getName()).thenReturn("mrefAttr").getMock();
+    when(mrefAttr.getIdentifier()).thenReturn("mrefAttrId");
+    when(mrefAttr.getDataType()).thenReturn(MREF);
+    Attribute distinctAttr =
+        when(mock(Attribute.class).getName()).thenReturn("distinctAttr").getMock();
+    when(distinctAttr.getIdentifier()).thenReturn("distinctAttrId");
+    when(distinctAttr.getDataType()).thenReturn(STRING);
+
+    EntityType entityType = when(mock(EntityType.class).getId()).thenReturn("entity").getMock();
+    when(entityType.getId()).thenReturn("entityTypeId");
+    when(entityType.getIdAttribute()).thenReturn(idAttr);
+    when(entityType.getAttribute("xAttr")).thenReturn(xAttr);
+
+    AggregateQueryImpl aggregateQuery =
+        new AggregateQueryImpl()
+            .attrX(xAttr)
+            .attrY(mrefAttr)
+            .attrDistinct(distinctAttr)
+            .query(new QueryImpl<>().eq("xAttr", "value"));
+    List<Object> parameters = new ArrayList<>();
+    assertEquals(
+        "SELECT this.\"xAttr\" AS x_value, agg_y.\"mrefAttr\" AS y_value, COUNT(DISTINCT this.\"distinctAttr\") AS count_value FROM \"entityTypeId#c34894ba\" AS this LEFT JOIN \"entityTypeId#c34894ba_mrefAttr\" AS agg_y ON (this.\"idAttr\" = agg_y.\"idAttr\") WHERE this.\"idAttr\" IN (SELECT this.\"idAttr\" FROM \"entityTypeId#c34894ba\" AS this WHERE this.\"xAttr\" = ?) GROUP BY this.\"xAttr\", agg_y.\"mrefAttr\"",
+        getSqlAggregate(entityType, aggregateQuery, parameters));
+    assertEquals(singletonList("value"), parameters);
+  }
+
+  @Test
+  void getSqlAggregateMissingAttributeX() {
+    EntityType entityType = mock(EntityType.class);
+    AggregateQueryImpl aggregateQuery = new AggregateQueryImpl();
+    List<Object> parameters = new ArrayList<>();
+    assertThrows(
+        MolgenisDataException.class,
+        () -> getSqlAggregate(entityType, aggregateQuery, parameters));
+  }
+
   private Package createPackage(String packageName) {
     return when(mock(Package.class).getId()).thenReturn(packageName).getMock();
   }
@@ -1,26 +1,36 @@
 package org.molgenis.data.postgresql.transaction;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.molgenis.data.transaction.TransactionConstants.BULK_LOAD_RESOURCE_NAME;
+import static org.molgenis.data.transaction.TransactionConstants.READ_REPLICA_RESOURCE_NAME;
+import static org.molgenis.data.transaction.TransactionConstants.TRANSACTION_ID_RESOURCE_NAME;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.molgenis.data.populate.IdGenerator;
 import org.molgenis.data.transaction.MolgenisTransaction;
 import org.molgenis.data.transaction.TransactionExceptionTranslatorRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class PostgreSqlTransactionManagerTest {
   private PostgreSqlTransactionManager molgenisTransactionManager;
   private IdGenerator idGenerator;
+  private DataSource dataSource;
 
   @BeforeEach
   void setUpBeforeMethod() {
     idGenerator = mock(IdGenerator.class);
-    DataSource dataSource = mock(DataSource.class);
+    dataSource = mock(DataSource.class);
     TransactionExceptionTranslatorRegistry transactionExceptionTranslatorRegistry =
         mock(TransactionExceptionTranslatorRegistry.class);
     molgenisTransactionManager =
@@ -39,4 +49,43 @@ class PostgreSqlTransactionManagerTest {
     MolgenisTransaction molgenisTransaction = (MolgenisTransaction) trans;
     assertEquals(id, molgenisTransaction.getId());
   }
+
+  @Test
+  void testNestedTransactionSuspendsResources() throws SQLException {
+    when(idGenerator.generateId()).thenReturn("OUTER", "INNER");
+    when(dataSource.getConnection()).thenReturn(mock(Connection.class), mock(Connection.class));
+
+    TransactionTemplate outerTransactionTemplate =
+        new TransactionTemplate(molgenisTransactionManager);
+    TransactionTemplate innerTransactionTemplate =
+        new TransactionTemplate(molgenisTransactionManager);
+    innerTransactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+
+    outerTransactionTemplate.executeWithoutResult(
+        outerStatus -> {
+          TransactionSynchronizationManager.bindResource(BULK_LOAD_RESOURCE_NAME, Boolean.TRUE);
+          TransactionSynchronizationManager.bindResource(READ_REPLICA_RESOURCE_NAME, Boolean.TRUE);
+          assertEquals(
+              "outer", TransactionSynchronizationManager.getResource(TRANSACTION_ID_RESOURCE_NAME));
+
+          innerTransactionTemplate.executeWithoutResult(
+              innerStatus -> {
+                assertEquals(
+                    "inner",
+                    TransactionSynchronizationManager.getResource(TRANSACTION_ID_RESOURCE_NAME));
+                assertFalse(TransactionSynchronizationManager.hasResource(BULK_LOAD_RESOURCE_NAME));
+                assertFalse(
+                    TransactionSynchronizationManager.hasResource(READ_REPLICA_RESOURCE_NAME));
+              });
+
+          assertEquals(
+              "outer", TransactionSynchronizationManager.getResource(TRANSACTION_ID_RESOURCE_NAME));
+          assertTrue(TransactionSynchronizationManager.hasResource(BULK_LOAD_RESOURCE_NAME));
+          assertTrue(TransactionSynchronizationManager.hasResource(READ_REPLICA_RESOURCE_NAME));
+        });
+
+    assertFalse(TransactionSynchronizationManager.hasResource(TRANSACTION_ID_RESOURCE_NAME));
+    assertFalse(TransactionSynchronizationManager.hasResource(BULK_LOAD_RESOURCE_NAME));
+    assertFalse(TransactionSynchronizationManager.hasResource(READ_REPLICA_RESOURCE_NAME));
+  }
 }
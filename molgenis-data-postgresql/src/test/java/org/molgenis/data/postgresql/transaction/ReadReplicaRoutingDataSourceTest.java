@@ -0,0 +1,96 @@
+package org.molgenis.data.postgresql.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.postgresql.transaction.ReadReplicaRoutingDataSource.PRIMARY;
+import static org.molgenis.data.transaction.TransactionConstants.READ_REPLICA_RESOURCE_NAME;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.postgresql.transaction.ReadReplicaRoutingDataSource.ReadReplica;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadReplicaRoutingDataSourceTest extends AbstractMockitoTest {
+  @Mock private DataSource primaryDataSource;
+  @Mock private DataSource replicaDataSource;
+  @Mock private Connection connection;
+  @Mock private Statement statement;
+  @Mock private ResultSet resultSet;
+  private ReadReplicaRoutingDataSource readReplicaRoutingDataSource;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    ReadReplica readReplica = new ReadReplica("replica0", replicaDataSource);
+    readReplicaRoutingDataSource =
+        new ReadReplicaRoutingDataSource(primaryDataSource, List.of(readReplica), 1000L);
+  }
+
+  @AfterEach
+  void tearDownAfterEach() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    TransactionSynchronizationManager.unbindResourceIfPossible(READ_REPLICA_RESOURCE_NAME);
+  }
+
+  @Test
+  void testDetermineCurrentLookupKeyReadWrite() throws SQLException {
+    mockReplicationLag(0L);
+    readReplicaRoutingDataSource.checkReplicationLag();
+    assertEquals(PRIMARY, readReplicaRoutingDataSource.determineCurrentLookupKey());
+    assertFalse(TransactionSynchronizationManager.hasResource(READ_REPLICA_RESOURCE_NAME));
+  }
+
+  @Test
+  void testDetermineCurrentLookupKeyReadOnly() throws SQLException {
+    mockReplicationLag(0L);
+    readReplicaRoutingDataSource.checkReplicationLag();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertEquals("replica0", readReplicaRoutingDataSource.determineCurrentLookupKey());
+    assertEquals(
+        "replica0", TransactionSynchronizationManager.getResource(READ_REPLICA_RESOURCE_NAME));
+  }
+
+  @Test
+  void testDetermineCurrentLookupKeyReadOnlyReplicaLagging() throws SQLException {
+    mockReplicationLag(5000L);
+    readReplicaRoutingDataSource.checkReplicationLag();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertEquals(PRIMARY, readReplicaRoutingDataSource.determineCurrentLookupKey());
+    assertFalse(TransactionSynchronizationManager.hasResource(READ_REPLICA_RESOURCE_NAME));
+  }
+
+  @Test
+  void testDetermineCurrentLookupKeyReadOnlyReplicaUnreachable() throws SQLException {
+    when(replicaDataSource.getConnection()).thenThrow(new SQLException());
+    readReplicaRoutingDataSource.checkReplicationLag();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertEquals(PRIMARY, readReplicaRoutingDataSource.determineCurrentLookupKey());
+  }
+
+  @Test
+  void testDetermineCurrentLookupKeyReadOnlyLagUnknown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertEquals(PRIMARY, readReplicaRoutingDataSource.determineCurrentLookupKey());
+  }
+
+  private void mockReplicationLag(long replicationLagMillis) throws SQLException {
+    when(replicaDataSource.getConnection()).thenReturn(connection);
+    when(connection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+                + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())"
+                + " * 1000, 0) END"))
+        .thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getLong(1)).thenReturn(replicationLagMillis);
+  }
+}
@@ -38,7 +38,8 @@ public class RowLevelSecurityRepositoryDecoratorFactory {
     return decoratedRepository;
   }
 
-  private boolean isRowLevelSecured(Repository<Entity> repository) {
+  /** Returns whether the repository is decorated with row level security by this factory */
+  public boolean isRowLevelSecured(Repository<Entity> repository) {
     String aclClass = EntityIdentityUtils.toType(repository.getEntityType());
     return mutableAclClassService.hasAclClass(aclClass);
   }
@@ -3,8 +3,18 @@ package org.molgenis.data.vcf;
 import static com.google.common.collect.Iterators.partition;
 import static com.google.common.collect.Iterators.transform;
 import static com.google.common.collect.Streams.stream;
+import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.QueryRule.Operator.AND;
+import static org.molgenis.data.QueryRule.Operator.EQUALS;
+import static org.molgenis.data.QueryRule.Operator.RANGE;
+import static org.molgenis.data.RepositoryCapability.QUERYABLE;
+import static org.molgenis.data.meta.AttributeType.COMPOUND;
+import static org.molgenis.data.util.EntityTypeUtils.isReferenceType;
+import static org.molgenis.data.vcf.model.VcfAttributes.CHROM;
+import static org.molgenis.data.vcf.model.VcfAttributes.POS;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -12,45 +22,74 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.DataConverter;
 import org.molgenis.data.Entity;
 import org.molgenis.data.MolgenisDataException;
+import org.molgenis.data.Query;
+import org.molgenis.data.QueryRule;
+import org.molgenis.data.QueryRule.Operator;
 import org.molgenis.data.RepositoryCapability;
+import org.molgenis.data.UnknownAttributeException;
+import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.AttributeFactory;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.EntityTypeFactory;
 import org.molgenis.data.support.AbstractRepository;
 import org.molgenis.data.vcf.format.VcfToEntity;
 import org.molgenis.data.vcf.model.VcfAttributes;
+import org.molgenis.data.vcf.model.VcfSampleStorage;
+import org.molgenis.data.vcf.tabix.BgzfDecompressor;
+import org.molgenis.data.vcf.tabix.TabixIndex;
+import org.molgenis.data.vcf.tabix.TabixReader;
 import org.molgenis.vcf.VcfReader;
+import org.molgenis.vcf.VcfRecord;
 import org.molgenis.vcf.meta.VcfMeta;
 
 /**
  * Repository implementation for vcf files.
  *
  * <p>The filename without the extension is considered to be the entityname
+ *
+ * <p>BGZF compressed files with a tabix (.tbi or .csi) index are queryable with equals and range
+ * rules combined with 'and': rules on {@link VcfAttributes#CHROM} and {@link VcfAttributes#POS}
+ * seek to the region using the index, all rules are applied to the records in the region. Query
+ * results are in file order.
  */
 public class VcfRepository extends AbstractRepository {
   public static final String DEFAULT_ATTRIBUTE_DESCRIPTION = "Description not provided";
 
   public static final String NAME = "NAME";
   public static final String ORIGINAL_NAME = "ORIGINAL_NAME";
+  public static final String VARIANT = "VARIANT";
+  public static final String SAMPLE_ENTITY_TYPE_ID_SUFFIX = "Sample";
 
   public static final int BATCH_SIZE = 1000;
   private final String entityTypeId;
   private final VcfAttributes vcfAttributes;
   private final EntityTypeFactory entityTypeFactory;
   private final AttributeFactory attrMetaFactory;
+  private final VcfSampleStorage sampleStorage;
+  private final BgzfDecompressor bgzfDecompressor;
+  private VcfMeta vcfMeta;
   private VcfToEntity vcfToEntity;
   private final File file;
+  private final File indexFile;
+  private TabixReader tabixReader;
 
   VcfRepository(
       File file,
@@ -58,11 +97,32 @@ public class VcfRepository extends AbstractRepository {
       VcfAttributes vcfAttributes,
       EntityTypeFactory entityTypeFactory,
       AttributeFactory attrMetaFactory) {
+    this(
+        file,
+        entityTypeId,
+        vcfAttributes,
+        entityTypeFactory,
+        attrMetaFactory,
+        VcfSampleStorage.ROWS,
+        null);
+  }
+
+  VcfRepository(
+      File file,
+      String entityTypeId,
+      VcfAttributes vcfAttributes,
+      EntityTypeFactory entityTypeFactory,
+      AttributeFactory attrMetaFactory,
+      VcfSampleStorage sampleStorage,
+      @Nullable @CheckForNull BgzfDecompressor bgzfDecompressor) {
     this.file = requireNonNull(file);
     this.entityTypeId = requireNonNull(entityTypeId);
     this.vcfAttributes = requireNonNull(vcfAttributes);
     this.entityTypeFactory = requireNonNull(entityTypeFactory);
     this.attrMetaFactory = requireNonNull(attrMetaFactory);
+    this.sampleStorage = requireNonNull(sampleStorage);
+    this.bgzfDecompressor = bgzfDecompressor;
+    this.indexFile = bgzfDecompressor != null ? TabixReader.getIndexFile(file) : null;
     parseVcfMeta();
   }
 
@@ -70,10 +130,15 @@ public class VcfRepository extends AbstractRepository {
     withReader(
         reader -> {
           try {
-            VcfMeta vcfMeta = reader.getVcfMeta();
+            vcfMeta = reader.getVcfMeta();
             vcfToEntity =
                 new VcfToEntity(
-                    entityTypeId, vcfMeta, vcfAttributes, entityTypeFactory, attrMetaFactory);
+                    entityTypeId,
+                    vcfMeta,
+                    vcfAttributes,
+                    entityTypeFactory,
+                    attrMetaFactory,
+                    sampleStorage);
           } catch (IOException | RuntimeException e) {
             throw new MolgenisDataException("Failed to read VCF Metadata from file", e);
           }
@@ -89,9 +154,146 @@ public class VcfRepository extends AbstractRepository {
     return vcfToEntity.getEntityType();
   }
 
+  /** @return sample entity type or null if the VCF file does not define FORMAT fields */
+  public @Nullable @CheckForNull EntityType getSampleEntityType() {
+    return vcfToEntity.getSampleEntityType();
+  }
+
+  public List<String> getSampleNames() {
+    return vcfToEntity.getSampleNames();
+  }
+
   @Override
   public Set<RepositoryCapability> getCapabilities() {
-    return Collections.emptySet();
+    return indexFile != null ? EnumSet.of(QUERYABLE) : Collections.emptySet();
+  }
+
+  @Override
+  public Set<Operator> getQueryOperators() {
+    return indexFile != null ? EnumSet.of(EQUALS, RANGE, AND) : Collections.emptySet();
+  }
+
+  @Override
+  public Stream<Entity> findAll(Query<Entity> q) {
+    Stream<Entity> entities = findAllInRegion(q);
+    if (q.getOffset() > 0) {
+      entities = entities.skip(q.getOffset());
+    }
+    if (q.getPageSize() > 0) {
+      entities = entities.limit(q.getPageSize());
+    }
+    return entities;
+  }
+
+  @Override
+  public Entity findOne(Query<Entity> q) {
+    return findAll(q).findFirst().orElse(null);
+  }
+
+  @Override
+  public long count(Query<Entity> q) {
+    return findAllInRegion(q).count();
+  }
+
+  private Stream<Entity> findAllInRegion(Query<Entity> q) {
+    if (indexFile == null) {
+      throw new UnsupportedOperationException("Queries require a BGZF compressed indexed file");
+    }
+
+    String chrom = null;
+    int start = 1;
+    int stop = Integer.MAX_VALUE;
+    Predicate<Entity> filter = entity -> true;
+    for (QueryRule rule : q.getRules()) {
+      Operator operator = rule.getOperator();
+      if (operator == AND) {
+        continue;
+      }
+      if (operator != EQUALS && operator != RANGE) {
+        throw new UnsupportedOperationException(format("Unsupported query rule [%s]", rule));
+      }
+      if (rule.getField().equals(CHROM) && operator == EQUALS) {
+        chrom = DataConverter.toString(rule.getValue());
+      } else if (rule.getField().equals(POS) && operator == EQUALS) {
+        int pos = DataConverter.toInt(rule.getValue());
+        start = Math.max(start, pos);
+        stop = Math.min(stop, pos);
+      } else if (rule.getField().equals(POS) && operator == RANGE) {
+        Iterator<?> range = ((Iterable<?>) rule.getValue()).iterator();
+        Object from = range.next();
+        Object to = range.next();
+        start = from != null ? Math.max(start, DataConverter.toInt(from)) : start;
+        stop = to != null ? Math.min(stop, DataConverter.toInt(to)) : stop;
+      }
+      filter = filter.and(createFilter(rule));
+    }
+    if (start > stop) {
+      return Stream.empty();
+    }
+
+    List<String> sequenceNames =
+        chrom != null ? singletonList(chrom) : getTabixReader().getSequenceNames();
+    int regionStart = start;
+    int regionStop = stop;
+    return sequenceNames.stream()
+        .flatMap(sequenceName -> findAllInRegion(sequenceName, regionStart, regionStop))
+        .filter(filter);
+  }
+
+  /** Creates a filter for a query rule on an attribute that is not a reference or compound */
+  private Predicate<Entity> createFilter(QueryRule rule) {
+    Attribute attribute = getEntityType().getAttribute(rule.getField());
+    if (attribute == null) {
+      throw new UnknownAttributeException(getEntityType(), rule.getField());
+    }
+    if (isReferenceType(attribute) || attribute.getDataType() == COMPOUND) {
+      throw new UnsupportedOperationException(format("Unsupported query rule [%s]", rule));
+    }
+
+    String attributeName = attribute.getName();
+    if (rule.getOperator() == EQUALS) {
+      Object value = DataConverter.convert(rule.getValue(), attribute);
+      return entity -> Objects.equals(entity.get(attributeName), value);
+    } else {
+      Iterator<?> range = ((Iterable<?>) rule.getValue()).iterator();
+      Object from = DataConverter.convert(range.next(), attribute);
+      Object to = DataConverter.convert(range.next(), attribute);
+      return entity -> matchesRange(entity.get(attributeName), from, to);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static boolean matchesRange(
+      @Nullable @CheckForNull Object value,
+      @Nullable @CheckForNull Object from,
+      @Nullable @CheckForNull Object to) {
+    if (value == null) {
+      return false;
+    }
+    Comparable<Object> comparableValue = (Comparable<Object>) value;
+    return (from == null || comparableValue.compareTo(from) >= 0)
+        && (to == null || comparableValue.compareTo(to) <= 0);
+  }
+
+  private Stream<Entity> findAllInRegion(String chrom, int start, int stop) {
+    int begin = start - 1; // tabix regions are 0-based
+    return stream(getTabixReader().query(chrom, begin, stop))
+        .filter(line -> !line.startsWith("#"))
+        .map(line -> line.split("\t"))
+        .filter(tokens -> tokens[0].equals(chrom))
+        .filter(tokens -> isInRange(Integer.parseInt(tokens[1]), start, stop))
+        .map(tokens -> vcfToEntity.toEntity(new VcfRecord(vcfMeta, tokens)));
+  }
+
+  private static boolean isInRange(int pos, int start, int stop) {
+    return pos >= start && pos <= stop;
+  }
+
+  private synchronized TabixReader getTabixReader() {
+    if (tabixReader == null) {
+      tabixReader = new TabixReader(file, TabixIndex.read(indexFile), bgzfDecompressor);
+    }
+    return tabixReader;
   }
 
   @Override
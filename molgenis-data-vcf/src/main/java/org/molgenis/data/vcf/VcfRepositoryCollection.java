@@ -15,7 +15,10 @@ import org.molgenis.data.meta.model.AttributeFactory;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.EntityTypeFactory;
 import org.molgenis.data.vcf.model.VcfAttributes;
+import org.molgenis.data.vcf.model.VcfSampleStorage;
+import org.molgenis.data.vcf.tabix.BgzfDecompressor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 public class VcfRepositoryCollection extends FileRepositoryCollection {
   public static final String NAME = "VCF";
@@ -31,6 +34,11 @@ public class VcfRepositoryCollection extends FileRepositoryCollection {
 
   @Autowired private AttributeFactory attrMetaFactory;
 
+  @Autowired private BgzfDecompressor bgzfDecompressor;
+
+  @Value("${vcf.sample.storage:ROWS}")
+  private VcfSampleStorage sampleStorage = VcfSampleStorage.ROWS;
+
   private final File file;
   private final String entityTypeId;
 
@@ -65,7 +73,14 @@ public class VcfRepositoryCollection extends FileRepositoryCollection {
   public Repository<Entity> getRepository(String name) {
     if (!entityTypeId.equals(name))
       throw new MolgenisDataException("Unknown entity name [" + name + "]");
-    return new VcfRepository(file, name, vcfAttributes, entityTypeFactory, attrMetaFactory);
+    return new VcfRepository(
+        file,
+        name,
+        vcfAttributes,
+        entityTypeFactory,
+        attrMetaFactory,
+        sampleStorage,
+        bgzfDecompressor);
   }
 
   @Override
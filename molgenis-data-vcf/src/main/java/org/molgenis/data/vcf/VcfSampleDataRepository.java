@@ -0,0 +1,169 @@
+package org.molgenis.data.vcf;
+
+import static com.google.common.collect.Iterators.concat;
+import static com.google.common.collect.Iterators.partition;
+import static com.google.common.collect.Iterators.transform;
+import static com.google.common.collect.Streams.stream;
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.vcf.VcfRepository.VARIANT;
+import static org.molgenis.data.vcf.model.VcfAttributes.ALT;
+import static org.molgenis.data.vcf.model.VcfAttributes.INTERNAL_ID;
+import static org.molgenis.data.vcf.model.VcfAttributes.POS;
+import static org.molgenis.data.vcf.model.VcfAttributes.SAMPLE_DATA;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.Repository;
+import org.molgenis.data.RepositoryCapability;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.support.AbstractRepository;
+import org.molgenis.data.support.DynamicEntity;
+import org.molgenis.data.vcf.format.SampleDataCodec;
+import org.molgenis.data.vcf.format.VcfToEntity;
+import org.molgenis.data.vcf.utils.VcfUtils;
+
+/**
+ * Read-only repository of the sample entities of variants that store their sample data in a
+ * columnar block, see {@link org.molgenis.data.vcf.model.VcfSampleStorage#COLUMNAR}.
+ *
+ * <p>Sample entities are created on the fly by decoding the sample data of each variant.
+ */
+public class VcfSampleDataRepository extends AbstractRepository {
+  private final EntityType sampleEntityType;
+  private final Repository<Entity> variantRepository;
+  private final List<String> sampleNames;
+  private final List<Attribute> formatAttributes;
+
+  /**
+   * @param sampleEntityType sample entity type, see {@link VcfRepository#getSampleEntityType()}
+   * @param variantRepository repository of variants with sample data
+   * @param sampleNames names of the samples in the VCF file, see {@link
+   *     VcfRepository#getSampleNames()}
+   */
+  public VcfSampleDataRepository(
+      EntityType sampleEntityType, Repository<Entity> variantRepository, List<String> sampleNames) {
+    this.sampleEntityType = requireNonNull(sampleEntityType);
+    this.variantRepository = requireNonNull(variantRepository);
+    this.sampleNames = requireNonNull(sampleNames);
+    this.formatAttributes = SampleDataCodec.getFormatAttributes(sampleEntityType);
+  }
+
+  @Override
+  public Iterator<Entity> iterator() {
+    return concat(transform(variantRepository.iterator(), this::toSampleEntities));
+  }
+
+  @Override
+  public void forEachBatched(Fetch fetch, Consumer<List<Entity>> consumer, int batchSize) {
+    List<Entity> sampleBatch = new ArrayList<>(batchSize);
+    variantRepository.forEachBatched(
+        variants -> {
+          for (Entity variant : variants) {
+            for (Iterator<Entity> it = toSampleEntities(variant); it.hasNext(); ) {
+              sampleBatch.add(it.next());
+              if (sampleBatch.size() == batchSize) {
+                consumer.accept(new ArrayList<>(sampleBatch));
+                sampleBatch.clear();
+              }
+            }
+          }
+        },
+        batchSize);
+    if (!sampleBatch.isEmpty()) {
+      consumer.accept(sampleBatch);
+    }
+  }
+
+  @Override
+  public long count() {
+    AtomicLong counter = new AtomicLong(0);
+    variantRepository.forEachBatched(
+        variants -> {
+          for (Entity variant : variants) {
+            if (variant.getString(SAMPLE_DATA) != null) {
+              counter.addAndGet(sampleNames.size());
+            }
+          }
+        },
+        VcfRepository.BATCH_SIZE);
+    return counter.get();
+  }
+
+  @Override
+  public Entity findOneById(Object id, Fetch fetch) {
+    return findAll(Stream.of(id), fetch).findFirst().orElse(null);
+  }
+
+  /**
+   * Sample identifiers consist of the variant identifier followed by the index of the sample, see
+   * {@link VcfToEntity#setSampleIdentifiers}. The variants are retrieved in batches and the samples
+   * are decoded from the sample data of each variant.
+   */
+  @Override
+  public Stream<Entity> findAll(Stream<Object> ids, Fetch fetch) {
+    Iterator<List<Object>> batches = partition(ids.iterator(), VcfRepository.BATCH_SIZE);
+    return stream(batches).flatMap(this::findAllBatch);
+  }
+
+  private Stream<Entity> findAllBatch(List<Object> ids) {
+    Set<Object> variantIds = new LinkedHashSet<>();
+    for (Object id : ids) {
+      String sampleId = id.toString();
+      if (sampleId.length() > VcfUtils.ID_LENGTH) {
+        variantIds.add(sampleId.substring(0, VcfUtils.ID_LENGTH));
+      }
+    }
+
+    Map<Object, Entity> samples = new HashMap<>();
+    Fetch variantFetch = new Fetch().field(INTERNAL_ID).field(POS).field(ALT).field(SAMPLE_DATA);
+    variantRepository
+        .findAll(variantIds.stream(), variantFetch)
+        .forEach(
+            variant ->
+                toSampleEntities(variant)
+                    .forEachRemaining(sample -> samples.put(sample.getIdValue(), sample)));
+    return ids.stream().map(id -> samples.get(id.toString())).filter(Objects::nonNull);
+  }
+
+  @Override
+  public EntityType getEntityType() {
+    return sampleEntityType;
+  }
+
+  @Override
+  public Set<RepositoryCapability> getCapabilities() {
+    return Collections.emptySet();
+  }
+
+  private Iterator<Entity> toSampleEntities(Entity variant) {
+    String sampleData = variant.getString(SAMPLE_DATA);
+    if (sampleData == null) {
+      return Collections.emptyIterator();
+    }
+
+    String variantId = variant.getString(INTERNAL_ID);
+    String variantPosAlt = variant.get(POS) + "_" + variant.get(ALT);
+    List<Entity> samples = new ArrayList<>(sampleNames.size());
+    for (int i = 0; i < sampleNames.size(); i++) {
+      Entity sample = new DynamicEntity(sampleEntityType);
+      VcfToEntity.setSampleIdentifiers(sample, variantId, variantPosAlt, i, sampleNames.get(i));
+      sample.set(VARIANT, variant);
+      samples.add(sample);
+    }
+    SampleDataCodec.decode(sampleData, formatAttributes, samples);
+    return samples.iterator();
+  }
+}
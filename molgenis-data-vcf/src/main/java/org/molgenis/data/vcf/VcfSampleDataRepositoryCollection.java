@@ -0,0 +1,135 @@
+package org.molgenis.data.vcf;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.BACKEND;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ID;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.IS_ABSTRACT;
+import static org.molgenis.data.util.EntityTypeUtils.getEntityTypeFetch;
+import static org.molgenis.data.vcf.VcfRepository.VARIANT;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.SAMPLE_ENTITY_TYPE;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.SAMPLE_INDEX;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.VCF_SAMPLE;
+import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
+
+import java.util.Iterator;
+import java.util.List;
+import org.molgenis.data.DataService;
+import org.molgenis.data.Entity;
+import org.molgenis.data.MolgenisDataException;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.Sort;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.support.AbstractRepositoryCollection;
+import org.molgenis.data.vcf.meta.VcfSample;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backend of the sample entity types of VCF files that were imported with {@link
+ * org.molgenis.data.vcf.model.VcfSampleStorage#COLUMNAR} sample storage. The samples are not
+ * stored, they are decoded from the sample data of the variants, see {@link
+ * VcfSampleDataRepository}.
+ *
+ * <p>The variant entity type of a sample entity type is the entity type referenced by its {@link
+ * VcfRepository#VARIANT} attribute. The sample names are stored as {@link VcfSample} entities.
+ */
+@Component
+public class VcfSampleDataRepositoryCollection extends AbstractRepositoryCollection {
+  public static final String NAME = "VcfSampleData";
+
+  private final DataService dataService;
+
+  VcfSampleDataRepositoryCollection(DataService dataService) {
+    this.dataService = requireNonNull(dataService);
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public Iterable<String> getEntityTypeIds() {
+    return createEntityTypeQuery().findAll().map(EntityType::getId)::iterator;
+  }
+
+  @Override
+  public Repository<Entity> getRepository(String id) {
+    EntityType entityType = createEntityTypeQuery().and().eq(ID, id).findOne();
+    return entityType != null ? getRepository(entityType) : null;
+  }
+
+  @Override
+  public Repository<Entity> getRepository(EntityType entityType) {
+    Attribute variantAttribute = entityType.getAttribute(VARIANT);
+    if (variantAttribute == null) {
+      throw new MolgenisDataException(
+          format("Entity type [%s] is not a VCF sample entity type", entityType.getId()));
+    }
+    Repository<Entity> variantRepository =
+        dataService.getRepository(variantAttribute.getRefEntity().getId());
+    List<String> sampleNames =
+        runAsSystem(
+            () ->
+                createSampleQuery(entityType)
+                    .sort(new Sort(SAMPLE_INDEX))
+                    .findAll()
+                    .map(VcfSample::getSampleName)
+                    .collect(toList()));
+    return new VcfSampleDataRepository(entityType, variantRepository, sampleNames);
+  }
+
+  @Override
+  public boolean hasRepository(String name) {
+    return createEntityTypeQuery().and().eq(ID, name).count() > 0;
+  }
+
+  @Override
+  public boolean hasRepository(EntityType entityType) {
+    return hasRepository(entityType.getId());
+  }
+
+  /** Samples are decoded from the sample data of the variants, there is no storage to create. */
+  @Override
+  public Repository<Entity> createRepository(EntityType entityType) {
+    return getRepository(entityType);
+  }
+
+  /**
+   * Deletes the sample names. The sample data is deleted with the variants, the variant entity type
+   * cannot be deleted before the sample entity type.
+   */
+  @Override
+  public void deleteRepository(EntityType entityType) {
+    runAsSystem(() -> dataService.delete(VCF_SAMPLE, createSampleQuery(entityType).findAll()));
+  }
+
+  @Override
+  public void updateRepository(EntityType entityType, EntityType updatedEntityType) {
+    // no operation
+  }
+
+  @Override
+  public Iterator<Repository<Entity>> iterator() {
+    return createEntityTypeQuery().findAll().map(this::getRepository).iterator();
+  }
+
+  private Query<EntityType> createEntityTypeQuery() {
+    return dataService
+        .query(ENTITY_TYPE_META_DATA, EntityType.class)
+        .eq(BACKEND, NAME)
+        .and()
+        .eq(IS_ABSTRACT, false)
+        .fetch(getEntityTypeFetch());
+  }
+
+  private Query<VcfSample> createSampleQuery(EntityType entityType) {
+    return dataService
+        .query(VCF_SAMPLE, VcfSample.class)
+        .eq(SAMPLE_ENTITY_TYPE, entityType.getId());
+  }
+}
@@ -0,0 +1,248 @@
+package org.molgenis.data.vcf.format;
+
+import static com.google.common.collect.Streams.stream;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.vcf.VcfRepository.NAME;
+import static org.molgenis.data.vcf.VcfRepository.ORIGINAL_NAME;
+import static org.molgenis.data.vcf.VcfRepository.VARIANT;
+import static org.molgenis.data.vcf.model.VcfAttributes.FORMAT_GT;
+import static org.molgenis.data.vcf.model.VcfAttributes.ID;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.util.UnexpectedEnumException;
+
+/**
+ * Packs the FORMAT values of all samples of a variant in one compressed block of columns and
+ * unpacks them again.
+ *
+ * <p>Each FORMAT attribute is written as a column: the type of the column, a bit set of the samples
+ * without a value and the values of the other samples. Integers and decimals are written as
+ * binary numbers. Genotypes are packed in two bits per sample if all of them are one of 0/0, 0/1,
+ * 1/1 or ./., other genotypes and all other values are written as strings.
+ */
+public class SampleDataCodec {
+  private static final byte STRING_COLUMN = 0;
+  private static final byte INT_COLUMN = 1;
+  private static final byte DECIMAL_COLUMN = 2;
+  private static final byte GENOTYPE_COLUMN = 3;
+
+  private static final List<String> PACKED_GENOTYPES = asList("0/0", "0/1", "1/1", "./.");
+  private static final int GENOTYPES_PER_BYTE = 4;
+
+  private SampleDataCodec() {}
+
+  /**
+   * @param sampleEntityType sample entity type
+   * @return attributes of the sample entity type that correspond to FORMAT fields
+   */
+  public static List<Attribute> getFormatAttributes(EntityType sampleEntityType) {
+    return stream(sampleEntityType.getAtomicAttributes())
+        .filter(
+            attribute -> !asList(ID, NAME, ORIGINAL_NAME, VARIANT).contains(attribute.getName()))
+        .collect(toList());
+  }
+
+  /**
+   * @param formatAttributes FORMAT attributes of the sample entity type
+   * @param samples sample entities of one variant
+   * @return Base64 encoded compressed sample data
+   */
+  public static String encode(List<Attribute> formatAttributes, List<Entity> samples) {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    try (DataOutputStream outputStream =
+        new DataOutputStream(new DeflaterOutputStream(byteArrayOutputStream))) {
+      for (Attribute formatAttribute : formatAttributes) {
+        writeColumn(outputStream, formatAttribute, samples);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Base64.getEncoder().encodeToString(byteArrayOutputStream.toByteArray());
+  }
+
+  /**
+   * @param sampleData Base64 encoded compressed sample data
+   * @param formatAttributes FORMAT attributes of the sample entity type
+   * @param samples sample entities of one variant to set the FORMAT values of
+   */
+  public static void decode(
+      String sampleData, List<Attribute> formatAttributes, List<Entity> samples) {
+    byte[] bytes = Base64.getDecoder().decode(sampleData);
+    try (DataInputStream inputStream =
+        new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+      for (Attribute formatAttribute : formatAttributes) {
+        readColumn(inputStream, formatAttribute, samples);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeColumn(
+      DataOutputStream outputStream, Attribute formatAttribute, List<Entity> samples)
+      throws IOException {
+    String attributeName = formatAttribute.getName();
+    BitSet nullValues = new BitSet(samples.size());
+    for (int i = 0; i < samples.size(); i++) {
+      if (samples.get(i).get(attributeName) == null) {
+        nullValues.set(i);
+      }
+    }
+
+    byte columnType = getColumnType(formatAttribute, samples);
+    outputStream.writeByte(columnType);
+    byte[] nullValueBytes = nullValues.toByteArray();
+    outputStream.writeInt(nullValueBytes.length);
+    outputStream.write(nullValueBytes);
+
+    if (columnType == GENOTYPE_COLUMN) {
+      writeGenotypes(outputStream, attributeName, samples);
+    } else {
+      for (Entity sample : samples) {
+        Object value = sample.get(attributeName);
+        if (value != null) {
+          writeValue(outputStream, columnType, value);
+        }
+      }
+    }
+  }
+
+  private static byte getColumnType(Attribute formatAttribute, List<Entity> samples) {
+    byte columnType;
+    switch (formatAttribute.getDataType()) {
+      case INT:
+        columnType = INT_COLUMN;
+        break;
+      case DECIMAL:
+        columnType = DECIMAL_COLUMN;
+        break;
+      case STRING:
+      case TEXT:
+        columnType =
+            formatAttribute.getName().equals(FORMAT_GT) && isPackable(formatAttribute, samples)
+                ? GENOTYPE_COLUMN
+                : STRING_COLUMN;
+        break;
+      default:
+        throw new UnexpectedEnumException(formatAttribute.getDataType());
+    }
+    return columnType;
+  }
+
+  private static boolean isPackable(Attribute formatAttribute, List<Entity> samples) {
+    return samples.stream()
+        .map(sample -> sample.getString(formatAttribute.getName()))
+        .allMatch(genotype -> genotype == null || PACKED_GENOTYPES.contains(genotype));
+  }
+
+  private static void writeGenotypes(
+      DataOutputStream outputStream, String attributeName, List<Entity> samples)
+      throws IOException {
+    byte[] packedGenotypes = new byte[getPackedGenotypesLength(samples.size())];
+    for (int i = 0; i < samples.size(); i++) {
+      String genotype = samples.get(i).getString(attributeName);
+      if (genotype != null) {
+        int code = PACKED_GENOTYPES.indexOf(genotype);
+        packedGenotypes[i / GENOTYPES_PER_BYTE] |= code << (2 * (i % GENOTYPES_PER_BYTE));
+      }
+    }
+    outputStream.write(packedGenotypes);
+  }
+
+  private static int getPackedGenotypesLength(int nrSamples) {
+    return (nrSamples + GENOTYPES_PER_BYTE - 1) / GENOTYPES_PER_BYTE;
+  }
+
+  private static void writeValue(DataOutputStream outputStream, byte columnType, Object value)
+      throws IOException {
+    switch (columnType) {
+      case INT_COLUMN:
+        outputStream.writeInt((Integer) value);
+        break;
+      case DECIMAL_COLUMN:
+        outputStream.writeDouble(((Number) value).doubleValue());
+        break;
+      case STRING_COLUMN:
+        writeString(outputStream, value.toString());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown column type " + columnType);
+    }
+  }
+
+  /** Writes a string of any length, unlike {@link DataOutputStream#writeUTF(String)}. */
+  private static void writeString(DataOutputStream outputStream, String value)
+      throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    outputStream.writeInt(bytes.length);
+    outputStream.write(bytes);
+  }
+
+  private static void readColumn(
+      DataInputStream inputStream, Attribute formatAttribute, List<Entity> samples)
+      throws IOException {
+    String attributeName = formatAttribute.getName();
+    byte columnType = inputStream.readByte();
+    byte[] nullValueBytes = new byte[inputStream.readInt()];
+    inputStream.readFully(nullValueBytes);
+    BitSet nullValues = BitSet.valueOf(nullValueBytes);
+
+    if (columnType == GENOTYPE_COLUMN) {
+      byte[] packedGenotypes = new byte[getPackedGenotypesLength(samples.size())];
+      inputStream.readFully(packedGenotypes);
+      for (int i = 0; i < samples.size(); i++) {
+        if (!nullValues.get(i)) {
+          int shift = 2 * (i % GENOTYPES_PER_BYTE);
+          int code = (packedGenotypes[i / GENOTYPES_PER_BYTE] >> shift) & 0b11;
+          samples.get(i).set(attributeName, PACKED_GENOTYPES.get(code));
+        }
+      }
+    } else {
+      for (int i = 0; i < samples.size(); i++) {
+        if (!nullValues.get(i)) {
+          samples.get(i).set(attributeName, readValue(inputStream, columnType));
+        }
+      }
+    }
+  }
+
+  private static Object readValue(DataInputStream inputStream, byte columnType)
+      throws IOException {
+    Object value;
+    switch (columnType) {
+      case INT_COLUMN:
+        value = inputStream.readInt();
+        break;
+      case DECIMAL_COLUMN:
+        value = inputStream.readDouble();
+        break;
+      case STRING_COLUMN:
+        value = readString(inputStream);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown column type " + columnType);
+    }
+    return value;
+  }
+
+  private static String readString(DataInputStream inputStream) throws IOException {
+    byte[] bytes = new byte[inputStream.readInt()];
+    inputStream.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+}
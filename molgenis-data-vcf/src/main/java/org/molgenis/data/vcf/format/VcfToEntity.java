@@ -4,6 +4,7 @@ import static com.google.common.collect.Iterables.size;
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
 import static com.google.common.collect.Streams.stream;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toSet;
@@ -14,12 +15,14 @@ import static org.molgenis.data.meta.AttributeType.INT;
 import static org.molgenis.data.meta.AttributeType.MREF;
 import static org.molgenis.data.meta.AttributeType.STRING;
 import static org.molgenis.data.meta.AttributeType.TEXT;
+import static org.molgenis.data.meta.AttributeType.XREF;
 import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_ID;
 import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_LABEL;
 import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_LOOKUP;
 import static org.molgenis.data.util.EntityUtils.getTypedValue;
 import static org.molgenis.data.vcf.VcfRepository.NAME;
 import static org.molgenis.data.vcf.VcfRepository.ORIGINAL_NAME;
+import static org.molgenis.data.vcf.VcfRepository.VARIANT;
 import static org.molgenis.data.vcf.model.VcfAttributes.ALT;
 import static org.molgenis.data.vcf.model.VcfAttributes.CHROM;
 import static org.molgenis.data.vcf.model.VcfAttributes.FILTER;
@@ -30,6 +33,7 @@ import static org.molgenis.data.vcf.model.VcfAttributes.POS;
 import static org.molgenis.data.vcf.model.VcfAttributes.QUAL;
 import static org.molgenis.data.vcf.model.VcfAttributes.REF;
 import static org.molgenis.data.vcf.model.VcfAttributes.SAMPLES;
+import static org.molgenis.data.vcf.model.VcfAttributes.SAMPLE_DATA;
 
 import com.google.common.collect.Lists;
 import java.math.BigDecimal;
@@ -39,6 +43,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.molgenis.data.Entity;
 import org.molgenis.data.MolgenisDataException;
@@ -51,6 +57,7 @@ import org.molgenis.data.support.DynamicEntity;
 import org.molgenis.data.validation.meta.NameValidator;
 import org.molgenis.data.vcf.VcfRepository;
 import org.molgenis.data.vcf.model.VcfAttributes;
+import org.molgenis.data.vcf.model.VcfSampleStorage;
 import org.molgenis.data.vcf.utils.VcfUtils;
 import org.molgenis.genotype.Allele;
 import org.molgenis.genotype.GenotypeDataException;
@@ -72,9 +79,13 @@ public class VcfToEntity {
   private final VcfAttributes vcfAttributes;
   private final EntityTypeFactory entityTypeFactory;
   private final AttributeFactory attrMetaFactory;
+  private final VcfSampleStorage sampleStorage;
   private final EntityType sampleEntityType;
   private final EntityType entityType;
 
+  /** Performance: FORMAT attributes of the sample entity type, only used for columnar storage */
+  private final List<Attribute> formatAttributes;
+
   /** Performance: VCF record info column keys of for info columns of type 'Flag' */
   private final Set<String> vcfInfoFlagFieldKeys;
 
@@ -87,18 +98,42 @@ public class VcfToEntity {
       VcfAttributes vcfAttributes,
       EntityTypeFactory entityTypeFactory,
       AttributeFactory attrMetaFactory) {
+    this(
+        entityTypeId,
+        vcfMeta,
+        vcfAttributes,
+        entityTypeFactory,
+        attrMetaFactory,
+        VcfSampleStorage.ROWS);
+  }
+
+  public VcfToEntity(
+      String entityTypeId,
+      VcfMeta vcfMeta,
+      VcfAttributes vcfAttributes,
+      EntityTypeFactory entityTypeFactory,
+      AttributeFactory attrMetaFactory,
+      VcfSampleStorage sampleStorage) {
     requireNonNull(entityTypeId);
     this.vcfMeta = requireNonNull(vcfMeta);
     requireNonNull(vcfMeta.getFormatMeta());
     this.vcfAttributes = requireNonNull(vcfAttributes);
     this.entityTypeFactory = requireNonNull(entityTypeFactory);
     this.attrMetaFactory = requireNonNull(attrMetaFactory);
+    this.sampleStorage = requireNonNull(sampleStorage);
 
     this.vcfInfoFlagFieldKeys = determineVcfInfoFlagFields(vcfMeta);
     this.infoFieldKeyToAttrNameMap = createInfoFieldKeyToAttrNameMap(vcfMeta, entityTypeId);
 
     this.sampleEntityType = createSampleEntityType(entityTypeId, vcfMeta.getFormatMeta());
     this.entityType = createEntityType(entityTypeId, vcfMeta);
+    if (sampleEntityType != null && sampleStorage == VcfSampleStorage.COLUMNAR) {
+      addVariantAttribute(sampleEntityType, entityType);
+    }
+    this.formatAttributes =
+        sampleEntityType != null
+            ? SampleDataCodec.getFormatAttributes(sampleEntityType)
+            : emptyList();
   }
 
   private EntityType createEntityType(String entityTypeId, VcfMeta vcfMeta) {
@@ -138,23 +173,49 @@ public class VcfToEntity {
     }
     newEntityType.addAttribute(infoMetaData);
     if (sampleEntityType != null) {
-      Attribute samplesAttributeMeta =
-          attrMetaFactory
-              .create()
-              .setName(SAMPLES)
-              .setDataType(MREF)
-              .setRefEntity(sampleEntityType)
-              .setLabel("SAMPLES");
-      newEntityType.addAttribute(samplesAttributeMeta);
+      if (sampleStorage == VcfSampleStorage.COLUMNAR) {
+        Attribute sampleDataAttributeMeta =
+            attrMetaFactory
+                .create()
+                .setName(SAMPLE_DATA)
+                .setDataType(TEXT)
+                .setVisible(false)
+                .setLabel("SAMPLE_DATA");
+        newEntityType.addAttribute(sampleDataAttributeMeta);
+      } else {
+        Attribute samplesAttributeMeta =
+            attrMetaFactory
+                .create()
+                .setName(SAMPLES)
+                .setDataType(MREF)
+                .setRefEntity(sampleEntityType)
+                .setLabel("SAMPLES");
+        newEntityType.addAttribute(samplesAttributeMeta);
+      }
     }
     return newEntityType;
   }
 
+  /**
+   * Samples that are decoded from the sample data of the variants reference their variant, so that
+   * the sample entity type depends on the variant entity type.
+   */
+  private void addVariantAttribute(EntityType sampleEntityType, EntityType variantEntityType) {
+    Attribute variantAttr =
+        attrMetaFactory
+            .create()
+            .setName(VARIANT)
+            .setDataType(XREF)
+            .setRefEntity(variantEntityType)
+            .setVisible(false);
+    sampleEntityType.addAttribute(variantAttr);
+  }
+
   private EntityType createSampleEntityType(
       String entityTypeId, Iterable<VcfMetaFormat> formatMetaData) {
     EntityType result = null;
     if (formatMetaData.iterator().hasNext()) {
-      String sampleEntityTypeId = entityTypeId + "Sample";
+      String sampleEntityTypeId = entityTypeId + VcfRepository.SAMPLE_ENTITY_TYPE_ID_SUFFIX;
       result = entityTypeFactory.create(sampleEntityTypeId);
       result.setLabel(sampleEntityTypeId);
       Attribute idAttr =
@@ -303,7 +364,11 @@ public class VcfToEntity {
     if (sampleEntityType != null) {
       List<Entity> samples =
           createSampleEntities(vcfRecord, entity.get(POS) + "_" + entity.get(ALT), id);
-      entity.set(SAMPLES, samples);
+      if (sampleStorage == VcfSampleStorage.COLUMNAR) {
+        entity.set(SAMPLE_DATA, SampleDataCodec.encode(formatAttributes, samples));
+      } else {
+        entity.set(SAMPLES, samples);
+      }
     }
     return entity;
   }
@@ -338,19 +403,36 @@ public class VcfToEntity {
           }
           sampleEntity.set(format[i], value);
         }
-        sampleEntity.set(ID, entityId + j);
-
-        // FIXME remove entity ID from Sample label after #1400 is fixed, see also:
-        // jquery.molgenis.table.js line 152
-        String originalName = sampleNameIterator.next();
-        sampleEntity.set(NAME, entityPosAlt + "_" + originalName);
-        sampleEntity.set(ORIGINAL_NAME, originalName);
+        setSampleIdentifiers(sampleEntity, entityId, entityPosAlt, j, sampleNameIterator.next());
         samples.add(sampleEntity);
       }
     }
     return samples;
   }
 
+  /**
+   * Sets the identifier and names of a sample entity of a variant
+   *
+   * @param sampleEntity sample entity
+   * @param entityId variant identifier
+   * @param entityPosAlt variant position and alternative alleles separated by an underscore
+   * @param sampleIndex index of the sample in the VCF file
+   * @param sampleName name of the sample in the VCF file
+   */
+  public static void setSampleIdentifiers(
+      Entity sampleEntity,
+      String entityId,
+      String entityPosAlt,
+      int sampleIndex,
+      String sampleName) {
+    sampleEntity.set(ID, entityId + sampleIndex);
+
+    // FIXME remove entity ID from Sample label after #1400 is fixed, see also:
+    // jquery.molgenis.table.js line 152
+    sampleEntity.set(NAME, entityPosAlt + "_" + sampleName);
+    sampleEntity.set(ORIGINAL_NAME, sampleName);
+  }
+
   private void writeInfoFieldsToEntity(VcfRecord vcfRecord, Entity entity) {
     // Set default values for VCF info fields of type 'flag' to false. Note that VcfInfo of a
     // VcfRecord do not
@@ -403,6 +485,15 @@ public class VcfToEntity {
     return entityType;
   }
 
+  /** @return sample entity type or null if the VCF file does not define FORMAT fields */
+  public @Nullable @CheckForNull EntityType getSampleEntityType() {
+    return sampleEntityType;
+  }
+
+  public List<String> getSampleNames() {
+    return Lists.newArrayList(vcfMeta.getSampleNames());
+  }
+
   /**
    * Returns the corresponding attribute name for a VCF info field key
    *
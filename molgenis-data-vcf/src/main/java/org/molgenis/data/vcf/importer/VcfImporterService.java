@@ -2,10 +2,13 @@ package org.molgenis.data.vcf.importer;
 
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.meta.model.PackageMetadata.PACKAGE;
+import static org.molgenis.data.meta.model.TagMetadata.TAG;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.VCF_SAMPLE;
 import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -13,9 +16,19 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
 import org.molgenis.data.DataAction;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
@@ -32,29 +45,52 @@ import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.Package;
+import org.molgenis.data.meta.model.Tag;
+import org.molgenis.data.meta.model.TagMetadata;
 import org.molgenis.data.security.permission.PermissionSystemService;
+import org.molgenis.data.semantic.Vocabulary;
 import org.molgenis.data.vcf.VcfFileExtensions;
 import org.molgenis.data.vcf.VcfRepository;
+import org.molgenis.data.vcf.VcfSampleDataRepositoryCollection;
+import org.molgenis.data.vcf.meta.VcfSample;
+import org.molgenis.data.vcf.meta.VcfSampleFactory;
 import org.molgenis.data.vcf.model.VcfAttributes;
+import org.molgenis.util.ExecutorServiceUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class VcfImporterService implements ImportService {
-  private static final int BATCH_SIZE = 10000;
+  private static final int SAMPLE_BATCH_SIZE = 10000;
+  /** Maximum number of parsed variant batches waiting to be written */
+  private static final int MAX_QUEUED_BATCHES = 4;
+  /** Marks the end of the parsed variant batches, compared by identity */
+  private static final List<Entity> END_OF_BATCHES = new ArrayList<>(0);
 
   private final DataService dataService;
   private final PermissionSystemService permissionSystemService;
   private final MetaDataService metaDataService;
+  private final VcfSampleFactory vcfSampleFactory;
+  private final ExecutorService parserExecutorService;
 
   public VcfImporterService(
       DataService dataService,
       PermissionSystemService permissionSystemService,
-      MetaDataService metaDataService) {
+      MetaDataService metaDataService,
+      VcfSampleFactory vcfSampleFactory) {
 
     this.dataService = requireNonNull(dataService);
     this.metaDataService = requireNonNull(metaDataService);
     this.permissionSystemService = requireNonNull(permissionSystemService);
+    this.vcfSampleFactory = requireNonNull(vcfSampleFactory);
+    this.parserExecutorService =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("molgenis-vcf-parser-%d").build());
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    ExecutorServiceUtils.shutdownAndAwaitTermination(parserExecutorService);
   }
 
   @Transactional
@@ -98,7 +134,8 @@ public class VcfImporterService implements ImportService {
     Iterator<String> it = source.getEntityTypeIds().iterator();
     if (it.hasNext()) {
       String entityTypeId = it.next();
-      EntityType emd = source.getRepository(entityTypeId).getEntityType();
+      Repository<Entity> repository = source.getRepository(entityTypeId);
+      EntityType emd = repository.getEntityType();
 
       // Vcf entity
       boolean entityExists = runAsSystem(() -> dataService.hasRepository(entityTypeId));
@@ -112,14 +149,14 @@ public class VcfImporterService implements ImportService {
       report.getFieldsImportable().put(entityTypeId, availableAttributeNames);
 
       // Sample entity
-      Attribute sampleAttribute = emd.getAttribute(VcfAttributes.SAMPLES);
-      if (sampleAttribute != null) {
-        String sampleEntityName = sampleAttribute.getRefEntity().getId();
+      EntityType sampleEntityType = getSampleEntityType(repository);
+      if (sampleEntityType != null) {
+        String sampleEntityName = sampleEntityType.getId();
         boolean sampleEntityExists = runAsSystem(() -> dataService.hasRepository(sampleEntityName));
         report.getSheetsImportable().put(sampleEntityName, !sampleEntityExists);
 
         List<String> availableSampleAttributeNames = Lists.newArrayList();
-        for (Attribute attr : sampleAttribute.getRefEntity().getAtomicAttributes()) {
+        for (Attribute attr : sampleEntityType.getAtomicAttributes()) {
           availableSampleAttributeNames.add(attr.getName());
         }
         report.getFieldsImportable().put(sampleEntityName, availableSampleAttributeNames);
@@ -129,6 +166,23 @@ public class VcfImporterService implements ImportService {
     return report;
   }
 
+  /**
+   * @return entity type of the samples that are referenced by the variants or of the samples that
+   *     are stored as columnar sample data, null if the variants do not have samples
+   */
+  private static @Nullable @CheckForNull EntityType getSampleEntityType(
+      Repository<Entity> repository) {
+    EntityType entityType = repository.getEntityType();
+    Attribute sampleAttribute = entityType.getAttribute(VcfAttributes.SAMPLES);
+    if (sampleAttribute != null) {
+      return sampleAttribute.getRefEntity();
+    }
+    if (entityType.getAttribute(VcfAttributes.SAMPLE_DATA) != null) {
+      return ((VcfRepository) repository).getSampleEntityType();
+    }
+    return null;
+  }
+
   @Override
   public boolean canImport(File file, RepositoryCollection source) {
     for (String extension : getSupportedFileExtensions()) {
@@ -156,6 +210,11 @@ public class VcfImporterService implements ImportService {
     entityType.setBackend(metaDataService.getDefaultBackend().getName());
     entityType.setPackage(importPackage);
 
+    Attribute sampleDataAttribute = entityType.getAttribute(VcfAttributes.SAMPLE_DATA);
+    if (sampleDataAttribute != null) {
+      tagNotIndexed(sampleDataAttribute);
+    }
+
     Repository<Entity> sampleRepository =
         createSampleRepository(addedEntities, entityType, importPackage);
 
@@ -164,22 +223,33 @@ public class VcfImporterService implements ImportService {
 
       addedEntities.add(entityType);
 
+      String sampleEntityTypeId;
+      ToIntFunction<List<Entity>> sampleWriter;
       if (sampleRepository != null) {
-        int sampleEntityCount = addSampleEntities(sampleRepository, inRepository);
-
-        report.addNewEntity(sampleRepository.getName());
-        if (sampleEntityCount > 0) {
-          report.addEntityCount(sampleRepository.getName(), sampleEntityCount);
-        }
+        sampleEntityTypeId = sampleRepository.getName();
+        sampleWriter = rowBatch -> addSampleEntities(sampleRepository, rowBatch);
+      } else if (sampleDataAttribute != null) {
+        // samples are read from the variants, so their entity type is added after the variants
+        VcfRepository vcfRepository = (VcfRepository) inRepository;
+        sampleEntityTypeId =
+            addSampleDataEntityType(addedEntities, vcfRepository, entityType, importPackage);
+        int nrSamples = vcfRepository.getSampleNames().size();
+        sampleWriter = rowBatch -> countSampleData(rowBatch, nrSamples);
+      } else {
+        sampleEntityTypeId = null;
+        sampleWriter = rowBatch -> 0;
       }
 
       AtomicInteger vcfEntityCount = new AtomicInteger();
-      inRepository.forEachBatched(
-          rowBatch -> {
-            outRepository.add(rowBatch.stream());
-            vcfEntityCount.addAndGet(rowBatch.size());
-          },
-          VcfRepository.BATCH_SIZE);
+      AtomicInteger sampleEntityCount = new AtomicInteger();
+      addEntities(inRepository, outRepository, sampleWriter, vcfEntityCount, sampleEntityCount);
+
+      if (sampleEntityTypeId != null) {
+        report.addNewEntity(sampleEntityTypeId);
+        if (sampleEntityCount.get() > 0) {
+          report.addEntityCount(sampleEntityTypeId, sampleEntityCount.get());
+        }
+      }
 
       if (vcfEntityCount.get() > 0) {
         report.addEntityCount(entityTypeId, vcfEntityCount.get());
@@ -191,34 +261,112 @@ public class VcfImporterService implements ImportService {
     return report;
   }
 
-  private int addSampleEntities(
-      Repository<Entity> sampleRepository, Repository<Entity> inRepository) {
-    final AtomicInteger sampleEntityCount = new AtomicInteger(0);
-    List<Entity> sampleBatch = new ArrayList<>();
-    inRepository.forEachBatched(
-        rowBatch -> {
-          for (Entity entity : rowBatch) {
-            Iterable<Entity> samples = entity.getEntities(VcfAttributes.SAMPLES);
-            if (samples != null) {
-              for (Entity sample : samples) {
-                sampleBatch.add(sample);
-
-                if (sampleBatch.size() == BATCH_SIZE) {
-                  sampleRepository.add(sampleBatch.stream());
-                  sampleEntityCount.addAndGet(sampleBatch.size());
-                  sampleBatch.clear();
-                }
+  /**
+   * Reads the VCF file once. A parser thread puts batches of parsed variants on a bounded queue
+   * while the current thread, which is bound to the transaction, writes the samples and the
+   * variants of each batch.
+   *
+   * @param sampleWriter writes the samples of a batch of variants and returns the number of samples
+   */
+  private void addEntities(
+      Repository<Entity> inRepository,
+      Repository<Entity> outRepository,
+      ToIntFunction<List<Entity>> sampleWriter,
+      AtomicInteger vcfEntityCount,
+      AtomicInteger sampleEntityCount) {
+    BlockingQueue<List<Entity>> batchQueue = new ArrayBlockingQueue<>(MAX_QUEUED_BATCHES);
+    Future<?> parseResult =
+        parserExecutorService.submit(
+            () -> {
+              try {
+                inRepository.forEachBatched(
+                    rowBatch -> put(batchQueue, rowBatch), VcfRepository.BATCH_SIZE);
+              } finally {
+                put(batchQueue, END_OF_BATCHES);
               }
-            }
+            });
+
+    try {
+      List<Entity> rowBatch;
+      while ((rowBatch = take(batchQueue)) != END_OF_BATCHES) {
+        // samples are referenced by the variants, so write them first
+        sampleEntityCount.addAndGet(sampleWriter.applyAsInt(rowBatch));
+        outRepository.add(rowBatch.stream());
+        vcfEntityCount.addAndGet(rowBatch.size());
+      }
+    } catch (RuntimeException e) {
+      parseResult.cancel(true);
+      throw e;
+    }
+    getParseResult(parseResult);
+  }
+
+  private static int addSampleEntities(Repository<Entity> sampleRepository, List<Entity> rowBatch) {
+    List<Entity> sampleBatch = new ArrayList<>();
+    int sampleEntityCount = 0;
+    for (Entity entity : rowBatch) {
+      Iterable<Entity> samples = entity.getEntities(VcfAttributes.SAMPLES);
+      if (samples != null) {
+        for (Entity sample : samples) {
+          sampleBatch.add(sample);
+
+          if (sampleBatch.size() == SAMPLE_BATCH_SIZE) {
+            sampleRepository.add(sampleBatch.stream());
+            sampleEntityCount += sampleBatch.size();
+            sampleBatch.clear();
           }
-        },
-        1000);
+        }
+      }
+    }
 
     if (!sampleBatch.isEmpty()) {
       sampleRepository.add(sampleBatch.stream());
-      sampleEntityCount.addAndGet(sampleBatch.size());
+      sampleEntityCount += sampleBatch.size();
+    }
+    return sampleEntityCount;
+  }
+
+  private static int countSampleData(List<Entity> rowBatch, int nrSamples) {
+    int sampleEntityCount = 0;
+    for (Entity entity : rowBatch) {
+      if (entity.getString(VcfAttributes.SAMPLE_DATA) != null) {
+        sampleEntityCount += nrSamples;
+      }
+    }
+    return sampleEntityCount;
+  }
+
+  private static void put(BlockingQueue<List<Entity>> batchQueue, List<Entity> rowBatch) {
+    try {
+      batchQueue.put(rowBatch);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MolgenisDataException(e);
+    }
+  }
+
+  private static List<Entity> take(BlockingQueue<List<Entity>> batchQueue) {
+    try {
+      return batchQueue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MolgenisDataException(e);
+    }
+  }
+
+  private static void getParseResult(Future<?> parseResult) {
+    try {
+      parseResult.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MolgenisDataException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new MolgenisDataException(cause);
     }
-    return sampleEntityCount.get();
   }
 
   private Repository<Entity> createSampleRepository(
@@ -238,6 +386,55 @@ public class VcfImporterService implements ImportService {
     return sampleRepository;
   }
 
+  /**
+   * Adds the sample entity type and the sample names of a VCF file with columnar sample data, the
+   * samples are read from the variants by the {@link VcfSampleDataRepositoryCollection}.
+   *
+   * @return sample entity type identifier
+   */
+  private String addSampleDataEntityType(
+      List<EntityType> addedEntities,
+      VcfRepository vcfRepository,
+      EntityType entityType,
+      Package samplePackage) {
+    EntityType samplesEntityType = vcfRepository.getSampleEntityType();
+    if (samplesEntityType == null) {
+      throw new MolgenisDataException("Sample data without sample entity type");
+    }
+    samplesEntityType.setBackend(VcfSampleDataRepositoryCollection.NAME);
+    samplesEntityType.setPackage(samplePackage);
+    dataService.getMeta().addEntityType(samplesEntityType);
+    permissionSystemService.giveUserWriteMetaPermissions(samplesEntityType);
+    addedEntities.add(samplesEntityType);
+
+    List<String> sampleNames = vcfRepository.getSampleNames();
+    Stream<VcfSample> samples =
+        IntStream.range(0, sampleNames.size())
+            .mapToObj(
+                sampleIndex -> {
+                  VcfSample sample = vcfSampleFactory.create();
+                  sample.setSampleEntityType(samplesEntityType);
+                  sample.setVariantEntityType(entityType);
+                  sample.setSampleIndex(sampleIndex);
+                  sample.setSampleName(sampleNames.get(sampleIndex));
+                  return sample;
+                });
+    runAsSystem(() -> dataService.add(VCF_SAMPLE, samples));
+    return samplesEntityType.getId();
+  }
+
+  /** Sample data is decoded when the samples are read, indexing it serves no purpose. */
+  private void tagNotIndexed(Attribute attribute) {
+    Tag notIndexedTag =
+        dataService
+            .query(TAG, Tag.class)
+            .eq(TagMetadata.OBJECT_IRI, Vocabulary.NOT_INDEXED.toString())
+            .findOne();
+    if (notIndexedTag != null) {
+      attribute.addTag(notIndexedTag);
+    }
+  }
+
   @Override
   public int getOrder() {
     return 10;
@@ -0,0 +1,68 @@
+package org.molgenis.data.vcf.meta;
+
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.ID;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.SAMPLE_ENTITY_TYPE;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.SAMPLE_INDEX;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.SAMPLE_NAME;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.VARIANT_ENTITY_TYPE;
+
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.support.StaticEntity;
+
+@SuppressWarnings("unused")
+public class VcfSample extends StaticEntity {
+  public VcfSample(Entity entity) {
+    super(entity);
+  }
+
+  public VcfSample(EntityType entityType) {
+    super(entityType);
+  }
+
+  public VcfSample(String id, EntityType entityType) {
+    super(entityType);
+    setId(id);
+  }
+
+  public String getId() {
+    return getString(ID);
+  }
+
+  public void setId(String id) {
+    set(ID, id);
+  }
+
+  public EntityType getSampleEntityType() {
+    return getEntity(SAMPLE_ENTITY_TYPE, EntityType.class);
+  }
+
+  public void setSampleEntityType(EntityType sampleEntityType) {
+    set(SAMPLE_ENTITY_TYPE, sampleEntityType);
+  }
+
+  public EntityType getVariantEntityType() {
+    return getEntity(VARIANT_ENTITY_TYPE, EntityType.class);
+  }
+
+  public void setVariantEntityType(EntityType variantEntityType) {
+    set(VARIANT_ENTITY_TYPE, variantEntityType);
+  }
+
+  public int getSampleIndex() {
+    Integer sampleIndex = getInt(SAMPLE_INDEX);
+    return sampleIndex != null ? sampleIndex : 0;
+  }
+
+  public void setSampleIndex(int sampleIndex) {
+    set(SAMPLE_INDEX, sampleIndex);
+  }
+
+  public String getSampleName() {
+    return getString(SAMPLE_NAME);
+  }
+
+  public void setSampleName(String sampleName) {
+    set(SAMPLE_NAME, sampleName);
+  }
+}
@@ -0,0 +1,13 @@
+package org.molgenis.data.vcf.meta;
+
+import org.molgenis.data.AbstractSystemEntityFactory;
+import org.molgenis.data.populate.EntityPopulator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VcfSampleFactory
+    extends AbstractSystemEntityFactory<VcfSample, VcfSampleMetadata, String> {
+  VcfSampleFactory(VcfSampleMetadata vcfSampleMetadata, EntityPopulator entityPopulator) {
+    super(VcfSample.class, vcfSampleMetadata, entityPopulator);
+  }
+}
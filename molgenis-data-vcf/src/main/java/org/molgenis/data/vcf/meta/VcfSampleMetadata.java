@@ -0,0 +1,64 @@
+package org.molgenis.data.vcf.meta;
+
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.TEXT;
+import static org.molgenis.data.meta.AttributeType.XREF;
+import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_ID;
+import static org.molgenis.data.meta.model.Package.PACKAGE_SEPARATOR;
+import static org.molgenis.data.system.model.RootSystemPackage.PACKAGE_SYSTEM;
+
+import org.molgenis.data.meta.SystemEntityType;
+import org.molgenis.data.meta.model.EntityTypeMetadata;
+import org.springframework.stereotype.Component;
+
+/**
+ * Samples of VCF files that were imported with {@link
+ * org.molgenis.data.vcf.model.VcfSampleStorage#COLUMNAR} sample storage. Columnar sample data does
+ * not contain the sample names, they are stored in this entity type in the order of the samples in
+ * the VCF file.
+ */
+@Component
+public class VcfSampleMetadata extends SystemEntityType {
+  private static final String SIMPLE_NAME = "VcfSample";
+  public static final String VCF_SAMPLE = PACKAGE_SYSTEM + PACKAGE_SEPARATOR + SIMPLE_NAME;
+
+  public static final String ID = "id";
+  public static final String SAMPLE_ENTITY_TYPE = "sampleEntityType";
+  public static final String VARIANT_ENTITY_TYPE = "variantEntityType";
+  public static final String SAMPLE_INDEX = "sampleIndex";
+  public static final String SAMPLE_NAME = "sampleName";
+
+  private final EntityTypeMetadata entityTypeMetadata;
+
+  VcfSampleMetadata(EntityTypeMetadata entityTypeMetadata) {
+    super(SIMPLE_NAME, PACKAGE_SYSTEM);
+    this.entityTypeMetadata = requireNonNull(entityTypeMetadata);
+  }
+
+  @Override
+  public void init() {
+    setLabel("VCF sample");
+    setDescription("Names of the samples of VCF files with columnar sample data");
+    addAttribute(ID, ROLE_ID)
+        .setAuto(true)
+        .setVisible(false)
+        .setDescription("automatically generated internal id, only for internal use.");
+    addAttribute(SAMPLE_ENTITY_TYPE)
+        .setDataType(XREF)
+        .setRefEntity(entityTypeMetadata)
+        .setNillable(false)
+        .setDescription("Sample entity type that decodes the sample data of the variants");
+    addAttribute(VARIANT_ENTITY_TYPE)
+        .setDataType(XREF)
+        .setRefEntity(entityTypeMetadata)
+        .setNillable(false)
+        .setDescription(
+            "Variant entity type that stores the sample data, it cannot be deleted before the sample entity type");
+    addAttribute(SAMPLE_INDEX)
+        .setDataType(INT)
+        .setNillable(false)
+        .setDescription("Index of the sample in the VCF file");
+    addAttribute(SAMPLE_NAME).setDataType(TEXT).setNillable(false);
+  }
+}
@@ -23,6 +23,7 @@ public class VcfAttributes {
   public static final String INFO = "INFO";
   public static final String FORMAT_GT = "GT";
   public static final String SAMPLES = "SAMPLES_ENTITIES";
+  public static final String SAMPLE_DATA = "SAMPLE_DATA";
 
   private final AttributeFactory attributeFactory;
 
@@ -0,0 +1,12 @@
+package org.molgenis.data.vcf.model;
+
+/** How the FORMAT values of the samples of a VCF file are stored. */
+public enum VcfSampleStorage {
+  /** One sample entity per sample per variant, referenced by the variant */
+  ROWS,
+  /**
+   * One compressed block per variant containing the FORMAT values of all samples, see {@link
+   * org.molgenis.data.vcf.format.SampleDataCodec}
+   */
+  COLUMNAR
+}
@@ -0,0 +1,102 @@
+package org.molgenis.data.vcf.tabix;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.annotation.PreDestroy;
+import org.molgenis.data.MolgenisDataException;
+import org.molgenis.util.ExecutorServiceUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decompresses the blocks of BGZF compressed files, see
+ * https://samtools.github.io/hts-specs/SAMv1.pdf section 4.1. Blocks are independent gzip members,
+ * so multiple blocks are decompressed in parallel.
+ */
+@Component
+public class BgzfDecompressor {
+  static final int HEADER_LENGTH = 12;
+  private static final int FOOTER_LENGTH = 8;
+
+  private final ExecutorService executorService;
+
+  public BgzfDecompressor() {
+    this.executorService =
+        Executors.newFixedThreadPool(
+            getParallelism(),
+            new ThreadFactoryBuilder().setNameFormat("molgenis-vcf-bgzf-%d").build());
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    ExecutorServiceUtils.shutdownAndAwaitTermination(executorService);
+  }
+
+  static int getParallelism() {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * @param block compressed block including header and footer
+   * @return future of the decompressed block
+   */
+  Future<byte[]> decompress(byte[] block) {
+    return executorService.submit(() -> inflate(block));
+  }
+
+  /**
+   * @param header first bytes of a block: the gzip header and the extra subfields
+   * @return length of the extra subfields
+   */
+  static int getExtraLength(byte[] header) {
+    if (header[0] != 31 || header[1] != (byte) 139 || header[2] != 8 || header[3] != 4) {
+      throw new MolgenisDataException("Invalid BGZF block header");
+    }
+    return getUnsignedShort(header, 10);
+  }
+
+  /**
+   * @param header first bytes of a block: the gzip header and the extra subfields
+   * @return size of the compressed block including header and footer
+   */
+  static int getBlockSize(byte[] header) {
+    int extraEnd = HEADER_LENGTH + getExtraLength(header);
+    for (int i = HEADER_LENGTH; i + 4 <= extraEnd; i += 4 + getUnsignedShort(header, i + 2)) {
+      if (header[i] == 'B' && header[i + 1] == 'C') {
+        return getUnsignedShort(header, i + 4) + 1;
+      }
+    }
+    throw new MolgenisDataException("BGZF block header does not contain the block size");
+  }
+
+  private static byte[] inflate(byte[] block) {
+    int dataOffset = HEADER_LENGTH + getExtraLength(block);
+    int dataLength = block.length - dataOffset - FOOTER_LENGTH;
+    byte[] decompressedBlock = new byte[getInt(block, block.length - 4)];
+
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(block, dataOffset, dataLength);
+      int length = inflater.inflate(decompressedBlock);
+      if (length != decompressedBlock.length) {
+        throw new MolgenisDataException("Invalid BGZF block size");
+      }
+    } catch (DataFormatException e) {
+      throw new MolgenisDataException(e);
+    } finally {
+      inflater.end();
+    }
+    return decompressedBlock;
+  }
+
+  private static int getUnsignedShort(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8;
+  }
+
+  private static int getInt(byte[] bytes, int offset) {
+    return getUnsignedShort(bytes, offset) | getUnsignedShort(bytes, offset + 2) << 16;
+  }
+}
@@ -0,0 +1,32 @@
+package org.molgenis.data.vcf.tabix;
+
+/**
+ * Part of a BGZF compressed file between two virtual file offsets. The upper 48 bits of a virtual
+ * file offset are the offset of a compressed block in the file, the lower 16 bits are the offset
+ * in the uncompressed block.
+ */
+class Chunk {
+  private final long begin;
+  private final long end;
+
+  Chunk(long begin, long end) {
+    this.begin = begin;
+    this.end = end;
+  }
+
+  long getBegin() {
+    return begin;
+  }
+
+  long getEnd() {
+    return end;
+  }
+
+  static long getBlockOffset(long virtualOffset) {
+    return virtualOffset >>> 16;
+  }
+
+  static int getOffsetInBlock(long virtualOffset) {
+    return (int) (virtualOffset & 0xffff);
+  }
+}
@@ -0,0 +1,267 @@
+package org.molgenis.data.vcf.tabix;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparingLong;
+
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.molgenis.data.MolgenisDataException;
+
+/**
+ * Tabix (.tbi) or coordinate sorted (.csi) index of a BGZF compressed file, see
+ * https://samtools.github.io/hts-specs/tabix.pdf and https://samtools.github.io/hts-specs/CSIv1.pdf
+ */
+public class TabixIndex {
+  private static final byte[] TBI_MAGIC = {'T', 'B', 'I', 1};
+  private static final byte[] CSI_MAGIC = {'C', 'S', 'I', 1};
+  private static final int TBI_MIN_SHIFT = 14;
+  private static final int TBI_DEPTH = 5;
+
+  private final int minShift;
+  private final int depth;
+  private final Map<String, ReferenceIndex> referenceIndices;
+
+  private TabixIndex(int minShift, int depth, Map<String, ReferenceIndex> referenceIndices) {
+    this.minShift = minShift;
+    this.depth = depth;
+    this.referenceIndices = referenceIndices;
+  }
+
+  /**
+   * Reads a .tbi or .csi index
+   *
+   * @param indexFile index file
+   * @return index
+   * @throws MolgenisDataException if the index file could not be read
+   */
+  public static TabixIndex read(File indexFile) {
+    byte[] bytes;
+    try (InputStream inputStream = new GZIPInputStream(new FileInputStream(indexFile))) {
+      bytes = ByteStreams.toByteArray(inputStream);
+    } catch (IOException e) {
+      throw new MolgenisDataException("Failed to read index file " + indexFile.getName(), e);
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    byte[] magic = new byte[4];
+    buffer.get(magic);
+    if (Arrays.equals(magic, TBI_MAGIC)) {
+      return readTbi(buffer);
+    } else if (Arrays.equals(magic, CSI_MAGIC)) {
+      return readCsi(buffer);
+    } else {
+      throw new MolgenisDataException("Unknown index file format " + indexFile.getName());
+    }
+  }
+
+  private static TabixIndex readTbi(ByteBuffer buffer) {
+    int nrReferences = buffer.getInt();
+    List<String> names = readTabixHeader(buffer);
+    if (names.size() != nrReferences) {
+      throw new MolgenisDataException("Index contains an invalid number of sequence names");
+    }
+
+    Map<String, ReferenceIndex> referenceIndices = new LinkedHashMap<>();
+    for (String name : names) {
+      Map<Integer, Bin> bins = readBins(buffer, false);
+      long[] linearIndex = new long[buffer.getInt()];
+      for (int i = 0; i < linearIndex.length; i++) {
+        linearIndex[i] = buffer.getLong();
+      }
+      referenceIndices.put(name, new ReferenceIndex(bins, linearIndex));
+    }
+    return new TabixIndex(TBI_MIN_SHIFT, TBI_DEPTH, referenceIndices);
+  }
+
+  private static TabixIndex readCsi(ByteBuffer buffer) {
+    int minShift = buffer.getInt();
+    int depth = buffer.getInt();
+    int auxLength = buffer.getInt();
+    if (auxLength == 0) {
+      throw new MolgenisDataException("Index without sequence names is not supported");
+    }
+    int auxEnd = buffer.position() + auxLength;
+    List<String> names = readTabixHeader(buffer);
+    buffer.position(auxEnd);
+
+    int nrReferences = buffer.getInt();
+    if (names.size() != nrReferences) {
+      throw new MolgenisDataException("Index contains an invalid number of sequence names");
+    }
+    Map<String, ReferenceIndex> referenceIndices = new LinkedHashMap<>();
+    for (String name : names) {
+      referenceIndices.put(name, new ReferenceIndex(readBins(buffer, true), new long[0]));
+    }
+    return new TabixIndex(minShift, depth, referenceIndices);
+  }
+
+  /** Reads the tabix configuration and returns the sequence names */
+  private static List<String> readTabixHeader(ByteBuffer buffer) {
+    buffer.getInt(); // format
+    buffer.getInt(); // column of the sequence name
+    buffer.getInt(); // column of the region begin
+    buffer.getInt(); // column of the region end
+    buffer.getInt(); // meta character
+    buffer.getInt(); // number of lines to skip
+    byte[] namesBytes = new byte[buffer.getInt()];
+    buffer.get(namesBytes);
+
+    List<String> names = new ArrayList<>();
+    int nameBegin = 0;
+    for (int i = 0; i < namesBytes.length; i++) {
+      if (namesBytes[i] == 0) {
+        names.add(new String(namesBytes, nameBegin, i - nameBegin, US_ASCII));
+        nameBegin = i + 1;
+      }
+    }
+    return names;
+  }
+
+  private static Map<Integer, Bin> readBins(ByteBuffer buffer, boolean hasMinOffset) {
+    int nrBins = buffer.getInt();
+    Map<Integer, Bin> bins = new HashMap<>(nrBins * 2);
+    for (int i = 0; i < nrBins; i++) {
+      int binNumber = buffer.getInt();
+      long minOffset = hasMinOffset ? buffer.getLong() : 0L;
+      int nrChunks = buffer.getInt();
+      List<Chunk> chunks = new ArrayList<>(nrChunks);
+      for (int j = 0; j < nrChunks; j++) {
+        chunks.add(new Chunk(buffer.getLong(), buffer.getLong()));
+      }
+      bins.put(binNumber, new Bin(minOffset, chunks));
+    }
+    return bins;
+  }
+
+  /** Returns the names of the indexed sequences in the order in which they occur in the file */
+  List<String> getSequenceNames() {
+    return new ArrayList<>(referenceIndices.keySet());
+  }
+
+  /**
+   * Returns the sorted, non-overlapping chunks that contain all records that overlap a region.
+   * The chunks can contain records outside of the region as well.
+   *
+   * @param sequenceName sequence (chromosome) name
+   * @param begin 0-based begin of the region, inclusive
+   * @param end 0-based end of the region, exclusive
+   * @return chunks or an empty list if the sequence is unknown
+   */
+  List<Chunk> getChunks(String sequenceName, int begin, int end) {
+    ReferenceIndex referenceIndex = referenceIndices.get(sequenceName);
+    if (referenceIndex == null) {
+      return emptyList();
+    }
+    int maxEnd = 1 << (minShift + depth * 3);
+    int regionEnd = Math.min(end, maxEnd);
+    if (begin >= regionEnd) {
+      return emptyList();
+    }
+
+    long minOffset = getMinOffset(referenceIndex, begin);
+    List<Chunk> chunks = new ArrayList<>();
+    for (int binNumber : getBinNumbers(begin, regionEnd)) {
+      Bin bin = referenceIndex.bins.get(binNumber);
+      if (bin != null) {
+        for (Chunk chunk : bin.chunks) {
+          if (chunk.getEnd() > minOffset) {
+            chunks.add(chunk);
+          }
+        }
+      }
+    }
+    return mergeChunks(chunks, minOffset);
+  }
+
+  private long getMinOffset(ReferenceIndex referenceIndex, int begin) {
+    long[] linearIndex = referenceIndex.linearIndex;
+    if (linearIndex.length > 0) {
+      int window = begin >> minShift;
+      return linearIndex[Math.min(window, linearIndex.length - 1)];
+    }
+
+    // without a linear index the smallest existing bin that contains begin tells where to start
+    int levelOffset = ((1 << (depth * 3)) - 1) / 7;
+    for (int binNumber = levelOffset + (begin >> minShift); ; binNumber = (binNumber - 1) >> 3) {
+      Bin bin = referenceIndex.bins.get(binNumber);
+      if (bin != null) {
+        return bin.minOffset;
+      }
+      if (binNumber == 0) {
+        return 0L;
+      }
+    }
+  }
+
+  /** Returns the numbers of the bins that overlap the region [begin, end) */
+  private List<Integer> getBinNumbers(int begin, int end) {
+    List<Integer> binNumbers = new ArrayList<>();
+    int lastPosition = end - 1;
+    int shift = minShift + depth * 3;
+    for (int level = 0, levelOffset = 0;
+        level <= depth;
+        levelOffset += 1 << (level * 3), level++, shift -= 3) {
+      int firstBinNumber = levelOffset + (begin >> shift);
+      int lastBinNumber = levelOffset + (lastPosition >> shift);
+      for (int binNumber = firstBinNumber; binNumber <= lastBinNumber; binNumber++) {
+        binNumbers.add(binNumber);
+      }
+    }
+    return binNumbers;
+  }
+
+  private static List<Chunk> mergeChunks(List<Chunk> chunks, long minOffset) {
+    chunks.sort(comparingLong(Chunk::getBegin));
+    List<Chunk> mergedChunks = new ArrayList<>(chunks.size());
+    Chunk mergedChunk = null;
+    for (Chunk chunk : chunks) {
+      long begin = Math.max(chunk.getBegin(), minOffset);
+      if (mergedChunk == null) {
+        mergedChunk = new Chunk(begin, chunk.getEnd());
+      } else if (begin <= mergedChunk.getEnd()) {
+        long end = Math.max(mergedChunk.getEnd(), chunk.getEnd());
+        mergedChunk = new Chunk(mergedChunk.getBegin(), end);
+      } else {
+        mergedChunks.add(mergedChunk);
+        mergedChunk = new Chunk(begin, chunk.getEnd());
+      }
+    }
+    if (mergedChunk != null) {
+      mergedChunks.add(mergedChunk);
+    }
+    return mergedChunks;
+  }
+
+  private static class ReferenceIndex {
+    private final Map<Integer, Bin> bins;
+    private final long[] linearIndex;
+
+    ReferenceIndex(Map<Integer, Bin> bins, long[] linearIndex) {
+      this.bins = bins;
+      this.linearIndex = linearIndex;
+    }
+  }
+
+  private static class Bin {
+    private final long minOffset;
+    private final List<Chunk> chunks;
+
+    Bin(long minOffset, List<Chunk> chunks) {
+      this.minOffset = minOffset;
+      this.chunks = chunks;
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package org.molgenis.data.vcf.tabix;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.vcf.tabix.BgzfDecompressor.HEADER_LENGTH;
+
+import com.google.common.collect.AbstractIterator;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.MolgenisDataException;
+
+/**
+ * Reads the lines of a region of a BGZF compressed and tabix indexed file.
+ *
+ * <p>Compressed blocks are read ahead and decompressed in parallel by the {@link
+ * BgzfDecompressor}.
+ */
+public class TabixReader {
+  private static final String[] INDEX_FILE_EXTENSIONS = {".tbi", ".csi"};
+  private static final int MAX_PENDING_BLOCKS = 2 * BgzfDecompressor.getParallelism();
+
+  private final File file;
+  private final TabixIndex index;
+  private final BgzfDecompressor decompressor;
+
+  public TabixReader(File file, TabixIndex index, BgzfDecompressor decompressor) {
+    this.file = requireNonNull(file);
+    this.index = requireNonNull(index);
+    this.decompressor = requireNonNull(decompressor);
+  }
+
+  /**
+   * @param file BGZF compressed file
+   * @return .tbi or .csi index file next to the given file or null if the file is not indexed
+   */
+  public static @Nullable @CheckForNull File getIndexFile(File file) {
+    if (file.getName().endsWith(".gz")) {
+      for (String indexFileExtension : INDEX_FILE_EXTENSIONS) {
+        File indexFile = new File(file.getPath() + indexFileExtension);
+        if (indexFile.isFile()) {
+          return indexFile;
+        }
+      }
+    }
+    return null;
+  }
+
+  /** Returns the names of the indexed sequences in the order in which they occur in the file */
+  public List<String> getSequenceNames() {
+    return index.getSequenceNames();
+  }
+
+  /**
+   * Returns the lines of records that overlap a region and possibly lines of records near the
+   * region.
+   *
+   * @param sequenceName sequence (chromosome) name
+   * @param begin 0-based begin of the region, inclusive
+   * @param end 0-based end of the region, exclusive
+   */
+  public Iterator<String> query(String sequenceName, int begin, int end) {
+    return new LineIterator(index.getChunks(sequenceName, begin, end).iterator());
+  }
+
+  private class LineIterator extends AbstractIterator<String> {
+    private final Iterator<Chunk> chunks;
+    private final Deque<String> lines = new ArrayDeque<>();
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private Chunk chunk;
+    private BlockIterator blocks;
+
+    LineIterator(Iterator<Chunk> chunks) {
+      this.chunks = chunks;
+    }
+
+    @Override
+    protected String computeNext() {
+      while (lines.isEmpty()) {
+        if (blocks != null && blocks.hasNext()) {
+          addLines(blocks.next());
+        } else if (partialLine.size() > 0) {
+          addLine();
+        } else if (chunks.hasNext()) {
+          chunk = chunks.next();
+          blocks = new BlockIterator(chunk);
+        } else {
+          return endOfData();
+        }
+      }
+      return lines.poll();
+    }
+
+    private void addLines(Block block) {
+      byte[] data = block.getData();
+      int from =
+          block.getOffset() == Chunk.getBlockOffset(chunk.getBegin())
+              ? Chunk.getOffsetInBlock(chunk.getBegin())
+              : 0;
+      int to =
+          block.getOffset() == Chunk.getBlockOffset(chunk.getEnd())
+              ? Chunk.getOffsetInBlock(chunk.getEnd())
+              : data.length;
+
+      int lineBegin = from;
+      for (int i = from; i < to; i++) {
+        if (data[i] == '\n') {
+          partialLine.write(data, lineBegin, i - lineBegin);
+          addLine();
+          lineBegin = i + 1;
+        }
+      }
+      partialLine.write(data, lineBegin, to - lineBegin);
+    }
+
+    private void addLine() {
+      lines.add(new String(partialLine.toByteArray(), UTF_8));
+      partialLine.reset();
+    }
+  }
+
+  /** Reads the compressed blocks of a chunk ahead of the decompressed blocks that are consumed */
+  private class BlockIterator implements Iterator<Block> {
+    private final long lastBlockOffset;
+    private final Deque<Block> pendingBlocks = new ArrayDeque<>();
+    private long nextBlockOffset;
+
+    BlockIterator(Chunk chunk) {
+      this.nextBlockOffset = Chunk.getBlockOffset(chunk.getBegin());
+      long endBlockOffset = Chunk.getBlockOffset(chunk.getEnd());
+      this.lastBlockOffset =
+          Chunk.getOffsetInBlock(chunk.getEnd()) > 0 ? endBlockOffset : endBlockOffset - 1;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (pendingBlocks.size() < MAX_PENDING_BLOCKS / 2 && nextBlockOffset <= lastBlockOffset) {
+        readBlocks();
+      }
+      return !pendingBlocks.isEmpty();
+    }
+
+    @Override
+    public Block next() {
+      hasNext();
+      return pendingBlocks.remove();
+    }
+
+    private void readBlocks() {
+      try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+        long fileLength = randomAccessFile.length();
+        randomAccessFile.seek(nextBlockOffset);
+        while (pendingBlocks.size() < MAX_PENDING_BLOCKS
+            && nextBlockOffset <= lastBlockOffset
+            && nextBlockOffset < fileLength) {
+          byte[] block = readBlock(randomAccessFile);
+          pendingBlocks.add(new Block(nextBlockOffset, decompressor.decompress(block)));
+          nextBlockOffset += block.length;
+        }
+      } catch (IOException e) {
+        throw new MolgenisDataException("Failed to read " + file.getName(), e);
+      }
+    }
+
+    private byte[] readBlock(RandomAccessFile randomAccessFile) throws IOException {
+      byte[] header = new byte[HEADER_LENGTH];
+      randomAccessFile.readFully(header);
+      int extraLength = BgzfDecompressor.getExtraLength(header);
+
+      byte[] headerWithExtra = new byte[HEADER_LENGTH + extraLength];
+      System.arraycopy(header, 0, headerWithExtra, 0, HEADER_LENGTH);
+      randomAccessFile.readFully(headerWithExtra, HEADER_LENGTH, extraLength);
+
+      byte[] block = new byte[BgzfDecompressor.getBlockSize(headerWithExtra)];
+      System.arraycopy(headerWithExtra, 0, block, 0, headerWithExtra.length);
+      randomAccessFile.readFully(
+          block, headerWithExtra.length, block.length - headerWithExtra.length);
+      return block;
+    }
+  }
+
+  private static class Block {
+    private final long offset;
+    private final Future<byte[]> data;
+
+    Block(long offset, Future<byte[]> data) {
+      this.offset = offset;
+      this.data = data;
+    }
+
+    long getOffset() {
+      return offset;
+    }
+
+    byte[] getData() {
+      try {
+        return data.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new MolgenisDataException(e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new MolgenisDataException(cause);
+      }
+    }
+  }
+}
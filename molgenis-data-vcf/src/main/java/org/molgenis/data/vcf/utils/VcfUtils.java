@@ -16,6 +16,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.molgenis.data.Entity;
 
 public class VcfUtils {
+  /** Length of the ids created by {@link #createId(Entity)}, a Base64 encoded MD5 hash */
+  public static final int ID_LENGTH = 22;
 
   private VcfUtils() {}
 
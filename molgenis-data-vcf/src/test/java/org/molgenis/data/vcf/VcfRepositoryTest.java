@@ -2,6 +2,7 @@ package org.molgenis.data.vcf;
 
 import static com.google.common.collect.ImmutableList.of;
 import static java.nio.file.Files.createTempFile;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -10,12 +11,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.molgenis.data.RepositoryCapability.QUERYABLE;
 import static org.molgenis.data.meta.AttributeType.COMPOUND;
 import static org.molgenis.data.meta.AttributeType.INT;
 import static org.molgenis.data.meta.AttributeType.STRING;
 import static org.molgenis.data.meta.AttributeType.TEXT;
 import static org.molgenis.data.vcf.model.VcfAttributes.CHROM;
 import static org.molgenis.data.vcf.model.VcfAttributes.POS;
+import static org.molgenis.data.vcf.model.VcfAttributes.REF;
 
 import java.io.File;
 import java.io.IOException;
@@ -33,12 +36,17 @@ import org.mockito.Mock;
 import org.molgenis.data.AbstractMolgenisSpringTest;
 import org.molgenis.data.Entity;
 import org.molgenis.data.MolgenisDataException;
+import org.molgenis.data.Query;
+import org.molgenis.data.UnknownAttributeException;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.AttributeFactory;
 import org.molgenis.data.meta.model.EntityTypeFactory;
+import org.molgenis.data.support.QueryImpl;
 import org.molgenis.data.vcf.config.VcfTestConfig;
 import org.molgenis.data.vcf.model.VcfAttributes;
+import org.molgenis.data.vcf.model.VcfSampleStorage;
+import org.molgenis.data.vcf.tabix.BgzfDecompressor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -58,14 +66,18 @@ class VcfRepositoryTest extends AbstractMolgenisSpringTest {
   @Captor private ArgumentCaptor<List<Entity>> entityListCaptor;
 
   private static File testData;
+  private static File testDataIndexed;
   private static File testNoData;
   private static File testEmptyFile;
+  private static BgzfDecompressor bgzfDecompressor;
 
   @BeforeAll
   static void beforeClass() throws IOException {
     testData = new ClassPathResource("testdata.vcf").getFile();
+    testDataIndexed = new ClassPathResource("testdata.vcf.gz").getFile();
     testNoData = new ClassPathResource("testnodata.vcf").getFile();
     testEmptyFile = createTempFile("empty", "vcf").toFile();
+    bgzfDecompressor = new BgzfDecompressor();
   }
 
   @AfterAll
@@ -162,6 +174,105 @@ class VcfRepositoryTest extends AbstractMolgenisSpringTest {
     verifyZeroInteractions(batchConsumer);
   }
 
+  @Test
+  void testGetCapabilitiesNotIndexed() {
+    VcfRepository vcfRepository =
+        new VcfRepository(testData, "testData", vcfAttrs, entityTypeFactory, attrMetaFactory);
+    assertEquals(emptySet(), vcfRepository.getCapabilities());
+  }
+
+  @Test
+  void testGetCapabilitiesIndexed() {
+    assertEquals(singleton(QUERYABLE), createIndexedRepository().getCapabilities());
+  }
+
+  @Test
+  void testFindAllRange() {
+    Query<Entity> query = new QueryImpl<>().eq(CHROM, "1").and().rng(POS, 3171929, 3172273);
+    List<Integer> positions =
+        createIndexedRepository()
+            .findAll(query)
+            .map(entity -> entity.getInt(POS))
+            .collect(Collectors.toList());
+    assertEquals(of(3171929, 3172062, 3172273), positions);
+  }
+
+  @Test
+  void testFindAllChrom() {
+    Query<Entity> query = new QueryImpl<>().eq(CHROM, "1");
+    List<Integer> positions =
+        createIndexedRepository()
+            .findAll(query)
+            .map(entity -> entity.getInt(POS))
+            .collect(Collectors.toList());
+    assertEquals(of(565286, 2243618, 3171929, 3172062, 3172273, 6097450, 7569187), positions);
+  }
+
+  @Test
+  void testFindAllUnknownChrom() {
+    Query<Entity> query = new QueryImpl<>().eq(CHROM, "2");
+    assertEquals(0, createIndexedRepository().findAll(query).count());
+  }
+
+  @Test
+  void testCountPos() {
+    Query<Entity> query = new QueryImpl<>().eq(CHROM, "1").and().eq(POS, 7569187);
+    assertEquals(1, createIndexedRepository().count(query));
+  }
+
+  @Test
+  void testFindAllChromRef() {
+    Query<Entity> query = new QueryImpl<>().eq(CHROM, "1").and().eq(REF, "G");
+    List<Integer> positions =
+        createIndexedRepository()
+            .findAll(query)
+            .map(entity -> entity.getInt(POS))
+            .collect(Collectors.toList());
+    assertEquals(of(3171929, 3172062, 6097450, 7569187), positions);
+  }
+
+  @Test
+  void testFindAllWithoutChrom() {
+    Query<Entity> query = new QueryImpl<>().eq(REF, "A").and().rng(POS, 1, 3000000);
+    List<Integer> positions =
+        createIndexedRepository()
+            .findAll(query)
+            .map(entity -> entity.getInt(POS))
+            .collect(Collectors.toList());
+    assertEquals(of(2243618), positions);
+  }
+
+  @Test
+  void testCountEmptyRange() {
+    Query<Entity> query = new QueryImpl<>().eq(POS, 565286).and().eq(POS, 2243618);
+    assertEquals(0, createIndexedRepository().count(query));
+  }
+
+  @Test
+  void testFindAllUnsupportedOperator() {
+    Query<Entity> query = new QueryImpl<>().like(REF, "A");
+    VcfRepository vcfRepository = createIndexedRepository();
+    assertThrows(UnsupportedOperationException.class, () -> vcfRepository.findAll(query));
+  }
+
+  @Test
+  void testFindAllUnknownAttribute() {
+    Query<Entity> query = new QueryImpl<>().eq("unknownAttribute", "A");
+    VcfRepository vcfRepository = createIndexedRepository();
+    assertThrows(UnknownAttributeException.class, () -> vcfRepository.findAll(query));
+  }
+
+  private VcfRepository createIndexedRepository() {
+    return new VcfRepository(
+        testDataIndexed,
+        "testData",
+        vcfAttrs,
+        entityTypeFactory,
+        attrMetaFactory,
+        VcfSampleStorage.ROWS,
+        bgzfDecompressor);
+  }
+
   @Configuration
   @Import({VcfTestConfig.class})
   static class Config {}
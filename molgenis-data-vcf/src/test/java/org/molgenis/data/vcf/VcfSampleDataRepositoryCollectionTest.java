@@ -0,0 +1,215 @@
+package org.molgenis.data.vcf;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.vcf.VcfRepository.VARIANT;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.VCF_SAMPLE;
+import static org.molgenis.data.vcf.model.VcfAttributes.INTERNAL_ID;
+import static org.molgenis.data.vcf.model.VcfAttributes.SAMPLES;
+
+import com.google.common.collect.Lists;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.AbstractMolgenisSpringTest;
+import org.molgenis.data.DataService;
+import org.molgenis.data.Entity;
+import org.molgenis.data.MolgenisDataException;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.mem.InMemoryRepository;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.AttributeFactory;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.meta.model.EntityTypeFactory;
+import org.molgenis.data.vcf.config.VcfTestConfig;
+import org.molgenis.data.vcf.meta.VcfSample;
+import org.molgenis.data.vcf.model.VcfAttributes;
+import org.molgenis.data.vcf.model.VcfSampleStorage;
+import org.molgenis.data.vcf.utils.VcfUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = {VcfSampleDataRepositoryCollectionTest.Config.class})
+class VcfSampleDataRepositoryCollectionTest extends AbstractMolgenisSpringTest {
+  @Autowired private VcfAttributes vcfAttrs;
+
+  @Autowired private EntityTypeFactory entityTypeFactory;
+
+  @Autowired private AttributeFactory attrMetaFactory;
+
+  @Mock private DataService dataService;
+
+  private static File testData;
+
+  private VcfSampleDataRepositoryCollection vcfSampleDataRepositoryCollection;
+  private List<Entity> expectedSamples;
+  private EntityType sampleEntityType;
+  private Repository<Entity> variantRepository;
+  private List<String> sampleNames;
+
+  @BeforeAll
+  static void beforeClass() throws IOException {
+    testData = new ClassPathResource("testdata.vcf").getFile();
+  }
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    vcfSampleDataRepositoryCollection = new VcfSampleDataRepositoryCollection(dataService);
+
+    // samples as they are imported with row sample storage
+    expectedSamples = new ArrayList<>();
+    createVcfRepository(VcfSampleStorage.ROWS)
+        .forEachBatched(
+            variants ->
+                variants.forEach(
+                    variant -> variant.getEntities(SAMPLES).forEach(expectedSamples::add)),
+            VcfRepository.BATCH_SIZE);
+
+    // variants as they are imported with columnar sample storage
+    VcfRepository vcfRepository = createVcfRepository(VcfSampleStorage.COLUMNAR);
+    sampleEntityType = vcfRepository.getSampleEntityType();
+    sampleNames = vcfRepository.getSampleNames();
+    variantRepository = new InMemoryRepository(vcfRepository.getEntityType());
+    vcfRepository.forEachBatched(
+        variants -> variantRepository.add(variants.stream()), VcfRepository.BATCH_SIZE);
+  }
+
+  @Test
+  void testGetRepositoryReadBack() {
+    Repository<Entity> sampleRepository = getSampleRepository();
+
+    assertEquals(expectedSamples.size(), sampleRepository.count());
+    assertSamplesEquals(expectedSamples, Lists.newArrayList(sampleRepository));
+  }
+
+  @Test
+  void testGetRepositoryReadBackBatched() {
+    Repository<Entity> sampleRepository = getSampleRepository();
+
+    List<Entity> samples = new ArrayList<>();
+    sampleRepository.forEachBatched(samples::addAll, 2);
+    assertSamplesEquals(expectedSamples, samples);
+  }
+
+  @Test
+  void testGetRepositoryFindById() {
+    Repository<Entity> sampleRepository = getSampleRepository();
+
+    Entity expectedSample = expectedSamples.get(3);
+    assertSamplesEquals(
+        List.of(expectedSample),
+        List.of(sampleRepository.findOneById(expectedSample.getIdValue())));
+  }
+
+  @Test
+  void testGetRepositoryFindAllByIds() {
+    Repository<Entity> sampleRepository = getSampleRepository();
+
+    List<Entity> expected = List.of(expectedSamples.get(5), expectedSamples.get(0));
+    Stream<Object> ids =
+        Stream.of(expected.get(0).getIdValue(), "unknown", expected.get(1).getIdValue());
+    assertSamplesEquals(expected, sampleRepository.findAll(ids).collect(toList()));
+  }
+
+  @Test
+  void testGetRepositoryFindByUnknownId() {
+    Repository<Entity> sampleRepository = getSampleRepository();
+
+    assertNull(sampleRepository.findOneById("unknown"));
+  }
+
+  @Test
+  void testGetRepositoryVariant() {
+    Repository<Entity> sampleRepository = getSampleRepository();
+
+    Entity sample = sampleRepository.findOneById(expectedSamples.get(3).getIdValue());
+    Entity variant = sample.getEntity(VARIANT);
+    assertEquals(
+        sample.getIdValue().toString().substring(0, VcfUtils.ID_LENGTH),
+        variant.getString(INTERNAL_ID));
+  }
+
+  @Test
+  void testDeleteRepository() {
+    Query<VcfSample> sampleQuery = createSampleQuery();
+    Stream<VcfSample> samples = Stream.of(mock(VcfSample.class));
+    when(sampleQuery.findAll()).thenReturn(samples);
+
+    vcfSampleDataRepositoryCollection.deleteRepository(sampleEntityType);
+    verify(dataService).delete(VCF_SAMPLE, samples);
+  }
+
+  @Test
+  void testGetRepositoryNotASampleEntityType() {
+    EntityType entityType = entityTypeFactory.create("testData");
+    assertThrows(
+        MolgenisDataException.class,
+        () -> vcfSampleDataRepositoryCollection.getRepository(entityType));
+  }
+
+  private Repository<Entity> getSampleRepository() {
+    when(dataService.getRepository("testData")).thenReturn(variantRepository);
+    Query<VcfSample> sampleQuery = createSampleQuery();
+    List<VcfSample> samples = sampleNames.stream().map(this::createSample).collect(toList());
+    when(sampleQuery.findAll()).thenAnswer(invocation -> samples.stream());
+    return vcfSampleDataRepositoryCollection.getRepository(sampleEntityType);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Query<VcfSample> createSampleQuery() {
+    Query<VcfSample> sampleQuery = mock(Query.class, RETURNS_SELF);
+    when(dataService.query(VCF_SAMPLE, VcfSample.class)).thenReturn(sampleQuery);
+    return sampleQuery;
+  }
+
+  private VcfSample createSample(String sampleName) {
+    VcfSample sample = mock(VcfSample.class);
+    when(sample.getSampleName()).thenReturn(sampleName);
+    return sample;
+  }
+
+  private void assertSamplesEquals(List<Entity> expected, List<Entity> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      for (Attribute attribute : sampleEntityType.getAtomicAttributes()) {
+        String attributeName = attribute.getName();
+        if (attributeName.equals(VARIANT)) {
+          continue;
+        }
+        assertEquals(
+            expected.get(i).get(attributeName), actual.get(i).get(attributeName), attributeName);
+      }
+    }
+  }
+
+  private VcfRepository createVcfRepository(VcfSampleStorage sampleStorage) {
+    return new VcfRepository(
+        testData,
+        "testData",
+        vcfAttrs,
+        entityTypeFactory,
+        attrMetaFactory,
+        sampleStorage,
+        null);
+  }
+
+  @Configuration
+  @Import({VcfTestConfig.class})
+  static class Config {}
+}
@@ -0,0 +1,121 @@
+package org.molgenis.data.vcf.format;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.AttributeType.DECIMAL;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.STRING;
+
+import com.google.common.base.Strings;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.test.AbstractMockitoTest;
+
+class SampleDataCodecTest extends AbstractMockitoTest {
+  @Test
+  void testEncodeDecodeGenotypes() {
+    List<Attribute> formatAttributes = singletonList(createAttribute("GT", STRING));
+    List<Entity> samples =
+        asList(
+            createGenotypeSample("0/0"),
+            createGenotypeSample("0/1"),
+            createGenotypeSample("1/1"),
+            createGenotypeSample("./."),
+            createGenotypeSample(null),
+            createGenotypeSample("0/1"));
+
+    String sampleData = SampleDataCodec.encode(formatAttributes, samples);
+
+    List<Entity> decodedSamples =
+        asList(
+            mock(Entity.class),
+            mock(Entity.class),
+            mock(Entity.class),
+            mock(Entity.class),
+            mock(Entity.class),
+            mock(Entity.class));
+    SampleDataCodec.decode(sampleData, formatAttributes, decodedSamples);
+
+    verify(decodedSamples.get(0)).set("GT", "0/0");
+    verify(decodedSamples.get(1)).set("GT", "0/1");
+    verify(decodedSamples.get(2)).set("GT", "1/1");
+    verify(decodedSamples.get(3)).set("GT", "./.");
+    verifyNoInteractions(decodedSamples.get(4));
+    verify(decodedSamples.get(5)).set("GT", "0/1");
+  }
+
+  @Test
+  void testEncodeDecodePhasedGenotypes() {
+    List<Attribute> formatAttributes = singletonList(createAttribute("GT", STRING));
+    List<Entity> samples = asList(createGenotypeSample("0/0"), createGenotypeSample("0|1"));
+
+    String sampleData = SampleDataCodec.encode(formatAttributes, samples);
+
+    List<Entity> decodedSamples = asList(mock(Entity.class), mock(Entity.class));
+    SampleDataCodec.decode(sampleData, formatAttributes, decodedSamples);
+
+    verify(decodedSamples.get(0)).set("GT", "0/0");
+    verify(decodedSamples.get(1)).set("GT", "0|1");
+  }
+
+  @Test
+  void testEncodeDecodeNumbers() {
+    List<Attribute> formatAttributes =
+        asList(createAttribute("DP", INT), createAttribute("AF", DECIMAL));
+    Entity sample0 = mock(Entity.class);
+    when(sample0.get("DP")).thenReturn(12);
+    when(sample0.get("AF")).thenReturn(0.25);
+    Entity sample1 = mock(Entity.class);
+    Entity sample2 = mock(Entity.class);
+    when(sample2.get("DP")).thenReturn(3);
+    when(sample2.get("AF")).thenReturn(null);
+    List<Entity> samples = asList(sample0, sample1, sample2);
+
+    String sampleData = SampleDataCodec.encode(formatAttributes, samples);
+
+    List<Entity> decodedSamples =
+        asList(mock(Entity.class), mock(Entity.class), mock(Entity.class));
+    SampleDataCodec.decode(sampleData, formatAttributes, decodedSamples);
+
+    verify(decodedSamples.get(0)).set("DP", 12);
+    verify(decodedSamples.get(0)).set("AF", 0.25);
+    verifyNoInteractions(decodedSamples.get(1));
+    verify(decodedSamples.get(2)).set("DP", 3);
+  }
+
+  @Test
+  void testEncodeDecodeLongString() {
+    List<Attribute> formatAttributes = singletonList(createAttribute("AD", STRING));
+    String value = Strings.repeat("ü", 70000);
+    Entity sample = mock(Entity.class);
+    when(sample.get("AD")).thenReturn(value);
+
+    String sampleData = SampleDataCodec.encode(formatAttributes, singletonList(sample));
+
+    Entity decodedSample = mock(Entity.class);
+    SampleDataCodec.decode(sampleData, formatAttributes, singletonList(decodedSample));
+
+    verify(decodedSample).set("AD", value);
+  }
+
+  private static Attribute createAttribute(String name, AttributeType type) {
+    Attribute attribute = mock(Attribute.class);
+    when(attribute.getName()).thenReturn(name);
+    when(attribute.getDataType()).thenReturn(type);
+    return attribute;
+  }
+
+  private static Entity createGenotypeSample(String genotype) {
+    Entity sample = mock(Entity.class);
+    when(sample.get("GT")).thenReturn(genotype);
+    when(sample.getString("GT")).thenReturn(genotype);
+    return sample;
+  }
+}
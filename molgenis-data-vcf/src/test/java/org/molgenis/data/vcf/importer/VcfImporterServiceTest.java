@@ -11,14 +11,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.importer.MetadataAction.ADD;
+import static org.molgenis.data.vcf.meta.VcfSampleMetadata.VCF_SAMPLE;
 
 import java.io.File;
 import java.util.Arrays;
@@ -34,13 +41,16 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.molgenis.data.DataAction;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.MolgenisDataException;
+import org.molgenis.data.Query;
 import org.molgenis.data.Repository;
 import org.molgenis.data.RepositoryCapability;
 import org.molgenis.data.RepositoryCollection;
@@ -51,8 +61,15 @@ import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.Package;
+import org.molgenis.data.meta.model.Tag;
+import org.molgenis.data.meta.model.TagMetadata;
 import org.molgenis.data.security.permission.PermissionSystemService;
+import org.molgenis.data.semantic.Vocabulary;
 import org.molgenis.data.support.AbstractRepository;
+import org.molgenis.data.vcf.VcfRepository;
+import org.molgenis.data.vcf.VcfSampleDataRepositoryCollection;
+import org.molgenis.data.vcf.meta.VcfSample;
+import org.molgenis.data.vcf.meta.VcfSampleFactory;
 import org.molgenis.data.vcf.model.VcfAttributes;
 import org.molgenis.test.AbstractMockitoTest;
 import org.springframework.security.core.context.SecurityContext;
@@ -67,13 +84,15 @@ class VcfImporterServiceTest extends AbstractMockitoTest {
   private PermissionSystemService permissionSystemService;
 
   @Mock private MetaDataService metaDataService;
+  @Mock private VcfSampleFactory vcfSampleFactory;
   @Mock private SecurityContext securityContext;
   @Mock private RepositoryCollection repositoryCollection;
 
   @BeforeEach
   void setUpBeforeMethod() {
     vcfImporterService =
-        new VcfImporterService(dataService, permissionSystemService, metaDataService);
+        new VcfImporterService(
+            dataService, permissionSystemService, metaDataService, vcfSampleFactory);
     SecurityContextHolder.setContext(securityContext);
   }
 
@@ -255,6 +274,108 @@ class VcfImporterServiceTest extends AbstractMockitoTest {
     verify(permissionSystemService).giveUserWriteMetaPermissions(sampleEntityType0);
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void doImportVcfWithSampleData() {
+    when(dataService.getMeta()).thenReturn(metaDataService);
+    when(metaDataService.getDefaultBackend()).thenReturn(repositoryCollection);
+    when(repositoryCollection.getName()).thenReturn("default");
+
+    String entityTypeId0 = "entity0";
+    String sampleEntityName0 = "entity0Sample";
+    EntityType sampleEntityType0 = mock(EntityType.class);
+    when(sampleEntityType0.getId()).thenReturn(sampleEntityName0);
+
+    Attribute sampleDataAttr = mock(Attribute.class);
+    EntityType entityType0 = mock(EntityType.class);
+    when(entityType0.getId()).thenReturn(entityTypeId0);
+    when(entityType0.getAttribute(VcfAttributes.SAMPLE_DATA)).thenReturn(sampleDataAttr);
+    Entity entity0 = mock(Entity.class);
+    when(entity0.getString(VcfAttributes.SAMPLE_DATA)).thenReturn("sampleData0");
+    Entity entity1 = mock(Entity.class);
+    List<Entity> entities = Arrays.asList(entity0, entity1);
+
+    VcfRepository repo0 = mock(VcfRepository.class);
+    when(repo0.getName()).thenReturn(entityTypeId0);
+    when(repo0.getEntityType()).thenReturn(entityType0);
+    when(repo0.getSampleEntityType()).thenReturn(sampleEntityType0);
+    when(repo0.getSampleNames()).thenReturn(Arrays.asList("sample0", "sample,1", "sample2"));
+    doAnswer(
+            invocation -> {
+              invocation.<Consumer<List<Entity>>>getArgument(0).accept(entities);
+              return null;
+            })
+        .when(repo0)
+        .forEachBatched(any(Consumer.class), eq(1000));
+
+    Tag notIndexedTag = mock(Tag.class);
+    Query<Tag> tagQuery = mock(Query.class, RETURNS_SELF);
+    when(dataService.query(TagMetadata.TAG, Tag.class)).thenReturn(tagQuery);
+    when(tagQuery.eq(TagMetadata.OBJECT_IRI, Vocabulary.NOT_INDEXED.toString()).findOne())
+        .thenReturn(notIndexedTag);
+
+    Repository<Entity> outRepo0 = mock(Repository.class);
+    doReturn(outRepo0).when(metaDataService).createRepository(entityType0);
+    RepositoryCollection source = mock(RepositoryCollection.class);
+    when(source.getEntityTypeIds()).thenReturn(singletonList(entityTypeId0));
+    when(source.getRepository(entityTypeId0)).thenReturn(repo0);
+
+    EntityImportReport entityImportReport =
+        vcfImporterService.doImport(source, MetadataAction.ADD, DataAction.ADD, null);
+    EntityImportReport expectedEntityImportReport = new EntityImportReport();
+    expectedEntityImportReport.addNewEntity(sampleEntityName0);
+    expectedEntityImportReport.addEntityCount(sampleEntityName0, 3);
+    expectedEntityImportReport.addNewEntity(entityTypeId0);
+    expectedEntityImportReport.addEntityCount(entityTypeId0, entities.size());
+    assertEquals(expectedEntityImportReport, entityImportReport);
+
+    verify(sampleDataAttr).addTag(notIndexedTag);
+    verify(sampleEntityType0).setBackend(VcfSampleDataRepositoryCollection.NAME);
+    InOrder inOrder = inOrder(metaDataService, outRepo0);
+    inOrder.verify(metaDataService).createRepository(entityType0);
+    inOrder.verify(metaDataService).addEntityType(sampleEntityType0);
+    inOrder.verify(outRepo0).add(any(Stream.class));
+    verify(permissionSystemService).giveUserWriteMetaPermissions(sampleEntityType0);
+
+    VcfSample sample = mock(VcfSample.class);
+    when(vcfSampleFactory.create()).thenReturn(sample);
+    ArgumentCaptor<Stream<VcfSample>> samplesCaptor = ArgumentCaptor.forClass(Stream.class);
+    verify(dataService).add(eq(VCF_SAMPLE), samplesCaptor.capture());
+    assertEquals(3, samplesCaptor.getValue().collect(Collectors.toList()).size());
+    verify(sample, times(3)).setSampleEntityType(sampleEntityType0);
+    verify(sample, times(3)).setVariantEntityType(entityType0);
+    verify(sample).setSampleIndex(1);
+    verify(sample).setSampleName("sample,1");
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void doImportVcfParseException() {
+    when(dataService.getMeta()).thenReturn(metaDataService);
+    when(metaDataService.getDefaultBackend()).thenReturn(repositoryCollection);
+    when(repositoryCollection.getName()).thenReturn("default");
+
+    String entityTypeId0 = "entity0";
+    EntityType entityType0 = mock(EntityType.class);
+    Repository<Entity> repo0 = mock(Repository.class);
+    when(repo0.getName()).thenReturn(entityTypeId0);
+    when(repo0.getEntityType()).thenReturn(entityType0);
+    MolgenisDataException parseException = new MolgenisDataException("parse error");
+    doThrow(parseException).when(repo0).forEachBatched(any(Consumer.class), eq(1000));
+    Repository<Entity> outRepo0 = mock(Repository.class);
+    when(metaDataService.createRepository(entityType0)).thenReturn(outRepo0);
+    RepositoryCollection source = mock(RepositoryCollection.class);
+    when(source.getEntityTypeIds()).thenReturn(singletonList(entityTypeId0));
+    when(source.getRepository(entityTypeId0)).thenReturn(repo0);
+
+    Exception exception =
+        assertThrows(
+            MolgenisDataException.class,
+            () -> vcfImporterService.doImport(source, MetadataAction.ADD, DataAction.ADD, null));
+    assertEquals(parseException, exception);
+    verify(outRepo0, never()).add(any(Stream.class));
+  }
+
   @SuppressWarnings("deprecation")
   @Test
   void doImportAlreadyExists() {
@@ -4,6 +4,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ForwardingObject;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
@@ -90,6 +91,11 @@ public abstract class AbstractRepositoryCollectionDecorator extends ForwardingOb
     delegate().deleteAttribute(entityType, attr);
   }
 
+  @Override
+  public void createIndex(EntityType entityType, List<Attribute> attrs) {
+    delegate().createIndex(entityType, attrs);
+  }
+
   @Override
   public Iterator<Repository<Entity>> iterator() {
     return delegate().iterator();
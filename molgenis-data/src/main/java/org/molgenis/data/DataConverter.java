@@ -55,14 +55,19 @@ public class DataConverter {
     try {
       return convert(source, attr.getDataType());
     } catch (DataConversionException e) {
-      throw new AttributeValueConversionException(
-          format(
-              "Conversion failure in entity type [%s] attribute [%s]; %s",
-              attr.getEntity().getId(), attr.getName(), e.getMessage()),
-          e);
+      throw createAttributeValueConversionException(attr, e);
     }
   }
 
+  static AttributeValueConversionException createAttributeValueConversionException(
+      Attribute attr, DataConversionException e) {
+    return new AttributeValueConversionException(
+        format(
+            "Conversion failure in entity type [%s] attribute [%s]; %s",
+            attr.getEntity().getId(), attr.getName(), e.getMessage()),
+        e);
+  }
+
   private static Object convert(Object source, AttributeType attributeType) {
     Object value;
     switch (attributeType) {
@@ -0,0 +1,215 @@
+package org.molgenis.data;
+
+import static org.molgenis.data.DataConverter.createAttributeValueConversionException;
+
+import com.google.common.collect.Iterables;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.util.MolgenisDateFormat;
+import org.molgenis.util.UnexpectedEnumException;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Converts values to the types of the atomic attributes of an entity type, like {@link
+ * DataConverter#convert(Object, Attribute)}. The converter of each attribute is created once, so
+ * converting a value does not require an attribute type lookup. Plain numbers, booleans and ISO
+ * dates are converted without the conversion service.
+ */
+public class EntityTypeConverter {
+  private final Attribute[] attributes;
+  private final ValueConverter[] converters;
+  private final Map<String, Integer> attributeIndices;
+
+  public EntityTypeConverter(EntityType entityType) {
+    attributes = Iterables.toArray(entityType.getAtomicAttributes(), Attribute.class);
+    converters = new ValueConverter[attributes.length];
+    attributeIndices = new HashMap<>(attributes.length * 2);
+    for (int i = 0; i < attributes.length; i++) {
+      converters[i] = createConverter(attributes[i].getDataType());
+      attributeIndices.put(attributes[i].getName(), i);
+    }
+  }
+
+  /** @return number of atomic attributes */
+  public int getNrAttributes() {
+    return attributes.length;
+  }
+
+  /** @return atomic attribute at the given index */
+  public Attribute getAttribute(int index) {
+    return attributes[index];
+  }
+
+  /**
+   * Convert value to the type of the atomic attribute at the given index.
+   *
+   * @throws AttributeValueConversionException if conversion failed
+   */
+  @Nullable
+  @CheckForNull
+  public Object convert(int index, @Nullable @CheckForNull Object source) {
+    if (source == null) {
+      return null;
+    }
+    try {
+      return converters[index].convert(source);
+    } catch (DataConversionException e) {
+      throw createAttributeValueConversionException(attributes[index], e);
+    }
+  }
+
+  /**
+   * Convert value to the type of the given attribute.
+   *
+   * @throws AttributeValueConversionException if conversion failed
+   */
+  @Nullable
+  @CheckForNull
+  public Object convert(Attribute attr, @Nullable @CheckForNull Object source) {
+    Integer index = attributeIndices.get(attr.getName());
+    return index != null ? convert(index, source) : DataConverter.convert(source, attr);
+  }
+
+  private static ValueConverter createConverter(AttributeType attributeType) {
+    switch (attributeType) {
+      case BOOL:
+        return EntityTypeConverter::toBoolean;
+      case XREF:
+      case CATEGORICAL:
+      case CATEGORICAL_MREF:
+      case MREF:
+      case FILE:
+      case ONE_TO_MANY:
+        return source -> source;
+      case COMPOUND:
+        return source -> {
+          throw new UnsupportedOperationException();
+        };
+      case DATE:
+        return EntityTypeConverter::toLocalDate;
+      case DATE_TIME:
+        return EntityTypeConverter::toInstant;
+      case DECIMAL:
+        return EntityTypeConverter::toDouble;
+      case INT:
+        return EntityTypeConverter::toInt;
+      case LONG:
+        return EntityTypeConverter::toLong;
+      case EMAIL:
+      case ENUM:
+      case HTML:
+      case HYPERLINK:
+      case SCRIPT:
+      case STRING:
+      case TEXT:
+        return DataConverter::toString;
+      default:
+        throw new UnexpectedEnumException(attributeType);
+    }
+  }
+
+  private static Boolean toBoolean(Object source) {
+    if ("true".equals(source)) {
+      return Boolean.TRUE;
+    }
+    if ("false".equals(source)) {
+      return Boolean.FALSE;
+    }
+    return DataConverter.toBoolean(source);
+  }
+
+  private static Integer toInt(Object source) {
+    if (source instanceof String && isPlainInteger((String) source, 9)) {
+      return Integer.valueOf((String) source);
+    }
+    return DataConverter.toInt(source);
+  }
+
+  private static Long toLong(Object source) {
+    if (source instanceof String && isPlainInteger((String) source, 18)) {
+      return Long.valueOf((String) source);
+    }
+    return DataConverter.toLong(source);
+  }
+
+  private static Double toDouble(Object source) {
+    if (source instanceof String && isPlainDecimal((String) source)) {
+      return Double.valueOf((String) source);
+    }
+    return DataConverter.toDouble(source);
+  }
+
+  private static LocalDate toLocalDate(Object source) {
+    if (source instanceof String) {
+      try {
+        return MolgenisDateFormat.parseLocalDate((String) source);
+      } catch (DateTimeParseException e) {
+        throw createDataConversionException(source, LocalDate.class, e);
+      }
+    }
+    return DataConverter.toLocalDate(source);
+  }
+
+  private static Instant toInstant(Object source) {
+    if (source instanceof String) {
+      try {
+        return MolgenisDateFormat.parseInstant((String) source);
+      } catch (DateTimeParseException e) {
+        throw createDataConversionException(source, Instant.class, e);
+      }
+    }
+    return DataConverter.toInstant(source);
+  }
+
+  /** Creates the exception that the conversion service would have thrown */
+  private static DataConversionException createDataConversionException(
+      Object source, Class<?> targetType, Throwable cause) {
+    return new DataConversionException(
+        new ConversionFailedException(
+            TypeDescriptor.forObject(source), TypeDescriptor.valueOf(targetType), source, cause));
+  }
+
+  /** Returns whether the value is an optionally negative number of at most maxDigits digits */
+  private static boolean isPlainInteger(String value, int maxDigits) {
+    int beginIndex = !value.isEmpty() && value.charAt(0) == '-' ? 1 : 0;
+    int nrDigits = value.length() - beginIndex;
+    return nrDigits > 0 && nrDigits <= maxDigits && isDigits(value, beginIndex, value.length());
+  }
+
+  /** Returns whether the value is an optionally negative number with an optional fraction */
+  private static boolean isPlainDecimal(String value) {
+    int beginIndex = !value.isEmpty() && value.charAt(0) == '-' ? 1 : 0;
+    int separatorIndex = value.indexOf('.');
+    if (separatorIndex == -1) {
+      return value.length() > beginIndex && isDigits(value, beginIndex, value.length());
+    }
+    return separatorIndex > beginIndex
+        && separatorIndex < value.length() - 1
+        && isDigits(value, beginIndex, separatorIndex)
+        && isDigits(value, separatorIndex + 1, value.length());
+  }
+
+  private static boolean isDigits(String value, int beginIndex, int endIndex) {
+    for (int i = beginIndex; i < endIndex; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @FunctionalInterface
+  private interface ValueConverter {
+    Object convert(Object source);
+  }
+}
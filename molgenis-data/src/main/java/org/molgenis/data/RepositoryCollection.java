@@ -1,5 +1,6 @@
 package org.molgenis.data;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -104,4 +105,15 @@ public interface RepositoryCollection extends Iterable<Repository<Entity>> {
    *     RepositoryCollectionCapability#UPDATABLE}
    */
   void deleteAttribute(EntityType entityType, Attribute attr);
+
+  /**
+   * Creates an index on the given attributes of an entity type unless it already exists, to speed
+   * up queries that combine these attributes. Repository collections without indices ignore this.
+   *
+   * @param entityType entity meta data
+   * @param attrs attributes to index, in index order
+   */
+  default void createIndex(EntityType entityType, List<Attribute> attrs) {
+    // indices are optional
+  }
 }
@@ -14,7 +14,7 @@ public class DataSourceConfig {
    * PostgreSQL). The magic number is based on PostgreSQL default max connections = 100 minus 5
    * connections for admin tools communicating with the DBMS.
    */
-  private static final int MAX_POOL_SIZE = 95;
+  public static final int MAX_POOL_SIZE = 95;
   /** When the connections are not in use, keep 10 idle connections around. */
   public static final int MIN_IDLE = 10;
 
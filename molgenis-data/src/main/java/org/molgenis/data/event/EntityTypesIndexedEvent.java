@@ -0,0 +1,21 @@
+package org.molgenis.data.event;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Set;
+
+/**
+ * Published when an index job for the given entity types has finished. Data of these entity types
+ * that is retrieved from the index may differ from data that was retrieved before.
+ */
+public class EntityTypesIndexedEvent {
+  private final Set<String> entityTypeIds;
+
+  public EntityTypesIndexedEvent(Set<String> entityTypeIds) {
+    this.entityTypeIds = requireNonNull(entityTypeIds);
+  }
+
+  public Set<String> getEntityTypeIds() {
+    return entityTypeIds;
+  }
+}
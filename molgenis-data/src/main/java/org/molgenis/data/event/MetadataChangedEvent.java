@@ -0,0 +1,8 @@
+package org.molgenis.data.event;
+
+/**
+ * Published after commit of a transaction that changed metadata or decorator configurations, and
+ * when bootstrapping has finished. Anything derived from metadata before this event may be
+ * outdated.
+ */
+public class MetadataChangedEvent {}
@@ -9,4 +9,8 @@ public class Vocabulary {
   /** http://purl.obolibrary.org/obo/NCIT_C71490 */
   public static final IRI CASE_SENSITIVE =
       SimpleValueFactory.getInstance().createIRI("http://purl.obolibrary.org/obo/NCIT_C71490");
+
+  /** Attributes of this type are not indexed and therefore cannot be searched or sorted on */
+  public static final IRI NOT_INDEXED =
+      SimpleValueFactory.getInstance().createIRI("http://molgenis.org/index/notIndexed");
 }
@@ -2,6 +2,16 @@ package org.molgenis.data.transaction;
 
 public final class TransactionConstants {
   public static final String TRANSACTION_ID_RESOURCE_NAME = "transactionId";
+  /** Bound to the name of the read replica when a read-only transaction is routed to a replica */
+  public static final String READ_REPLICA_RESOURCE_NAME = "readReplica";
+  /**
+   * Bound when the transaction bulk loads data into newly created tables. The constraints and
+   * indexes of these tables are created at the end of the transaction instead of when the tables
+   * are created.
+   */
+  public static final String BULK_LOAD_RESOURCE_NAME = "bulkLoad";
+  /** Bound to the constraints and indexes that are deferred during a bulk load */
+  public static final String DEFERRED_CONSTRAINTS_RESOURCE_NAME = "deferredConstraints";
 
   private TransactionConstants() {}
 }
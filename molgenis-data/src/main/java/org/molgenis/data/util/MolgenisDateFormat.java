@@ -3,6 +3,7 @@ package org.molgenis.data.util;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -17,6 +18,11 @@ public class MolgenisDateFormat {
       "Failed to parse attribute [%s] value [%s] as datetime. Valid datetime format is [YYYY-MM-DDThh:mm:ssZ]";
   private static final String LOOSE_PARSER_FORMAT =
       "[yyyy-MM-dd]['T'[HHmmss][HHmm][HH:mm:ss][HH:mm][.SSSSSSSSS][.SSSSSS][.SSS][.SS][.S]][OOOO][O][z][XXXXX][XXXX]['['VV']']";
+  private static final DateTimeFormatter LOOSE_PARSER =
+      DateTimeFormatter.ofPattern(LOOSE_PARSER_FORMAT);
+  private static final DateTimeFormatter DATE_PARSER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final DateTimeFormatter UTC_DATE_TIME_PARSER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssX");
 
   private MolgenisDateFormat() {}
 
@@ -30,9 +36,12 @@ public class MolgenisDateFormat {
    * @throws DateTimeParseException if parsing fails
    */
   public static LocalDate parseLocalDate(String value) {
+    if (isIsoLocalDate(value)) {
+      return LocalDate.parse(value, DATE_PARSER);
+    }
+
     TemporalAccessor temporalAccessor =
-        DateTimeFormatter.ofPattern(LOOSE_PARSER_FORMAT)
-            .parseBest(value, ZonedDateTime::from, LocalDate::from);
+        LOOSE_PARSER.parseBest(value, ZonedDateTime::from, LocalDate::from);
 
     if (temporalAccessor instanceof ZonedDateTime) {
       return ((ZonedDateTime) temporalAccessor).toLocalDate();
@@ -50,9 +59,15 @@ public class MolgenisDateFormat {
    * @throws DateTimeParseException if parsing fails
    */
   public static Instant parseInstant(String value) {
+    if (isIsoLocalDate(value)) {
+      return LocalDate.parse(value, DATE_PARSER).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+    if (isIsoUtcDateTime(value)) {
+      return OffsetDateTime.parse(value, UTC_DATE_TIME_PARSER).toInstant();
+    }
+
     TemporalAccessor temporalAccessor =
-        DateTimeFormatter.ofPattern(LOOSE_PARSER_FORMAT)
-            .parseBest(value, ZonedDateTime::from, LocalDateTime::from, LocalDate::from);
+        LOOSE_PARSER.parseBest(value, ZonedDateTime::from, LocalDateTime::from, LocalDate::from);
     if (temporalAccessor instanceof ZonedDateTime) {
       return ((ZonedDateTime) temporalAccessor).toInstant();
     }
@@ -61,4 +76,40 @@ public class MolgenisDateFormat {
     }
     return ((LocalDate) temporalAccessor).atStartOfDay(ZoneId.systemDefault()).toInstant();
   }
+
+  /** Returns whether the value has the form yyyy-MM-dd */
+  private static boolean isIsoLocalDate(String value) {
+    return value.length() == 10 && hasIsoLocalDatePrefix(value);
+  }
+
+  /** Returns whether the value has the form yyyy-MM-ddTHH:mm:ssZ */
+  private static boolean isIsoUtcDateTime(String value) {
+    return value.length() == 20
+        && hasIsoLocalDatePrefix(value)
+        && value.charAt(10) == 'T'
+        && isDigits(value, 11, 13)
+        && value.charAt(13) == ':'
+        && isDigits(value, 14, 16)
+        && value.charAt(16) == ':'
+        && isDigits(value, 17, 19)
+        && value.charAt(19) == 'Z';
+  }
+
+  private static boolean hasIsoLocalDatePrefix(String value) {
+    return isDigits(value, 0, 4)
+        && value.charAt(4) == '-'
+        && isDigits(value, 5, 7)
+        && value.charAt(7) == '-'
+        && isDigits(value, 8, 10);
+  }
+
+  private static boolean isDigits(String value, int beginIndex, int endIndex) {
+    for (int i = beginIndex; i < endIndex; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -0,0 +1,143 @@
+package org.molgenis.data;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.AttributeType.BOOL;
+import static org.molgenis.data.meta.AttributeType.DATE;
+import static org.molgenis.data.meta.AttributeType.DATE_TIME;
+import static org.molgenis.data.meta.AttributeType.DECIMAL;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.LONG;
+import static org.molgenis.data.meta.AttributeType.STRING;
+import static org.molgenis.data.meta.AttributeType.XREF;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.molgenis.data.convert.StringToDateConverter;
+import org.molgenis.data.convert.StringToDateTimeConverter;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+class EntityTypeConverterTest {
+  private EntityType entityType;
+  private EntityTypeConverter entityTypeConverter;
+
+  @BeforeAll
+  static void setUpBeforeClass() {
+    DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+    conversionService.addConverter(new StringToDateConverter());
+    conversionService.addConverter(new StringToDateTimeConverter());
+    DataConverter.setConversionService(conversionService);
+  }
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    entityType = when(mock(EntityType.class).getId()).thenReturn("MyEntityType").getMock();
+    when(entityType.getAtomicAttributes())
+        .thenReturn(
+            asList(
+                createAttribute("bool", BOOL),
+                createAttribute("int", INT),
+                createAttribute("long", LONG),
+                createAttribute("decimal", DECIMAL),
+                createAttribute("date", DATE),
+                createAttribute("dateTime", DATE_TIME),
+                createAttribute("string", STRING),
+                createAttribute("xref", XREF)));
+    entityTypeConverter = new EntityTypeConverter(entityType);
+  }
+
+  @Test
+  void testGetAttributes() {
+    assertEquals(8, entityTypeConverter.getNrAttributes());
+    assertEquals("date", entityTypeConverter.getAttribute(4).getName());
+  }
+
+  @Test
+  void testConvertNull() {
+    assertNull(entityTypeConverter.convert(1, null));
+  }
+
+  @Test
+  void testConvertBool() {
+    assertEquals(true, entityTypeConverter.convert(0, "true"));
+    assertEquals(false, entityTypeConverter.convert(0, "no"));
+  }
+
+  @Test
+  void testConvertInt() {
+    assertEquals(-123, entityTypeConverter.convert(1, "-123"));
+    assertEquals(16, entityTypeConverter.convert(1, "0x10"));
+    assertEquals(123, entityTypeConverter.convert(1, 123));
+  }
+
+  @Test
+  void testConvertLong() {
+    assertEquals(12345678901L, entityTypeConverter.convert(2, "12345678901"));
+    assertEquals(Long.MAX_VALUE, entityTypeConverter.convert(2, "9223372036854775807"));
+  }
+
+  @Test
+  void testConvertDecimal() {
+    assertEquals(1.25, entityTypeConverter.convert(3, "1.25"));
+    assertEquals(1.0E3, entityTypeConverter.convert(3, "1e3"));
+  }
+
+  @Test
+  void testConvertDate() {
+    assertEquals(LocalDate.parse("2000-12-31"), entityTypeConverter.convert(4, "2000-12-31"));
+  }
+
+  @Test
+  void testConvertDateInvalid() {
+    Exception exception =
+        assertThrows(
+            AttributeValueConversionException.class,
+            () -> entityTypeConverter.convert(4, "31-12-2000"));
+    assertThat(exception.getMessage())
+        .startsWith(
+            "Conversion failure in entity type [MyEntityType] attribute [date]; Failed to convert from type [java.lang.String] to type [java.time.LocalDate] for value '31-12-2000'");
+  }
+
+  @Test
+  void testConvertDateTime() {
+    assertEquals(
+        Instant.parse("2000-12-31T12:34:56Z"),
+        entityTypeConverter.convert(5, "2000-12-31T12:34:56Z"));
+  }
+
+  @Test
+  void testConvertString() {
+    assertEquals("a,b", entityTypeConverter.convert(6, asList("a", "b")));
+  }
+
+  @Test
+  void testConvertXref() {
+    Entity entity = mock(Entity.class);
+    assertEquals(entity, entityTypeConverter.convert(7, entity));
+  }
+
+  @Test
+  void testConvertAttribute() {
+    Attribute attr = createAttribute("int", INT);
+    assertEquals(123, entityTypeConverter.convert(attr, "123"));
+  }
+
+  private Attribute createAttribute(String name, AttributeType type) {
+    Attribute attr = mock(Attribute.class);
+    when(attr.getName()).thenReturn(name);
+    when(attr.getDataType()).thenReturn(type);
+    when(attr.getEntity()).thenReturn(entityType);
+    return attr;
+  }
+}
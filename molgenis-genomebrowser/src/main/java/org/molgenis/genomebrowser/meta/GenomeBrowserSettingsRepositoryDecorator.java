@@ -0,0 +1,50 @@
+package org.molgenis.genomebrowser.meta;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.stream.Stream;
+import org.molgenis.data.AbstractRepositoryDecorator;
+import org.molgenis.data.Repository;
+import org.molgenis.genomebrowser.service.GenomeBrowserIndexService;
+
+/** Repository decorator that indexes the positions of entity types shown in a genome browser. */
+public class GenomeBrowserSettingsRepositoryDecorator
+    extends AbstractRepositoryDecorator<GenomeBrowserSettings> {
+  private final GenomeBrowserIndexService genomeBrowserIndexService;
+
+  public GenomeBrowserSettingsRepositoryDecorator(
+      Repository<GenomeBrowserSettings> delegateRepository,
+      GenomeBrowserIndexService genomeBrowserIndexService) {
+    super(delegateRepository);
+    this.genomeBrowserIndexService = requireNonNull(genomeBrowserIndexService);
+  }
+
+  @Override
+  public void add(GenomeBrowserSettings settings) {
+    super.add(settings);
+    createIndex(settings);
+  }
+
+  @Override
+  public Integer add(Stream<GenomeBrowserSettings> settingsStream) {
+    return super.add(settingsStream.peek(this::createIndex));
+  }
+
+  @Override
+  public void update(GenomeBrowserSettings settings) {
+    super.update(settings);
+    createIndex(settings);
+  }
+
+  @Override
+  public void update(Stream<GenomeBrowserSettings> settingsStream) {
+    super.update(settingsStream.peek(this::createIndex));
+  }
+
+  private void createIndex(GenomeBrowserSettings settings) {
+    GenomeBrowserAttributes genomeBrowserAttrs = settings.getGenomeBrowserAttrs();
+    if (genomeBrowserAttrs != null) {
+      genomeBrowserIndexService.createIndex(settings.getEntity(), genomeBrowserAttrs);
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package org.molgenis.genomebrowser.meta;
+
+import static java.util.Objects.requireNonNull;
+
+import org.molgenis.data.AbstractSystemRepositoryDecoratorFactory;
+import org.molgenis.data.Repository;
+import org.molgenis.genomebrowser.service.GenomeBrowserIndexService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GenomeBrowserSettingsRepositoryDecoratorFactory
+    extends AbstractSystemRepositoryDecoratorFactory<
+        GenomeBrowserSettings, GenomeBrowserSettingsMetadata> {
+  private final GenomeBrowserIndexService genomeBrowserIndexService;
+
+  public GenomeBrowserSettingsRepositoryDecoratorFactory(
+      GenomeBrowserSettingsMetadata genomeBrowserSettingsMetadata,
+      GenomeBrowserIndexService genomeBrowserIndexService) {
+    super(genomeBrowserSettingsMetadata);
+    this.genomeBrowserIndexService = requireNonNull(genomeBrowserIndexService);
+  }
+
+  @Override
+  public Repository<GenomeBrowserSettings> createDecoratedRepository(
+      Repository<GenomeBrowserSettings> repository) {
+    return new GenomeBrowserSettingsRepositoryDecorator(repository, genomeBrowserIndexService);
+  }
+}
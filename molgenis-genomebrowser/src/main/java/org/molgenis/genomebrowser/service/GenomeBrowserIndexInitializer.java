@@ -0,0 +1,44 @@
+package org.molgenis.genomebrowser.service;
+
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.event.BootstrappingEvent.BootstrappingStatus.FINISHED;
+import static org.molgenis.genomebrowser.meta.GenomeBrowserSettingsMetadata.GENOMEBROWSERSETTINGS;
+
+import org.molgenis.data.DataService;
+import org.molgenis.data.event.BootstrappingEvent;
+import org.molgenis.genomebrowser.meta.GenomeBrowserAttributes;
+import org.molgenis.genomebrowser.meta.GenomeBrowserSettings;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes the positions of the entity types of all genome browser settings after bootstrapping, so
+ * that settings that were saved before positions were indexed on save are indexed as well.
+ */
+@Component
+public class GenomeBrowserIndexInitializer {
+  private final DataService dataService;
+  private final GenomeBrowserIndexService genomeBrowserIndexService;
+
+  GenomeBrowserIndexInitializer(
+      DataService dataService, GenomeBrowserIndexService genomeBrowserIndexService) {
+    this.dataService = requireNonNull(dataService);
+    this.genomeBrowserIndexService = requireNonNull(genomeBrowserIndexService);
+  }
+
+  @EventListener
+  public void onApplicationEvent(BootstrappingEvent bootstrappingEvent) {
+    if (bootstrappingEvent.getStatus() == FINISHED) {
+      dataService
+          .findAll(GENOMEBROWSERSETTINGS, GenomeBrowserSettings.class)
+          .forEach(this::createIndex);
+    }
+  }
+
+  private void createIndex(GenomeBrowserSettings settings) {
+    GenomeBrowserAttributes genomeBrowserAttrs = settings.getGenomeBrowserAttrs();
+    if (genomeBrowserAttrs != null) {
+      genomeBrowserIndexService.createIndex(settings.getEntity(), genomeBrowserAttrs);
+    }
+  }
+}
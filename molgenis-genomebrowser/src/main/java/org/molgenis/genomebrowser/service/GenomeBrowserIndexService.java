@@ -0,0 +1,48 @@
+package org.molgenis.genomebrowser.service;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+
+import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.genomebrowser.meta.GenomeBrowserAttributes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates an index on the chromosome and position attributes of entity types that are shown in a
+ * genome browser or queried by position, so that position lookups do not scan the whole table.
+ */
+@Service
+public class GenomeBrowserIndexService {
+  private static final Logger LOG = LoggerFactory.getLogger(GenomeBrowserIndexService.class);
+
+  private final MetaDataService metaDataService;
+
+  public GenomeBrowserIndexService(MetaDataService metaDataService) {
+    this.metaDataService = requireNonNull(metaDataService);
+  }
+
+  /**
+   * Creates an index on the chromosome and position attributes of an entity type if it does not
+   * exist yet. Does nothing if the entity type does not contain both attributes.
+   */
+  public void createIndex(EntityType entityType, GenomeBrowserAttributes genomeBrowserAttributes) {
+    if (entityType.isAbstract()) {
+      return;
+    }
+    Attribute chromAttr = getAttribute(entityType, genomeBrowserAttributes.getChrom());
+    Attribute posAttr = getAttribute(entityType, genomeBrowserAttributes.getPos());
+    if (chromAttr == null || posAttr == null) {
+      LOG.debug("Entity type '{}' has no chromosome and position attribute", entityType.getId());
+      return;
+    }
+    metaDataService.getBackend(entityType).createIndex(entityType, asList(chromAttr, posAttr));
+  }
+
+  private static Attribute getAttribute(EntityType entityType, String attributeName) {
+    return attributeName != null ? entityType.getAttribute(attributeName) : null;
+  }
+}
@@ -0,0 +1,54 @@
+package org.molgenis.genomebrowser.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.event.BootstrappingEvent.BootstrappingStatus.FINISHED;
+import static org.molgenis.data.event.BootstrappingEvent.BootstrappingStatus.STARTED;
+import static org.molgenis.genomebrowser.meta.GenomeBrowserSettingsMetadata.GENOMEBROWSERSETTINGS;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.DataService;
+import org.molgenis.data.event.BootstrappingEvent;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.genomebrowser.meta.GenomeBrowserAttributes;
+import org.molgenis.genomebrowser.meta.GenomeBrowserSettings;
+import org.molgenis.test.AbstractMockitoTest;
+
+class GenomeBrowserIndexInitializerTest extends AbstractMockitoTest {
+  @Mock private DataService dataService;
+  @Mock private GenomeBrowserIndexService genomeBrowserIndexService;
+  private GenomeBrowserIndexInitializer genomeBrowserIndexInitializer;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    genomeBrowserIndexInitializer =
+        new GenomeBrowserIndexInitializer(dataService, genomeBrowserIndexService);
+  }
+
+  @Test
+  void testOnApplicationEventFinished() {
+    EntityType entityType = mock(EntityType.class);
+    GenomeBrowserAttributes genomeBrowserAttributes = mock(GenomeBrowserAttributes.class);
+    GenomeBrowserSettings settings = mock(GenomeBrowserSettings.class);
+    when(settings.getEntity()).thenReturn(entityType);
+    when(settings.getGenomeBrowserAttrs()).thenReturn(genomeBrowserAttributes);
+    GenomeBrowserSettings settingsWithoutAttributes = mock(GenomeBrowserSettings.class);
+    when(dataService.findAll(GENOMEBROWSERSETTINGS, GenomeBrowserSettings.class))
+        .thenReturn(Stream.of(settings, settingsWithoutAttributes));
+
+    genomeBrowserIndexInitializer.onApplicationEvent(new BootstrappingEvent(FINISHED));
+
+    verify(genomeBrowserIndexService).createIndex(entityType, genomeBrowserAttributes);
+  }
+
+  @Test
+  void testOnApplicationEventStarted() {
+    genomeBrowserIndexInitializer.onApplicationEvent(new BootstrappingEvent(STARTED));
+    verifyNoInteractions(dataService, genomeBrowserIndexService);
+  }
+}
@@ -0,0 +1,66 @@
+package org.molgenis.genomebrowser.service;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.RepositoryCollection;
+import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.genomebrowser.meta.GenomeBrowserAttributes;
+import org.molgenis.test.AbstractMockitoTest;
+
+class GenomeBrowserIndexServiceTest extends AbstractMockitoTest {
+  @Mock private MetaDataService metaDataService;
+  @Mock private EntityType entityType;
+  @Mock private GenomeBrowserAttributes genomeBrowserAttributes;
+  private GenomeBrowserIndexService genomeBrowserIndexService;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    genomeBrowserIndexService = new GenomeBrowserIndexService(metaDataService);
+  }
+
+  @Test
+  void testCreateIndex() {
+    Attribute chromAttr = mock(Attribute.class);
+    Attribute posAttr = mock(Attribute.class);
+    when(genomeBrowserAttributes.getChrom()).thenReturn("chrom");
+    when(genomeBrowserAttributes.getPos()).thenReturn("pos");
+    when(entityType.getAttribute("chrom")).thenReturn(chromAttr);
+    when(entityType.getAttribute("pos")).thenReturn(posAttr);
+    RepositoryCollection repositoryCollection = mock(RepositoryCollection.class);
+    when(metaDataService.getBackend(entityType)).thenReturn(repositoryCollection);
+
+    genomeBrowserIndexService.createIndex(entityType, genomeBrowserAttributes);
+
+    verify(repositoryCollection).createIndex(entityType, asList(chromAttr, posAttr));
+  }
+
+  @Test
+  void testCreateIndexUnknownAttribute() {
+    when(genomeBrowserAttributes.getChrom()).thenReturn("chrom");
+    when(genomeBrowserAttributes.getPos()).thenReturn("pos");
+    when(entityType.getAttribute("chrom")).thenReturn(mock(Attribute.class));
+    when(entityType.getAttribute("pos")).thenReturn(null);
+
+    genomeBrowserIndexService.createIndex(entityType, genomeBrowserAttributes);
+
+    verifyNoInteractions(metaDataService);
+  }
+
+  @Test
+  void testCreateIndexAbstractEntityType() {
+    when(entityType.isAbstract()).thenReturn(true);
+
+    genomeBrowserIndexService.createIndex(entityType, genomeBrowserAttributes);
+
+    verifyNoInteractions(metaDataService);
+  }
+}
@@ -2,7 +2,10 @@ package org.molgenis.navigator;
 
 import com.google.auto.value.AutoValue;
 import java.util.List;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import javax.validation.constraints.NotEmpty;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.ResourceIdentifier;
 import org.molgenis.util.AutoGson;
 
@@ -13,10 +16,20 @@ public abstract class DownloadResourcesRequest {
   @NotEmpty
   public abstract List<ResourceIdentifier> getResources();
 
+  /** @return download format, <tt>null</tt> implies {@link DownloadFormat#XLSX} */
+  @Nullable
+  @CheckForNull
+  public abstract DownloadFormat getFormat();
+
   public static DownloadResourcesRequest create(List<ResourceIdentifier> newResources) {
     return builder().setResources(newResources).build();
   }
 
+  public static DownloadResourcesRequest create(
+      List<ResourceIdentifier> newResources, @Nullable @CheckForNull DownloadFormat newFormat) {
+    return builder().setResources(newResources).setFormat(newFormat).build();
+  }
+
   public static Builder builder() {
     return new AutoValue_DownloadResourcesRequest.Builder();
   }
@@ -26,6 +39,8 @@ public abstract class DownloadResourcesRequest {
 
     public abstract Builder setResources(List<ResourceIdentifier> newResources);
 
+    public abstract Builder setFormat(@Nullable @CheckForNull DownloadFormat newFormat);
+
     public abstract DownloadResourcesRequest build();
   }
 }
@@ -9,6 +9,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import javax.validation.Valid;
 import org.molgenis.jobs.model.JobExecution;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.Resource;
 import org.molgenis.web.PluginController;
 import org.molgenis.web.menu.MenuReaderService;
@@ -86,7 +87,10 @@ public class NavigatorController extends PluginController {
   @ResponseBody
   public JobExecution downloadResources(
       @RequestBody @Valid DownloadResourcesRequest downloadResourcesRequest) {
-    return navigatorService.downloadResources(downloadResourcesRequest.getResources());
+    DownloadFormat downloadFormat = downloadResourcesRequest.getFormat();
+    return navigatorService.downloadResources(
+        downloadResourcesRequest.getResources(),
+        downloadFormat != null ? downloadFormat : DownloadFormat.XLSX);
   }
 
   @PostMapping("/move")
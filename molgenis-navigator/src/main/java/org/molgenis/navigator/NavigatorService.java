@@ -5,6 +5,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import javax.validation.constraints.NotEmpty;
 import org.molgenis.jobs.model.JobExecution;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.Resource;
 import org.molgenis.navigator.model.ResourceIdentifier;
 
@@ -30,7 +31,8 @@ public interface NavigatorService {
   JobExecution copyResources(
       @NotEmpty List<ResourceIdentifier> resources, @Nullable @CheckForNull String targetFolderId);
 
-  JobExecution downloadResources(@NotEmpty List<ResourceIdentifier> resources);
+  JobExecution downloadResources(
+      @NotEmpty List<ResourceIdentifier> resources, DownloadFormat downloadFormat);
 
   JobExecution deleteResources(@NotEmpty List<ResourceIdentifier> resources);
 
@@ -29,6 +29,7 @@ import org.molgenis.navigator.delete.job.ResourceDeleteJobExecution;
 import org.molgenis.navigator.delete.job.ResourceDeleteJobExecutionFactory;
 import org.molgenis.navigator.download.job.ResourceDownloadJobExecution;
 import org.molgenis.navigator.download.job.ResourceDownloadJobExecutionFactory;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.Resource;
 import org.molgenis.navigator.model.ResourceIdentifier;
 import org.molgenis.navigator.model.ResourceType;
@@ -153,13 +154,15 @@ public class NavigatorServiceImpl implements NavigatorService {
   }
 
   @Override
-  public JobExecution downloadResources(List<ResourceIdentifier> resources) {
+  public JobExecution downloadResources(
+      List<ResourceIdentifier> resources, DownloadFormat downloadFormat) {
     if (resources.isEmpty()) {
       throw new IllegalArgumentException(MESSAGE_EMPTY_RESOURCES);
     }
 
     ResourceDownloadJobExecution jobExecution = downloadJobExecutionFactory.create();
     jobExecution.setResources(resources);
+    jobExecution.setFormat(downloadFormat);
     jobExecutor.submit(jobExecution);
     return jobExecution;
   }
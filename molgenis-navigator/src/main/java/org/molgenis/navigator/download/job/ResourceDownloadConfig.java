@@ -2,12 +2,12 @@ package org.molgenis.navigator.download.job;
 
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.core.ui.file.FileDownloadController.URI;
-import static org.molgenis.data.importer.emx.EmxFileExtensions.XLSX;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import org.molgenis.jobs.Job;
 import org.molgenis.jobs.JobFactory;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.util.i18n.MessageSourceHolder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,8 +27,8 @@ public class ResourceDownloadConfig {
     return new JobFactory<ResourceDownloadJobExecution>() {
       @Override
       public Job createJob(ResourceDownloadJobExecution downloadJobExecution) {
-        String fileType = XLSX.toString().toLowerCase();
-        final String filename = getDownloadFilename(fileType);
+        DownloadFormat format = downloadJobExecution.getFormat();
+        final String filename = getDownloadFilename(format.getFileExtension());
         downloadJobExecution.setResultUrl(URI + '/' + filename);
         downloadJobExecution.setProgressInt(0);
         downloadJobExecution.setProgressMessage(
@@ -36,7 +36,7 @@ public class ResourceDownloadConfig {
 
         return progress ->
             resourceDownloadService.download(
-                downloadJobExecution.getResources(), filename, progress);
+                downloadJobExecution.getResources(), filename, format, progress);
       }
     };
   }
@@ -7,6 +7,7 @@ import javax.annotation.Nullable;
 import org.molgenis.data.Entity;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.jobs.model.JobExecution;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.ResourceIdentifier;
 import org.molgenis.navigator.util.ResourceIdentifierUtil;
 
@@ -39,4 +40,14 @@ public class ResourceDownloadJobExecution extends JobExecution {
     String resourceJson = getString(ResourceDownloadJobExecutionMetadata.RESOURCES);
     return ResourceIdentifierUtil.getResourcesFromJson(resourceJson);
   }
+
+  public void setFormat(DownloadFormat format) {
+    set(ResourceDownloadJobExecutionMetadata.FORMAT, format.name());
+  }
+
+  /** @return download format, {@link DownloadFormat#XLSX} for jobs created without a format */
+  public DownloadFormat getFormat() {
+    String format = getString(ResourceDownloadJobExecutionMetadata.FORMAT);
+    return format != null ? DownloadFormat.valueOf(format) : DownloadFormat.XLSX;
+  }
 }
@@ -1,19 +1,24 @@
 package org.molgenis.navigator.download.job;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.meta.AttributeType.ENUM;
 import static org.molgenis.data.meta.AttributeType.TEXT;
 import static org.molgenis.data.meta.model.Package.PACKAGE_SEPARATOR;
 import static org.molgenis.jobs.model.JobPackage.PACKAGE_JOB;
 
+import java.util.stream.Stream;
 import org.molgenis.data.meta.SystemEntityType;
 import org.molgenis.jobs.model.JobExecutionMetaData;
 import org.molgenis.jobs.model.JobPackage;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ResourceDownloadJobExecutionMetadata extends SystemEntityType {
   private static final String SIMPLE_NAME = "ResourceDownloadJobExecution";
   static final String RESOURCES = "resources";
+  static final String FORMAT = "format";
 
   public static final String RESOURCE_DOWNLOAD_JOB_EXECUTION =
       PACKAGE_JOB + PACKAGE_SEPARATOR + SIMPLE_NAME;
@@ -40,6 +45,13 @@ public class ResourceDownloadJobExecutionMetadata extends SystemEntityType {
         .setDataType(TEXT)
         .setDescription("List of resources to be downloaded.")
         .setNillable(true);
+    addAttribute(FORMAT)
+        .setLabel(FORMAT)
+        .setDataType(ENUM)
+        .setEnumOptions(Stream.of(DownloadFormat.values()).map(Enum::name).collect(toList()))
+        .setDefaultValue(DownloadFormat.XLSX.name())
+        .setDescription("File format of the download.")
+        .setNillable(true);
 
     setRowLevelSecured(true);
   }
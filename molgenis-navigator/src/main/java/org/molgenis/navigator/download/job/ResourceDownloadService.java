@@ -13,9 +13,11 @@ import org.molgenis.data.file.model.FileMetaFactory;
 import org.molgenis.data.file.model.FileMetaMetadata;
 import org.molgenis.jobs.Progress;
 import org.molgenis.navigator.download.exception.DownloadFailedException;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.ResourceIdentifier;
 import org.molgenis.navigator.util.ResourceCollection;
 import org.molgenis.navigator.util.ResourceCollector;
+import org.molgenis.util.UnexpectedEnumException;
 import org.molgenis.util.i18n.MessageSourceHolder;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
@@ -42,18 +44,34 @@ public class ResourceDownloadService {
   }
 
   public FileMeta download(
-      List<ResourceIdentifier> resourceIdentifiers, String filename, Progress progress) {
+      List<ResourceIdentifier> resourceIdentifiers,
+      String filename,
+      DownloadFormat format,
+      Progress progress) {
     FileMeta fileMeta;
     try {
       ResourceCollection resourceCollection = resourceCollector.get(resourceIdentifiers);
       File emxFile = fileStore.getFileUnchecked(filename);
-      fileMeta = createFileMeta(emxFile);
+      fileMeta = createFileMeta(emxFile, format);
       dataService.add(FileMetaMetadata.FILE_META, fileMeta);
-      emxExportService.export(
-          resourceCollection.getEntityTypes(),
-          resourceCollection.getPackages(),
-          emxFile.toPath(),
-          progress);
+      switch (format) {
+        case XLSX:
+          emxExportService.export(
+              resourceCollection.getEntityTypes(),
+              resourceCollection.getPackages(),
+              emxFile.toPath(),
+              progress);
+          break;
+        case CSV_ZIP:
+          emxExportService.exportCsvZip(
+              resourceCollection.getEntityTypes(),
+              resourceCollection.getPackages(),
+              emxFile.toPath(),
+              progress);
+          break;
+        default:
+          throw new UnexpectedEnumException(format);
+      }
       progress.increment(1);
       progress.status(getMessage("progress-download-success", "Finished preparing download."));
     } catch (RuntimeException exception) {
@@ -67,9 +85,9 @@ public class ResourceDownloadService {
         .getMessage(key, new Object[] {}, defaultMessage, LocaleContextHolder.getLocale());
   }
 
-  private FileMeta createFileMeta(File file) {
+  private FileMeta createFileMeta(File file, DownloadFormat format) {
     FileMeta fileMeta = fileMetaFactory.create(file.getName());
-    fileMeta.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    fileMeta.setContentType(format.getContentType());
     fileMeta.setSize(file.length());
     fileMeta.setFilename(file.getName());
     fileMeta.setUrl(URI + "/" + file.getName());
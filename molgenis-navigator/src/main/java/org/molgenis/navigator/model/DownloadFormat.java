@@ -0,0 +1,25 @@
+package org.molgenis.navigator.model;
+
+/** File format of downloaded resources */
+public enum DownloadFormat {
+  /** EMX workbook */
+  XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+  /** Zip file with a CSV file per EMX sheet */
+  CSV_ZIP("zip", "application/zip");
+
+  private final String fileExtension;
+  private final String contentType;
+
+  DownloadFormat(String fileExtension, String contentType) {
+    this.fileExtension = fileExtension;
+    this.contentType = contentType;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+}
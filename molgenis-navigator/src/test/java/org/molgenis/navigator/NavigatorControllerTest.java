@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.jobs.model.JobExecution;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.Resource;
 import org.molgenis.navigator.model.ResourceIdentifier;
 import org.molgenis.navigator.model.ResourceType;
@@ -149,7 +150,8 @@ class NavigatorControllerTest extends AbstractMockitoSpringContextTests {
     EntityType entityType = mock(EntityType.class);
     when(jobExecution.getEntityType()).thenReturn(entityType);
 
-    when(navigatorService.downloadResources(resources)).thenReturn(jobExecution);
+    when(navigatorService.downloadResources(resources, DownloadFormat.XLSX))
+        .thenReturn(jobExecution);
 
     String json =
         "{\"resources\":[{\"type\":\"PACKAGE\",\"id\":\"myPackageId\",\"label\":\"label\",\"description\":\"description\"}],\"targetFolderId\":\"myFolderId\"}";
@@ -159,6 +161,25 @@ class NavigatorControllerTest extends AbstractMockitoSpringContextTests {
         .andExpect(status().isOk());
   }
 
+  @Test
+  void testDownloadResourcesCsvZip() throws Exception {
+    List<ResourceIdentifier> resources = getMockResourceIdentifiers();
+
+    JobExecution jobExecution = mock(JobExecution.class);
+    EntityType entityType = mock(EntityType.class);
+    when(jobExecution.getEntityType()).thenReturn(entityType);
+
+    when(navigatorService.downloadResources(resources, DownloadFormat.CSV_ZIP))
+        .thenReturn(jobExecution);
+
+    String json =
+        "{\"resources\":[{\"type\":\"PACKAGE\",\"id\":\"myPackageId\",\"label\":\"label\",\"description\":\"description\"}],\"format\":\"CSV_ZIP\"}";
+    mockMvc
+        .perform(
+            post(NavigatorController.URI + "/download").content(json).contentType(APPLICATION_JSON))
+        .andExpect(status().isOk());
+  }
+
   @Test
   void testMoveResources() throws Exception {
     String targetFolderId = "myFolderId";
@@ -38,6 +38,7 @@ import org.molgenis.navigator.delete.job.ResourceDeleteJobExecution;
 import org.molgenis.navigator.delete.job.ResourceDeleteJobExecutionFactory;
 import org.molgenis.navigator.download.job.ResourceDownloadJobExecution;
 import org.molgenis.navigator.download.job.ResourceDownloadJobExecutionFactory;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.Resource;
 import org.molgenis.navigator.model.ResourceIdentifier;
 import org.molgenis.navigator.model.ResourceType;
@@ -378,8 +379,11 @@ class NavigatorServiceImplTest extends AbstractMockitoSpringContextTests {
             ResourceIdentifier.builder().setType(ResourceType.PACKAGE).setId("p0").build(),
             ResourceIdentifier.builder().setType(ResourceType.ENTITY_TYPE).setId("e0").build());
 
-    assertEquals(downloadJobExecution, navigatorServiceImpl.downloadResources(resources));
+    assertEquals(
+        downloadJobExecution,
+        navigatorServiceImpl.downloadResources(resources, DownloadFormat.CSV_ZIP));
     verify(downloadJobExecution).setResources(resources);
+    verify(downloadJobExecution).setFormat(DownloadFormat.CSV_ZIP);
     verify(jobExecutor).submit(downloadJobExecution);
   }
 
@@ -387,7 +391,8 @@ class NavigatorServiceImplTest extends AbstractMockitoSpringContextTests {
   @Test
   void testDownloadResourcesNoResources() {
     assertThrows(
-        IllegalArgumentException.class, () -> navigatorServiceImpl.downloadResources(emptyList()));
+        IllegalArgumentException.class,
+        () -> navigatorServiceImpl.downloadResources(emptyList(), DownloadFormat.XLSX));
   }
 
   @Test
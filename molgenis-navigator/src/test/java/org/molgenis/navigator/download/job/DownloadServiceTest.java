@@ -21,6 +21,7 @@ import org.molgenis.data.file.model.FileMetaFactory;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.Package;
 import org.molgenis.jobs.Progress;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.ResourceIdentifier;
 import org.molgenis.navigator.model.ResourceType;
 import org.molgenis.navigator.util.ResourceCollection;
@@ -82,9 +83,51 @@ class DownloadServiceTest extends AbstractMolgenisSpringTest {
         newArrayList(
             ResourceIdentifier.create(ResourceType.PACKAGE, "it"),
             ResourceIdentifier.create(ResourceType.ENTITY_TYPE, "test_entity"));
-    downloadJob.download(resourceIdentifierList, "test", progress);
+    downloadJob.download(resourceIdentifierList, "test", DownloadFormat.XLSX, progress);
     verify(downloadService)
         .export(newArrayList(entityType1), newArrayList(package1), file.toPath(), progress);
+    verify(fileMeta)
+        .setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    verify(progress).increment(1);
+    verify(progress).status("done");
+  }
+
+  @Test
+  void testDownloadCsvZip() {
+    doReturn("done")
+        .when(messageSource)
+        .getMessage(
+            "progress-download-success",
+            new Object[] {},
+            "Finished preparing download.",
+            LocaleContextHolder.getLocale());
+
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMetaFactory.create(anyString())).thenReturn(fileMeta);
+    File file = mock(File.class);
+    when(file.getName()).thenReturn("test");
+    when(fileStore.getFileUnchecked(anyString())).thenReturn(file);
+
+    ResourceIdentifier id1 = ResourceIdentifier.create(ResourceType.PACKAGE, "it");
+    ResourceIdentifier id2 = ResourceIdentifier.create(ResourceType.ENTITY_TYPE, "test_entity");
+    ResourceCollection collection = mock(ResourceCollection.class);
+    when(resourceCollector.get(newArrayList(id1, id2))).thenReturn(collection);
+    EntityType entityType1 = mock(EntityType.class);
+    Package package1 = mock(Package.class);
+    when(collection.getEntityTypes()).thenReturn(newArrayList(entityType1));
+    when(collection.getPackages()).thenReturn(newArrayList(package1));
+
+    ResourceDownloadService downloadJob =
+        new ResourceDownloadService(
+            downloadService, fileStore, fileMetaFactory, dataService, resourceCollector);
+    List<ResourceIdentifier> resourceIdentifierList =
+        newArrayList(
+            ResourceIdentifier.create(ResourceType.PACKAGE, "it"),
+            ResourceIdentifier.create(ResourceType.ENTITY_TYPE, "test_entity"));
+    downloadJob.download(resourceIdentifierList, "test", DownloadFormat.CSV_ZIP, progress);
+    verify(downloadService)
+        .exportCsvZip(newArrayList(entityType1), newArrayList(package1), file.toPath(), progress);
+    verify(fileMeta).setContentType("application/zip");
     verify(progress).increment(1);
     verify(progress).status("done");
   }
@@ -12,6 +12,7 @@ import org.molgenis.jobs.config.JobTestConfig;
 import org.molgenis.jobs.model.JobExecution.Status;
 import org.molgenis.jobs.model.JobExecutionMetaData;
 import org.molgenis.jobs.model.JobPackage;
+import org.molgenis.navigator.model.DownloadFormat;
 import org.molgenis.navigator.model.ResourceIdentifier;
 import org.molgenis.navigator.model.ResourceType;
 import org.molgenis.util.Pair;
@@ -45,7 +46,12 @@ public class ResourceDownloadJobExecutionTest extends AbstractSystemEntityTest {
     statusPair.setA(Status.class);
     statusPair.setB(Status.SUCCESS);
 
+    Pair<Class, Object> formatPair = new Pair<>();
+    formatPair.setA(DownloadFormat.class);
+    formatPair.setB(DownloadFormat.CSV_ZIP);
+
     map.put(ResourceDownloadJobExecutionMetadata.RESOURCES, resourcesPair);
+    map.put(ResourceDownloadJobExecutionMetadata.FORMAT, formatPair);
     map.put(JobExecutionMetaData.STATUS, statusPair);
     return map;
   }
@@ -17,7 +17,6 @@ import org.molgenis.jobs.Progress;
 import org.molgenis.oneclickimporter.exceptions.EmptySheetException;
 import org.molgenis.oneclickimporter.exceptions.UnknownFileTypeException;
 import org.molgenis.oneclickimporter.model.DataCollection;
-import org.molgenis.oneclickimporter.service.CsvService;
 import org.molgenis.oneclickimporter.service.EntityService;
 import org.molgenis.oneclickimporter.service.ExcelService;
 import org.molgenis.oneclickimporter.service.OneClickImporterNamingService;
@@ -30,7 +29,6 @@ import org.springframework.transaction.annotation.Transactional;
 @Component
 public class OneClickImportJob {
   private final ExcelService excelService;
-  private final CsvService csvService;
   private final OneClickImporterService oneClickImporterService;
   private final OneClickImporterNamingService oneClickImporterNamingService;
   private final EntityService entityService;
@@ -38,13 +36,11 @@ public class OneClickImportJob {
 
   public OneClickImportJob(
       ExcelService excelService,
-      CsvService csvService,
       OneClickImporterService oneClickImporterService,
       OneClickImporterNamingService oneClickImporterNamingService,
       EntityService entityService,
       FileStore fileStore) {
     this.excelService = requireNonNull(excelService);
-    this.csvService = requireNonNull(csvService);
     this.oneClickImporterService = requireNonNull(oneClickImporterService);
     this.oneClickImporterNamingService = requireNonNull(oneClickImporterNamingService);
     this.entityService = requireNonNull(entityService);
@@ -69,10 +65,9 @@ public class OneClickImportJob {
       List<Sheet> sheets = excelService.buildExcelSheetsFromFile(file);
       dataCollections.addAll(oneClickImporterService.buildDataCollectionsFromExcel(sheets));
     } else if (fileExtension.equals("csv")) {
-      List<String[]> lines = csvService.buildLinesFromFile(file);
       dataCollections.add(
           oneClickImporterService.buildDataCollectionFromCsv(
-              oneClickImporterNamingService.createValidIdFromFileName(filename), lines));
+              oneClickImporterNamingService.createValidIdFromFileName(filename), file));
     } else if (fileExtension.equals("zip")) {
       List<File> filesInZip;
       try {
@@ -85,11 +80,10 @@ public class OneClickImportJob {
         String fileInZipExtension =
             findExtensionFromPossibilities(fileInZip.getName(), newHashSet("csv"));
         if (fileInZipExtension != null) {
-          List<String[]> lines = csvService.buildLinesFromFile(fileInZip);
           dataCollections.add(
               oneClickImporterService.buildDataCollectionFromCsv(
                   oneClickImporterNamingService.createValidIdFromFileName(fileInZip.getName()),
-                  lines));
+                  fileInZip));
         } else {
           throw new UnknownFileTypeException("Zip file contains files which are not of type CSV");
         }
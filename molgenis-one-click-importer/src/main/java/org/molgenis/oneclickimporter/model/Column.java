@@ -1,7 +1,7 @@
 package org.molgenis.oneclickimporter.model;
 
 import com.google.auto.value.AutoValue;
-import java.util.List;
+import org.molgenis.data.meta.AttributeType;
 import org.molgenis.util.AutoGson;
 
 @AutoValue
@@ -12,9 +12,16 @@ public abstract class Column {
 
   public abstract int getPosition();
 
-  public abstract List<Object> getDataValues();
+  /** Returns the narrowest attribute type that fits all values of this column */
+  public abstract AttributeType getType();
 
-  public static Column create(String name, int position, List<Object> dataValues) {
-    return new AutoValue_Column(name, position, dataValues);
+  /**
+   * Returns whether all values of this column are known to be non-null and unique. Uniqueness is
+   * only determined for the first column, which is the only candidate identifier column.
+   */
+  public abstract boolean isUnique();
+
+  public static Column create(String name, int position, AttributeType type, boolean unique) {
+    return new AutoValue_Column(name, position, type, unique);
   }
 }
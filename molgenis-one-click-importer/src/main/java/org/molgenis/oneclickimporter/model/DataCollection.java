@@ -12,7 +12,10 @@ public abstract class DataCollection {
 
   public abstract List<Column> getColumns();
 
-  public static DataCollection create(String name, List<Column> columns) {
-    return new AutoValue_DataCollection(name, columns);
+  /** Returns the data rows, each row contains one value for each column in column order */
+  public abstract DataRows getRows();
+
+  public static DataCollection create(String name, List<Column> columns, DataRows rows) {
+    return new AutoValue_DataCollection(name, columns, rows);
   }
 }
@@ -0,0 +1,17 @@
+package org.molgenis.oneclickimporter.model;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Data rows that are read from their source each time they are streamed, so that the rows of large
+ * files do not need to be kept in memory.
+ */
+@FunctionalInterface
+public interface DataRows {
+  /**
+   * Returns a stream of rows that reads from the underlying source. The caller is responsible for
+   * closing the stream.
+   */
+  Stream<List<Object>> stream();
+}
@@ -1,6 +1,8 @@
 package org.molgenis.oneclickimporter.service;
 
 import java.util.List;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.molgenis.data.meta.AttributeType;
 
 public interface AttributeTypeService {
@@ -18,4 +20,17 @@ public interface AttributeTypeService {
    * @param dataValues
    */
   AttributeType guessAttributeType(List<Object> dataValues);
+
+  /**
+   * Updates a data type guess with the next value of a column. Folding all values of a column with
+   * this method starting with a <code>null</code> guess results in the same data type as {@link
+   * #guessAttributeType(List)}, except that <code>null</code> is returned if all values are null.
+   *
+   * @param currentGuess data type guess based on the preceding values or null if there are none
+   * @param value next value
+   * @return data type guess based on the preceding values and the given value
+   */
+  @Nullable
+  @CheckForNull
+  AttributeType guessAttributeType(@Nullable AttributeType currentGuess, @Nullable Object value);
 }
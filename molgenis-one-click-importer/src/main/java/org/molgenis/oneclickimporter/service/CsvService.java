@@ -2,18 +2,20 @@ package org.molgenis.oneclickimporter.service;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface CsvService {
   /**
-   * Creates a List with String[] containing the lines of a CSV file Including the header
+   * Streams the lines of a CSV file including the header. Lines are read while the stream is
+   * consumed, the caller is responsible for closing the stream.
    *
    * <p>Uses the {@link au.com.bytecode.opencsv.CSVReader} which is also used in the {@link
    * org.molgenis.data.csv.CsvIterator}
    *
    * @param file can be a zip or a regular file
    * @throws IOException if something goes wrong reading the file
-   * @throws org.molgenis.data.MolgenisDataException if validation of the file content fails
+   * @throws org.molgenis.data.MolgenisDataException if validation of the file content fails, for
+   *     the column count of data lines this happens while the stream is consumed
    */
-  List<String[]> buildLinesFromFile(File file) throws IOException;
+  Stream<String[]> streamLines(File file) throws IOException;
 }
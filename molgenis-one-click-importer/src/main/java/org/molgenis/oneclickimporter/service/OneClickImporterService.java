@@ -1,9 +1,10 @@
 package org.molgenis.oneclickimporter.service;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.molgenis.data.meta.AttributeType;
-import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
 
 public interface OneClickImporterService {
@@ -15,18 +16,15 @@ public interface OneClickImporterService {
   List<DataCollection> buildDataCollectionsFromExcel(List<Sheet> sheets);
 
   /**
-   * Generate {@link DataCollection} from a List of file lines
+   * Generate {@link DataCollection} from a CSV file. The file is read once to determine the column
+   * types, the rows of the data collection are read from the file when they are streamed.
    *
    * @param dataCollectionName
-   * @param lines
+   * @param file
+   * @throws IOException if something goes wrong reading the file
    */
-  DataCollection buildDataCollectionFromCsv(String dataCollectionName, List<String[]> lines);
-
-  /**
-   * Test is values are unique within column. A column containing null values is considered to be
-   * non-unique
-   */
-  boolean hasUniqueValues(Column column);
+  DataCollection buildDataCollectionFromCsv(String dataCollectionName, File file)
+      throws IOException;
 
   /**
    * Cast the given value based in the supplied attribute type. The method returns the most specific
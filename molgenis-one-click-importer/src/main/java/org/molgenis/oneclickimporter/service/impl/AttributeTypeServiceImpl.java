@@ -21,31 +21,14 @@ public class AttributeTypeServiceImpl implements AttributeTypeService {
 
   @Override
   public AttributeType guessAttributeType(List<Object> dataValues) {
-    boolean guessCompleted = false;
-    int rowCount = dataValues.size();
-    int currentRowIndex = 0;
-
-    AttributeType currentGuess = getBasicAttributeType(dataValues.get(0));
-    currentGuess = getEnrichedType(currentGuess, dataValues.get(currentRowIndex));
-    while (currentRowIndex < rowCount && !guessCompleted) {
-      Object value = dataValues.get(currentRowIndex);
-      AttributeType basicType = getBasicAttributeType(value);
-
-      AttributeType basicTypeGuess = getCommonType(currentGuess, basicType);
-      AttributeType enrichedTypeGuess = getEnrichedType(basicTypeGuess, value);
-
-      // If the newly found type is not narrower than the current type, do not update
-      // e.g. a long does not fit into an integer
-      if (enrichedTypeGuess != null && isBroader(enrichedTypeGuess, currentGuess)) {
-        currentGuess = enrichedTypeGuess;
-      }
+    AttributeType currentGuess = null;
+    for (Object value : dataValues) {
+      currentGuess = guessAttributeType(currentGuess, value);
 
       // If a guess is TEXT, there is no other type option suitable
       if (TEXT.equals(currentGuess)) {
-        guessCompleted = true;
+        break;
       }
-
-      currentRowIndex++;
     }
 
     if (currentGuess == null) {
@@ -54,6 +37,25 @@ public class AttributeTypeServiceImpl implements AttributeTypeService {
     return currentGuess;
   }
 
+  @Override
+  public AttributeType guessAttributeType(AttributeType currentGuess, Object value) {
+    // If a guess is TEXT, there is no other type option suitable
+    if (TEXT.equals(currentGuess)) {
+      return currentGuess;
+    }
+
+    AttributeType basicType = getBasicAttributeType(value);
+    AttributeType basicTypeGuess = getCommonType(currentGuess, basicType);
+    AttributeType enrichedTypeGuess = getEnrichedType(basicTypeGuess, value);
+
+    // If the newly found type is not narrower than the current type, do not update
+    // e.g. a long does not fit into an integer
+    if (enrichedTypeGuess != null && isBroader(enrichedTypeGuess, currentGuess)) {
+      return enrichedTypeGuess;
+    }
+    return currentGuess;
+  }
+
   /**
    * Check if the new enriched type is broader the the previously found type
    *
@@ -0,0 +1,76 @@
+package org.molgenis.oneclickimporter.service.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.meta.AttributeType.STRING;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.util.HashSet;
+import java.util.Set;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.oneclickimporter.model.Column;
+import org.molgenis.oneclickimporter.service.AttributeTypeService;
+
+/**
+ * Determines the attribute type and optionally the uniqueness of a column while its values are
+ * streamed, without keeping the values in memory.
+ *
+ * <p>Uniqueness is determined using 64-bit hashes of the string representation of the values. A
+ * hash collision can only result in a column being considered non-unique. To bound memory usage a
+ * column with more than {@link #MAX_UNIQUE_VALUES} values is considered non-unique.
+ */
+class ColumnProfile {
+  static final int MAX_UNIQUE_VALUES = 1_000_000;
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final String name;
+  private final int position;
+  private final AttributeTypeService attributeTypeService;
+
+  private AttributeType type;
+  private boolean unique;
+  private Set<Long> valueHashes;
+
+  ColumnProfile(
+      String name,
+      int position,
+      boolean determineUniqueness,
+      AttributeTypeService attributeTypeService) {
+    this.name = requireNonNull(name);
+    this.position = position;
+    this.attributeTypeService = requireNonNull(attributeTypeService);
+    this.unique = determineUniqueness;
+    this.valueHashes = determineUniqueness ? new HashSet<>() : null;
+  }
+
+  void add(Object value) {
+    type = attributeTypeService.guessAttributeType(type, value);
+    if (unique) {
+      updateUniqueness(value);
+    }
+  }
+
+  Column toColumn() {
+    return Column.create(name, position, type != null ? type : STRING, unique);
+  }
+
+  /** A column containing null values is considered to be non-unique */
+  private void updateUniqueness(Object value) {
+    if (value == null || valueHashes.size() == MAX_UNIQUE_VALUES) {
+      setNonUnique();
+      return;
+    }
+
+    long valueHash = HASH_FUNCTION.hashString(value.toString(), UTF_8).asLong();
+    if (!valueHashes.add(valueHash)) {
+      setNonUnique();
+    }
+  }
+
+  private void setNonUnique() {
+    unique = false;
+    valueHashes = null;
+  }
+}
@@ -2,15 +2,22 @@ package org.molgenis.oneclickimporter.service.impl;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.text.MessageFormat.format;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.stream.StreamSupport.stream;
 
 import au.com.bytecode.opencsv.CSVReader;
+import com.google.common.collect.AbstractIterator;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
 import org.apache.commons.io.input.BOMInputStream;
 import org.molgenis.data.MolgenisDataException;
 import org.molgenis.data.csv.CsvFileExtensions;
@@ -22,12 +29,38 @@ public class CsvServiceImpl implements CsvService {
   private static final Character CSV_SEPARATOR = ',';
 
   @Override
-  public List<String[]> buildLinesFromFile(File file) throws IOException {
-    CSVReader reader =
-        createCsvReader(file.getName(), removeByteOrderMark(new FileInputStream(file)));
-    List<String[]> content = reader.readAll();
-    validateCsvFile(content, file.getName());
-    return content;
+  public Stream<String[]> streamLines(File file) throws IOException {
+    String fileName = file.getName();
+    CSVReader reader = createCsvReader(fileName, removeByteOrderMark(new FileInputStream(file)));
+    try {
+      String[] header = reader.readNext();
+      if (header == null) {
+        throw new MolgenisDataException(format("CSV-file: [{0}] is empty", fileName));
+      }
+
+      String[] firstLine = reader.readNext();
+      if (firstLine == null) {
+        throw new MolgenisDataException(
+            format("Header was found, but no data is present in file [{0}]", fileName));
+      }
+
+      Iterator<String[]> remainingLines =
+          new AbstractIterator<String[]>() {
+            @Override
+            protected String[] computeNext() {
+              String[] line = readNext(reader);
+              return line != null ? line : endOfData();
+            }
+          };
+      return Stream.concat(
+              Stream.of(header, firstLine),
+              stream(spliteratorUnknownSize(remainingLines, ORDERED | NONNULL), false))
+          .map(line -> validateColumnCount(line, header.length, fileName))
+          .onClose(() -> closeReader(reader));
+    } catch (IOException | RuntimeException e) {
+      closeReader(reader);
+      throw e;
+    }
   }
 
   /**
@@ -57,32 +90,34 @@ public class CsvServiceImpl implements CsvService {
   }
 
   /**
-   * Validates CSV file content.
+   * Validates that the length of a CSV line is consistent with the header length.
    *
-   * <p>Checks that the content is not empty. Checks that at least one data row is present. Checks
-   * that data row lengths are consistent with the header row length.
-   *
-   * @param content content of CSV-file
+   * @param line line of the CSV-file
+   * @param headerLength number of columns in the header
    * @param fileName the name of the file that is validated
    * @throws MolgenisDataException if the validation fails
    */
-  private void validateCsvFile(List<String[]> content, String fileName) {
-    if (content.isEmpty()) {
-      throw new MolgenisDataException(format("CSV-file: [{0}] is empty", fileName));
+  private static String[] validateColumnCount(String[] line, int headerLength, String fileName) {
+    if (line.length != headerLength) {
+      throw new MolgenisDataException(
+          format("Column count in CSV-file: [{0}] is not consistent", fileName));
     }
+    return line;
+  }
 
-    if (content.size() == 1) {
-      throw new MolgenisDataException(
-          format("Header was found, but no data is present in file [{0}]", fileName));
+  private static void closeReader(CSVReader reader) {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
+  }
 
-    int headerLength = content.get(0).length;
-    content.forEach(
-        row -> {
-          if (row.length != headerLength) {
-            throw new MolgenisDataException(
-                format("Column count in CSV-file: [{0}] is not consistent", fileName));
-          }
-        });
+  private static String[] readNext(CSVReader reader) {
+    try {
+      return reader.readNext();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 }
@@ -1,17 +1,17 @@
 package org.molgenis.oneclickimporter.service.impl;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.EntityManager.CreationMode.NO_POPULATE;
 import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_ID;
 import static org.molgenis.data.util.AttributeUtils.getValidIdAttributeTypes;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.EntityManager;
-import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.AttributeFactory;
@@ -25,7 +25,6 @@ import org.molgenis.data.security.PackagePermissionUtils;
 import org.molgenis.data.security.permission.PermissionSystemService;
 import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
-import org.molgenis.oneclickimporter.service.AttributeTypeService;
 import org.molgenis.oneclickimporter.service.EntityService;
 import org.molgenis.oneclickimporter.service.OneClickImporterNamingService;
 import org.molgenis.oneclickimporter.service.OneClickImporterService;
@@ -42,7 +41,6 @@ public class EntityServiceImpl implements EntityService {
   private final DataService dataService;
   private final MetaDataService metaDataService;
   private final EntityManager entityManager;
-  private final AttributeTypeService attributeTypeService;
   private final OneClickImporterService oneClickImporterService;
   private final OneClickImporterNamingService oneClickImporterNamingService;
   private final PackageFactory packageFactory;
@@ -56,7 +54,6 @@ public class EntityServiceImpl implements EntityService {
       DataService dataService,
       MetaDataService metaDataService,
       EntityManager entityManager,
-      AttributeTypeService attributeTypeService,
       OneClickImporterService oneClickImporterService,
       OneClickImporterNamingService oneClickImporterNamingService,
       PackageFactory packageFactory,
@@ -68,7 +65,6 @@ public class EntityServiceImpl implements EntityService {
     this.dataService = requireNonNull(dataService);
     this.metaDataService = requireNonNull(metaDataService);
     this.entityManager = requireNonNull(entityManager);
-    this.attributeTypeService = requireNonNull(attributeTypeService);
     this.oneClickImporterService = requireNonNull(oneClickImporterService);
     this.oneClickImporterNamingService = requireNonNull(oneClickImporterNamingService);
     this.packageFactory = requireNonNull(packageFactory);
@@ -105,10 +101,10 @@ public class EntityServiceImpl implements EntityService {
     // Check if first column can be used as id ( has unique values )
     List<Column> columns = dataCollection.getColumns();
     Column firstColumn = columns.get(0);
-    final boolean isFirstColumnUnique = oneClickImporterService.hasUniqueValues(firstColumn);
+    final boolean isFirstColumnUnique = firstColumn.isUnique();
 
-    AttributeType type = attributeTypeService.guessAttributeType(firstColumn.getDataValues());
-    final boolean isValidAttributeType = getValidIdAttributeTypes().contains(type);
+    final boolean isValidAttributeType =
+        getValidIdAttributeTypes().contains(firstColumn.getType());
     final boolean useAutoId = !isFirstColumnUnique || !isValidAttributeType;
 
     Attribute idAttribute = useAutoId ? createIdAttribute() : createAttribute(firstColumn);
@@ -128,22 +124,17 @@ public class EntityServiceImpl implements EntityService {
     // TODO: the user who adds/owns should get WRITE META always.
     permissionSystemService.giveUserWriteMetaPermissions(entityType);
 
-    List<Entity> rows = newArrayList();
-    int numberOfRows = dataCollection.getColumns().get(0).getDataValues().size();
-
-    for (int index = 0; index < numberOfRows; index++) {
-      Entity row = entityManager.create(entityType, NO_POPULATE);
-
-      if (useAutoId) {
-        row.setIdValue(idGenerator.generateId());
-      }
-
-      for (Column column : columns) {
-        setRowValueForAttribute(row, index, column);
-      }
-      rows.add(row);
+    // Stream the rows into the repository, which adds them in batches
+    List<Attribute> attributes =
+        columns.stream()
+            .map(column -> oneClickImporterNamingService.asValidColumnName(column.getName()))
+            .map(entityType::getAttribute)
+            .collect(toList());
+    try (Stream<List<Object>> rows = dataCollection.getRows().stream()) {
+      dataService.add(
+          entityType.getId(),
+          rows.map(values -> createEntity(entityType, attributes, values, useAutoId)));
     }
-    dataService.add(entityType.getId(), rows.stream());
 
     return entityType;
   }
@@ -165,16 +156,22 @@ public class EntityServiceImpl implements EntityService {
     return PackagePermissionUtils.isWritablePackage(aPackage, userPermissionEvaluator);
   }
 
-  private void setRowValueForAttribute(Entity row, int index, Column column) {
-    String attributeName = oneClickImporterNamingService.asValidColumnName(column.getName());
-    Object dataValue = column.getDataValues().get(index);
+  private Entity createEntity(
+      EntityType entityType, List<Attribute> attributes, List<Object> values, boolean useAutoId) {
+    Entity row = entityManager.create(entityType, NO_POPULATE);
 
-    EntityType rowType = row.getEntityType();
-    Attribute attribute = rowType.getAttribute(attributeName);
+    if (useAutoId) {
+      row.setIdValue(idGenerator.generateId());
+    }
 
-    Object castedValue =
-        oneClickImporterService.castValueAsAttributeType(dataValue, attribute.getDataType());
-    row.set(attributeName, castedValue);
+    for (int index = 0; index < attributes.size(); index++) {
+      Attribute attribute = attributes.get(index);
+      Object castedValue =
+          oneClickImporterService.castValueAsAttributeType(
+              values.get(index), attribute.getDataType());
+      row.set(attribute.getName(), castedValue);
+    }
+    return row;
   }
 
   private Attribute createIdAttribute() {
@@ -189,7 +186,7 @@ public class EntityServiceImpl implements EntityService {
     Attribute attribute = attributeFactory.create();
     attribute.setName(oneClickImporterNamingService.asValidColumnName(column.getName()));
     attribute.setLabel(column.getName());
-    attribute.setDataType(attributeTypeService.guessAttributeType(column.getDataValues()));
+    attribute.setDataType(column.getType());
     return attribute;
   }
 }
@@ -2,26 +2,31 @@ package org.molgenis.oneclickimporter.service.impl;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Lists.newLinkedList;
 import static java.lang.Boolean.parseBoolean;
 import static java.time.ZoneOffset.UTC;
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
 import static org.apache.commons.lang3.math.NumberUtils.isNumber;
 import static org.apache.poi.ss.usermodel.DateUtil.isCellDateFormatted;
 import static org.apache.poi.util.LocaleUtil.resetUserTimeZone;
 import static org.apache.poi.util.LocaleUtil.setUserTimeZone;
 
+import com.google.common.collect.Streams;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.util.LocaleUtil;
 import org.molgenis.data.MolgenisDataException;
@@ -29,56 +34,114 @@ import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.util.MolgenisDateFormat;
 import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
+import org.molgenis.oneclickimporter.model.DataRows;
+import org.molgenis.oneclickimporter.service.AttributeTypeService;
+import org.molgenis.oneclickimporter.service.CsvService;
 import org.molgenis.oneclickimporter.service.OneClickImporterService;
 import org.springframework.stereotype.Component;
 
 @Component
 public class OneClickImporterServiceImpl implements OneClickImporterService {
+  private final CsvService csvService;
+  private final AttributeTypeService attributeTypeService;
+
+  public OneClickImporterServiceImpl(
+      CsvService csvService, AttributeTypeService attributeTypeService) {
+    this.csvService = requireNonNull(csvService);
+    this.attributeTypeService = requireNonNull(attributeTypeService);
+  }
+
   @Override
   public List<DataCollection> buildDataCollectionsFromExcel(List<Sheet> sheets) {
     List<DataCollection> dataCollections = newArrayList();
-    sheets.forEach(
-        sheet -> {
-          List<Column> columns = newArrayList();
-          Row headerRow = sheet.getRow(0);
-          headerRow
-              .cellIterator()
-              .forEachRemaining(cell -> columns.add(createColumnFromCell(sheet, cell)));
-          dataCollections.add(DataCollection.create(sheet.getSheetName(), columns));
-        });
+    sheets.forEach(sheet -> dataCollections.add(createDataCollectionFromSheet(sheet)));
     return dataCollections;
   }
 
   @Override
-  public DataCollection buildDataCollectionFromCsv(
-      String dataCollectionName, List<String[]> lines) {
-    List<Column> columns = newArrayList();
+  public DataCollection buildDataCollectionFromCsv(String dataCollectionName, File file)
+      throws IOException {
+    List<Column> columns;
+    try (Stream<String[]> lines = csvService.streamLines(file)) {
+      Iterator<String[]> lineIterator = lines.iterator();
+      List<String> headers = asList(lineIterator.next());
+      List<Integer> positions = range(0, headers.size()).boxed().collect(toList());
+      columns =
+          profileColumns(
+              headers, positions, Streams.stream(lineIterator).map(this::getLineValues));
+    }
+    return DataCollection.create(dataCollectionName, columns, () -> streamCsvRows(file));
+  }
 
-    String[] headers = lines.get(0);
-    lines.remove(0); // Remove the header
+  private Stream<List<Object>> streamCsvRows(File file) {
+    Stream<String[]> lines;
+    try {
+      lines = csvService.streamLines(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return lines.skip(1).map(this::getLineValues); // Skip the header
+  }
 
-    int columnIndex = 0;
-    for (String header : headers) {
-      columns.add(createColumnFromLine(header, columnIndex, lines));
-      columnIndex++;
+  private List<Object> getLineValues(String[] line) {
+    List<Object> values = new ArrayList<>(line.length);
+    for (String part : line) {
+      values.add(getPartValue(part));
     }
+    return values;
+  }
+
+  private DataCollection createDataCollectionFromSheet(Sheet sheet) {
+    List<String> headers = newArrayList();
+    List<Integer> columnIndices = newArrayList();
+    sheet
+        .getRow(0)
+        .cellIterator()
+        .forEachRemaining(
+            cell -> {
+              headers.add(getHeaderCellValue(cell));
+              columnIndices.add(cell.getColumnIndex());
+            });
 
-    return DataCollection.create(dataCollectionName, columns);
+    DataRows rows = () -> streamSheetRows(sheet, columnIndices);
+    List<Column> columns;
+    try (Stream<List<Object>> rowStream = rows.stream()) {
+      columns = profileColumns(headers, columnIndices, rowStream);
+    }
+    return DataCollection.create(sheet.getSheetName(), columns, rows);
   }
 
-  @Override
-  public boolean hasUniqueValues(Column column) {
-    List<Object> dataValues = column.getDataValues();
+  private Stream<List<Object>> streamSheetRows(Sheet sheet, List<Integer> columnIndices) {
+    return Streams.stream(sheet.rowIterator())
+        .skip(1) // Skip the header
+        .map(
+            row -> {
+              List<Object> values = new ArrayList<>(columnIndices.size());
+              columnIndices.forEach(
+                  columnIndex -> values.add(getCellValue(row.getCell(columnIndex))));
+              return values;
+            });
+  }
 
-    // check for null values
-    if (dataValues.parallelStream().anyMatch(Objects::isNull)) {
-      return false;
+  /**
+   * Determines the type of each column and whether the first column is unique in a single pass
+   * over the rows.
+   */
+  private List<Column> profileColumns(
+      List<String> headers, List<Integer> positions, Stream<List<Object>> rows) {
+    List<ColumnProfile> columnProfiles = new ArrayList<>(headers.size());
+    for (int i = 0; i < headers.size(); i++) {
+      columnProfiles.add(
+          new ColumnProfile(headers.get(i), positions.get(i), i == 0, attributeTypeService));
     }
 
-    List<String> dataAsStrings =
-        dataValues.parallelStream().map(Object::toString).collect(Collectors.toList());
-    Set valueSet = new HashSet<>(dataAsStrings);
-    return valueSet.size() == dataValues.size();
+    rows.forEach(
+        row -> {
+          for (int i = 0; i < columnProfiles.size(); i++) {
+            columnProfiles.get(i).add(row.get(i));
+          }
+        });
+    return columnProfiles.stream().map(ColumnProfile::toColumn).collect(toList());
   }
 
   @Override
@@ -130,20 +193,6 @@ public class OneClickImporterServiceImpl implements OneClickImporterService {
     return castedValue;
   }
 
-  private Column createColumnFromLine(String header, int columnIndex, List<String[]> lines) {
-    return Column.create(header, columnIndex, getColumnDataFromLines(lines, columnIndex));
-  }
-
-  private List<Object> getColumnDataFromLines(List<String[]> lines, int columnIndex) {
-    List<Object> dataValues = newLinkedList();
-    lines.forEach(
-        line -> {
-          String[] tokens = line;
-          dataValues.add(getPartValue(tokens[columnIndex]));
-        });
-    return dataValues;
-  }
-
   private Object getPartValue(String part) {
     if (isNullOrEmpty(part)) {
       return null;
@@ -164,16 +213,12 @@ public class OneClickImporterServiceImpl implements OneClickImporterService {
    * Specific columntypes are permitted in the import. The supported columntypes are specified in
    * the method.
    *
-   * @param sheet worksheet
-   * @param cell cell on worksheet
-   * @return Column
+   * @param cell header cell on worksheet
+   * @return column name
    */
-  private Column createColumnFromCell(Sheet sheet, Cell cell) {
+  private String getHeaderCellValue(Cell cell) {
     if (cell.getCellTypeEnum() == CellType.STRING) {
-      return Column.create(
-          cell.getStringCellValue(),
-          cell.getColumnIndex(),
-          getColumnDataFromSheet(sheet, cell.getColumnIndex()));
+      return cell.getStringCellValue();
     } else {
       throw new MolgenisDataException(
           String.format(
@@ -181,15 +226,6 @@ public class OneClickImporterServiceImpl implements OneClickImporterService {
     }
   }
 
-  private List<Object> getColumnDataFromSheet(Sheet sheet, int columnIndex) {
-    List<Object> dataValues = newLinkedList();
-    sheet
-        .rowIterator()
-        .forEachRemaining(row -> dataValues.add(getCellValue(row.getCell(columnIndex))));
-    dataValues.remove(0); // Remove the header value
-    return dataValues;
-  }
-
   /** Retrieves the proper Java type instance based on the Excel CellTypeEnum */
   private Object getCellValue(Cell cell) {
     Object value;
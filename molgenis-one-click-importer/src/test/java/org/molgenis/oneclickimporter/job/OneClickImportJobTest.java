@@ -25,7 +25,6 @@ import org.molgenis.jobs.Progress;
 import org.molgenis.oneclickimporter.exceptions.EmptySheetException;
 import org.molgenis.oneclickimporter.exceptions.UnknownFileTypeException;
 import org.molgenis.oneclickimporter.model.DataCollection;
-import org.molgenis.oneclickimporter.service.CsvService;
 import org.molgenis.oneclickimporter.service.EntityService;
 import org.molgenis.oneclickimporter.service.ExcelService;
 import org.molgenis.oneclickimporter.service.OneClickImporterNamingService;
@@ -34,8 +33,6 @@ import org.molgenis.oneclickimporter.service.OneClickImporterService;
 class OneClickImportJobTest {
   @Mock private ExcelService excelService;
 
-  @Mock private CsvService csvService;
-
   @Mock private OneClickImporterService oneClickImporterService;
 
   @Mock private OneClickImporterNamingService oneClickImporterNamingService;
@@ -78,7 +75,6 @@ class OneClickImportJobTest {
     oneClickImporterJob =
         new OneClickImportJob(
             excelService,
-            csvService,
             oneClickImporterService,
             oneClickImporterNamingService,
             entityService,
@@ -106,13 +102,9 @@ class OneClickImportJobTest {
     File file = loadFile(OneClickImportJobTest.class, "/" + filename);
     when(fileStore.getFileUnchecked(filename)).thenReturn(file);
 
-    List<String[]> lines = new ArrayList<>();
-    lines.add(new String[] {"name,age", "piet,25"});
-    when(csvService.buildLinesFromFile(file)).thenReturn(lines);
-
     DataCollection dataCollection = mock(DataCollection.class);
     when(dataCollection.getName()).thenReturn("file_1");
-    when(oneClickImporterService.buildDataCollectionFromCsv("simple_valid", lines))
+    when(oneClickImporterService.buildDataCollectionFromCsv("simple_valid", file))
         .thenReturn(dataCollection);
 
     EntityType entityType = mock(EntityType.class);
@@ -121,7 +113,6 @@ class OneClickImportJobTest {
     oneClickImporterJob =
         new OneClickImportJob(
             excelService,
-            csvService,
             oneClickImporterService,
             oneClickImporterNamingService,
             entityService,
@@ -130,8 +121,7 @@ class OneClickImportJobTest {
     oneClickImporterJob.getEntityType(progress, filename);
 
     verify(progress).status("Preparing import");
-    verify(csvService).buildLinesFromFile(file);
-    verify(oneClickImporterService).buildDataCollectionFromCsv("simple_valid", lines);
+    verify(oneClickImporterService).buildDataCollectionFromCsv("simple_valid", file);
     verify(progress).status("Importing [file_1] into package [simple_valid]");
     verify(entityService).createEntityType(dataCollection, "simple_valid");
   }
@@ -165,40 +155,24 @@ class OneClickImportJobTest {
     when(oneClickImporterNamingService.createValidIdFromFileName("zip_file_4.csv"))
         .thenReturn("zip_file_4");
 
-    List<String[]> lines1 = new ArrayList<>();
-    lines1.add(new String[] {"name,age", "piet,25"});
-    when(csvService.buildLinesFromFile(zipFile1)).thenReturn(lines1);
-
-    List<String[]> lines2 = new ArrayList<>();
-    lines2.add(new String[] {"name,age", "klaas,30"});
-    when(csvService.buildLinesFromFile(zipFile2)).thenReturn(lines2);
-
-    List<String[]> lines3 = new ArrayList<>();
-    lines3.add(new String[] {"name,age", "Jan,35"});
-    when(csvService.buildLinesFromFile(zipFile3)).thenReturn(lines3);
-
-    List<String[]> lines4 = new ArrayList<>();
-    lines4.add(new String[] {"name,age", "Henk,40"});
-    when(csvService.buildLinesFromFile(zipFile4)).thenReturn(lines4);
-
     DataCollection dataCollection1 = mock(DataCollection.class);
     when(dataCollection1.getName()).thenReturn("zip_file_1");
-    when(oneClickImporterService.buildDataCollectionFromCsv("zip_file_1", lines1))
+    when(oneClickImporterService.buildDataCollectionFromCsv("zip_file_1", zipFile1))
         .thenReturn(dataCollection1);
 
     DataCollection dataCollection2 = mock(DataCollection.class);
     when(dataCollection2.getName()).thenReturn("zip_file_2");
-    when(oneClickImporterService.buildDataCollectionFromCsv("zip_file_2", lines2))
+    when(oneClickImporterService.buildDataCollectionFromCsv("zip_file_2", zipFile2))
         .thenReturn(dataCollection2);
 
     DataCollection dataCollection3 = mock(DataCollection.class);
     when(dataCollection3.getName()).thenReturn("zip_file_3");
-    when(oneClickImporterService.buildDataCollectionFromCsv("zip_file_3", lines3))
+    when(oneClickImporterService.buildDataCollectionFromCsv("zip_file_3", zipFile3))
         .thenReturn(dataCollection3);
 
     DataCollection dataCollection4 = mock(DataCollection.class);
     when(dataCollection4.getName()).thenReturn("zip_file_4");
-    when(oneClickImporterService.buildDataCollectionFromCsv("zip_file_4", lines4))
+    when(oneClickImporterService.buildDataCollectionFromCsv("zip_file_4", zipFile4))
         .thenReturn(dataCollection4);
 
     EntityType entityType1 = mock(EntityType.class);
@@ -216,7 +190,6 @@ class OneClickImportJobTest {
     oneClickImporterJob =
         new OneClickImportJob(
             excelService,
-            csvService,
             oneClickImporterService,
             oneClickImporterNamingService,
             entityService,
@@ -225,17 +198,10 @@ class OneClickImportJobTest {
     oneClickImporterJob.getEntityType(progress, filename);
 
     verify(progress).status("Preparing import");
-    verify(csvService).buildLinesFromFile(zipFile1);
-    verify(oneClickImporterService).buildDataCollectionFromCsv("zip_file_1", lines1);
-
-    verify(csvService).buildLinesFromFile(zipFile2);
-    verify(oneClickImporterService).buildDataCollectionFromCsv("zip_file_2", lines2);
-
-    verify(csvService).buildLinesFromFile(zipFile3);
-    verify(oneClickImporterService).buildDataCollectionFromCsv("zip_file_3", lines3);
-
-    verify(csvService).buildLinesFromFile(zipFile4);
-    verify(oneClickImporterService).buildDataCollectionFromCsv("zip_file_4", lines4);
+    verify(oneClickImporterService).buildDataCollectionFromCsv("zip_file_1", zipFile1);
+    verify(oneClickImporterService).buildDataCollectionFromCsv("zip_file_2", zipFile2);
+    verify(oneClickImporterService).buildDataCollectionFromCsv("zip_file_3", zipFile3);
+    verify(oneClickImporterService).buildDataCollectionFromCsv("zip_file_4", zipFile4);
 
     verify(progress).status("Importing [zip_file_1] into package [simple_valid]");
     verify(entityService).createEntityType(dataCollection1, "simple_valid");
@@ -263,7 +229,6 @@ class OneClickImportJobTest {
     oneClickImporterJob =
         new OneClickImportJob(
             excelService,
-            csvService,
             oneClickImporterService,
             oneClickImporterNamingService,
             entityService,
@@ -290,7 +255,6 @@ class OneClickImportJobTest {
     oneClickImporterJob =
         new OneClickImportJob(
             excelService,
-            csvService,
             oneClickImporterService,
             oneClickImporterNamingService,
             entityService,
@@ -317,7 +281,6 @@ class OneClickImportJobTest {
     oneClickImporterJob =
         new OneClickImportJob(
             excelService,
-            csvService,
             oneClickImporterService,
             oneClickImporterNamingService,
             entityService,
@@ -3,6 +3,7 @@ package org.molgenis.oneclickimporter.service;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.molgenis.data.meta.AttributeType.BOOL;
 import static org.molgenis.data.meta.AttributeType.DATE;
 import static org.molgenis.data.meta.AttributeType.DECIMAL;
@@ -121,4 +122,16 @@ class AttributeTypeServiceTest {
     columnValues = newArrayList(123, 54, 1239472398547932875L, 23.0);
     assertEquals(LONG, attributeTypeService.guessAttributeType(columnValues));
   }
+
+  @Test
+  void guessAttributeTypeIncremental() {
+    assertNull(attributeTypeService.guessAttributeType(null, null));
+    assertEquals(INT, attributeTypeService.guessAttributeType(null, 1.0d));
+    assertEquals(INT, attributeTypeService.guessAttributeType(INT, null));
+    assertEquals(DECIMAL, attributeTypeService.guessAttributeType(INT, 2.2));
+    assertEquals(LONG, attributeTypeService.guessAttributeType(INT, 1239472398547932875L));
+    assertEquals(DATE, attributeTypeService.guessAttributeType(null, "2018-01-03T00:00"));
+    assertEquals(STRING, attributeTypeService.guessAttributeType(DATE, "Hello World!"));
+    assertEquals(TEXT, attributeTypeService.guessAttributeType(TEXT, 1));
+  }
 }
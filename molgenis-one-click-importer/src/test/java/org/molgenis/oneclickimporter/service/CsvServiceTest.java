@@ -1,5 +1,6 @@
 package org.molgenis.oneclickimporter.service;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -10,6 +11,7 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.junit.jupiter.api.Test;
 import org.molgenis.data.MolgenisDataException;
@@ -19,10 +21,13 @@ class CsvServiceTest {
   private CsvService csvService = new CsvServiceImpl();
 
   @Test
-  void buildLinesFromFileTest()
+  void streamLinesTest()
       throws InvalidFormatException, IOException, URISyntaxException, MolgenisDataException {
-    List<String[]> actual =
-        csvService.buildLinesFromFile(loadFile(CsvServiceTest.class, "/simple-valid.csv"));
+    List<String[]> actual;
+    try (Stream<String[]> lines =
+        csvService.streamLines(loadFile(CsvServiceTest.class, "/simple-valid.csv"))) {
+      actual = lines.collect(toList());
+    }
     List<String[]> expected = new ArrayList<>();
     expected.add(new String[] {"name", "superpower"});
     expected.add(new String[] {"Mark", "arrow functions"});
@@ -37,23 +42,23 @@ class CsvServiceTest {
   }
 
   @Test
-  void buildLinesWithEmptyFile()
+  void streamLinesWithEmptyFile()
       throws InvalidFormatException, IOException, URISyntaxException, MolgenisDataException {
     Exception exception =
         assertThrows(
             MolgenisDataException.class,
-            () -> csvService.buildLinesFromFile(loadFile(CsvServiceTest.class, "/empty-file.csv")));
+            () -> csvService.streamLines(loadFile(CsvServiceTest.class, "/empty-file.csv")));
     assertThat(exception.getMessage()).containsPattern("CSV-file: \\[empty-file.csv\\] is empty");
   }
 
   @Test
-  void buildLinesWithHeaderOnly()
+  void streamLinesWithHeaderOnly()
       throws InvalidFormatException, IOException, URISyntaxException, MolgenisDataException {
     Exception exception =
         assertThrows(
             MolgenisDataException.class,
             () ->
-                csvService.buildLinesFromFile(
+                csvService.streamLines(
                     loadFile(CsvServiceTest.class, "/header-without-data.csv")));
     assertThat(exception.getMessage())
         .containsPattern(
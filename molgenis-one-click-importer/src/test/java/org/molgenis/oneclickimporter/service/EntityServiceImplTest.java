@@ -1,8 +1,11 @@
 package org.molgenis.oneclickimporter.service;
 
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -17,8 +20,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
@@ -35,6 +40,7 @@ import org.molgenis.data.security.PackageIdentity;
 import org.molgenis.data.security.permission.PermissionSystemService;
 import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
+import org.molgenis.oneclickimporter.model.DataRows;
 import org.molgenis.oneclickimporter.service.impl.EntityServiceImpl;
 import org.molgenis.security.core.UserPermissionEvaluator;
 
@@ -51,8 +57,6 @@ class EntityServiceImplTest {
 
   @Mock private EntityManager entityManager;
 
-  @Mock private AttributeTypeService attributeTypeService;
-
   @Mock private OneClickImporterService oneClickImporterService;
 
   @Mock private OneClickImporterNamingService oneClickImporterNamingService;
@@ -73,12 +77,17 @@ class EntityServiceImplTest {
   @Test
   void testCreateEntity() {
     String tableName = "super-powers";
-    List<Object> userNames = Arrays.asList("Mark", "Mariska", "Bart");
-    List<Object> superPowers = Arrays.asList("Arrow functions", "Cookies", "Knots");
     List<Column> columns =
         Arrays.asList(
-            Column.create("user name", 0, userNames), Column.create("super power", 1, superPowers));
-    DataCollection dataCollection = DataCollection.create(tableName, columns);
+            Column.create("user name", 0, STRING, false),
+            Column.create("super power", 1, STRING, false));
+    DataRows rows =
+        () ->
+            Stream.of(
+                Arrays.asList("Mark", "Arrow functions"),
+                Arrays.asList("Mariska", "Cookies"),
+                Arrays.asList("Bart", "Knots"));
+    DataCollection dataCollection = DataCollection.create(tableName, columns, rows);
 
     // mock auto id
     String generatedId = "id_0";
@@ -92,9 +101,11 @@ class EntityServiceImplTest {
     when(idAttr.setIdAttribute(anyBoolean())).thenReturn(idAttr);
 
     Attribute nameAttr = mock(Attribute.class);
+    when(nameAttr.getName()).thenReturn("user_name");
     when(nameAttr.getDataType()).thenReturn(STRING);
 
     Attribute powerAttr = mock(Attribute.class);
+    when(powerAttr.getName()).thenReturn("super_power");
     when(powerAttr.getDataType()).thenReturn(STRING);
 
     when(attributeFactory.create()).thenReturn(idAttr, nameAttr, powerAttr);
@@ -129,8 +140,8 @@ class EntityServiceImplTest {
     when(oneClickImporterNamingService.asValidColumnName("super power")).thenReturn("super_power");
     when(oneClickImporterNamingService.getLabelWithPostFix("super-powers"))
         .thenReturn("super-powers");
-
-    when(attributeTypeService.guessAttributeType(any())).thenReturn(STRING);
+    when(oneClickImporterService.castValueAsAttributeType(any(), eq(STRING)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
 
     doReturn(true)
         .when(userPermissionEvaluator)
@@ -146,7 +157,6 @@ class EntityServiceImplTest {
             dataService,
             metaDataService,
             entityManager,
-            attributeTypeService,
             oneClickImporterService,
             oneClickImporterNamingService,
             packageFactory,
@@ -160,5 +170,15 @@ class EntityServiceImplTest {
     verify(table).setId(generatedId);
     verify(table).setLabel(tableName);
     verify(permissionSystemService).giveUserWriteMetaPermissions(table);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Stream<Entity>> entitiesCaptor = ArgumentCaptor.forClass(Stream.class);
+    verify(dataService).add(eq(generatedId), entitiesCaptor.capture());
+    assertEquals(asList(row1, row2, row3), entitiesCaptor.getValue().collect(toList()));
+    verify(row1).setIdValue(generatedId);
+    verify(row1).set("user_name", "Mark");
+    verify(row1).set("super_power", "Arrow functions");
+    verify(row3).set("user_name", "Bart");
+    verify(row3).set("super_power", "Knots");
   }
 }
@@ -1,23 +1,23 @@
 package org.molgenis.oneclickimporter.service;
 
-import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.MockitoAnnotations.initMocks;
+import static org.molgenis.data.meta.AttributeType.BOOL;
 import static org.molgenis.data.meta.AttributeType.DATE;
 import static org.molgenis.data.meta.AttributeType.DECIMAL;
 import static org.molgenis.data.meta.AttributeType.INT;
 import static org.molgenis.data.meta.AttributeType.LONG;
 import static org.molgenis.data.meta.AttributeType.STRING;
-import static org.molgenis.oneclickimporter.service.utils.OneClickImporterTestUtils.loadLinesFromFile;
+import static org.molgenis.oneclickimporter.service.utils.OneClickImporterTestUtils.loadFile;
 import static org.molgenis.oneclickimporter.service.utils.OneClickImporterTestUtils.loadSheetFromFile;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +26,8 @@ import org.molgenis.data.meta.AttributeType;
 import org.molgenis.oneclickimporter.exceptions.EmptySheetException;
 import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
+import org.molgenis.oneclickimporter.service.impl.AttributeTypeServiceImpl;
+import org.molgenis.oneclickimporter.service.impl.CsvServiceImpl;
 import org.molgenis.oneclickimporter.service.impl.OneClickImporterServiceImpl;
 
 class OneClickImporterServiceTest {
@@ -33,8 +35,8 @@ class OneClickImporterServiceTest {
 
   @BeforeEach
   void beforeClass() {
-    initMocks(this);
-    oneClickImporterService = new OneClickImporterServiceImpl();
+    oneClickImporterService =
+        new OneClickImporterServiceImpl(new CsvServiceImpl(), new AttributeTypeServiceImpl());
   }
 
   @Test
@@ -43,16 +45,18 @@ class OneClickImporterServiceTest {
     List<Sheet> sheets = loadSheetFromFile(OneClickImporterServiceTest.class, "/simple-valid.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 = Column.create("name", 0, newArrayList("Mark", "Connor", "Fleur", "Dennis"));
-    Column c2 =
-        Column.create(
-            "superpower",
-            1,
-            newArrayList("arrow functions", "Oldschool syntax", "Lambda Magician", "Root access"));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2));
-
-    assertEquals(expected, actual);
+    assertEquals("Sheet1", actual.getName());
+    assertEquals(
+        asList(
+            Column.create("name", 0, STRING, true), Column.create("superpower", 1, STRING, false)),
+        actual.getColumns());
+    assertEquals(
+        asList(
+            asList("Mark", "arrow functions"),
+            asList("Connor", "Oldschool syntax"),
+            asList("Fleur", "Lambda Magician"),
+            asList("Dennis", "Root access")),
+        getRows(actual));
   }
 
   @Test
@@ -62,34 +66,33 @@ class OneClickImporterServiceTest {
         loadSheetFromFile(OneClickImporterServiceTest.class, "/valid-with-formula.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 = Column.create("name", 0, newArrayList("Mark", "Mariska"));
-    Column c2 = Column.create("age", 1, newArrayList(26.0, 22.0));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2));
-
-    assertEquals(expected, actual);
+    assertEquals(
+        asList(Column.create("name", 0, STRING, true), Column.create("age", 1, INT, false)),
+        actual.getColumns());
+    assertEquals(asList(asList("Mark", 26.0), asList("Mariska", 22.0)), getRows(actual));
   }
 
   @Test
-  void testBuildDataSheetBuildsColumnsOfEqualLength()
+  void testBuildDataSheetBuildsRowsOfEqualLength()
       throws IOException, InvalidFormatException, URISyntaxException, EmptySheetException {
     List<Sheet> sheets =
         loadSheetFromFile(OneClickImporterServiceTest.class, "/valid-with-blank-values.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 =
-        Column.create("name", 0, newArrayList("Mark", "Bart", "Tommy", "Sido", "Connor", null));
-    Column c2 =
-        Column.create(
-            "favorite food",
-            1,
-            newArrayList("Fries", null, "Vegan food", "Pizza", null, "Spinache"));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2));
-    assertEquals(expected, actual);
-
-    assertEquals(6, c1.getDataValues().size());
-    assertEquals(6, c2.getDataValues().size());
+    assertEquals(
+        asList(
+            Column.create("name", 0, STRING, false),
+            Column.create("favorite food", 1, STRING, false)),
+        actual.getColumns());
+    assertEquals(
+        asList(
+            asList("Mark", "Fries"),
+            asList("Bart", null),
+            asList("Tommy", "Vegan food"),
+            asList("Sido", "Pizza"),
+            asList("Connor", null),
+            asList(null, "Spinache")),
+        getRows(actual));
   }
 
   @Test
@@ -99,54 +102,19 @@ class OneClickImporterServiceTest {
         loadSheetFromFile(OneClickImporterServiceTest.class, "/complex-valid.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 =
-        Column.create(
-            "first name",
-            0,
-            newArrayList(
-                "Mark", "Fleur", "Dennis", "Bart", "Sido", "Mariska", "Tommy", "Connor", "Piet",
-                "Jan"));
-    Column c2 =
-        Column.create(
-            "last name",
-            1,
-            newArrayList(
-                "de Haan",
-                "Kelpin",
-                "Hendriksen",
-                "Charbon",
-                "Haakma",
-                "Slofstra",
-                "de Boer",
-                "Stroomberg",
-                "Klaassen",
-                null));
-    Column c3 =
-        Column.create(
-            "full name",
-            2,
-            newArrayList(
-                "Mark de Haan",
-                "Fleur Kelpin",
-                "Dennis Hendriksen",
-                "Bart Charbon",
-                "Sido Haakma",
-                "Mariska Slofstra",
-                "Tommy de Boer",
-                "Connor Stroomberg",
-                "Piet Klaassen",
-                null));
-    Column c4 =
-        Column.create(
-            "UMCG employee",
-            3,
-            newArrayList(true, true, true, true, true, true, true, true, false, false));
-    Column c5 =
-        Column.create(
-            "Age", 4, newArrayList(26.0, null, null, null, null, 22.0, 27.0, null, 53.0, 32.0));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2, c3, c4, c5));
-    assertEquals(expected, actual);
+    assertEquals(
+        asList(
+            Column.create("first name", 0, STRING, true),
+            Column.create("last name", 1, STRING, false),
+            Column.create("full name", 2, STRING, false),
+            Column.create("UMCG employee", 3, BOOL, false),
+            Column.create("Age", 4, INT, false)),
+        actual.getColumns());
+
+    List<List<Object>> rows = getRows(actual);
+    assertEquals(10, rows.size());
+    assertEquals(asList("Mark", "de Haan", "Mark de Haan", true, 26.0), rows.get(0));
+    assertEquals(asList("Jan", null, null, false, 32.0), rows.get(9));
   }
 
   @Test
@@ -156,132 +124,67 @@ class OneClickImporterServiceTest {
         loadSheetFromFile(OneClickImporterServiceTest.class, "/valid-with-dates.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 =
-        Column.create(
-            "dates",
-            0,
-            newArrayList(
-                "2018-01-03T00:00",
-                "2018-01-04T00:00",
-                "2018-01-05T00:00",
-                "2018-01-06T00:00",
-                "2018-01-07T00:00"));
-
-    Column c2 =
-        Column.create(
-            "event",
-            1,
-            newArrayList("being cool day", "bike day", "sleep day", "bye bye day", "work day"));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2));
-    assertEquals(expected, actual);
+    assertEquals(
+        asList(Column.create("dates", 0, DATE, true), Column.create("event", 1, STRING, false)),
+        actual.getColumns());
+    assertEquals(
+        asList(
+            asList("2018-01-03T00:00", "being cool day"),
+            asList("2018-01-04T00:00", "bike day"),
+            asList("2018-01-05T00:00", "sleep day"),
+            asList("2018-01-06T00:00", "bye bye day"),
+            asList("2018-01-07T00:00", "work day")),
+        getRows(actual));
   }
 
   @Test
   void testBuildDataCollectionWithSimpleValidCsvFile() throws IOException, URISyntaxException {
-
-    oneClickImporterService = new OneClickImporterServiceImpl();
-
-    List<String[]> lines =
-        loadLinesFromFile(OneClickImporterServiceTest.class, "/simple-valid.csv");
     DataCollection actual =
-        oneClickImporterService.buildDataCollectionFromCsv("simple-valid", lines);
-
-    Column c1 = Column.create("name", 0, newArrayList("Mark", "Connor", "Fleur", "Dennis"));
-    Column c2 =
-        Column.create(
-            "superpower",
-            1,
-            newArrayList("arrow functions", "Oldschool syntax", "Lambda Magician", "Root access"));
-
-    DataCollection expected = DataCollection.create("simple-valid", newArrayList(c1, c2));
-    assertEquals(expected, actual);
+        oneClickImporterService.buildDataCollectionFromCsv(
+            "simple-valid", loadFile(OneClickImporterServiceTest.class, "/simple-valid.csv"));
+
+    assertEquals("simple-valid", actual.getName());
+    assertEquals(
+        asList(
+            Column.create("name", 0, STRING, true), Column.create("superpower", 1, STRING, false)),
+        actual.getColumns());
+    assertEquals(
+        asList(
+            asList("Mark", "arrow functions"),
+            asList("Connor", "Oldschool syntax"),
+            asList("Fleur", "Lambda Magician"),
+            asList("Dennis", "Root access")),
+        getRows(actual));
   }
 
   @Test
   void testBuildDataCollectionWithComplexValidCsvFile() throws IOException, URISyntaxException {
-    oneClickImporterService = new OneClickImporterServiceImpl();
-
-    List<String[]> lines =
-        loadLinesFromFile(OneClickImporterServiceTest.class, "/complex-valid.csv");
     DataCollection actual =
-        oneClickImporterService.buildDataCollectionFromCsv("complex-valid", lines);
-
-    Column c1 =
-        Column.create(
-            "first name",
-            0,
-            newArrayList(
-                "Mark", "Fleur", "Dennis", "Bart", "Sido", "Mariska", "Tommy", "Connor", "Piet",
-                "Jan"));
-    Column c2 =
-        Column.create(
-            "last name",
-            1,
-            newArrayList(
-                "de Haan",
-                "Kelpin",
-                "Hendriksen",
-                "Charbon",
-                "Haakma",
-                "Slofstra",
-                "de Boer",
-                "Stroomberg",
-                "Klaassen",
-                null));
-    Column c3 =
-        Column.create(
-            "full name",
-            2,
-            newArrayList(
-                "Mark de Haan",
-                "Fleur Kelpin",
-                "Dennis Hendriksen",
-                "Bart Charbon",
-                "Sido Haakma",
-                "Mariska Slofstra",
-                "Tommy de Boer",
-                "Connor Stroomberg",
-                "Piet Klaassen",
-                null));
-    Column c4 =
-        Column.create(
-            "UMCG employee",
-            3,
-            newArrayList(true, true, true, true, true, true, true, true, false, false));
-    Column c5 =
-        Column.create(
-            "Age", 4, newArrayList(26.4f, null, null, null, null, 22, 27, null, 53, 0.123f));
-
-    DataCollection expected =
-        DataCollection.create("complex-valid", newArrayList(c1, c2, c3, c4, c5));
-    assertEquals(expected, actual);
+        oneClickImporterService.buildDataCollectionFromCsv(
+            "complex-valid", loadFile(OneClickImporterServiceTest.class, "/complex-valid.csv"));
+
+    assertEquals(
+        asList(
+            Column.create("first name", 0, STRING, true),
+            Column.create("last name", 1, STRING, false),
+            Column.create("full name", 2, STRING, false),
+            Column.create("UMCG employee", 3, BOOL, false),
+            Column.create("Age", 4, DECIMAL, false)),
+        actual.getColumns());
+
+    List<List<Object>> rows = getRows(actual);
+    assertEquals(10, rows.size());
+    assertEquals(asList("Mark", "de Haan", "Mark de Haan", true, 26.4f), rows.get(0));
+    assertEquals(asList("Jan", null, null, false, 0.123f), rows.get(9));
   }
 
   @Test
-  void testIsFirstColumnUnique() {
-    Column column = Column.create("col", 0, Arrays.asList(1, 2, 3));
-    assertTrue(
-        oneClickImporterService.hasUniqueValues(column), "should return true for unique int list");
-
-    column = Column.create("col", 0, Arrays.asList("a", "b", "c"));
-    assertTrue(
-        oneClickImporterService.hasUniqueValues(column),
-        "should return true for unique string list");
-
-    column = Column.create("col", 0, Arrays.asList(1, 2, 1));
-    assertFalse(
-        oneClickImporterService.hasUniqueValues(column),
-        "should return false for non-unique int list");
-
-    column = Column.create("col", 0, Arrays.asList(1, null, 2));
-    assertFalse(
-        oneClickImporterService.hasUniqueValues(column),
-        "should return false a list containing null's ");
-
-    column = Column.create("col", 0, Arrays.asList(1, "1"));
-    assertFalse(
-        oneClickImporterService.hasUniqueValues(column), "should return false if types differ ");
+  void testBuildDataCollectionCsvRowsCanBeStreamedRepeatedly()
+      throws IOException, URISyntaxException {
+    DataCollection actual =
+        oneClickImporterService.buildDataCollectionFromCsv(
+            "simple-valid", loadFile(OneClickImporterServiceTest.class, "/simple-valid.csv"));
+    assertEquals(getRows(actual), getRows(actual));
   }
 
   @Test
@@ -353,4 +256,10 @@ class OneClickImporterServiceTest {
     casted = oneClickImporterService.castValueAsAttributeType(value, type);
     assertTrue(casted instanceof LocalDate);
   }
+
+  private static List<List<Object>> getRows(DataCollection dataCollection) {
+    try (Stream<List<Object>> rows = dataCollection.getRows().stream()) {
+      return rows.collect(toList());
+    }
+  }
 }
@@ -0,0 +1,43 @@
+package org.molgenis.oneclickimporter.service.impl;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.STRING;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.molgenis.oneclickimporter.model.Column;
+
+class ColumnProfileTest {
+  @Test
+  void testToColumn() {
+    Column column = createColumn(true, List.of(1, 2, 3));
+    assertEquals(Column.create("col", 0, INT, true), column);
+  }
+
+  @Test
+  void testToColumnNoValues() {
+    Column column = createColumn(false, List.of());
+    assertEquals(Column.create("col", 0, STRING, false), column);
+  }
+
+  @Test
+  void testIsUnique() {
+    assertTrue(createColumn(true, List.of(1, 2, 3)).isUnique(), "unique int list");
+    assertTrue(createColumn(true, List.of("a", "b", "c")).isUnique(), "unique string list");
+    assertFalse(createColumn(true, List.of(1, 2, 1)).isUnique(), "non-unique int list");
+    assertFalse(createColumn(true, asList(1, null, 2)).isUnique(), "list containing null's");
+    assertFalse(createColumn(true, List.of(1, "1")).isUnique(), "types differ");
+    assertFalse(createColumn(false, List.of(1, 2, 3)).isUnique(), "uniqueness not determined");
+  }
+
+  private static Column createColumn(boolean determineUniqueness, List<Object> values) {
+    ColumnProfile columnProfile =
+        new ColumnProfile("col", 0, determineUniqueness, new AttributeTypeServiceImpl());
+    values.forEach(columnProfile::add);
+    return columnProfile.toColumn();
+  }
+}
@@ -10,9 +10,7 @@ import java.util.List;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.molgenis.oneclickimporter.exceptions.EmptySheetException;
-import org.molgenis.oneclickimporter.service.CsvService;
 import org.molgenis.oneclickimporter.service.ExcelService;
-import org.molgenis.oneclickimporter.service.impl.CsvServiceImpl;
 import org.molgenis.oneclickimporter.service.impl.ExcelServiceImpl;
 
 public class OneClickImporterTestUtils {
@@ -25,15 +23,6 @@ public class OneClickImporterTestUtils {
     return excelService.buildExcelSheetsFromFile(file);
   }
 
-  public static List<String[]> loadLinesFromFile(Class<?> clazz, String fileName)
-      throws IOException, URISyntaxException {
-    URL resourceUrl = Resources.getResource(clazz, fileName);
-    File file = new File(new URI(resourceUrl.toString()).getPath());
-
-    CsvService csvService = new CsvServiceImpl();
-    return csvService.buildLinesFromFile(file);
-  }
-
   public static File loadFile(Class<?> clazz, String fileName) throws URISyntaxException {
     URL resourceUrl = Resources.getResource(clazz, fileName);
     return new File(new URI(resourceUrl.toString()).getPath());
@@ -1,26 +1,56 @@
 package org.molgenis.integrationtest.platform.export;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.EntityTestHarness.ATTR_BOOL;
+import static org.molgenis.data.EntityTestHarness.ATTR_DECIMAL;
+import static org.molgenis.data.EntityTestHarness.ATTR_ID;
+import static org.molgenis.data.EntityTestHarness.ATTR_INT;
+import static org.molgenis.data.EntityTestHarness.ATTR_REF_ID;
+import static org.molgenis.data.EntityTestHarness.ATTR_REF_STRING;
+import static org.molgenis.data.EntityTestHarness.ATTR_STRING;
+import static org.molgenis.data.EntityTestHarness.ATTR_XREF;
+import static org.molgenis.data.security.auth.UserMetadata.USER;
+import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
 
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.poi.xssf.extractor.XSSFExcelExtractor;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
+import org.molgenis.data.DataAction;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.EntityTestHarness;
+import org.molgenis.data.Sort;
+import org.molgenis.data.csv.CsvDataConfig;
 import org.molgenis.data.export.EmxExportService;
 import org.molgenis.data.export.EmxExportServiceImpl;
+import org.molgenis.data.file.FileRepositoryCollectionFactory;
+import org.molgenis.data.file.support.FileRepositoryCollection;
+import org.molgenis.data.importer.EntityImportReport;
 import org.molgenis.data.importer.ImportI18nConfig;
+import org.molgenis.data.importer.ImportService;
+import org.molgenis.data.importer.ImportServiceFactory;
+import org.molgenis.data.importer.ImportServiceRegistrar;
+import org.molgenis.data.importer.MetadataAction;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.Package;
 import org.molgenis.data.meta.model.PackageFactory;
+import org.molgenis.data.security.auth.User;
+import org.molgenis.data.security.auth.UserFactory;
+import org.molgenis.data.support.QueryImpl;
 import org.molgenis.integrationtest.config.FileTestConfig;
 import org.molgenis.integrationtest.platform.PlatformITConfig;
 import org.molgenis.integrationtest.utils.TestProgress;
@@ -28,6 +58,8 @@ import org.molgenis.integrationtest.utils.TestTimeZoneProvider;
 import org.molgenis.test.AbstractMockitoSpringContextTests;
 import org.molgenis.util.ResourceUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,6 +69,7 @@ import org.springframework.transaction.annotation.Transactional;
       PlatformITConfig.class,
       FileTestConfig.class,
       EmxExportServiceImpl.class,
+      CsvDataConfig.class,
       ImportI18nConfig.class,
       TestTimeZoneProvider.class
     })
@@ -50,12 +83,98 @@ public class EmxExportServiceIT extends AbstractMockitoSpringContextTests {
   @Autowired private DataService dataService;
   @Autowired private PackageFactory packageFactory;
   @Autowired private EmxExportService emxDownloadService;
+  @Autowired private ApplicationContext applicationContext;
+  @Autowired private ImportServiceRegistrar importServiceRegistrar;
+  @Autowired private ImportServiceFactory importServiceFactory;
+  @Autowired private FileRepositoryCollectionFactory fileRepositoryCollectionFactory;
+  @Autowired private UserFactory userFactory;
 
   @WithMockUser(
       username = USERNAME,
       roles = {ROLE_SU})
   @Test
   public void test() throws IOException {
+    List<EntityType> entityTypes = createTestData();
+    Path actual = Files.createTempFile("test", ".xlsx");
+    // when using the "in memory" it package, created in createTestData, "getChildren" returns null.
+    Package actualIt = dataService.getMeta().getPackage("it").get();
+    // We're testing the export service, not a job, use TestProgress to check if progress is updated
+    TestProgress progress = new TestProgress();
+    emxDownloadService.export(entityTypes, newArrayList(actualIt), actual, progress);
+    try (XSSFWorkbook actualWorkbook = new XSSFWorkbook(Files.newInputStream(actual))) {
+      try (XSSFWorkbook expected =
+          new XSSFWorkbook(
+              new FileInputStream(
+                  ResourceUtils.getFile(
+                      EmxExportServiceIT.class, "/xls/expectedDownloadResult.xlsx")))) {
+        // XSSFExcelExtractor results in tab differences between actual and expected even though
+        // both excel files are correct
+        String actualWorkbookString =
+            new XSSFExcelExtractor(actualWorkbook).getText().replaceAll("\t", "");
+        String expectedWorkbookString =
+            new XSSFExcelExtractor(expected).getText().replaceAll("\t", "");
+        assertEquals(expectedWorkbookString, actualWorkbookString);
+      }
+    }
+
+    TestProgress expectedProgress =
+        new TestProgress(
+            4,
+            4,
+            "Downloading 'pack_refTest1'\nDownloading 'pack_test1'\nDownloading 'it_emx_test1'\nFinished downloading package metadata.",
+            "");
+    assertEquals(expectedProgress.getMessage(), progress.getMessage());
+    assertEquals(expectedProgress.getProgress(), progress.getProgress());
+    assertEquals(expectedProgress.getProgressMax(), progress.getProgressMax());
+    assertEquals(expectedProgress.getResultUrl(), progress.getResultUrl());
+  }
+
+  @WithMockUser(
+      username = USERNAME,
+      roles = {ROLE_SU})
+  @Test
+  public void testExportCsvZipImport() throws IOException {
+    runAsSystem(() -> dataService.add(USER, createUser()));
+    ContextRefreshedEvent contextRefreshedEvent = mock(ContextRefreshedEvent.class);
+    when(contextRefreshedEvent.getApplicationContext()).thenReturn(applicationContext);
+    importServiceRegistrar.register(contextRefreshedEvent);
+
+    List<EntityType> entityTypes = createTestData();
+    Path actual = Files.createTempFile("test", ".zip");
+    Package actualIt = dataService.getMeta().getPackage("it").get();
+    TestProgress progress = new TestProgress();
+    emxDownloadService.exportCsvZip(entityTypes, newArrayList(actualIt), actual, progress);
+
+    Map<String, List<Map<String, Object>>> expectedData = new LinkedHashMap<>();
+    expectedData.put("pack_refTest1", findAll("pack_refTest1", ATTR_REF_ID, ATTR_REF_STRING));
+    expectedData.put(
+        "pack_test1",
+        findAll("pack_test1", ATTR_ID, ATTR_STRING, ATTR_BOOL, ATTR_DECIMAL, ATTR_INT, ATTR_XREF));
+    expectedData.put("it_emx_test1", findAll("it_emx_test1", ATTR_REF_ID, ATTR_REF_STRING));
+    dataService.getMeta().deleteEntityTypes(asList("pack_test1", "pack_refTest1", "it_emx_test1"));
+
+    // packages are exported and imported as well, the existing packages are updated
+    File file = actual.toFile();
+    FileRepositoryCollection repositoryCollection =
+        fileRepositoryCollectionFactory.createFileRepositoryCollection(file);
+    ImportService importService = importServiceFactory.getImportService(file, repositoryCollection);
+    EntityImportReport importReport =
+        importService.doImport(repositoryCollection, MetadataAction.ADD, DataAction.ADD, null);
+
+    assertEquals(
+        ImmutableMap.of("pack_refTest1", 2, "pack_test1", 4, "it_emx_test1", 2),
+        importReport.getNrImportedEntitiesMap());
+    assertEquals(
+        expectedData.get("pack_refTest1"), findAll("pack_refTest1", ATTR_REF_ID, ATTR_REF_STRING));
+    assertEquals(
+        expectedData.get("pack_test1"),
+        findAll("pack_test1", ATTR_ID, ATTR_STRING, ATTR_BOOL, ATTR_DECIMAL, ATTR_INT, ATTR_XREF));
+    assertEquals(
+        expectedData.get("it_emx_test1"), findAll("it_emx_test1", ATTR_REF_ID, ATTR_REF_STRING));
+  }
+
+  /** @return the exported entity types, the "it" package contains another entity type */
+  private List<EntityType> createTestData() {
     Package pack = packageFactory.create("pack");
     pack.setLabel("pack");
     dataService.getMeta().addPackage(pack);
@@ -89,38 +208,32 @@ public class EmxExportServiceIT extends AbstractMockitoSpringContextTests {
     dataService.getMeta().addEntityType(entityType2);
     dataService.add(
         entityType2.getId(), entityTestHarness.createTestRefEntities(entityType2, 2).stream());
-    Path actual = Files.createTempFile("test", ".xlsx");
-    // when using the "in memory" it package, created above, the "getChildern" returns null.
-    Package actualIt = dataService.getMeta().getPackage("it").get();
-    // We're testing the export service, not a job, use TestProgress to check if progress is updated
-    TestProgress progress = new TestProgress();
-    emxDownloadService.export(
-        newArrayList(entityType1, refEntityType1), newArrayList(actualIt), actual, progress);
-    try (XSSFWorkbook actualWorkbook = new XSSFWorkbook(Files.newInputStream(actual))) {
-      try (XSSFWorkbook expected =
-          new XSSFWorkbook(
-              new FileInputStream(
-                  ResourceUtils.getFile(
-                      EmxExportServiceIT.class, "/xls/expectedDownloadResult.xlsx")))) {
-        // XSSFExcelExtractor results in tab differences between actual and expected even though
-        // both excel files are correct
-        String actualWorkbookString =
-            new XSSFExcelExtractor(actualWorkbook).getText().replaceAll("\t", "");
-        String expectedWorkbookString =
-            new XSSFExcelExtractor(expected).getText().replaceAll("\t", "");
-        assertEquals(expectedWorkbookString, actualWorkbookString);
-      }
-    }
 
-    TestProgress expectedProgress =
-        new TestProgress(
-            4,
-            4,
-            "Downloading 'pack_refTest1'\nDownloading 'pack_test1'\nDownloading 'it_emx_test1'\nFinished downloading package metadata.",
-            "");
-    assertEquals(expectedProgress.getMessage(), progress.getMessage());
-    assertEquals(expectedProgress.getProgress(), progress.getProgress());
-    assertEquals(expectedProgress.getProgressMax(), progress.getProgressMax());
-    assertEquals(expectedProgress.getResultUrl(), progress.getResultUrl());
+    return newArrayList(entityType1, refEntityType1);
+  }
+
+  /** Returns the given attribute values of all entities sorted by id, references by their id */
+  private List<Map<String, Object>> findAll(String entityTypeId, String... attributeNames) {
+    return dataService
+        .findAll(entityTypeId, new QueryImpl<>().sort(new Sort(attributeNames[0])))
+        .map(
+            entity -> {
+              Map<String, Object> values = new LinkedHashMap<>();
+              for (String attributeName : attributeNames) {
+                Object value = entity.get(attributeName);
+                values.put(
+                    attributeName, value instanceof Entity ? ((Entity) value).getIdValue() : value);
+              }
+              return values;
+            })
+        .collect(toList());
+  }
+
+  private User createUser() {
+    User user = userFactory.create();
+    user.setUsername(USERNAME);
+    user.setPassword("password");
+    user.setEmail("emx@mail.com");
+    return user;
   }
 }
@@ -14,6 +14,8 @@ import org.molgenis.data.DataService;
 import org.molgenis.data.security.auth.TokenFactory;
 import org.molgenis.data.security.auth.UserFactory;
 import org.molgenis.data.security.user.UserService;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.security.account.AccountController;
 import org.molgenis.security.core.MolgenisPasswordEncoder;
 import org.molgenis.security.core.token.TokenService;
@@ -102,6 +104,10 @@ public abstract class MolgenisWebAppSecurityConfig extends WebSecurityConfigurer
 
   @Autowired private TokenFactory tokenFactory;
 
+  @Autowired private TransactionManager transactionManager;
+
+  @Autowired private TransactionInformation transactionInformation;
+
   @Autowired private UserFactory userFactory;
 
   @Autowired private OtpService otpService;
@@ -314,7 +320,12 @@ public abstract class MolgenisWebAppSecurityConfig extends WebSecurityConfigurer
   @Bean
   public TokenService tokenService() {
     return new DataServiceTokenService(
-        new TokenGenerator(), dataService, userDetailsService(), tokenFactory);
+        new TokenGenerator(),
+        dataService,
+        userDetailsService(),
+        tokenFactory,
+        transactionManager,
+        transactionInformation);
   }
 
   @Bean
@@ -4,15 +4,26 @@ import static java.lang.String.format;
 import static java.time.Instant.now;
 import static java.time.temporal.ChronoUnit.HOURS;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.molgenis.data.security.auth.RoleMembershipMetadata.ROLE_MEMBERSHIP;
+import static org.molgenis.data.security.auth.RoleMetadata.ROLE;
 import static org.molgenis.data.security.auth.TokenMetadata.TOKEN;
 import static org.molgenis.data.security.auth.TokenMetadata.TOKEN_ATTR;
 import static org.molgenis.data.security.auth.UserMetadata.USER;
 import static org.molgenis.data.security.auth.UserMetadata.USERNAME;
+import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Instant;
+import java.util.Set;
 import org.molgenis.data.DataService;
 import org.molgenis.data.security.auth.Token;
 import org.molgenis.data.security.auth.TokenFactory;
 import org.molgenis.data.security.auth.User;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionListener;
+import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.security.core.runas.RunAsSystem;
 import org.molgenis.security.core.token.TokenService;
 import org.molgenis.security.core.token.UnknownTokenException;
@@ -20,36 +31,78 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.transaction.annotation.Transactional;
 
-/** TokensService implementation that uses the DataService */
-public class DataServiceTokenService implements TokenService {
+/**
+ * TokensService implementation that uses the DataService.
+ *
+ * <p>Users found by token are cached for a short period of time. The cache is invalidated after
+ * commit of a transaction that changed tokens, users, roles or role memberships.
+ */
+public class DataServiceTokenService implements TokenService, TransactionListener {
+  private static final int MAX_CACHE_SIZE = 1000;
+  private static final long CACHE_EXPIRATION_SECONDS = 60;
+  private static final Set<String> AUTHENTICATION_ENTITY_TYPE_IDS =
+      Set.of(TOKEN, USER, ROLE, ROLE_MEMBERSHIP);
+
   private final TokenGenerator tokenGenerator;
   private final DataService dataService;
   private final UserDetailsService userDetailsService;
   private final TokenFactory tokenFactory;
+  private final TransactionInformation transactionInformation;
+  private final Cache<String, TokenUser> tokenUserCache;
 
   public DataServiceTokenService(
       TokenGenerator tokenGenerator,
       DataService dataService,
       UserDetailsService userDetailsService,
-      TokenFactory tokenFactory) {
+      TokenFactory tokenFactory,
+      TransactionManager transactionManager,
+      TransactionInformation transactionInformation) {
     this.tokenGenerator = requireNonNull(tokenGenerator);
     this.dataService = requireNonNull(dataService);
     this.userDetailsService = requireNonNull(userDetailsService);
     this.tokenFactory = requireNonNull(tokenFactory);
+    this.transactionInformation = requireNonNull(transactionInformation);
+    this.tokenUserCache =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .expireAfterWrite(CACHE_EXPIRATION_SECONDS, SECONDS)
+            .build();
+    requireNonNull(transactionManager).addTransactionListener(this);
   }
 
   /**
-   * Find a user by a security token
+   * Find a user by a security token. Not transactional so that users found in the cache don't
+   * require a database connection.
    *
    * @param token security token
    * @return the user or null if not found or token is expired
    */
   @Override
-  @Transactional(readOnly = true)
-  @RunAsSystem
   public UserDetails findUserByToken(String token) {
-    Token molgenisToken = getMolgenisToken(token);
-    return userDetailsService.loadUserByUsername(molgenisToken.getUser().getUsername());
+    TokenUser tokenUser = tokenUserCache.get(token, this::loadTokenUser);
+    if (tokenUser.isExpired()) {
+      tokenUserCache.invalidate(token);
+      throw new UnknownTokenException("Invalid token");
+    }
+    return tokenUser.getUserDetails();
+  }
+
+  private TokenUser loadTokenUser(String token) {
+    return runAsSystem(
+        () -> {
+          Token molgenisToken = getMolgenisToken(token);
+          UserDetails userDetails =
+              userDetailsService.loadUserByUsername(molgenisToken.getUser().getUsername());
+          return new TokenUser(userDetails, molgenisToken.getExpirationDate().orElse(null));
+        });
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    if (transactionInformation.getDirtyRepositories().stream()
+        .anyMatch(AUTHENTICATION_ENTITY_TYPE_IDS::contains)) {
+      tokenUserCache.invalidateAll();
+    }
   }
 
   /**
@@ -88,6 +141,7 @@ public class DataServiceTokenService implements TokenService {
   public void removeToken(String token) {
     Token molgenisToken = getMolgenisToken(token);
     dataService.delete(TOKEN, molgenisToken);
+    tokenUserCache.invalidate(token);
   }
 
   private Token getMolgenisToken(String token) {
@@ -98,4 +152,34 @@ public class DataServiceTokenService implements TokenService {
 
     return molgenisToken;
   }
+
+  /** User found by token with the expiration date of the token */
+  private static class TokenUser {
+    private final UserDetails userDetails;
+    private final Instant expirationDate;
+
+    TokenUser(UserDetails userDetails, Instant expirationDate) {
+      this.userDetails = requireNonNull(userDetails);
+      this.expirationDate = expirationDate;
+    }
+
+    /**
+     * Returns a copy of the cached user details, authentication providers can erase the credentials
+     * of the returned user details.
+     */
+    UserDetails getUserDetails() {
+      return new org.springframework.security.core.userdetails.User(
+          userDetails.getUsername(),
+          userDetails.getPassword(),
+          userDetails.isEnabled(),
+          userDetails.isAccountNonExpired(),
+          userDetails.isCredentialsNonExpired(),
+          userDetails.isAccountNonLocked(),
+          userDetails.getAuthorities());
+    }
+
+    boolean isExpired() {
+      return expirationDate != null && expirationDate.isBefore(now());
+    }
+  }
 }
@@ -1,10 +1,13 @@
 package org.molgenis.security.token;
 
+import static java.time.Instant.now;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.security.auth.TokenMetadata.TOKEN;
@@ -12,6 +15,7 @@ import static org.molgenis.data.security.auth.TokenMetadata.TOKEN_ATTR;
 import static org.molgenis.data.security.auth.UserMetadata.USER;
 import static org.molgenis.data.security.auth.UserMetadata.USERNAME;
 
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -20,6 +24,8 @@ import org.molgenis.data.Query;
 import org.molgenis.data.security.auth.Token;
 import org.molgenis.data.security.auth.TokenFactory;
 import org.molgenis.data.security.auth.User;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.security.core.token.UnknownTokenException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,6 +36,7 @@ class DataServiceTokenServiceTest {
   private TokenGenerator tokenGenerator;
   private DataService dataService;
   private UserDetailsService userDetailsService;
+  private TransactionInformation transactionInformation;
 
   @BeforeEach
   void beforeMethod() {
@@ -38,8 +45,15 @@ class DataServiceTokenServiceTest {
     userDetailsService = mock(UserDetailsService.class);
     TokenFactory tokenFactory = mock(TokenFactory.class);
     when(tokenFactory.create()).thenAnswer(invocation -> mock(Token.class));
+    transactionInformation = mock(TransactionInformation.class);
     tokenService =
-        new DataServiceTokenService(tokenGenerator, dataService, userDetailsService, tokenFactory);
+        new DataServiceTokenService(
+            tokenGenerator,
+            dataService,
+            userDetailsService,
+            tokenFactory,
+            mock(TransactionManager.class),
+            transactionInformation);
   }
 
   @Test
@@ -64,6 +78,64 @@ class DataServiceTokenServiceTest {
     assertEquals(userDetails, tokenService.findUserByToken("token"));
   }
 
+  @Test
+  void findUserByTokenCached() {
+    mockTokenUser();
+
+    tokenService.findUserByToken("token");
+    tokenService.findUserByToken("token");
+    verify(dataService).query(TOKEN, Token.class);
+  }
+
+  @Test
+  void findUserByTokenCachedExpired() {
+    Token token = mockTokenUser();
+    when(token.getExpirationDate()).thenReturn(Optional.of(now().minusSeconds(1)));
+
+    assertThrows(UnknownTokenException.class, () -> tokenService.findUserByToken("token"));
+  }
+
+  @Test
+  void afterCommitTransactionUserChanged() {
+    mockTokenUser();
+    when(transactionInformation.getDirtyRepositories()).thenReturn(singleton(USER));
+
+    tokenService.findUserByToken("token");
+    tokenService.afterCommitTransaction("transactionId");
+    tokenService.findUserByToken("token");
+    verify(dataService, times(2)).query(TOKEN, Token.class);
+  }
+
+  @Test
+  void afterCommitTransactionOtherChanged() {
+    mockTokenUser();
+    when(transactionInformation.getDirtyRepositories()).thenReturn(singleton("otherEntityType"));
+
+    tokenService.findUserByToken("token");
+    tokenService.afterCommitTransaction("transactionId");
+    tokenService.findUserByToken("token");
+    verify(dataService).query(TOKEN, Token.class);
+  }
+
+  private Token mockTokenUser() {
+    User user = mock(User.class);
+    when(user.getUsername()).thenReturn("admin");
+    Token token = mock(Token.class);
+    when(token.getUser()).thenReturn(user);
+
+    @SuppressWarnings("unchecked")
+    Query<Token> q = mock(Query.class);
+    when(q.eq(TOKEN_ATTR, "token")).thenReturn(q);
+    when(q.findOne()).thenReturn(token);
+    when(dataService.query(TOKEN, Token.class)).thenReturn(q);
+
+    UserDetails userDetails =
+        new org.springframework.security.core.userdetails.User(
+            "admin", "admin", singletonList(new SimpleGrantedAuthority("admin")));
+    when(userDetailsService.loadUserByUsername("admin")).thenReturn(userDetails);
+    return token;
+  }
+
   @Test
   void findUserByTokenExpired() {
     Token token = mock(Token.class);
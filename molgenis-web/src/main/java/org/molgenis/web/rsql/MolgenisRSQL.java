@@ -2,6 +2,8 @@ package org.molgenis.web.rsql;
 
 import static java.util.Objects.requireNonNull;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.ast.Node;
 import org.molgenis.data.Entity;
@@ -12,22 +14,28 @@ import org.springframework.stereotype.Service;
 /**
  * Rsql/fiql parser
  *
- * <p>Creates a Query object from a rsql/fiql query string.
+ * <p>Creates a Query object from a rsql/fiql query string. Parsed query strings are cached, the
+ * queries created from them per entity type are cached in the {@link QueryTemplateCache}.
  *
  * @see <a href="https://github.com/jirutka/rsql-parser">https://github.com/jirutka/rsql-parser</a>
  */
 @Service
 public class MolgenisRSQL {
+  static final int MAX_CACHE_SIZE = 1000;
+
   private final RSQLParser rsqlParser;
+  private final QueryTemplateCache queryTemplateCache;
+  private final Cache<String, Node> nodeCache;
 
-  public MolgenisRSQL(RSQLParser rsqlParser) {
+  public MolgenisRSQL(RSQLParser rsqlParser, QueryTemplateCache queryTemplateCache) {
     this.rsqlParser = requireNonNull(rsqlParser);
+    this.queryTemplateCache = requireNonNull(queryTemplateCache);
+    this.nodeCache = Caffeine.newBuilder().maximumSize(MAX_CACHE_SIZE).build();
   }
 
   public Query<Entity> createQuery(String rsql, Repository<Entity> repository) {
-    Node rootNode = rsqlParser.parse(rsql);
-    MolgenisRSQLVisitor visitor = new MolgenisRSQLVisitor(repository);
-
-    return rootNode.accept(visitor);
+    Node rootNode = nodeCache.get(rsql, rsqlParser::parse);
+    return queryTemplateCache.get(
+        rsql, repository, repo -> rootNode.accept(new MolgenisRSQLVisitor(repo)));
   }
 }
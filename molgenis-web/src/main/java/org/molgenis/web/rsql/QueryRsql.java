@@ -1,5 +1,7 @@
 package org.molgenis.web.rsql;
 
+import static java.util.Objects.requireNonNull;
+
 import cz.jirutka.rsql.parser.ast.Node;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Query;
@@ -11,14 +13,18 @@ import org.molgenis.data.Repository;
  * @see <a href="https://github.com/jirutka/rsql-parser">https://github.com/jirutka/rsql-parser</a>
  */
 public class QueryRsql {
+  private final String rsql;
   private final Node rootNode;
+  private final QueryTemplateCache queryTemplateCache;
 
-  public QueryRsql(Node rootNode) {
-    this.rootNode = rootNode;
+  public QueryRsql(String rsql, Node rootNode, QueryTemplateCache queryTemplateCache) {
+    this.rsql = requireNonNull(rsql);
+    this.rootNode = requireNonNull(rootNode);
+    this.queryTemplateCache = requireNonNull(queryTemplateCache);
   }
 
   public Query<Entity> createQuery(Repository<Entity> repository) {
-    MolgenisRSQLVisitor rsqlVisitor = new MolgenisRSQLVisitor(repository);
-    return rootNode.accept(rsqlVisitor);
+    return queryTemplateCache.get(
+        rsql, repository, repo -> rootNode.accept(new MolgenisRSQLVisitor(repo)));
   }
 }
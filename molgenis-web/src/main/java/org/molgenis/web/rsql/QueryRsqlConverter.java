@@ -1,19 +1,34 @@
 package org.molgenis.web.rsql;
 
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.ast.Node;
 import org.springframework.core.convert.converter.Converter;
 
 public class QueryRsqlConverter implements Converter<String, QueryRsql> {
+  static final int MAX_CACHE_SIZE = 1000;
+
   private final RSQLParser rsqlParser;
+  private final QueryTemplateCache queryTemplateCache;
+  /** RSQL nodes are immutable, so the parse result of frequently used queries can be shared */
+  private final Cache<String, QueryRsql> queryRsqlCache;
 
-  public QueryRsqlConverter(RSQLParser rsqlParser) {
+  public QueryRsqlConverter(RSQLParser rsqlParser, QueryTemplateCache queryTemplateCache) {
     this.rsqlParser = rsqlParser;
+    this.queryTemplateCache = requireNonNull(queryTemplateCache);
+    this.queryRsqlCache = Caffeine.newBuilder().maximumSize(MAX_CACHE_SIZE).build();
   }
 
   @Override
   public QueryRsql convert(String source) {
+    return queryRsqlCache.get(source, this::parse);
+  }
+
+  private QueryRsql parse(String source) {
     Node rootNode = rsqlParser.parse(source);
-    return new QueryRsql(rootNode);
+    return new QueryRsql(source, rootNode, queryTemplateCache);
   }
 }
@@ -0,0 +1,118 @@
+package org.molgenis.web.rsql;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.QueryRule;
+import org.molgenis.data.Repository;
+import org.molgenis.data.event.MetadataChangedEvent;
+import org.molgenis.data.support.QueryImpl;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the queries that request parameters are mapped to per entity type, so that the attribute
+ * lookups and value conversions of frequently used queries are not repeated on each request.
+ *
+ * <p>Cached queries are templates: each request gets a copy of the query rules bound to its own
+ * repository that it can page, sort and extend. A template is only used for the metadata version it
+ * was created for, the version is incremented on each {@link MetadataChangedEvent}.
+ */
+@Component
+public class QueryTemplateCache {
+  static final int MAX_CACHE_SIZE = 1000;
+
+  private final Cache<TemplateKey, Query<? extends Entity>> templates;
+  private final AtomicLong metadataVersion;
+
+  public QueryTemplateCache() {
+    this.templates = Caffeine.newBuilder().maximumSize(MAX_CACHE_SIZE).build();
+    this.metadataVersion = new AtomicLong();
+  }
+
+  /**
+   * Returns a copy of the cached query template or maps the query and caches it as template.
+   *
+   * @param query request query, must implement equals and hashCode
+   * @param repository repository to query
+   * @param queryMapper maps the request query onto the entity type of the repository
+   * @return query bound to the repository
+   */
+  public <E extends Entity> Query<E> get(
+      Object query, Repository<E> repository, Function<Repository<E>, Query<E>> queryMapper) {
+    TemplateKey key = new TemplateKey(repository.getName(), metadataVersion.get(), query);
+    Query<? extends Entity> template = templates.getIfPresent(key);
+    if (template != null) {
+      QueryImpl<E> entityQuery = copyOf(template);
+      entityQuery.setRepository(repository);
+      return entityQuery;
+    }
+
+    Query<E> entityQuery = queryMapper.apply(repository);
+    templates.put(key, copyOf(entityQuery));
+    return entityQuery;
+  }
+
+  @EventListener
+  public void onMetadataChanged(MetadataChangedEvent metadataChangedEvent) {
+    metadataVersion.incrementAndGet();
+    templates.invalidateAll();
+  }
+
+  /** Query rules are mutable, so a copy does not share them with the template */
+  private static <E extends Entity> QueryImpl<E> copyOf(Query<? extends Entity> query) {
+    return new QueryImpl<>(copyOf(query.getRules()));
+  }
+
+  private static List<QueryRule> copyOf(List<QueryRule> rules) {
+    return rules.stream().map(QueryTemplateCache::copyOf).collect(toList());
+  }
+
+  private static QueryRule copyOf(QueryRule rule) {
+    List<QueryRule> nestedRules = rule.getNestedRules();
+    QueryRule copy = nestedRules.isEmpty() ? new QueryRule() : new QueryRule(copyOf(nestedRules));
+    copy.setOperator(rule.getOperator());
+    copy.setField(rule.getField());
+    copy.setValue(rule.getValue());
+    return copy;
+  }
+
+  private static class TemplateKey {
+    private final String entityTypeId;
+    private final long metadataVersion;
+    private final Object query;
+
+    TemplateKey(String entityTypeId, long metadataVersion, Object query) {
+      this.entityTypeId = entityTypeId;
+      this.metadataVersion = metadataVersion;
+      this.query = requireNonNull(query);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      TemplateKey that = (TemplateKey) o;
+      return metadataVersion == that.metadataVersion
+          && Objects.equals(entityTypeId, that.entityTypeId)
+          && query.equals(that.query);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(entityTypeId, metadataVersion, query);
+    }
+  }
+}
@@ -1,16 +1,26 @@
 package org.molgenis.web.rsql;
 
+import static java.util.Objects.requireNonNull;
+
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.ast.ComparisonOperator;
 import cz.jirutka.rsql.parser.ast.RSQLOperators;
 import java.util.Set;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+@Import(QueryTemplateCache.class)
 @Configuration
 public class RsqlConfig implements WebMvcConfigurer {
+  private final QueryTemplateCache queryTemplateCache;
+
+  public RsqlConfig(QueryTemplateCache queryTemplateCache) {
+    this.queryTemplateCache = requireNonNull(queryTemplateCache);
+  }
+
   @Override
   public void addFormatters(FormatterRegistry registry) {
     registry.addConverter(rsqlQueryConverter());
@@ -18,7 +28,7 @@ public class RsqlConfig implements WebMvcConfigurer {
 
   @Bean
   public QueryRsqlConverter rsqlQueryConverter() {
-    return new QueryRsqlConverter(rsqlParser());
+    return new QueryRsqlConverter(rsqlParser(), queryTemplateCache);
   }
 
   @Bean
@@ -31,7 +31,7 @@ class MolgenisRSQLTest extends AbstractMockitoTest {
 
   @BeforeEach
   void beforeMethod() {
-    molgenisRSQL = new MolgenisRSQL(new RSQLParser());
+    molgenisRSQL = new MolgenisRSQL(new RSQLParser(), new QueryTemplateCache());
     when(repository.getEntityType()).thenReturn(entityType);
   }
 
@@ -0,0 +1,98 @@
+package org.molgenis.web.rsql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.event.MetadataChangedEvent;
+import org.molgenis.data.support.QueryImpl;
+import org.molgenis.test.AbstractMockitoTest;
+
+class QueryTemplateCacheTest extends AbstractMockitoTest {
+  @Mock private Repository<Entity> repository;
+  @Mock private Function<Repository<Entity>, Query<Entity>> queryMapper;
+  private QueryTemplateCache queryTemplateCache;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    queryTemplateCache = new QueryTemplateCache();
+  }
+
+  @Test
+  void testGet() {
+    when(repository.getName()).thenReturn("MyEntityType");
+    Query<Entity> query = new QueryImpl<>(repository).eq("attr", "value");
+    when(queryMapper.apply(repository)).thenReturn(query);
+
+    assertSame(query, queryTemplateCache.get("attr==value", repository, queryMapper));
+  }
+
+  @Test
+  void testGetCached() {
+    when(repository.getName()).thenReturn("MyEntityType");
+    when(queryMapper.apply(repository))
+        .thenReturn(new QueryImpl<>(repository).eq("attr", "value"));
+    queryTemplateCache.get("attr==value", repository, queryMapper);
+
+    @SuppressWarnings("unchecked")
+    Repository<Entity> otherRepository = mock(Repository.class);
+    when(otherRepository.getName()).thenReturn("MyEntityType");
+    Query<Entity> query = queryTemplateCache.get("attr==value", otherRepository, queryMapper);
+
+    assertEquals(new QueryImpl<>().eq("attr", "value"), query);
+    assertSame(otherRepository, query.getRepository());
+    verify(queryMapper).apply(repository);
+  }
+
+  @Test
+  void testGetCachedRulesNotShared() {
+    when(repository.getName()).thenReturn("MyEntityType");
+    when(queryMapper.apply(repository))
+        .thenReturn(new QueryImpl<>(repository).eq("attr", "value"));
+    queryTemplateCache.get("attr==value", repository, queryMapper).getRules().get(0).setValue("x");
+
+    Query<Entity> query = queryTemplateCache.get("attr==value", repository, queryMapper);
+    Query<Entity> otherQuery = queryTemplateCache.get("attr==value", repository, queryMapper);
+
+    assertEquals(new QueryImpl<>().eq("attr", "value"), query);
+    assertNotSame(query.getRules().get(0), otherQuery.getRules().get(0));
+  }
+
+  @Test
+  void testGetOtherEntityType() {
+    when(repository.getName()).thenReturn("MyEntityType");
+    when(queryMapper.apply(repository)).thenReturn(new QueryImpl<>(repository));
+    queryTemplateCache.get("attr==value", repository, queryMapper);
+
+    @SuppressWarnings("unchecked")
+    Repository<Entity> otherRepository = mock(Repository.class);
+    when(otherRepository.getName()).thenReturn("MyOtherEntityType");
+    Query<Entity> otherQuery = new QueryImpl<>(otherRepository);
+    when(queryMapper.apply(otherRepository)).thenReturn(otherQuery);
+
+    assertSame(otherQuery, queryTemplateCache.get("attr==value", otherRepository, queryMapper));
+  }
+
+  @Test
+  void testOnMetadataChanged() {
+    when(repository.getName()).thenReturn("MyEntityType");
+    when(queryMapper.apply(repository)).thenReturn(new QueryImpl<>(repository));
+    queryTemplateCache.get("attr==value", repository, queryMapper);
+
+    queryTemplateCache.onMetadataChanged(new MetadataChangedEvent());
+    queryTemplateCache.get("attr==value", repository, queryMapper);
+
+    verify(queryMapper, times(2)).apply(repository);
+  }
+}